@@ -0,0 +1,388 @@
+package com.rhb.spring.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * 编译时收集组件类，写入组件索引META-INF/rhb.components，运行时由ComponentIndexLoader读取（文件格式见该类）
+ *
+ * 组件：非抽象的顶层类或静态嵌套类，直接或通过元注解标注了@Component（source-code-parsing的
+ * com.rhb.spring.parsing.beans.index.Component，或者spring-context的@Component）。记录的元数据：
+ * <ul>
+ * <li>name：组件注解（或以@Component为元注解的注解）的value，为空时为首字母小写的短类名</li>
+ * <li>scope、lazy、primary、role：@Scope、@Lazy、@Primary、@Role，直接标注或作为元注解</li>
+ * <li>qualifier：类上标注了@Qualifier或以@Qualifier为元注解的注解，包括默认值在内的全部属性</li>
+ * </ul>
+ * 注解按全限定名识别，处理器不依赖任何注解的类。增量编译时保留上次索引中未重新编译、且类仍然存在的组件；
+ * 没有组件时也会生成索引文件（只有注释行）
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+  static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/rhb.components";
+
+  private static final String INDEX_PACKAGE = "com.rhb.spring.parsing.beans.index.";
+
+  private static final String CONTEXT_PACKAGE = "org.springframework.context.annotation.";
+
+  private static final Set<String> COMPONENT_ANNOTATIONS = names(INDEX_PACKAGE + "Component",
+      "org.springframework.stereotype.Component");
+
+  private static final Set<String> SCOPE_ANNOTATIONS = names(INDEX_PACKAGE + "Scope", CONTEXT_PACKAGE + "Scope");
+
+  private static final Set<String> LAZY_ANNOTATIONS = names(INDEX_PACKAGE + "Lazy", CONTEXT_PACKAGE + "Lazy");
+
+  private static final Set<String> PRIMARY_ANNOTATIONS = names(INDEX_PACKAGE + "Primary", CONTEXT_PACKAGE + "Primary");
+
+  private static final Set<String> ROLE_ANNOTATIONS = names(INDEX_PACKAGE + "Role", CONTEXT_PACKAGE + "Role");
+
+  private static final Set<String> QUALIFIER_ANNOTATIONS =
+      names("org.springframework.beans.factory.annotation.Qualifier");
+
+  private Elements elements;
+
+  private Messager messager;
+
+  /** 类的二进制名 -> 该组件的索引记录（不含component=这一行），按类名排序保证输出稳定 */
+  private final Map<String, String> records = new TreeMap<>();
+
+  /** 本次编译处理过的类（包括不是组件的类） */
+  private final Set<String> processedTypes = new HashSet<>();
+
+
+  private static Set<String> names(String... names) {
+    return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names)));
+  }
+
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    this.elements = processingEnv.getElementUtils();
+    this.messager = processingEnv.getMessager();
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    // 组件注解可能是任意以@Component为元注解的注解
+    return Collections.singleton("*");
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getRootElements()) {
+      if (element instanceof TypeElement) {
+        processType((TypeElement) element);
+      }
+    }
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  private void processType(TypeElement type) {
+    String className = this.elements.getBinaryName(type).toString();
+    this.processedTypes.add(className);
+    if (isCandidate(type)) {
+      String record = buildRecord(type);
+      if (record != null) {
+        this.records.put(className, record);
+      }
+    }
+    for (Element enclosed : type.getEnclosedElements()) {
+      if (enclosed instanceof TypeElement) {
+        processType((TypeElement) enclosed);
+      }
+    }
+  }
+
+  private boolean isCandidate(TypeElement type) {
+    if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+      return false;
+    }
+    if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+      return false;
+    }
+    return (type.getNestingKind() == NestingKind.TOP_LEVEL || type.getNestingKind() == NestingKind.MEMBER) &&
+        findAnnotation(type, COMPONENT_ANNOTATIONS, new HashSet<>()) != null;
+  }
+
+  private String buildRecord(TypeElement type) {
+    StringBuilder record = new StringBuilder(128);
+    String beanName = determineBeanName(type);
+    if (beanName == null) {
+      return null;
+    }
+    appendLine(record, "name", beanName);
+    AnnotationMirror scope = findAnnotation(type, SCOPE_ANNOTATIONS, new HashSet<>());
+    if (scope != null) {
+      String scopeName = (String) attribute(scope, "value");
+      if (scopeName != null && !scopeName.isEmpty()) {
+        appendLine(record, "scope", scopeName);
+      }
+    }
+    AnnotationMirror lazy = findAnnotation(type, LAZY_ANNOTATIONS, new HashSet<>());
+    if (lazy != null) {
+      appendLine(record, "lazy", String.valueOf(attribute(lazy, "value")));
+    }
+    if (findAnnotation(type, PRIMARY_ANNOTATIONS, new HashSet<>()) != null) {
+      appendLine(record, "primary", "true");
+    }
+    AnnotationMirror role = findAnnotation(type, ROLE_ANNOTATIONS, new HashSet<>());
+    if (role != null) {
+      appendLine(record, "role", String.valueOf(attribute(role, "value")));
+    }
+    for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+      if (isQualifier(annotation)) {
+        TypeElement qualifierType = (TypeElement) annotation.getAnnotationType().asElement();
+        appendLine(record, "qualifier", this.elements.getBinaryName(qualifierType).toString());
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+            this.elements.getElementValuesWithDefaults(annotation).entrySet()) {
+          appendLine(record, "qualifier." + entry.getKey().getSimpleName(), stringValue(entry.getValue().getValue()));
+        }
+      }
+    }
+    return record.toString();
+  }
+
+  /**
+   * 组件注解（或以@Component为元注解的注解）的value，都为空时为首字母小写的短类名
+   */
+  private String determineBeanName(TypeElement type) {
+    String beanName = null;
+    for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+      String annotationName = annotationName(annotation);
+      boolean stereotype = COMPONENT_ANNOTATIONS.contains(annotationName) || findAnnotation(
+          annotation.getAnnotationType().asElement(), COMPONENT_ANNOTATIONS, new HashSet<>()) != null;
+      if (!stereotype) {
+        continue;
+      }
+      Object value = attribute(annotation, "value");
+      if (value instanceof String && !((String) value).isEmpty()) {
+        if (beanName != null && !beanName.equals(value)) {
+          this.messager.printMessage(Diagnostic.Kind.ERROR, "Stereotype annotations suggest inconsistent " +
+              "component names: '" + beanName + "' versus '" + value + "'", type);
+          return null;
+        }
+        beanName = (String) value;
+      }
+    }
+    if (beanName == null) {
+      String className = this.elements.getBinaryName(type).toString();
+      String shortName = className.substring(className.lastIndexOf('.') + 1).replace('$', '.');
+      beanName = decapitalize(shortName);
+    }
+    return beanName;
+  }
+
+  /**
+   * 与java.beans.Introspector.decapitalize相同：前两个字符都是大写时保持不变
+   */
+  static String decapitalize(String name) {
+    if (name.isEmpty() || (name.length() > 1 && Character.isUpperCase(name.charAt(1)) &&
+        Character.isUpperCase(name.charAt(0)))) {
+      return name;
+    }
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /**
+   * 在element上直接或通过元注解（递归）查找names中的注解
+   */
+  private AnnotationMirror findAnnotation(Element element, Set<String> names, Set<String> visited) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if (names.contains(annotationName(annotation))) {
+        return annotation;
+      }
+    }
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      String annotationName = annotationName(annotation);
+      if (annotationName.startsWith("java.lang.annotation.") || !visited.add(annotationName)) {
+        continue;
+      }
+      AnnotationMirror meta = findAnnotation(annotation.getAnnotationType().asElement(), names, visited);
+      if (meta != null) {
+        return meta;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @Qualifier本身，或者直接以@Qualifier为元注解的注解
+   */
+  private static boolean isQualifier(AnnotationMirror annotation) {
+    if (QUALIFIER_ANNOTATIONS.contains(annotationName(annotation))) {
+      return true;
+    }
+    for (AnnotationMirror meta : annotation.getAnnotationType().asElement().getAnnotationMirrors()) {
+      if (QUALIFIER_ANNOTATIONS.contains(annotationName(meta))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String annotationName(AnnotationMirror annotation) {
+    return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+  }
+
+  private Object attribute(AnnotationMirror annotation, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        this.elements.getElementValuesWithDefaults(annotation).entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue().getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 注解属性值的字符串形式：枚举为常量名，Class为二进制类名，数组为逗号分隔的元素
+   */
+  private String stringValue(Object value) {
+    if (value instanceof TypeMirror) {
+      TypeMirror type = (TypeMirror) value;
+      if (type instanceof DeclaredType) {
+        return this.elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+      }
+      return type.toString();
+    }
+    if (value instanceof VariableElement) {
+      return ((VariableElement) value).getSimpleName().toString();
+    }
+    if (value instanceof List) {
+      List<String> elements = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        elements.add(stringValue(((AnnotationValue) element).getValue()));
+      }
+      return String.join(",", elements);
+    }
+    return String.valueOf(value);
+  }
+
+  private static void appendLine(StringBuilder record, String key, String value) {
+    record.append(key).append('=').append(escape(value)).append('\n');
+  }
+
+  private static String escape(String value) {
+    StringBuilder sb = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\') {
+        sb.append("\\\\");
+      }
+      else if (c == '\n') {
+        sb.append("\\n");
+      }
+      else if (c == '\r') {
+        sb.append("\\r");
+      }
+      else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+
+  private void writeIndex() {
+    Map<String, String> records = new TreeMap<>(readPreviousIndex());
+    records.putAll(this.records);
+    // 没有组件时也写出只有注释的索引：运行时据此知道本模块已建立索引（组件为空），不必回退到类路径扫描
+    try {
+      FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+          COMPONENTS_RESOURCE_LOCATION);
+      try (Writer writer = file.openWriter()) {
+        writer.write("# Generated by " + getClass().getName() + "\n");
+        for (Map.Entry<String, String> entry : records.entrySet()) {
+          writer.write("component=" + entry.getKey() + "\n");
+          writer.write(entry.getValue());
+        }
+      }
+    }
+    catch (IOException ex) {
+      this.messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write component index: " + ex);
+    }
+  }
+
+  /**
+   * 上次生成的索引中，本次没有重新编译、且类仍然存在的组件
+   */
+  private Map<String, String> readPreviousIndex() {
+    Map<String, String> previous = new LinkedHashMap<>();
+    try {
+      FileObject file = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+          COMPONENTS_RESOURCE_LOCATION);
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+        String className = null;
+        StringBuilder record = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (line.startsWith("component=")) {
+            keepPrevious(previous, className, record);
+            className = line.substring("component=".length());
+            record.setLength(0);
+          }
+          else if (className != null && !line.startsWith("#")) {
+            record.append(line).append('\n');
+          }
+        }
+        keepPrevious(previous, className, record);
+      }
+    }
+    catch (IOException | IllegalArgumentException ex) {
+      // 第一次编译，还没有索引
+    }
+    return previous;
+  }
+
+  private void keepPrevious(Map<String, String> previous, String className, StringBuilder record) {
+    if (className != null && !this.processedTypes.contains(className) &&
+        this.elements.getTypeElement(className.replace('$', '.')) != null) {
+      previous.put(className, record.toString());
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.rhb.spring.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 用javac编译源码并运行处理器，检查生成的索引文件
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class ComponentIndexProcessorTests {
+
+  /** 处理器按全限定名识别注解，测试源码中自带一个同名的注解 */
+  private static final String COMPONENT_ANNOTATION = "package com.rhb.spring.parsing.beans.index;\n" +
+      "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n" +
+      "public @interface Component { String value() default \"\"; }\n";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  @Test
+  public void writesEmptyIndexWithoutComponents() throws IOException {
+    List<String> index = compile("com/example/Plain.java", "package com.example; public class Plain {}");
+    assertTrue(index.toString(), index.get(0).startsWith("#"));
+    assertEquals(Collections.emptyList(), componentLines(index));
+  }
+
+  @Test
+  public void writesComponentRecords() throws IOException {
+    List<String> index = compile(
+        "com/rhb/spring/parsing/beans/index/Component.java", COMPONENT_ANNOTATION,
+        "com/example/URLRouter.java", "package com.example;\n" +
+            "@com.rhb.spring.parsing.beans.index.Component public class URLRouter {\n" +
+            "  @com.rhb.spring.parsing.beans.index.Component(\"inner\") public static class Nested {}\n" +
+            "  public abstract static class Base {}\n" +
+            "}\n");
+    assertEquals(Arrays.asList("component=com.example.URLRouter", "component=com.example.URLRouter$Nested"),
+        componentLines(index));
+    assertTrue(index.contains("name=URLRouter"));
+    assertTrue(index.contains("name=inner"));
+  }
+
+  /**
+   * 编译按（路径, 源码）成对给出的源文件，返回生成的索引文件的各行
+   */
+  private List<String> compile(String... pathsAndSources) throws IOException {
+    Path sources = this.folder.newFolder("src").toPath();
+    Path classes = this.folder.newFolder("classes").toPath();
+    List<File> files = new ArrayList<>();
+    for (int i = 0; i < pathsAndSources.length; i += 2) {
+      Path file = sources.resolve(pathsAndSources[i]);
+      Files.createDirectories(file.getParent());
+      Files.write(file, pathsAndSources[i + 1].getBytes(StandardCharsets.UTF_8));
+      files.add(file.toFile());
+    }
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+      CompilationTask task = compiler.getTask(null, fileManager, null,
+          Arrays.asList("-d", classes.toString(), "-proc:only"), null,
+          fileManager.getJavaFileObjectsFromFiles(files));
+      task.setProcessors(Collections.singletonList(new ComponentIndexProcessor()));
+      assertTrue("Compilation failed", task.call());
+    }
+    Path index = classes.resolve(ComponentIndexProcessor.COMPONENTS_RESOURCE_LOCATION);
+    assertTrue("No index written", Files.exists(index));
+    return Files.readAllLines(index, StandardCharsets.UTF_8);
+  }
+
+  private static List<String> componentLines(List<String> index) {
+    List<String> lines = new ArrayList<>();
+    for (String line : index) {
+      if (line.startsWith("component=")) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+}
@@ -1,6 +1,8 @@
 package com.rhb.spring.parsing.beans.base;
 
+import java.util.function.Function;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * 定义元数据的访问
@@ -19,4 +21,23 @@ public interface AttributeAccessor {
   boolean hasAttribute(String var1);
 
   String[] attributeNames();
+
+  /**
+   * 元数据不存在时，通过computeFunction计算并设置（返回null时不设置）
+   *
+   * 默认实现不是原子操作；{@link AttributeAccessorSupport}（BeanDefinition）覆盖为原子操作
+   * @return 已存在的或新计算出的元数据值
+   */
+  @Nullable
+  default Object computeAttributeIfAbsent(String name, Function<String, ?> computeFunction) {
+    Assert.notNull(computeFunction, "Compute function must not be null");
+    Object value = getAttribute(name);
+    if (value == null) {
+      value = computeFunction.apply(name);
+      if (value != null) {
+        setAttribute(name, value);
+      }
+    }
+    return value;
+  }
 }
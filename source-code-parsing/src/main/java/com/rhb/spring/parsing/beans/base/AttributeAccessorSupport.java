@@ -1,48 +1,142 @@
 package com.rhb.spring.parsing.beans.base;
 
+import com.rhb.spring.parsing.beans.metrics.DefinitionMetrics;
+import com.rhb.spring.parsing.beans.metrics.Operation;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 
 /**
+ * 线程安全、保持插入顺序的元数据容器
+ *
+ * 写时复制：修改时复制出新的LinkedHashMap再通过volatile发布，读操作（getAttribute、hasAttribute、
+ * attributeNames以及基本类型的读取）完全无锁；写操作之间通过对象锁串行，compute系列方法是原子的。
+ * 定义在解析完成后多为只读，并行的后置处理、异步初始化线程可以直接共享同一个定义
+ *
+ * 通过AttributeKey写入的基本类型元数据存放在long[]槽位中，attributes中同名的位置放key的
+ * {@link AttributeKey.Slot}占位，因此普通元数据的读写不需要查找key，name也始终按插入顺序排列
+ *
  * @author renhuibo
  * @date 2022/7/21 17:07
  */
 public abstract class AttributeAccessorSupport implements AttributeAccessor, Serializable {
 
   /**
-   * 元数据容器
+   * 元数据容器：当前快照，发布后不再修改（基本类型元数据的值为AttributeKey.Slot）
    */
-  private final Map<String, Object> attributes = new LinkedHashMap<>();
+  private transient volatile Map<String, Object> attributes = Collections.emptyMap();
+
+  /**
+   * 基本类型元数据：下标为AttributeKey的index，int/long/boolean/double统一编码为long
+   * （下标只在当前JVM内有效，序列化时按name写出）。
+   * 槽位在锁内原地写入，写完后重新赋值这个volatile字段，读线程先读字段再读槽位
+   */
+  @Nullable
+  private transient volatile long[] typedValues;
+
+  /**
+   * typedValues中已设置的槽位（位图），写时复制，在typedValues之后、attributes之前发布。
+   * 位图中的槽位与attributes中的Slot一一对应
+   */
+  @Nullable
+  private transient volatile long[] typedPresent;
+
+  /**
+   * attributeNameSet()的缓存：当前快照的只读name集合，元数据name集合变化时清空
+   */
+  @Nullable
+  private transient volatile Set<String> attributeNameSet;
 
   /**
    * 设置元数据（注意： 如果value是空，将移除元数据）
+   *
+   * 不会存入基本类型槽位；对同名的基本类型元数据会被替换，通过AttributeKey读取时按Number/Boolean转换
    */
   @Override
   public void setAttribute(String name, @Nullable Object value) {
     Assert.notNull(name, "Name must not be null");
     if (value != null) {
-      this.attributes.put(name, value);
+      long start = DefinitionMetrics.start();
+      synchronized (this) {
+        doSetAttribute(name, value);
+      }
+      DefinitionMetrics.record(Operation.ATTRIBUTE_WRITE, start);
     }else {
       removeAttribute(name);
     }
   }
 
+  /**
+   * 调用方需持有对象锁
+   */
+  private void doSetAttribute(String name, Object value) {
+    Map<String, Object> copy = copyAttributes(this.attributes, 1);
+    Object old = copy.put(name, value);
+    this.attributes = copy;
+    if (old == null) {
+      this.attributeNameSet = null;
+    }
+    else if (old instanceof AttributeKey.Slot) {
+      clearTypedValue(((AttributeKey.Slot) old).getKey());
+    }
+  }
+
   @Override
   @Nullable
   public Object getAttribute(String name) {
     Assert.notNull(name, "Name must not be null");
-    return this.attributes.get(name);
+    long start = DefinitionMetrics.start();
+    Object value = this.attributes.get(name);
+    if (value instanceof AttributeKey.Slot) {
+      value = slotValue((AttributeKey.Slot) value);
+    }
+    DefinitionMetrics.record(Operation.ATTRIBUTE_READ, start);
+    return value;
   }
 
   @Override
   @Nullable
   public Object removeAttribute(String name) {
     Assert.notNull(name, "Name must not be null");
-    return this.attributes.remove(name);
+    long start = DefinitionMetrics.start();
+    Object value;
+    synchronized (this) {
+      value = doRemoveAttribute(name);
+    }
+    DefinitionMetrics.record(Operation.ATTRIBUTE_WRITE, start);
+    return value;
+  }
+
+  /**
+   * 调用方需持有对象锁
+   */
+  @Nullable
+  private Object doRemoveAttribute(String name) {
+    Map<String, Object> current = this.attributes;
+    if (!current.containsKey(name)) {
+      return null;
+    }
+    Map<String, Object> copy = copyAttributes(current, 0);
+    Object value = copy.remove(name);
+    this.attributes = copy;
+    this.attributeNameSet = null;
+    if (value instanceof AttributeKey.Slot) {
+      AttributeKey.Slot slot = (AttributeKey.Slot) value;
+      value = slotValue(slot);
+      clearTypedValue(slot.getKey());
+    }
+    return value;
   }
 
   @Override
@@ -51,33 +145,446 @@ public abstract class AttributeAccessorSupport implements AttributeAccessor, Ser
     return this.attributes.containsKey(name);
   }
 
+  /**
+   * 原子操作：元数据不存在时计算并设置，同名的并发调用只会执行一次computeFunction
+   */
+  @Override
+  @Nullable
+  public Object computeAttributeIfAbsent(String name, Function<String, ?> computeFunction) {
+    Assert.notNull(name, "Name must not be null");
+    Assert.notNull(computeFunction, "Compute function must not be null");
+    Object value = getAttribute(name);
+    if (value != null) {
+      return value;
+    }
+    synchronized (this) {
+      value = getAttribute(name);
+      if (value == null) {
+        value = computeFunction.apply(name);
+        if (value != null) {
+          doSetAttribute(name, value);
+        }
+      }
+      return value;
+    }
+  }
+
+  /**
+   * 原子操作：根据当前值（可能为null）计算新值，新值为null时移除该元数据
+   * @return 新值
+   */
+  @Nullable
+  public Object computeAttribute(String name, BiFunction<String, Object, ?> remappingFunction) {
+    Assert.notNull(name, "Name must not be null");
+    Assert.notNull(remappingFunction, "Remapping function must not be null");
+    synchronized (this) {
+      Object oldValue = getAttribute(name);
+      Object newValue = remappingFunction.apply(name, oldValue);
+      if (newValue != null) {
+        doSetAttribute(name, newValue);
+      }
+      else if (oldValue != null) {
+        doRemoveAttribute(name);
+      }
+      return newValue;
+    }
+  }
+
+  /**
+   * 原子操作：元数据不存在时才设置
+   * @return 已存在的值，不存在时返回null（表示设置成功）
+   */
+  @Nullable
+  public Object setAttributeIfAbsent(String name, Object value) {
+    Assert.notNull(name, "Name must not be null");
+    Assert.notNull(value, "Value must not be null");
+    Object existing = getAttribute(name);
+    if (existing != null) {
+      return existing;
+    }
+    synchronized (this) {
+      existing = getAttribute(name);
+      if (existing == null) {
+        doSetAttribute(name, value);
+      }
+      return existing;
+    }
+  }
+
+  /**
+   * 所有元数据（包括基本类型元数据）按第一次设置的顺序排列
+   *
+   * 每次返回新的数组；只读遍历时使用{@link #attributeNameSet()}避免复制
+   */
   @Override
   public String[] attributeNames() {
-    return StringUtils.toStringArray(this.attributes.keySet());
+    // 快照发布后不再修改，按大小分配，只分配返回的数组（toStringArray还会多分配一个空数组）
+    Set<String> names = this.attributes.keySet();
+    return names.toArray(new String[names.size()]);
+  }
+
+  /**
+   * 当前元数据name的只读快照（顺序同attributeNames()），之后的修改不会反映到返回的集合中；
+   * name集合不变时重复返回同一个实例，不分配
+   */
+  public Set<String> attributeNameSet() {
+    Set<String> names = this.attributeNameSet;
+    if (names == null) {
+      // 在锁内生成，避免并发修改清空缓存后又被旧的快照覆盖
+      synchronized (this) {
+        names = this.attributeNameSet;
+        if (names == null) {
+          names = Collections.unmodifiableSet(this.attributes.keySet());
+          this.attributeNameSet = names;
+        }
+      }
+    }
+    return names;
+  }
+
+
+  /**
+   * 只读遍历任意AttributeAccessor的元数据name：AttributeAccessorSupport返回不复制的{@link #attributeNameSet()}，
+   * 其他实现只能包装attributeNames()的副本
+   */
+  public static Collection<String> attributeNamesOf(AttributeAccessor accessor) {
+    return (accessor instanceof AttributeAccessorSupport ? ((AttributeAccessorSupport) accessor).attributeNameSet() :
+        Arrays.asList(accessor.attributeNames()));
+  }
+
+
+  /***********************************基本类型元数据（不装箱）************************************/
+  public void setIntAttribute(AttributeKey key, int value) {
+    checkType(key, AttributeKey.Type.INT);
+    synchronized (this) {
+      setTypedValue(key, value);
+    }
+  }
+
+  /**
+   * 未设置时返回defaultValue；通过setAttribute设置的数字也能读到
+   */
+  public int getIntAttribute(AttributeKey key, int defaultValue) {
+    checkType(key, AttributeKey.Type.INT);
+    int index = key.getIndex();
+    if (isTypedValuePresent(index)) {
+      return (int) this.typedValues[index];
+    }
+    Object value = untypedValue(key);
+    return (value instanceof Number ? ((Number) value).intValue() : defaultValue);
+  }
+
+  public void setLongAttribute(AttributeKey key, long value) {
+    checkType(key, AttributeKey.Type.LONG);
+    synchronized (this) {
+      setTypedValue(key, value);
+    }
+  }
+
+  public long getLongAttribute(AttributeKey key, long defaultValue) {
+    checkType(key, AttributeKey.Type.LONG);
+    int index = key.getIndex();
+    if (isTypedValuePresent(index)) {
+      return this.typedValues[index];
+    }
+    Object value = untypedValue(key);
+    return (value instanceof Number ? ((Number) value).longValue() : defaultValue);
+  }
+
+  public void setBooleanAttribute(AttributeKey key, boolean value) {
+    checkType(key, AttributeKey.Type.BOOLEAN);
+    synchronized (this) {
+      setTypedValue(key, value ? 1L : 0L);
+    }
+  }
+
+  public boolean getBooleanAttribute(AttributeKey key, boolean defaultValue) {
+    checkType(key, AttributeKey.Type.BOOLEAN);
+    int index = key.getIndex();
+    if (isTypedValuePresent(index)) {
+      return (this.typedValues[index] != 0L);
+    }
+    Object value = untypedValue(key);
+    return (value instanceof Boolean ? (Boolean) value : defaultValue);
+  }
+
+  public void setDoubleAttribute(AttributeKey key, double value) {
+    checkType(key, AttributeKey.Type.DOUBLE);
+    synchronized (this) {
+      setTypedValue(key, Double.doubleToRawLongBits(value));
+    }
+  }
+
+  public double getDoubleAttribute(AttributeKey key, double defaultValue) {
+    checkType(key, AttributeKey.Type.DOUBLE);
+    int index = key.getIndex();
+    if (isTypedValuePresent(index)) {
+      return Double.longBitsToDouble(this.typedValues[index]);
+    }
+    Object value = untypedValue(key);
+    return (value instanceof Number ? ((Number) value).doubleValue() : defaultValue);
+  }
+
+  public boolean hasAttribute(AttributeKey key) {
+    Assert.notNull(key, "Key must not be null");
+    return (isTypedValuePresent(key.getIndex()) || untypedValue(key) != null);
+  }
+
+  private static void checkType(AttributeKey key, AttributeKey.Type type) {
+    Assert.notNull(key, "Key must not be null");
+    if (key.getType() != type) {
+      throw new IllegalArgumentException("Cannot access " + key + " as " + type);
+    }
+  }
+
+  /**
+   * 槽位未设置时，按name查找通过setAttribute设置的同名值
+   */
+  @Nullable
+  private Object untypedValue(AttributeKey key) {
+    Map<String, Object> attributes = this.attributes;
+    if (attributes.isEmpty()) {
+      return null;
+    }
+    Object value = attributes.get(key.getName());
+    return (value instanceof AttributeKey.Slot ? slotValue((AttributeKey.Slot) value) : value);
+  }
+
+  private Object slotValue(AttributeKey.Slot slot) {
+    AttributeKey key = slot.getKey();
+    return key.box(this.typedValues[key.getIndex()]);
+  }
+
+  private static Map<String, Object> copyAttributes(Map<String, Object> current, int extraCapacity) {
+    Map<String, Object> copy = new LinkedHashMap<>((int) ((current.size() + extraCapacity) / 0.75f) + 1);
+    copy.putAll(current);
+    return copy;
+  }
+
+  /**
+   * 调用方需持有对象锁
+   */
+  private void setTypedValue(AttributeKey key, long raw) {
+    int index = key.getIndex();
+    long[] values = this.typedValues;
+    if (values == null || index >= values.length) {
+      int length = Math.max(index + 1, 8);
+      values = (values == null ? new long[length] : Arrays.copyOf(values, length));
+    }
+    values[index] = raw;
+    this.typedValues = values;
+    if (!isTypedValuePresent(index)) {
+      int word = index >>> 6;
+      long[] present = this.typedPresent;
+      present = (present == null ? new long[word + 1] : Arrays.copyOf(present, Math.max(word + 1, present.length)));
+      present[word] |= (1L << index);
+      this.typedPresent = present;
+      // 第一次设置时放入占位（已有同名的普通元数据时原地替换，保持顺序）
+      Map<String, Object> copy = copyAttributes(this.attributes, 1);
+      if (copy.put(key.getName(), key.getSlot()) == null) {
+        this.attributeNameSet = null;
+      }
+      this.attributes = copy;
+    }
+  }
+
+  /**
+   * 只清除位图，attributes中的占位由调用方处理，调用方需持有对象锁
+   */
+  private void clearTypedValue(AttributeKey key) {
+    int index = key.getIndex();
+    if (isTypedValuePresent(index)) {
+      long[] present = this.typedPresent.clone();
+      present[index >>> 6] &= ~(1L << index);
+      this.typedPresent = present;
+    }
+  }
+
+  private boolean isTypedValuePresent(int index) {
+    long[] present = this.typedPresent;
+    int word = index >>> 6;
+    return (present != null && word < present.length && (present[word] & (1L << index)) != 0L);
   }
 
 
   /**
    * Copy the attributes from the supplied AttributeAccessor to this accessor.
+   *
+   * 在锁内一次性构建新的attributes快照和槽位，最后统一发布，复制k个元数据只复制一次map
    * @param source the AttributeAccessor to copy from
    */
   protected void copyAttributesFrom(AttributeAccessor source) {
     Assert.notNull(source, "Source must not be null");
-    String[] attributeNames = source.attributeNames();
-    for (String attributeName : attributeNames) {
-      setAttribute(attributeName, source.getAttribute(attributeName));
+    Map<String, Object> sourceAttributes;
+    long[] sourceValues = null;
+    if (source instanceof AttributeAccessorSupport) {
+      // 基本类型槽位直接按下标复制，不经过装箱；先读快照再读槽位，快照中的占位在槽位数组中一定已经写入
+      AttributeAccessorSupport other = (AttributeAccessorSupport) source;
+      sourceAttributes = other.attributes;
+      sourceValues = other.typedValues;
+    }
+    else {
+      String[] attributeNames = source.attributeNames();
+      sourceAttributes = new LinkedHashMap<>((int) (attributeNames.length / 0.75f) + 1);
+      for (String attributeName : attributeNames) {
+        // 值为null时移除同名元数据
+        sourceAttributes.put(attributeName, source.getAttribute(attributeName));
+      }
+    }
+    if (sourceAttributes.isEmpty()) {
+      return;
+    }
+    synchronized (this) {
+      Map<String, Object> copy = copyAttributes(this.attributes, sourceAttributes.size());
+      long[] values = this.typedValues;
+      long[] present = this.typedPresent;
+      boolean presentCopied = false;
+      boolean namesChanged = false;
+      for (Map.Entry<String, Object> entry : sourceAttributes.entrySet()) {
+        Object value = entry.getValue();
+        Object old = (value != null ? copy.put(entry.getKey(), value) : copy.remove(entry.getKey()));
+        namesChanged |= ((old == null) != (value == null));
+        if (old instanceof AttributeKey.Slot && old != value) {
+          if (!presentCopied) {
+            present = present.clone();
+            presentCopied = true;
+          }
+          int oldIndex = ((AttributeKey.Slot) old).getKey().getIndex();
+          present[oldIndex >>> 6] &= ~(1L << oldIndex);
+        }
+        if (value instanceof AttributeKey.Slot) {
+          int index = ((AttributeKey.Slot) value).getKey().getIndex();
+          if (values == null || index >= values.length) {
+            int length = Math.max(index + 1, 8);
+            values = (values == null ? new long[length] : Arrays.copyOf(values, length));
+          }
+          values[index] = sourceValues[index];
+          int word = index >>> 6;
+          if (!presentCopied) {
+            present = (present == null ? new long[word + 1] : Arrays.copyOf(present, Math.max(word + 1, present.length)));
+            presentCopied = true;
+          }
+          else if (word >= present.length) {
+            present = Arrays.copyOf(present, word + 1);
+          }
+          present[word] |= (1L << index);
+        }
+      }
+      // 与setTypedValue相同的发布顺序：槽位、位图、attributes
+      this.typedValues = values;
+      if (presentCopied) {
+        this.typedPresent = present;
+      }
+      this.attributes = copy;
+      if (namesChanged) {
+        this.attributeNameSet = null;
+      }
     }
   }
 
 
+  /**
+   * 占位对每个key唯一，attributes相等时再比较占位对应的槽位
+   */
   @Override
   public boolean equals(Object other) {
-    return (this == other || (other instanceof AttributeAccessorSupport &&
-        this.attributes.equals(((AttributeAccessorSupport) other).attributes)));
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof AttributeAccessorSupport)) {
+      return false;
+    }
+    AttributeAccessorSupport that = (AttributeAccessorSupport) other;
+    Map<String, Object> attributes = this.attributes;
+    if (!attributes.equals(that.attributes)) {
+      return false;
+    }
+    for (Object value : attributes.values()) {
+      if (value instanceof AttributeKey.Slot) {
+        int index = ((AttributeKey.Slot) value).getKey().getIndex();
+        if (this.typedValues[index] != that.typedValues[index]) {
+          return false;
+        }
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return this.attributes.hashCode();
+    Map<String, Object> attributes = this.attributes;
+    int hashCode = attributes.hashCode();
+    for (Object value : attributes.values()) {
+      if (value instanceof AttributeKey.Slot) {
+        hashCode += Long.hashCode(this.typedValues[((AttributeKey.Slot) value).getKey().getIndex()]);
+      }
+    }
+    return hashCode;
+  }
+
+
+  /**
+   * 按插入顺序写出(name, value)；基本类型元数据的下标与JVM相关，按(name, type, value)写出
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    Map<String, Object> attributes = this.attributes;
+    out.writeInt(attributes.size());
+    for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+      out.writeUTF(entry.getKey());
+      Object value = entry.getValue();
+      if (value instanceof AttributeKey.Slot) {
+        AttributeKey key = ((AttributeKey.Slot) value).getKey();
+        out.writeBoolean(true);
+        out.writeObject(key.getType());
+        out.writeLong(this.typedValues[key.getIndex()]);
+      }
+      else {
+        out.writeBoolean(false);
+        out.writeObject(value);
+      }
+    }
+  }
+
+  /**
+   * 一次性构建快照和槽位；流中的基本类型元数据只有在当前JVM已声明对应的key时才放入槽位，
+   * 否则按包装类型保存（通过AttributeKey读取时同样能读到）
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int count = in.readInt();
+    Map<String, Object> attributes = new LinkedHashMap<>((int) (count / 0.75f) + 1);
+    long[] values = null;
+    long[] present = null;
+    for (int i = 0; i < count; i++) {
+      String name = in.readUTF();
+      if (in.readBoolean()) {
+        AttributeKey.Type type = (AttributeKey.Type) in.readObject();
+        long raw = in.readLong();
+        AttributeKey key = AttributeKey.find(name, type);
+        if (key == null) {
+          attributes.put(name, AttributeKey.box(type, raw));
+          continue;
+        }
+        int index = key.getIndex();
+        if (values == null || index >= values.length) {
+          int length = Math.max(index + 1, 8);
+          values = (values == null ? new long[length] : Arrays.copyOf(values, length));
+        }
+        values[index] = raw;
+        int word = index >>> 6;
+        if (present == null || word >= present.length) {
+          present = (present == null ? new long[word + 1] : Arrays.copyOf(present, word + 1));
+        }
+        present[word] |= (1L << index);
+        attributes.put(name, key.getSlot());
+      }
+      else {
+        attributes.put(name, in.readObject());
+      }
+    }
+    this.typedValues = values;
+    this.typedPresent = present;
+    this.attributes = (attributes.isEmpty() ? Collections.emptyMap() : attributes);
   }
 }
@@ -0,0 +1,180 @@
+package com.rhb.spring.parsing.beans.base;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 基本类型元数据的key（int、long、boolean、double）
+ *
+ * 每个key在创建时分配一个全局唯一的下标，AttributeAccessorSupport按下标把值存放在long[]中，
+ * 因此通过key读写时既不需要装箱，也不需要对name做hash查找。普通元数据的读写不查找key：
+ * 类型化写入的元数据在name处放的是key的{@link Slot}，通过name读取时才按槽位装箱。
+ * 同一个name只会对应一个key，key创建后不会回收，一般声明为常量：
+ * <pre>
+ * public static final AttributeKey HIT_COUNT = AttributeKey.longKey("hitCount");
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/19 15:10
+ */
+@SuppressWarnings("serial")
+public final class AttributeKey implements Serializable {
+
+  public enum Type {
+    INT, LONG, BOOLEAN, DOUBLE
+  }
+
+  private static final Map<String, AttributeKey> keys = new ConcurrentHashMap<>(64);
+
+  /**
+   * 下一个key的下标，由keys的锁保护
+   */
+  private static int nextIndex;
+
+  private final String name;
+
+  private final Type type;
+
+  private final int index;
+
+  private final transient Slot slot;
+
+
+  private AttributeKey(String name, Type type, int index) {
+    this.name = name;
+    this.type = type;
+    this.index = index;
+    this.slot = new Slot(this);
+  }
+
+
+  public static AttributeKey intKey(String name) {
+    return of(name, Type.INT);
+  }
+
+  public static AttributeKey longKey(String name) {
+    return of(name, Type.LONG);
+  }
+
+  public static AttributeKey booleanKey(String name) {
+    return of(name, Type.BOOLEAN);
+  }
+
+  public static AttributeKey doubleKey(String name) {
+    return of(name, Type.DOUBLE);
+  }
+
+  /**
+   * 获取或创建指定name的key，同名不同类型时抛出IllegalArgumentException
+   */
+  public static AttributeKey of(String name, Type type) {
+    Assert.notNull(name, "Name must not be null");
+    Assert.notNull(type, "Type must not be null");
+    AttributeKey key = keys.get(name);
+    if (key == null) {
+      synchronized (keys) {
+        key = keys.get(name);
+        if (key == null) {
+          key = new AttributeKey(name, type, nextIndex++);
+          keys.put(name, key);
+        }
+      }
+    }
+    if (key.type != type) {
+      throw new IllegalArgumentException("Attribute '" + name + "' is already declared as " + key.type +
+          " and cannot be redeclared as " + type);
+    }
+    return key;
+  }
+
+  /**
+   * 查找已声明的key，不存在或类型不同时返回null。反序列化元数据时使用，
+   * 避免流中任意的name在全局注册新key、占用槽位下标
+   */
+  @Nullable
+  static AttributeKey find(String name, Type type) {
+    AttributeKey key = keys.get(name);
+    return (key != null && key.type == type ? key : null);
+  }
+
+
+  public String getName() {
+    return this.name;
+  }
+
+  public Type getType() {
+    return this.type;
+  }
+
+  int getIndex() {
+    return this.index;
+  }
+
+  Slot getSlot() {
+    return this.slot;
+  }
+
+  /**
+   * 把long编码的值还原为对应的包装类型
+   */
+  Object box(long raw) {
+    return box(this.type, raw);
+  }
+
+  static Object box(Type type, long raw) {
+    switch (type) {
+      case INT:
+        return (int) raw;
+      case LONG:
+        return raw;
+      case BOOLEAN:
+        return (raw != 0L);
+      default:
+        return Double.longBitsToDouble(raw);
+    }
+  }
+
+  /**
+   * 反序列化时按name还原为当前JVM中的key，保证下标一致
+   */
+  private Object readResolve() {
+    return of(this.name, this.type);
+  }
+
+  @Override
+  public String toString() {
+    return this.type.name().toLowerCase() + " attribute '" + this.name + "'";
+  }
+
+
+  /**
+   * 元数据容器中类型化元数据的占位：值在key的槽位中。每个key只有一个实例，外部无法创建，
+   * 因此不会与普通元数据的值混淆
+   */
+  static final class Slot {
+
+    private final AttributeKey key;
+
+    private Slot(AttributeKey key) {
+      this.key = key;
+    }
+
+    AttributeKey getKey() {
+      return this.key;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.key.name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "slot of " + this.key;
+    }
+  }
+
+}
@@ -28,6 +28,13 @@ public class BeanMetadataAttribute implements BeanMetadataElement {
     this.value = value;
   }
 
+  /**
+   * 解析时记录的配置来源，启动后可以置为null释放
+   */
+  public void setSource(@Nullable Object source) {
+    this.source = source;
+  }
+
   /**
    *  nullSafeHashCode(): 空值安全，如果是空，就返回0 【可以参考】
    */
@@ -0,0 +1,24 @@
+package com.rhb.spring.parsing.beans.base;
+
+/**
+ * 可以单独使用的线程安全、保持插入顺序的AttributeAccessor
+ *
+ * 实现都在{@link AttributeAccessorSupport}中（写时复制、无锁读、原子的compute系列方法），
+ * BeanDefinition与这里共用同一套存储
+ *
+ * @author renhuibo
+ * @date 2026/10/19 14:30
+ */
+@SuppressWarnings("serial")
+public class ConcurrentAttributeAccessor extends AttributeAccessorSupport {
+
+  /**
+   * Copy the attributes from the supplied AttributeAccessor to this accessor.
+   * @param source the AttributeAccessor to copy from
+   */
+  @Override
+  public void copyAttributesFrom(AttributeAccessor source) {
+    super.copyAttributesFrom(source);
+  }
+
+}
@@ -1,5 +1,7 @@
 package com.rhb.spring.parsing.beans.base;
 
+import com.rhb.spring.parsing.beans.metrics.DefinitionMetrics;
+import com.rhb.spring.parsing.beans.metrics.Operation;
 import java.lang.reflect.Method;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -69,12 +71,14 @@ public class MethodOverrides {
    */
   @Nullable
   public MethodOverride getOverride(Method method) {
+    long start = DefinitionMetrics.start();
     MethodOverride match = null;
     for (MethodOverride candidate : this.overrides) {
       if (candidate.matches(method)) {
         match = candidate;
       }
     }
+    DefinitionMetrics.record(Operation.METHOD_OVERRIDE_LOOKUP, start);
     return match;
   }
 
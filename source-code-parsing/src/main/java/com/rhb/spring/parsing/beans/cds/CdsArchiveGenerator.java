@@ -0,0 +1,247 @@
+package com.rhb.spring.parsing.beans.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * 通过一次训练启动生成CDS归档：
+ *
+ * <ol>
+ * <li>类路径中的目录打包成jar（CDS只归档jar中的类，类路径不能包含非空目录）</li>
+ * <li>训练启动：用-XX:DumpLoadedClassList记录JVM加载的全部类，
+ * 同时通过{@link ClassListRecorder#OUTPUT_PROPERTY}让应用写出容器解析、实例化的bean类</li>
+ * <li>合并两份类列表，用-Xshare:dump生成归档</li>
+ * </ol>
+ *
+ * 生产启动使用{@link #getProductionJvmOptions()}（同样的类路径和-XX:SharedArchiveFile）即可从归档映射类。
+ * 需要JDK 11及以上的java命令
+ *
+ * @author renhuibo
+ * @date 2026/10/20 16:30
+ */
+public class CdsArchiveGenerator {
+
+  private final Path workDirectory;
+
+  private final String mainClass;
+
+  private List<String> classPath = Collections.emptyList();
+
+  private List<String> arguments = Collections.emptyList();
+
+  private List<String> jvmOptions = Collections.emptyList();
+
+  private String javaCommand = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+  @Nullable
+  private List<String> archiveClassPath;
+
+  @Nullable
+  private Path archive;
+
+
+  public CdsArchiveGenerator(Path workDirectory, String mainClass) {
+    Assert.notNull(workDirectory, "Work directory must not be null");
+    Assert.hasText(mainClass, "Main class must not be empty");
+    this.workDirectory = workDirectory;
+    this.mainClass = mainClass;
+  }
+
+
+  public void setClassPath(List<String> classPath) {
+    Assert.notNull(classPath, "Class path must not be null");
+    this.classPath = classPath;
+  }
+
+  /**
+   * 训练启动的程序参数，应当与生产启动走相同的启动路径
+   */
+  public void setArguments(List<String> arguments) {
+    Assert.notNull(arguments, "Arguments must not be null");
+    this.arguments = arguments;
+  }
+
+  /**
+   * 训练启动和生成归档时额外的JVM参数（例如-Xmx）
+   */
+  public void setJvmOptions(List<String> jvmOptions) {
+    Assert.notNull(jvmOptions, "JVM options must not be null");
+    this.jvmOptions = jvmOptions;
+  }
+
+  public void setJavaCommand(String javaCommand) {
+    Assert.hasText(javaCommand, "Java command must not be empty");
+    this.javaCommand = javaCommand;
+  }
+
+  public String getJavaCommand() {
+    return this.javaCommand;
+  }
+
+
+  /**
+   * 训练启动并生成归档
+   * @return 归档文件
+   */
+  public Path generate() throws IOException, InterruptedException {
+    Files.createDirectories(this.workDirectory);
+    List<String> archiveClassPath = packClassPath();
+    Path jvmClassList = this.workDirectory.resolve("jvm.classlist");
+    Path beanClassList = this.workDirectory.resolve("beans.classlist");
+    Files.deleteIfExists(beanClassList);
+
+    List<String> training = new ArrayList<>();
+    training.add(this.javaCommand);
+    training.addAll(this.jvmOptions);
+    training.add("-XX:DumpLoadedClassList=" + jvmClassList);
+    training.add("-D" + ClassListRecorder.OUTPUT_PROPERTY + "=" + beanClassList);
+    training.add("-cp");
+    training.add(joinClassPath(archiveClassPath));
+    training.add(this.mainClass);
+    training.addAll(this.arguments);
+    run(training, "training");
+
+    Path classList = mergeClassLists(jvmClassList, beanClassList);
+    Path archive = this.workDirectory.resolve("app.jsa");
+    List<String> dump = new ArrayList<>();
+    dump.add(this.javaCommand);
+    dump.addAll(this.jvmOptions);
+    dump.add("-Xshare:dump");
+    dump.add("-XX:SharedClassListFile=" + classList);
+    dump.add("-XX:SharedArchiveFile=" + archive);
+    dump.add("-cp");
+    dump.add(joinClassPath(archiveClassPath));
+    run(dump, "dump");
+
+    this.archiveClassPath = archiveClassPath;
+    this.archive = archive;
+    return archive;
+  }
+
+  /**
+   * 目录打包成工作目录下的jar，jar原样保留（顺序不变）
+   */
+  private List<String> packClassPath() throws IOException {
+    List<String> result = new ArrayList<>(this.classPath.size());
+    for (int i = 0; i < this.classPath.size(); i++) {
+      Path entry = Paths.get(this.classPath.get(i)).toAbsolutePath();
+      if (Files.isDirectory(entry)) {
+        Path jar = this.workDirectory.resolve("classpath-" + i + ".jar");
+        packDirectory(entry, jar);
+        result.add(jar.toString());
+      }
+      else if (Files.exists(entry)) {
+        result.add(entry.toString());
+      }
+    }
+    return result;
+  }
+
+  private static void packDirectory(Path directory, Path jar) throws IOException {
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+      Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+          if (!dir.equals(directory)) {
+            out.putNextEntry(new JarEntry(toEntryName(directory, dir) + "/"));
+            out.closeEntry();
+          }
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+          JarEntry entry = new JarEntry(toEntryName(directory, file));
+          entry.setTime(attrs.lastModifiedTime().toMillis());
+          out.putNextEntry(entry);
+          Files.copy(file, out);
+          out.closeEntry();
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    }
+  }
+
+  private static String toEntryName(Path root, Path path) {
+    return root.relativize(path).toString().replace(File.separatorChar, '/');
+  }
+
+  /**
+   * JVM记录的类列表在前（保留其中lambda等特殊行），再追加只在容器记录中出现的类
+   */
+  private Path mergeClassLists(Path jvmClassList, Path beanClassList) throws IOException {
+    if (!Files.exists(jvmClassList)) {
+      throw new IOException("Training run did not write " + jvmClassList);
+    }
+    List<String> lines = new ArrayList<>(Files.readAllLines(jvmClassList, StandardCharsets.UTF_8));
+    Set<String> classNames = new HashSet<>(lines.size() * 2);
+    for (String line : lines) {
+      int separator = line.indexOf(' ');
+      classNames.add(separator > 0 ? line.substring(0, separator) : line);
+    }
+    if (Files.exists(beanClassList)) {
+      for (String className : Files.readAllLines(beanClassList, StandardCharsets.UTF_8)) {
+        if (!className.isEmpty() && classNames.add(className)) {
+          lines.add(className);
+        }
+      }
+    }
+    Path classList = this.workDirectory.resolve("app.classlist");
+    Files.write(classList, lines, StandardCharsets.UTF_8);
+    return classList;
+  }
+
+  private void run(List<String> command, String step) throws IOException, InterruptedException {
+    Path log = this.workDirectory.resolve(step + ".log");
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      throw new IOException("CDS " + step + " step failed with exit code " + exitCode + ", see " + log);
+    }
+  }
+
+  private static String joinClassPath(List<String> classPath) {
+    return StringUtils.collectionToDelimitedString(classPath, File.pathSeparator);
+  }
+
+
+  /**
+   * 归档对应的类路径（目录已替换为jar），生产启动必须使用同样的类路径
+   */
+  public List<String> getArchiveClassPath() {
+    Assert.state(this.archiveClassPath != null, "Archive has not been generated");
+    return this.archiveClassPath;
+  }
+
+  public Path getArchive() {
+    Assert.state(this.archive != null, "Archive has not been generated");
+    return this.archive;
+  }
+
+  /**
+   * 生产启动的JVM参数：类路径和归档
+   */
+  public List<String> getProductionJvmOptions() {
+    return Arrays.asList("-XX:SharedArchiveFile=" + getArchive(), "-Xshare:auto",
+        "-cp", joinClassPath(getArchiveClassPath()));
+  }
+
+}
@@ -0,0 +1,126 @@
+package com.rhb.spring.parsing.beans.cds;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 记录容器启动时用到的类，生成CDS（Class Data Sharing）的类列表
+ *
+ * 容器在resolveBeanClass时记录bean的类，实例化后记录实例的实际类型（工厂方法、instance supplier
+ * 返回的类型可能与定义中的类名不同），父类和接口排在子类之前。
+ * 只记录内置类加载器加载的类，自定义类加载器、lambda等隐藏类无法按类名归档。
+ *
+ * 实例化过程中间接加载的类（例如构造方法里用到的类）由训练运行时JVM的-XX:DumpLoadedClassList补全，
+ * 见{@link CdsArchiveGenerator}
+ *
+ * @author renhuibo
+ * @date 2026/10/20 16:10
+ */
+public class ClassListRecorder {
+
+  /**
+   * 训练运行时由{@link CdsArchiveGenerator}设置：类列表的输出文件
+   */
+  public static final String OUTPUT_PROPERTY = "cds.beanClassList";
+
+  private final Set<Class<?>> recorded = ConcurrentHashMap.newKeySet();
+
+  private final Set<String> classNames = new LinkedHashSet<>(256);
+
+
+  public void recordBeanClass(Class<?> beanClass) {
+    Assert.notNull(beanClass, "Bean class must not be null");
+    record(beanClass);
+  }
+
+  public void recordInstance(Object bean) {
+    Assert.notNull(bean, "Bean must not be null");
+    record(bean.getClass());
+  }
+
+  private void record(@Nullable Class<?> type) {
+    while (type != null && type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type == null || type.isPrimitive() || this.recorded.contains(type) || !isArchivable(type)) {
+      return;
+    }
+    record(type.getSuperclass());
+    for (Class<?> ifc : type.getInterfaces()) {
+      record(ifc);
+    }
+    if (this.recorded.add(type)) {
+      synchronized (this.classNames) {
+        this.classNames.add(type.getName());
+      }
+    }
+  }
+
+  /**
+   * 内置类加载器加载的、有稳定类名的类
+   */
+  private static boolean isArchivable(Class<?> type) {
+    if (type.isSynthetic() && type.getName().contains("$$Lambda")) {
+      return false;
+    }
+    ClassLoader classLoader = type.getClassLoader();
+    if (classLoader == null) {
+      return true;
+    }
+    ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+    return (classLoader == systemClassLoader || classLoader == systemClassLoader.getParent());
+  }
+
+  /**
+   * 按记录顺序返回类名（父类型在前）
+   */
+  public List<String> getClassNames() {
+    synchronized (this.classNames) {
+      return new ArrayList<>(this.classNames);
+    }
+  }
+
+  public int size() {
+    synchronized (this.classNames) {
+      return this.classNames.size();
+    }
+  }
+
+  /**
+   * 按CDS类列表的格式写出：每行一个类，包名用'/'分隔
+   */
+  public void writeClassList(Path file) throws IOException {
+    Assert.notNull(file, "File must not be null");
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      for (String className : getClassNames()) {
+        writer.write(className.replace('.', '/'));
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * 训练运行时（设置了{@link #OUTPUT_PROPERTY}）写出类列表，否则什么也不做
+   * @return 是否写出
+   */
+  public boolean writeClassListIfRequested() throws IOException {
+    String output = System.getProperty(OUTPUT_PROPERTY);
+    if (output == null || output.isEmpty()) {
+      return false;
+    }
+    writeClassList(Paths.get(output));
+    return true;
+  }
+
+}
@@ -0,0 +1,307 @@
+package com.rhb.spring.parsing.beans.conversion;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Dictionary;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 字面量（字符串）属性值和构造参数的类型转换缓存，键为 (beanName, 属性下标或参数下标, 目标类型)
+ *
+ * 同时记录被转换的字符串，字符串不同（例如占位符的取值变了）视为未命中；
+ * 只缓存不可变的转换结果：先排除明确可变的类型（数组、集合、Map、Date、Calendar、TimeZone、
+ * 只能读一次或暴露内部数组的Resource等），再检查白名单（基本类型包装类、String、枚举、Class、
+ * BigDecimal/BigInteger、java.time、UUID、Locale、Charset、URI/URL/File/Path、Pattern以及其他Resource）
+ *
+ * 命中时不分配对象；定义被替换或移除时由容器调用{@link #evict}
+ *
+ * @author renhuibo
+ * @date 2026/10/20 14:30
+ */
+public class ConversionCache implements ConversionCacheMXBean {
+
+  /** 按具体类匹配的不可变类型 */
+  private final Set<Class<?>> immutableTypes = ConcurrentHashMap.newKeySet();
+
+  /** 按父类型匹配的不可变类型（实现类不公开，例如ZoneRegion、UnixPath） */
+  private final Set<Class<?>> immutableSupertypes = new CopyOnWriteArraySet<>(Arrays.asList(
+      ZoneId.class, Charset.class, Path.class, Resource.class));
+
+  /** 明确排除的可变类型，优先于白名单 */
+  private final Set<Class<?>> mutableTypes = new CopyOnWriteArraySet<>(Arrays.asList(
+      Collection.class, Map.class, Dictionary.class, Date.class, Calendar.class, TimeZone.class,
+      InputStreamResource.class, ByteArrayResource.class));
+
+  private final Map<String, BeanConversions> conversions = new ConcurrentHashMap<>(256);
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder uncacheable = new LongAdder();
+
+
+  public ConversionCache() {
+    this.immutableTypes.addAll(Arrays.asList(
+        Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        Character.class, String.class, BigDecimal.class, BigInteger.class, Class.class,
+        Duration.class, Period.class, Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+        OffsetDateTime.class, OffsetTime.class, ZonedDateTime.class, Year.class, YearMonth.class, MonthDay.class,
+        UUID.class, Locale.class, Currency.class, URI.class, URL.class, File.class, Pattern.class));
+  }
+
+
+  /**
+   * 声明转换结果类型不可变（按具体类匹配）
+   */
+  public void registerImmutableType(Class<?> type) {
+    Assert.notNull(type, "Type must not be null");
+    Assert.isTrue(!isExcluded(type), () -> "Type " + type.getName() + " is explicitly excluded as mutable");
+    this.immutableTypes.add(type);
+  }
+
+  /**
+   * 声明类型（及其子类）可变，不再缓存
+   */
+  public void registerMutableType(Class<?> type) {
+    Assert.notNull(type, "Type must not be null");
+    this.mutableTypes.add(type);
+    this.immutableTypes.remove(type);
+    clear();
+  }
+
+  /**
+   * 转换结果能否缓存：不属于明确排除的类型，且在白名单中
+   */
+  public boolean isImmutable(@Nullable Object value) {
+    if (value == null) {
+      return false;
+    }
+    Class<?> type = value.getClass();
+    if (isExcluded(type)) {
+      return false;
+    }
+    if (this.immutableTypes.contains(type) || value instanceof Enum) {
+      return true;
+    }
+    for (Class<?> supertype : this.immutableSupertypes) {
+      if (supertype.isInstance(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isExcluded(Class<?> type) {
+    if (type.isArray()) {
+      return true;
+    }
+    for (Class<?> mutableType : this.mutableTypes) {
+      if (mutableType.isAssignableFrom(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 查找缓存的转换结果，未命中返回null
+   * @param argument true表示构造参数（或工厂方法参数），false表示属性
+   * @param index 属性在属性值列表中的下标，或参数下标
+   */
+  @Nullable
+  public Object get(String beanName, boolean argument, int index, Class<?> targetType, String value) {
+    BeanConversions bean = this.conversions.get(beanName);
+    Entry entry = (bean != null ? bean.find(argument, index, targetType) : null);
+    if (entry != null && (entry.value == value || entry.value.equals(value))) {
+      this.hits.increment();
+      return entry.converted;
+    }
+    this.misses.increment();
+    return null;
+  }
+
+  /**
+   * 保存转换结果，结果可变时只计数不缓存
+   */
+  public void put(String beanName, boolean argument, int index, Class<?> targetType, String value,
+      @Nullable Object converted) {
+
+    if (!isImmutable(converted)) {
+      this.uncacheable.increment();
+      return;
+    }
+    BeanConversions bean = this.conversions.get(beanName);
+    if (bean == null) {
+      bean = this.conversions.computeIfAbsent(beanName, name -> new BeanConversions());
+    }
+    bean.put(argument, index, new Entry(targetType, value, converted));
+  }
+
+  /**
+   * 清除一个bean的缓存
+   */
+  public void evict(String beanName) {
+    this.conversions.remove(beanName);
+  }
+
+  @Override
+  public void clear() {
+    this.conversions.clear();
+  }
+
+  @Override
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  @Override
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  @Override
+  public long getUncacheableCount() {
+    return this.uncacheable.sum();
+  }
+
+  @Override
+  public double getHitRatio() {
+    long hits = getHitCount();
+    long total = hits + getMissCount();
+    return (total > 0 ? (double) hits / total : 0);
+  }
+
+  @Override
+  public int getCachedBeanCount() {
+    return this.conversions.size();
+  }
+
+  @Override
+  public void resetStatistics() {
+    this.hits.reset();
+    this.misses.reset();
+    this.uncacheable.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "ConversionCache: hits=" + getHitCount() + ", misses=" + getMissCount() +
+        ", uncacheable=" + getUncacheableCount() + ", beans=" + getCachedBeanCount();
+  }
+
+
+  private static final class Entry {
+
+    final Class<?> targetType;
+
+    final String value;
+
+    final Object converted;
+
+    Entry(Class<?> targetType, String value, Object converted) {
+      this.targetType = targetType;
+      this.value = value;
+      this.converted = converted;
+    }
+  }
+
+
+  /**
+   * 一个bean的缓存：下标 -> 该位置按目标类型区分的转换结果（构造参数在多个候选之间可能有不同的目标类型）
+   */
+  private static final class BeanConversions {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private volatile Entry[][] properties = new Entry[0][];
+
+    private volatile Entry[][] arguments = new Entry[0][];
+
+    @Nullable
+    Entry find(boolean argument, int index, Class<?> targetType) {
+      Entry[][] slots = (argument ? this.arguments : this.properties);
+      if (index >= slots.length || slots[index] == null) {
+        return null;
+      }
+      for (Entry entry : slots[index]) {
+        if (entry.targetType == targetType) {
+          return entry;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * 写时复制，读取不加锁
+     */
+    synchronized void put(boolean argument, int index, Entry entry) {
+      Entry[][] slots = (argument ? this.arguments : this.properties);
+      if (index >= slots.length) {
+        slots = Arrays.copyOf(slots, index + 1);
+      }
+      else {
+        slots = slots.clone();
+      }
+      Entry[] entries = (slots[index] != null ? slots[index] : NO_ENTRIES);
+      int existing = -1;
+      for (int i = 0; i < entries.length; i++) {
+        if (entries[i].targetType == entry.targetType) {
+          existing = i;
+        }
+      }
+      if (existing >= 0) {
+        entries = entries.clone();
+        entries[existing] = entry;
+      }
+      else {
+        entries = Arrays.copyOf(entries, entries.length + 1);
+        entries[entries.length - 1] = entry;
+      }
+      slots[index] = entries;
+      if (argument) {
+        this.arguments = slots;
+      }
+      else {
+        this.properties = slots;
+      }
+    }
+  }
+
+}
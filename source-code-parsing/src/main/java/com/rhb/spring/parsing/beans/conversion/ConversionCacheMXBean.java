@@ -0,0 +1,27 @@
+package com.rhb.spring.parsing.beans.conversion;
+
+/**
+ * 类型转换缓存的JMX视图，建议的ObjectName为 com.rhb.spring:type=ConversionCache,name=容器名
+ *
+ * @author renhuibo
+ * @date 2026/10/20 14:20
+ */
+public interface ConversionCacheMXBean {
+
+  long getHitCount();
+
+  long getMissCount();
+
+  /**
+   * 转换结果可变（或不在白名单中）而没有缓存的次数
+   */
+  long getUncacheableCount();
+
+  double getHitRatio();
+
+  int getCachedBeanCount();
+
+  void resetStatistics();
+
+  void clear();
+}
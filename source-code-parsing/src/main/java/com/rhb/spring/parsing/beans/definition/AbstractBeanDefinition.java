@@ -3,8 +3,15 @@ package com.rhb.spring.parsing.beans.definition;
 import com.rhb.spring.parsing.beans.base.BeanMetadataAttributeAccessor;
 import com.rhb.spring.parsing.beans.base.MethodOverride;
 import com.rhb.spring.parsing.beans.base.MethodOverrides;
+import com.rhb.spring.parsing.beans.diagnostics.DefinitionEvents;
+import com.rhb.spring.parsing.beans.metrics.DefinitionMetrics;
+import com.rhb.spring.parsing.beans.metrics.Operation;
+import com.rhb.spring.parsing.beans.scope.ScopeDescriptor;
 import java.lang.reflect.Constructor;
+import java.util.AbstractSet;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -64,6 +71,11 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
   private volatile Object beanClass;
   @Nullable
   private String scope;
+  /**
+   * scope解析后的描述符，setScope时清空
+   */
+  @Nullable
+  private transient volatile ScopeDescriptor scopeDescriptor;
   private boolean abstractFlag;
   private boolean lazyInit;
   private int autowireMode;
@@ -73,7 +85,17 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
   private boolean autowireCandidate;
   private boolean primary;
 
-  private final Map<String, AutowireCandidateQualifier> qualifiers;
+  /**
+   * qualifiers和methodOverrides在第一次写入时才创建，大多数定义两者都为空
+   */
+  @Nullable
+  private Map<String, AutowireCandidateQualifier> qualifiers;
+
+  /**
+   * getQualifierView()返回的只读视图，第一次调用时创建
+   */
+  @Nullable
+  private transient Set<AutowireCandidateQualifier> qualifierView;
 
   @Nullable
   private Supplier<?> instanceSupplier;
@@ -87,6 +109,7 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
   private ConstructorArgumentValues constructorArgumentValues;
   @Nullable
   private MutablePropertyValues propertyValues;
+  @Nullable
   private MethodOverrides methodOverrides;
 
   @Nullable
@@ -117,10 +140,8 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
     this.dependencyCheck = 0;
     this.autowireCandidate = true;
     this.primary = false;
-    this.qualifiers = new LinkedHashMap();
     this.nonPublicAccessAllowed = true;
     this.lenientConstructorResolution = true;
-    this.methodOverrides = new MethodOverrides();
     this.enforceInitMethod = true;
     this.enforceDestroyMethod = true;
     this.synthetic = false;
@@ -130,6 +151,7 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
   }
 
   protected AbstractBeanDefinition(BeanDefinition original) {
+    Object event = DefinitionEvents.beginMerge();
     this.scope = "";
     this.abstractFlag = false;
     this.lazyInit = false;
@@ -137,10 +159,8 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
     this.dependencyCheck = 0;
     this.autowireCandidate = true;
     this.primary = false;
-    this.qualifiers = new LinkedHashMap();
     this.nonPublicAccessAllowed = true;
     this.lenientConstructorResolution = true;
-    this.methodOverrides = new MethodOverrides();
     this.enforceInitMethod = true;
     this.enforceDestroyMethod = true;
     this.synthetic = false;
@@ -194,9 +214,14 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
       this.setResourceDescription(original.getResourceDescription());
     }
 
+    if (event != null) {
+      DefinitionEvents.commitMerge(event, DefinitionEvents.MERGE_COPY, null, this.getBeanClassName(),
+          original.getParentName());
+    }
   }
 
   public void overrideFrom(BeanDefinition other) {
+    Object event = DefinitionEvents.beginMerge();
     if (StringUtils.hasLength(other.getBeanClassName())) {
       this.setBeanClassName(other.getBeanClassName());
     }
@@ -263,6 +288,10 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
       this.setResourceDescription(other.getResourceDescription());
     }
 
+    if (event != null) {
+      DefinitionEvents.commitMerge(event, DefinitionEvents.MERGE_OVERRIDE_FROM, null, this.getBeanClassName(),
+          other.getParentName());
+    }
   }
 
   public void applyDefaults(BeanDefinitionDefaults defaults) {
@@ -313,15 +342,27 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
     if (className == null) {
       return null;
     } else {
-      Class<?> resolvedClass = ClassUtils.forName(className, classLoader);
-      this.beanClass = resolvedClass;
-      return resolvedClass;
+      long start = DefinitionMetrics.start();
+      Object event = DefinitionEvents.beginClassResolution();
+      Class<?> resolvedClass = null;
+      try {
+        resolvedClass = ClassUtils.forName(className, classLoader);
+        this.beanClass = resolvedClass;
+        return resolvedClass;
+      }
+      finally {
+        DefinitionMetrics.record(Operation.CLASS_RESOLUTION, start);
+        if (event != null) {
+          DefinitionEvents.commitClassResolution(event, className, classLoader, resolvedClass != null);
+        }
+      }
     }
   }
 
   @Override
   public void setScope(@Nullable String scope) {
     this.scope = scope;
+    this.scopeDescriptor = null;
   }
 
   @Override
@@ -332,12 +373,33 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 
   @Override
   public boolean isSingleton() {
-    return "singleton".equals(this.scope) || "".equals(this.scope);
+    return getScopeDescriptor().isSingleton();
   }
 
   @Override
   public boolean isPrototype() {
-    return "prototype".equals(this.scope);
+    return getScopeDescriptor().isPrototype();
+  }
+
+  /**
+   * 当前scope的描述符（第一次调用时解析并缓存，自定义scope此时没有绑定Scope实现）
+   */
+  public ScopeDescriptor getScopeDescriptor() {
+    ScopeDescriptor descriptor = this.scopeDescriptor;
+    if (descriptor == null) {
+      descriptor = ScopeDescriptor.forName(this.scope);
+      this.scopeDescriptor = descriptor;
+    }
+    return descriptor;
+  }
+
+  /**
+   * 由容器设置按其ScopeRegistry解析的描述符，名称必须与当前scope一致
+   */
+  public void setScopeDescriptor(ScopeDescriptor scopeDescriptor) {
+    Assert.isTrue(ObjectUtils.nullSafeEquals(this.scope, scopeDescriptor.getName()),
+        "ScopeDescriptor does not match scope '" + this.scope + "'");
+    this.scopeDescriptor = scopeDescriptor;
   }
 
   public void setAbstract(boolean abstractFlag) {
@@ -567,13 +629,23 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
   }
 
   public void validate() throws BeanDefinitionValidationException {
-    if (this.hasMethodOverrides() && this.getFactoryMethodName() != null) {
-      throw new BeanDefinitionValidationException("Cannot combine factory method with container-generated method overrides: the factory method must create the concrete bean instance.");
-    } else {
-      if (this.hasBeanClass()) {
-        this.prepareMethodOverrides();
+    Object event = DefinitionEvents.beginValidation();
+    boolean valid = false;
+    try {
+      if (this.hasMethodOverrides() && this.getFactoryMethodName() != null) {
+        throw new BeanDefinitionValidationException("Cannot combine factory method with container-generated method overrides: the factory method must create the concrete bean instance.");
+      } else {
+        if (this.hasBeanClass()) {
+          this.prepareMethodOverrides();
+        }
+        valid = true;
+      }
+    }
+    finally {
+      if (event != null) {
+        DefinitionEvents.commitValidation(event, this.getBeanClassName(),
+            (this.hasMethodOverrides() ? this.getMethodOverrides().getOverrides().size() : 0), valid);
       }
-
     }
   }
 
@@ -600,25 +672,59 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 
   /************************************自定义新增方法**********************************************/
   public void addQualifier(AutowireCandidateQualifier qualifier) {
+    if (this.qualifiers == null) {
+      this.qualifiers = new LinkedHashMap<>(4);
+    }
     this.qualifiers.put(qualifier.getTypeName(), qualifier);
   }
 
   public boolean hasQualifier(String typeName) {
-    return this.qualifiers.containsKey(typeName);
+    return (this.qualifiers != null && this.qualifiers.containsKey(typeName));
   }
 
   @Nullable
   public AutowireCandidateQualifier getQualifier(String typeName) {
-    return (AutowireCandidateQualifier)this.qualifiers.get(typeName);
+    return (this.qualifiers != null ? this.qualifiers.get(typeName) : null);
   }
 
+  /**
+   * 返回qualifier的快照（按添加顺序），之后的addQualifier不会反映到返回的集合中
+   */
   public Set<AutowireCandidateQualifier> getQualifiers() {
-    return new LinkedHashSet(this.qualifiers.values());
+    return (this.qualifiers != null ? new LinkedHashSet<>(this.qualifiers.values()) : new LinkedHashSet<>());
+  }
+
+  /**
+   * 不复制的只读视图（按添加顺序，随addQualifier变化），用于只读遍历；
+   * 遍历期间不能修改定义，需要保留结果时使用{@link #getQualifiers()}
+   */
+  public Set<AutowireCandidateQualifier> getQualifierView() {
+    Set<AutowireCandidateQualifier> view = this.qualifierView;
+    if (view == null) {
+      view = new QualifierSetView();
+      this.qualifierView = view;
+    }
+    return view;
   }
 
   public void copyQualifiersFrom(AbstractBeanDefinition source) {
     Assert.notNull(source, "Source must not be null");
-    this.qualifiers.putAll(source.qualifiers);
+    if (source.qualifiers != null && !source.qualifiers.isEmpty()) {
+      if (this.qualifiers == null) {
+        this.qualifiers = new LinkedHashMap<>(source.qualifiers);
+      }
+      else {
+        this.qualifiers.putAll(source.qualifiers);
+      }
+    }
+  }
+
+  /**
+   * 比较用：未创建和为空的qualifiers视为相同
+   */
+  @Nullable
+  private Map<String, AutowireCandidateQualifier> getQualifierMap() {
+    return (this.qualifiers != null && !this.qualifiers.isEmpty() ? this.qualifiers : null);
   }
 
   public void setInstanceSupplier(@Nullable Supplier<?> instanceSupplier) {
@@ -650,12 +756,18 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
     this.methodOverrides = methodOverrides;
   }
 
+  /**
+   * 没有设置过时创建一个空的MethodOverrides（只读取时先用hasMethodOverrides判断，避免创建）
+   */
   public MethodOverrides getMethodOverrides() {
+    if (this.methodOverrides == null) {
+      this.methodOverrides = new MethodOverrides();
+    }
     return this.methodOverrides;
   }
 
   public boolean hasMethodOverrides() {
-    return !this.methodOverrides.isEmpty();
+    return (this.methodOverrides != null && !this.methodOverrides.isEmpty());
   }
 
   public void setEnforceInitMethod(boolean enforceInitMethod) {
@@ -695,7 +807,7 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
       return false;
     } else {
       AbstractBeanDefinition that = (AbstractBeanDefinition)other;
-      return ObjectUtils.nullSafeEquals(this.getBeanClassName(), that.getBeanClassName()) && ObjectUtils.nullSafeEquals(this.scope, that.scope) && this.abstractFlag == that.abstractFlag && this.lazyInit == that.lazyInit && this.autowireMode == that.autowireMode && this.dependencyCheck == that.dependencyCheck && Arrays.equals(this.dependsOn, that.dependsOn) && this.autowireCandidate == that.autowireCandidate && ObjectUtils.nullSafeEquals(this.qualifiers, that.qualifiers) && this.primary == that.primary && this.nonPublicAccessAllowed == that.nonPublicAccessAllowed && this.lenientConstructorResolution == that.lenientConstructorResolution && ObjectUtils.nullSafeEquals(this.constructorArgumentValues, that.constructorArgumentValues) && ObjectUtils.nullSafeEquals(this.propertyValues, that.propertyValues) && ObjectUtils.nullSafeEquals(this.methodOverrides, that.methodOverrides) && ObjectUtils.nullSafeEquals(this.factoryBeanName, that.factoryBeanName) && ObjectUtils.nullSafeEquals(this.factoryMethodName, that.factoryMethodName) && ObjectUtils.nullSafeEquals(this.initMethodName, that.initMethodName) && this.enforceInitMethod == that.enforceInitMethod && ObjectUtils.nullSafeEquals(this.destroyMethodName, that.destroyMethodName) && this.enforceDestroyMethod == that.enforceDestroyMethod && this.synthetic == that.synthetic && this.role == that.role && super.equals(other);
+      return ObjectUtils.nullSafeEquals(this.getBeanClassName(), that.getBeanClassName()) && ObjectUtils.nullSafeEquals(this.scope, that.scope) && this.abstractFlag == that.abstractFlag && this.lazyInit == that.lazyInit && this.autowireMode == that.autowireMode && this.dependencyCheck == that.dependencyCheck && Arrays.equals(this.dependsOn, that.dependsOn) && this.autowireCandidate == that.autowireCandidate && ObjectUtils.nullSafeEquals(this.getQualifierMap(), that.getQualifierMap()) && this.primary == that.primary && this.nonPublicAccessAllowed == that.nonPublicAccessAllowed && this.lenientConstructorResolution == that.lenientConstructorResolution && ObjectUtils.nullSafeEquals(this.constructorArgumentValues, that.constructorArgumentValues) && ObjectUtils.nullSafeEquals(this.propertyValues, that.propertyValues) && ObjectUtils.nullSafeEquals(this.hasMethodOverrides() ? this.methodOverrides : null, that.hasMethodOverrides() ? that.methodOverrides : null) && ObjectUtils.nullSafeEquals(this.factoryBeanName, that.factoryBeanName) && ObjectUtils.nullSafeEquals(this.factoryMethodName, that.factoryMethodName) && ObjectUtils.nullSafeEquals(this.initMethodName, that.initMethodName) && this.enforceInitMethod == that.enforceInitMethod && ObjectUtils.nullSafeEquals(this.destroyMethodName, that.destroyMethodName) && this.enforceDestroyMethod == that.enforceDestroyMethod && this.synthetic == that.synthetic && this.role == that.role && super.equals(other);
     }
   }
 
@@ -732,4 +844,28 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 
     return sb.toString();
   }
+
+
+  /**
+   * qualifiers的value按typeName唯一，可以直接作为Set暴露
+   */
+  private class QualifierSetView extends AbstractSet<AutowireCandidateQualifier> {
+
+    @Override
+    public Iterator<AutowireCandidateQualifier> iterator() {
+      return (qualifiers != null ? Collections.unmodifiableCollection(qualifiers.values()).iterator() :
+          Collections.emptyIterator());
+    }
+
+    @Override
+    public int size() {
+      return (qualifiers != null ? qualifiers.size() : 0);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return (o instanceof AutowireCandidateQualifier &&
+          o.equals(getQualifier(((AutowireCandidateQualifier) o).getTypeName())));
+    }
+  }
 }
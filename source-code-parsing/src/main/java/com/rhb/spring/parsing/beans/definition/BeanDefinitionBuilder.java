@@ -0,0 +1,241 @@
+package com.rhb.spring.parsing.beans.definition;
+
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 以链式调用一次性构建GenericBeanDefinition
+ *
+ * 与Spring的BeanDefinitionBuilder不同，这里不做防御性复制：setDependsOn直接使用传入的数组，
+ * 属性值、构造参数、qualifier和方法覆盖在第一次添加时才创建（可以用expectPropertyValues预先指定容量），
+ * getBeanDefinition直接交出正在构建的定义。因此一个builder只能使用一次，交出后再修改会抛出IllegalStateException
+ *
+ * @author renhuibo
+ * @date 2026/10/19 23:10
+ */
+public final class BeanDefinitionBuilder {
+
+  @Nullable
+  private GenericBeanDefinition beanDefinition;
+
+  private int constructorArgIndex;
+
+  private int expectedPropertyValues;
+
+
+  private BeanDefinitionBuilder(GenericBeanDefinition beanDefinition) {
+    this.beanDefinition = beanDefinition;
+  }
+
+
+  public static BeanDefinitionBuilder genericBeanDefinition() {
+    return new BeanDefinitionBuilder(new GenericBeanDefinition());
+  }
+
+  public static BeanDefinitionBuilder genericBeanDefinition(String beanClassName) {
+    BeanDefinitionBuilder builder = genericBeanDefinition();
+    builder.beanDefinition.setBeanClassName(beanClassName);
+    return builder;
+  }
+
+  public static BeanDefinitionBuilder genericBeanDefinition(Class<?> beanClass) {
+    BeanDefinitionBuilder builder = genericBeanDefinition();
+    builder.beanDefinition.setBeanClass(beanClass);
+    return builder;
+  }
+
+  public static BeanDefinitionBuilder childBeanDefinition(String parentName) {
+    BeanDefinitionBuilder builder = genericBeanDefinition();
+    builder.beanDefinition.setParentName(parentName);
+    return builder;
+  }
+
+
+  private GenericBeanDefinition target() {
+    GenericBeanDefinition bd = this.beanDefinition;
+    Assert.state(bd != null, "BeanDefinitionBuilder already used: getBeanDefinition() has been called");
+    return bd;
+  }
+
+  public BeanDefinitionBuilder setParentName(@Nullable String parentName) {
+    target().setParentName(parentName);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setScope(@Nullable String scope) {
+    target().setScope(scope);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setAbstract(boolean abstractFlag) {
+    target().setAbstract(abstractFlag);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setLazyInit(boolean lazyInit) {
+    target().setLazyInit(lazyInit);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setPrimary(boolean primary) {
+    target().setPrimary(primary);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setAutowireMode(int autowireMode) {
+    target().setAutowireMode(autowireMode);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setDependencyCheck(int dependencyCheck) {
+    target().setDependencyCheck(dependencyCheck);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setAutowireCandidate(boolean autowireCandidate) {
+    target().setAutowireCandidate(autowireCandidate);
+    return this;
+  }
+
+  /**
+   * 直接使用传入的数组（不复制），调用方之后不能再修改它
+   */
+  public BeanDefinitionBuilder setDependsOn(@Nullable String... dependsOn) {
+    target().setDependsOn(dependsOn);
+    return this;
+  }
+
+  public BeanDefinitionBuilder addQualifier(AutowireCandidateQualifier qualifier) {
+    target().addQualifier(qualifier);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setFactoryMethod(String factoryMethod) {
+    target().setFactoryMethodName(factoryMethod);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setFactoryMethodOnBean(String factoryMethod, String factoryBean) {
+    GenericBeanDefinition bd = target();
+    bd.setFactoryMethodName(factoryMethod);
+    bd.setFactoryBeanName(factoryBean);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setInstanceSupplier(@Nullable Supplier<?> instanceSupplier) {
+    target().setInstanceSupplier(instanceSupplier);
+    return this;
+  }
+
+  /**
+   * 按添加顺序作为下标添加构造参数
+   */
+  public BeanDefinitionBuilder addConstructorArgValue(@Nullable Object value) {
+    target().getConstructorArgumentValues().addIndexedArgumentValue(this.constructorArgIndex++, value);
+    return this;
+  }
+
+  public BeanDefinitionBuilder addConstructorArgReference(String beanName) {
+    return addConstructorArgValue(new RuntimeBeanReference(beanName));
+  }
+
+  /**
+   * 预先指定属性值的数量，属性值列表按该容量创建；需要在第一次addPropertyValue之前调用
+   */
+  public BeanDefinitionBuilder expectPropertyValues(int count) {
+    Assert.state(!target().hasPropertyValues(), "Property values already added");
+    this.expectedPropertyValues = count;
+    return this;
+  }
+
+  public BeanDefinitionBuilder addPropertyValue(String name, @Nullable Object value) {
+    GenericBeanDefinition bd = target();
+    if (!bd.hasPropertyValues()) {
+      bd.setPropertyValues(new MutablePropertyValues(
+          new ArrayList<>(this.expectedPropertyValues > 0 ? this.expectedPropertyValues : 4)));
+    }
+    bd.getPropertyValues().add(name, value);
+    return this;
+  }
+
+  public BeanDefinitionBuilder addPropertyReference(String name, String beanName) {
+    return addPropertyValue(name, new RuntimeBeanReference(beanName));
+  }
+
+  public BeanDefinitionBuilder addMethodOverride(MethodOverride override) {
+    target().getMethodOverrides().addOverride(override);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setInitMethodName(@Nullable String initMethodName) {
+    target().setInitMethodName(initMethodName);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setDestroyMethodName(@Nullable String destroyMethodName) {
+    target().setDestroyMethodName(destroyMethodName);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setEnforceInitMethod(boolean enforceInitMethod) {
+    target().setEnforceInitMethod(enforceInitMethod);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setEnforceDestroyMethod(boolean enforceDestroyMethod) {
+    target().setEnforceDestroyMethod(enforceDestroyMethod);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setNonPublicAccessAllowed(boolean nonPublicAccessAllowed) {
+    target().setNonPublicAccessAllowed(nonPublicAccessAllowed);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setLenientConstructorResolution(boolean lenientConstructorResolution) {
+    target().setLenientConstructorResolution(lenientConstructorResolution);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setRole(int role) {
+    target().setRole(role);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setSynthetic(boolean synthetic) {
+    target().setSynthetic(synthetic);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setDescription(@Nullable String description) {
+    target().setDescription(description);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setResource(@Nullable Resource resource) {
+    target().setResource(resource);
+    return this;
+  }
+
+  public BeanDefinitionBuilder setAttribute(String name, @Nullable Object value) {
+    target().setAttribute(name, value);
+    return this;
+  }
+
+  /**
+   * 交出构建好的定义（不做校验，注册时由注册中心校验），之后builder不能再使用
+   */
+  public GenericBeanDefinition getBeanDefinition() {
+    GenericBeanDefinition bd = target();
+    this.beanDefinition = null;
+    return bd;
+  }
+
+}
@@ -0,0 +1,97 @@
+package com.rhb.spring.parsing.beans.definition;
+
+import com.rhb.spring.parsing.beans.diagnostics.DefinitionEvents;
+import com.rhb.spring.parsing.beans.metrics.DefinitionMetrics;
+import com.rhb.spring.parsing.beans.metrics.Operation;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * AbstractBeanDefinition的通用实现类，在原有基础上补充parentName属性
+ *
+ * 合并后的BeanDefinition（parentName为空）也使用该类表示
+ *
+ * @author renhuibo
+ * @date 2026/10/19 10:12
+ */
+@SuppressWarnings("serial")
+public class GenericBeanDefinition extends AbstractBeanDefinition {
+
+  @Nullable
+  private String parentName;
+
+
+  /**
+   * Create a new GenericBeanDefinition, to be configured through its bean
+   * properties and configuration methods.
+   */
+  public GenericBeanDefinition() {
+    super();
+  }
+
+  /**
+   * Create a new GenericBeanDefinition with the given constructor arguments
+   * and property values.
+   */
+  public GenericBeanDefinition(@Nullable ConstructorArgumentValues cargs, @Nullable MutablePropertyValues pvs) {
+    super(cargs, pvs);
+  }
+
+  /**
+   * Create a new GenericBeanDefinition as deep copy of the given
+   * bean definition.
+   * @param original the original bean definition to copy from
+   */
+  public GenericBeanDefinition(BeanDefinition original) {
+    super(original);
+  }
+
+
+  @Override
+  public void setParentName(@Nullable String parentName) {
+    this.parentName = parentName;
+  }
+
+  @Override
+  @Nullable
+  public String getParentName() {
+    return this.parentName;
+  }
+
+
+  @Override
+  public AbstractBeanDefinition cloneBeanDefinition() {
+    long start = DefinitionMetrics.start();
+    Object event = DefinitionEvents.beginClone();
+    GenericBeanDefinition clone = new GenericBeanDefinition(this);
+    DefinitionMetrics.record(Operation.CLONE, start);
+    if (event != null) {
+      DefinitionEvents.commitClone(event, getBeanClassName());
+    }
+    return clone;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return (this == other || (other instanceof GenericBeanDefinition && super.equals(other) &&
+        ObjectUtils.nullSafeEquals(this.parentName, ((GenericBeanDefinition) other).parentName)));
+  }
+
+  @Override
+  public int hashCode() {
+    return 29 * super.hashCode() + ObjectUtils.nullSafeHashCode(this.parentName);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("Generic bean");
+    if (this.parentName != null) {
+      sb.append(" with parent '").append(this.parentName).append("'");
+    }
+    sb.append(": ").append(super.toString());
+    return sb.toString();
+  }
+
+}
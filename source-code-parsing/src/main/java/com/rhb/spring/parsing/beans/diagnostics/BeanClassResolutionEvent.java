@@ -0,0 +1,26 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 解析beanClass（AbstractBeanDefinition#resolveBeanClass）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 19:42
+ */
+@Name("com.rhb.spring.BeanClassResolution")
+@Label("Bean Class Resolution")
+@Description("Loading of the bean class from its class name")
+@Threshold("1 ms")
+public class BeanClassResolutionEvent extends BeanDefinitionEvent {
+
+  @Label("Class Loader")
+  public String classLoader;
+
+  @Label("Resolved")
+  public boolean resolved;
+
+}
@@ -0,0 +1,20 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 克隆BeanDefinition（cloneBeanDefinition）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 19:48
+ */
+@Name("com.rhb.spring.BeanDefinitionClone")
+@Label("Bean Definition Clone")
+@Description("Deep copy of a bean definition")
+@Threshold("100 us")
+public class BeanDefinitionCloneEvent extends BeanDefinitionEvent {
+
+}
@@ -0,0 +1,27 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * BeanDefinition生命周期JFR事件的基类
+ *
+ * 事件按 begin -> shouldCommit -> commit 的方式使用：没有在录制或耗时低于阈值时shouldCommit返回false，
+ * 不会填充字段也不会写入缓冲区；默认不采集栈（采集栈的开销远大于事件本身）。
+ * 业务代码通过{@link DefinitionEvents}使用，不直接引用事件类
+ *
+ * @author renhuibo
+ * @date 2026/10/19 19:40
+ */
+@Category({"Spring", "Bean Definitions"})
+@StackTrace(false)
+public abstract class BeanDefinitionEvent extends jdk.jfr.Event {
+
+  @Label("Bean Name")
+  public String beanName;
+
+  @Label("Bean Class")
+  public String beanClassName;
+
+}
@@ -0,0 +1,503 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import com.rhb.spring.parsing.beans.base.AttributeAccessorSupport;
+import com.rhb.spring.parsing.beans.base.BeanMetadataAttribute;
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * 以JSON Lines格式（每行一个BeanDefinition）流式导出注册中心中的所有定义，用于线上问题排查
+ *
+ * 与逐个调用toString()不同，这里直接把字符写入一个复用的char[]缓冲区，
+ * 缓冲区满了再整体写到Writer，或经复用的CharsetEncoder编码后写到WritableByteChannel；
+ * 数字、转义也直接写入缓冲区，不生成中间字符串。
+ *
+ * 实例持有缓冲区，不是线程安全的，可以重复使用
+ *
+ * @author renhuibo
+ * @date 2026/10/19 16:20
+ */
+public class BeanDefinitionJsonLinesExporter {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final char[] buffer;
+
+  private int position;
+
+  private final CharBuffer charView;
+
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+  private final ByteBuffer byteBuffer;
+
+  @Nullable
+  private Writer writer;
+
+  @Nullable
+  private WritableByteChannel channel;
+
+
+  public BeanDefinitionJsonLinesExporter() {
+    this(DEFAULT_BUFFER_SIZE);
+  }
+
+  public BeanDefinitionJsonLinesExporter(int bufferSize) {
+    Assert.isTrue(bufferSize >= 64, "Buffer size must be at least 64");
+    this.buffer = new char[bufferSize];
+    this.charView = CharBuffer.wrap(this.buffer);
+    this.byteBuffer = ByteBuffer.allocateDirect(bufferSize * 3);
+  }
+
+
+  /**
+   * 只导出指定role的定义
+   * @see BeanDefinition#ROLE_APPLICATION
+   */
+  public static Predicate<BeanDefinition> roleFilter(int role) {
+    return bd -> bd.getRole() == role;
+  }
+
+  /**
+   * 只导出指定scope的定义（空scope视为singleton）
+   */
+  public static Predicate<BeanDefinition> scopeFilter(String scope) {
+    return bd -> {
+      String bdScope = bd.getScope();
+      if (bdScope == null || bdScope.isEmpty()) {
+        bdScope = BeanDefinition.SCOPE_SINGLETON;
+      }
+      return bdScope.equals(scope);
+    };
+  }
+
+  /**
+   * 导出到Writer（不会关闭Writer）
+   * @return 导出的定义数量
+   */
+  public int export(BeanDefinitionRegistry registry, Writer writer, @Nullable Predicate<? super BeanDefinition> filter)
+      throws IOException {
+
+    Assert.notNull(writer, "Writer must not be null");
+    this.writer = writer;
+    try {
+      int count = exportAll(registry, filter);
+      writer.flush();
+      return count;
+    }
+    finally {
+      this.writer = null;
+      this.position = 0;
+    }
+  }
+
+  /**
+   * 以UTF-8编码导出到Channel（不会关闭Channel）
+   * @return 导出的定义数量
+   */
+  public int export(BeanDefinitionRegistry registry, WritableByteChannel channel,
+      @Nullable Predicate<? super BeanDefinition> filter) throws IOException {
+
+    Assert.notNull(channel, "Channel must not be null");
+    this.channel = channel;
+    this.encoder.reset();
+    ((Buffer) this.byteBuffer).clear();
+    try {
+      int count = exportAll(registry, filter);
+      ((Buffer) this.charView).limit(this.position).position(0);
+      encodeAndWrite(true);
+      return count;
+    }
+    finally {
+      this.channel = null;
+      this.position = 0;
+    }
+  }
+
+  private int exportAll(BeanDefinitionRegistry registry, @Nullable Predicate<? super BeanDefinition> filter)
+      throws IOException {
+
+    int count = 0;
+    for (String beanName : registry.getBeanDefinitionNames()) {
+      BeanDefinition bd;
+      try {
+        bd = registry.getBeanDefinition(beanName);
+      }
+      catch (RuntimeException ex) {
+        // 导出期间定义被移除
+        continue;
+      }
+      if (filter == null || filter.test(bd)) {
+        writeDefinition(beanName, bd);
+        count++;
+      }
+    }
+    flushBuffer();
+    return count;
+  }
+
+
+  /*******************************************单个定义的输出**************************************/
+  private void writeDefinition(String beanName, BeanDefinition bd) throws IOException {
+    append('{');
+    field("beanName", beanName, true);
+    field("beanClassName", bd.getBeanClassName(), false);
+    field("parentName", bd.getParentName(), false);
+    field("scope", bd.getScope(), false);
+    field("abstract", bd.isAbstract());
+    field("lazyInit", bd.isLazyInit());
+    field("autowireCandidate", bd.isAutowireCandidate());
+    field("primary", bd.isPrimary());
+    field("role", bd.getRole());
+    field("factoryBeanName", bd.getFactoryBeanName(), false);
+    field("factoryMethodName", bd.getFactoryMethodName(), false);
+    field("initMethodName", bd.getInitMethodName(), false);
+    field("destroyMethodName", bd.getDestroyMethodName(), false);
+    field("description", bd.getDescription(), false);
+    writeStringArray("dependsOn", bd.getDependsOn());
+
+    if (bd instanceof AbstractBeanDefinition) {
+      AbstractBeanDefinition abd = (AbstractBeanDefinition) bd;
+      field("autowireMode", abd.getAutowireMode());
+      field("dependencyCheck", abd.getDependencyCheck());
+      field("nonPublicAccessAllowed", abd.isNonPublicAccessAllowed());
+      field("lenientConstructorResolution", abd.isLenientConstructorResolution());
+      field("enforceInitMethod", abd.isEnforceInitMethod());
+      field("enforceDestroyMethod", abd.isEnforceDestroyMethod());
+      field("synthetic", abd.isSynthetic());
+      if (abd.hasConstructorArgumentValues()) {
+        writeConstructorArguments(abd.getConstructorArgumentValues());
+      }
+      if (abd.hasPropertyValues()) {
+        writePropertyValues(abd.getPropertyValues());
+      }
+      writeQualifiers(abd);
+      if (abd.hasMethodOverrides()) {
+        writeMethodOverrides(abd);
+      }
+    }
+    else {
+      if (bd.hasConstructorArgumentValues()) {
+        writeConstructorArguments(bd.getConstructorArgumentValues());
+      }
+      if (bd.hasPropertyValues()) {
+        writePropertyValues(bd.getPropertyValues());
+      }
+    }
+
+    Collection<String> attributeNames = AttributeAccessorSupport.attributeNamesOf(bd);
+    if (!attributeNames.isEmpty()) {
+      append(",\"attributes\":{");
+      boolean first = true;
+      for (String attributeName : attributeNames) {
+        if (!first) {
+          append(',');
+        }
+        first = false;
+        string(attributeName);
+        append(':');
+        value(bd.getAttribute(attributeName));
+      }
+      append('}');
+    }
+
+    field("resourceDescription", bd.getResourceDescription(), false);
+    append('}');
+    append('\n');
+  }
+
+  private void writeConstructorArguments(ConstructorArgumentValues cargs) throws IOException {
+    append(",\"constructorArguments\":{\"indexed\":{");
+    boolean first = true;
+    for (Map.Entry<Integer, ValueHolder> entry : cargs.getIndexedArgumentValues().entrySet()) {
+      if (!first) {
+        append(',');
+      }
+      first = false;
+      append('"');
+      number(entry.getKey());
+      append("\":");
+      value(entry.getValue().getValue());
+    }
+    append("},\"generic\":[");
+    List<ValueHolder> generic = cargs.getGenericArgumentValues();
+    for (int i = 0; i < generic.size(); i++) {
+      if (i > 0) {
+        append(',');
+      }
+      value(generic.get(i).getValue());
+    }
+    append("]}");
+  }
+
+  private void writePropertyValues(MutablePropertyValues pvs) throws IOException {
+    append(",\"properties\":{");
+    List<PropertyValue> list = pvs.getPropertyValueList();
+    for (int i = 0; i < list.size(); i++) {
+      if (i > 0) {
+        append(',');
+      }
+      PropertyValue pv = list.get(i);
+      string(pv.getName());
+      append(':');
+      value(pv.getValue());
+    }
+    append('}');
+  }
+
+  private void writeQualifiers(AbstractBeanDefinition abd) throws IOException {
+    boolean first = true;
+    for (AutowireCandidateQualifier qualifier : abd.getQualifierView()) {
+      append(first ? ",\"qualifiers\":[" : ",");
+      first = false;
+      append("{\"type\":");
+      string(qualifier.getTypeName());
+      // Spring的AutowireCandidateQualifier只有复制数组的attributeNames()，qualifier的元数据通常只有value一个
+      for (String attributeName : qualifier.attributeNames()) {
+        append(',');
+        string(attributeName);
+        append(':');
+        value(qualifier.getAttribute(attributeName));
+      }
+      append('}');
+    }
+    if (!first) {
+      append(']');
+    }
+  }
+
+  private void writeMethodOverrides(AbstractBeanDefinition abd) throws IOException {
+    append(",\"methodOverrides\":[");
+    boolean first = true;
+    for (MethodOverride override : abd.getMethodOverrides().getOverrides()) {
+      if (!first) {
+        append(',');
+      }
+      first = false;
+      append("{\"methodName\":");
+      string(override.getMethodName());
+      append(",\"type\":");
+      string(override.getClass().getName());
+      append('}');
+    }
+    append(']');
+  }
+
+  private void writeStringArray(String name, @Nullable String[] values) throws IOException {
+    if (ObjectUtils.isEmpty(values)) {
+      return;
+    }
+    append(",\"").append(name).append("\":[");
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        append(',');
+      }
+      string(values[i]);
+    }
+    append(']');
+  }
+
+
+  /*******************************************JSON输出**************************************/
+  private void field(String name, @Nullable String value, boolean first) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (!first) {
+      append(',');
+    }
+    append('"').append(name).append("\":");
+    string(value);
+  }
+
+  private void field(String name, boolean value) throws IOException {
+    append(",\"").append(name).append("\":").append(value ? "true" : "false");
+  }
+
+  private void field(String name, int value) throws IOException {
+    append(",\"").append(name).append("\":");
+    number(value);
+  }
+
+  /**
+   * 配置值：Bean引用输出为{"ref":name}，字符串/数字/布尔原样输出，其余输出toString()
+   */
+  private void value(@Nullable Object value) throws IOException {
+    if (value instanceof BeanMetadataAttribute) {
+      value = ((BeanMetadataAttribute) value).getValue();
+    }
+    if (value == null) {
+      append("null");
+    }
+    else if (value instanceof String) {
+      string((String) value);
+    }
+    else if (value instanceof TypedStringValue) {
+      string(((TypedStringValue) value).getValue());
+    }
+    else if (value instanceof RuntimeBeanReference) {
+      append("{\"ref\":");
+      string(((RuntimeBeanReference) value).getBeanName());
+      append('}');
+    }
+    else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      number(((Number) value).longValue());
+    }
+    else if (value instanceof Boolean) {
+      append((Boolean) value ? "true" : "false");
+    }
+    else {
+      string(String.valueOf(value));
+    }
+  }
+
+  private void string(@Nullable String value) throws IOException {
+    if (value == null) {
+      append("null");
+      return;
+    }
+    append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          append('\\').append('"');
+          break;
+        case '\\':
+          append('\\').append('\\');
+          break;
+        case '\n':
+          append('\\').append('n');
+          break;
+        case '\r':
+          append('\\').append('r');
+          break;
+        case '\t':
+          append('\\').append('t');
+          break;
+        default:
+          if (c < 0x20) {
+            append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+          }
+          else {
+            append(c);
+          }
+      }
+    }
+    append('"');
+  }
+
+  /**
+   * 直接按位写入数字，不经过Long.toString
+   */
+  private void number(long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      append("-9223372036854775808");
+      return;
+    }
+    if (value < 0) {
+      append('-');
+      value = -value;
+    }
+    long divisor = 1;
+    while (divisor <= value / 10) {
+      divisor *= 10;
+    }
+    while (divisor > 0) {
+      append((char) ('0' + (value / divisor) % 10));
+      divisor /= 10;
+    }
+  }
+
+  private BeanDefinitionJsonLinesExporter append(char c) throws IOException {
+    if (this.position == this.buffer.length) {
+      flushBuffer();
+    }
+    this.buffer[this.position++] = c;
+    return this;
+  }
+
+  private BeanDefinitionJsonLinesExporter append(String s) throws IOException {
+    for (int i = 0; i < s.length(); i++) {
+      append(s.charAt(i));
+    }
+    return this;
+  }
+
+  private void flushBuffer() throws IOException {
+    if (this.position == 0) {
+      return;
+    }
+    if (this.writer != null) {
+      this.writer.write(this.buffer, 0, this.position);
+      this.position = 0;
+    }
+    else {
+      ((Buffer) this.charView).limit(this.position).position(0);
+      encodeAndWrite(false);
+      // 缓冲区末尾被截断的代理对留到下一次编码
+      int remaining = this.charView.remaining();
+      System.arraycopy(this.buffer, this.charView.position(), this.buffer, 0, remaining);
+      this.position = remaining;
+    }
+  }
+
+  /**
+   * 把charView中的字符编码到byteBuffer，满了就写出到channel
+   */
+  private void encodeAndWrite(boolean endOfInput) throws IOException {
+    while (true) {
+      CoderResult result = this.encoder.encode(this.charView, this.byteBuffer, endOfInput);
+      if (result.isError()) {
+        result.throwException();
+      }
+      if (result.isOverflow()) {
+        drainBytes();
+        continue;
+      }
+      break;
+    }
+    if (endOfInput) {
+      while (this.encoder.flush(this.byteBuffer).isOverflow()) {
+        drainBytes();
+      }
+    }
+    drainBytes();
+  }
+
+  private void drainBytes() throws IOException {
+    ((Buffer) this.byteBuffer).flip();
+    while (this.byteBuffer.hasRemaining()) {
+      this.channel.write(this.byteBuffer);
+    }
+    ((Buffer) this.byteBuffer).clear();
+  }
+
+}
@@ -0,0 +1,26 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 合并BeanDefinition：拷贝构造、overrideFrom，以及工厂中合并parent定义的整个过程
+ *
+ * @author renhuibo
+ * @date 2026/10/19 19:45
+ */
+@Name("com.rhb.spring.BeanDefinitionMerge")
+@Label("Bean Definition Merge")
+@Description("Copying a bean definition or overriding it with the settings of another one")
+@Threshold("100 us")
+public class BeanDefinitionMergeEvent extends BeanDefinitionEvent {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Parent Name")
+  public String parentName;
+
+}
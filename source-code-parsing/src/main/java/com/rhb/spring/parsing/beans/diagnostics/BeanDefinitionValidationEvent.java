@@ -0,0 +1,26 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 校验BeanDefinition（validate / prepareMethodOverrides）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 19:47
+ */
+@Name("com.rhb.spring.BeanDefinitionValidation")
+@Label("Bean Definition Validation")
+@Description("Validation of a bean definition, including preparation of its method overrides")
+@Threshold("100 us")
+public class BeanDefinitionValidationEvent extends BeanDefinitionEvent {
+
+  @Label("Method Overrides")
+  public int methodOverrideCount;
+
+  @Label("Valid")
+  public boolean valid;
+
+}
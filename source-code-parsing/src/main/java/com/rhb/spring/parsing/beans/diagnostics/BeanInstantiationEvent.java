@@ -0,0 +1,23 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 实例化bean（instance supplier、工厂方法或构造器，不含属性填充和初始化）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 19:50
+ */
+@Name("com.rhb.spring.BeanInstantiation")
+@Label("Bean Instantiation")
+@Description("Creation of the raw bean instance")
+@Threshold("1 ms")
+public class BeanInstantiationEvent extends BeanDefinitionEvent {
+
+  @Label("Strategy")
+  public String strategy;
+
+}
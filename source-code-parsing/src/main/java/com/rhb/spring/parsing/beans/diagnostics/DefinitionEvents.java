@@ -0,0 +1,222 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * BeanDefinition生命周期JFR事件的入口，调用方只依赖这个类，不直接引用jdk.jfr
+ *
+ * jdk.jfr在8u262之前的Java 8上不存在：这里的方法签名不出现事件类型，事件类只在内部的JfrDelegate中引用，
+ * JFR不存在时JfrDelegate不会被加载。begin系列方法在JFR不存在或事件未启用（没有在录制）时返回null，
+ * 不分配事件对象；返回非null时由调用方在操作结束后把它传给对应的commit方法
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public abstract class DefinitionEvents {
+
+  public static final String MERGE_COPY = "copy";
+
+  public static final String MERGE_OVERRIDE_FROM = "overrideFrom";
+
+  public static final String MERGE = "merge";
+
+  public static final String INSTANCE_SUPPLIER = "instanceSupplier";
+
+  public static final String FACTORY_METHOD = "factoryMethod";
+
+  public static final String CONSTRUCTOR = "constructor";
+
+  private static final boolean jfrPresent =
+      ClassUtils.isPresent("jdk.jfr.Event", DefinitionEvents.class.getClassLoader());
+
+
+  public static boolean isJfrPresent() {
+    return jfrPresent;
+  }
+
+  @Nullable
+  public static Object beginClassResolution() {
+    return (jfrPresent ? JfrDelegate.beginClassResolution() : null);
+  }
+
+  public static void commitClassResolution(Object event, String beanClassName, @Nullable ClassLoader classLoader,
+      boolean resolved) {
+
+    JfrDelegate.commitClassResolution(event, beanClassName, classLoader, resolved);
+  }
+
+  @Nullable
+  public static Object beginMerge() {
+    return (jfrPresent ? JfrDelegate.beginMerge() : null);
+  }
+
+  /**
+   * @param operation {@link #MERGE_COPY}、{@link #MERGE_OVERRIDE_FROM}或{@link #MERGE}
+   */
+  public static void commitMerge(Object event, String operation, @Nullable String beanName,
+      @Nullable String beanClassName, @Nullable String parentName) {
+
+    JfrDelegate.commitMerge(event, operation, beanName, beanClassName, parentName);
+  }
+
+  @Nullable
+  public static Object beginValidation() {
+    return (jfrPresent ? JfrDelegate.beginValidation() : null);
+  }
+
+  public static void commitValidation(Object event, @Nullable String beanClassName, int methodOverrideCount,
+      boolean valid) {
+
+    JfrDelegate.commitValidation(event, beanClassName, methodOverrideCount, valid);
+  }
+
+  @Nullable
+  public static Object beginClone() {
+    return (jfrPresent ? JfrDelegate.beginClone() : null);
+  }
+
+  public static void commitClone(Object event, @Nullable String beanClassName) {
+    JfrDelegate.commitClone(event, beanClassName);
+  }
+
+  @Nullable
+  public static Object beginInstantiation() {
+    return (jfrPresent ? JfrDelegate.beginInstantiation() : null);
+  }
+
+  /**
+   * @param strategy {@link #INSTANCE_SUPPLIER}、{@link #FACTORY_METHOD}或{@link #CONSTRUCTOR}
+   */
+  public static void commitInstantiation(Object event, String beanName, String beanClassName, String strategy) {
+    JfrDelegate.commitInstantiation(event, beanName, beanClassName, strategy);
+  }
+
+
+  /**
+   * 只在JFR存在时加载。每种事件保留一个不提交的实例，用来在分配之前检查isEnabled()
+   */
+  private static final class JfrDelegate {
+
+    private static final BeanClassResolutionEvent classResolution = new BeanClassResolutionEvent();
+
+    private static final BeanDefinitionMergeEvent merge = new BeanDefinitionMergeEvent();
+
+    private static final BeanDefinitionValidationEvent validation = new BeanDefinitionValidationEvent();
+
+    private static final BeanDefinitionCloneEvent clone = new BeanDefinitionCloneEvent();
+
+    private static final BeanInstantiationEvent instantiation = new BeanInstantiationEvent();
+
+    @Nullable
+    static Object beginClassResolution() {
+      if (!classResolution.isEnabled()) {
+        return null;
+      }
+      BeanClassResolutionEvent event = new BeanClassResolutionEvent();
+      event.begin();
+      return event;
+    }
+
+    static void commitClassResolution(Object handle, String beanClassName, @Nullable ClassLoader classLoader,
+        boolean resolved) {
+
+      BeanClassResolutionEvent event = (BeanClassResolutionEvent) handle;
+      event.end();
+      if (event.shouldCommit()) {
+        event.beanClassName = beanClassName;
+        event.classLoader = String.valueOf(classLoader);
+        event.resolved = resolved;
+        event.commit();
+      }
+    }
+
+    @Nullable
+    static Object beginMerge() {
+      if (!merge.isEnabled()) {
+        return null;
+      }
+      BeanDefinitionMergeEvent event = new BeanDefinitionMergeEvent();
+      event.begin();
+      return event;
+    }
+
+    static void commitMerge(Object handle, String operation, @Nullable String beanName,
+        @Nullable String beanClassName, @Nullable String parentName) {
+
+      BeanDefinitionMergeEvent event = (BeanDefinitionMergeEvent) handle;
+      event.end();
+      if (event.shouldCommit()) {
+        event.operation = operation;
+        event.beanName = beanName;
+        event.beanClassName = beanClassName;
+        event.parentName = parentName;
+        event.commit();
+      }
+    }
+
+    @Nullable
+    static Object beginValidation() {
+      if (!validation.isEnabled()) {
+        return null;
+      }
+      BeanDefinitionValidationEvent event = new BeanDefinitionValidationEvent();
+      event.begin();
+      return event;
+    }
+
+    static void commitValidation(Object handle, @Nullable String beanClassName, int methodOverrideCount,
+        boolean valid) {
+
+      BeanDefinitionValidationEvent event = (BeanDefinitionValidationEvent) handle;
+      event.end();
+      if (event.shouldCommit()) {
+        event.beanClassName = beanClassName;
+        event.methodOverrideCount = methodOverrideCount;
+        event.valid = valid;
+        event.commit();
+      }
+    }
+
+    @Nullable
+    static Object beginClone() {
+      if (!clone.isEnabled()) {
+        return null;
+      }
+      BeanDefinitionCloneEvent event = new BeanDefinitionCloneEvent();
+      event.begin();
+      return event;
+    }
+
+    static void commitClone(Object handle, @Nullable String beanClassName) {
+      BeanDefinitionCloneEvent event = (BeanDefinitionCloneEvent) handle;
+      event.end();
+      if (event.shouldCommit()) {
+        event.beanClassName = beanClassName;
+        event.commit();
+      }
+    }
+
+    @Nullable
+    static Object beginInstantiation() {
+      if (!instantiation.isEnabled()) {
+        return null;
+      }
+      BeanInstantiationEvent event = new BeanInstantiationEvent();
+      event.begin();
+      return event;
+    }
+
+    static void commitInstantiation(Object handle, String beanName, String beanClassName, String strategy) {
+      BeanInstantiationEvent event = (BeanInstantiationEvent) handle;
+      event.end();
+      if (event.shouldCommit()) {
+        event.beanName = beanName;
+        event.beanClassName = beanClassName;
+        event.strategy = strategy;
+        event.commit();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,39 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+
+/**
+ * BeanDefinition的注册中心：按beanName保存、移除、查询BeanDefinition
+ *
+ * @author renhuibo
+ * @date 2026/10/19 10:20
+ */
+public interface BeanDefinitionRegistry {
+
+  /**
+   * 注册BeanDefinition，同名的定义会被覆盖
+   */
+  void registerBeanDefinition(String beanName, BeanDefinition beanDefinition)
+      throws BeanDefinitionStoreException;
+
+  /**
+   * 移除BeanDefinition
+   */
+  void removeBeanDefinition(String beanName) throws NoSuchBeanDefinitionException;
+
+  /**
+   * 获取BeanDefinition（未合并的原始定义）
+   */
+  BeanDefinition getBeanDefinition(String beanName) throws NoSuchBeanDefinitionException;
+
+  boolean containsBeanDefinition(String beanName);
+
+  /**
+   * 按注册顺序返回所有beanName
+   */
+  String[] getBeanDefinitionNames();
+
+  int getBeanDefinitionCount();
+}
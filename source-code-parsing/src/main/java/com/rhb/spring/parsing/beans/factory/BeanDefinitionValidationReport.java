@@ -0,0 +1,122 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.support.BeanDefinitionValidationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * 批量校验的结果：包含所有校验失败的BeanDefinition，而不是遇到第一个错误就终止
+ *
+ * @author renhuibo
+ * @date 2026/10/19 13:40
+ */
+public class BeanDefinitionValidationReport {
+
+  private final int validatedCount;
+
+  private final List<Problem> problems;
+
+  private final long elapsedNanos;
+
+
+  BeanDefinitionValidationReport(int validatedCount, List<Problem> problems, long elapsedNanos) {
+    this.validatedCount = validatedCount;
+    this.problems = Collections.unmodifiableList(problems);
+    this.elapsedNanos = elapsedNanos;
+  }
+
+
+  /**
+   * 参与校验的BeanDefinition数量
+   */
+  public int getValidatedCount() {
+    return this.validatedCount;
+  }
+
+  public boolean hasProblems() {
+    return !this.problems.isEmpty();
+  }
+
+  /**
+   * 所有校验问题，按beanName的注册顺序排列
+   */
+  public List<Problem> getProblems() {
+    return this.problems;
+  }
+
+  public long getElapsedTime(TimeUnit unit) {
+    return unit.convert(this.elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 存在问题时抛出一个汇总所有问题的异常（第一个问题作为cause）
+   */
+  public void throwIfProblems() throws BeanDefinitionValidationException {
+    if (hasProblems()) {
+      throw new BeanDefinitionValidationException(toString(), this.problems.get(0).getException());
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Validated ").append(this.validatedCount).append(" bean definitions in ")
+        .append(getElapsedTime(TimeUnit.MILLISECONDS)).append("ms: ");
+    if (this.problems.isEmpty()) {
+      return sb.append("no problems found").toString();
+    }
+    sb.append(this.problems.size()).append(" problem(s) found");
+    for (Problem problem : this.problems) {
+      sb.append("\n - ").append(problem);
+    }
+    return sb.toString();
+  }
+
+
+  /**
+   * 单个BeanDefinition的校验问题
+   */
+  public static final class Problem {
+
+    private final String beanName;
+
+    @Nullable
+    private final String resourceDescription;
+
+    private final BeanDefinitionValidationException exception;
+
+    Problem(String beanName, @Nullable String resourceDescription, BeanDefinitionValidationException exception) {
+      this.beanName = beanName;
+      this.resourceDescription = resourceDescription;
+      this.exception = exception;
+    }
+
+    public String getBeanName() {
+      return this.beanName;
+    }
+
+    /**
+     * 定义来源的描述，即{@code getResourceDescription()}
+     */
+    @Nullable
+    public String getResourceDescription() {
+      return this.resourceDescription;
+    }
+
+    public BeanDefinitionValidationException getException() {
+      return this.exception;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("bean '").append(this.beanName).append("'");
+      if (this.resourceDescription != null) {
+        sb.append(" defined in ").append(this.resourceDescription);
+      }
+      return sb.append(": ").append(this.exception.getMessage()).toString();
+    }
+  }
+
+}
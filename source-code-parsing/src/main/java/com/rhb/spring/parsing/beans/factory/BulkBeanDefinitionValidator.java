@@ -0,0 +1,114 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionValidationReport.Problem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.support.BeanDefinitionValidationException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * 并行批量校验BeanDefinition
+ *
+ * AbstractBeanDefinition.validate()遇到问题直接抛异常，且一次只校验一个定义；
+ * 这里在ForkJoinPool中并行调用validate()，收集所有问题后生成一份汇总报告
+ *
+ * 配合{@link SimpleBeanFactory#setValidateOnRegistration(boolean)}关闭注册时的逐个校验，
+ * 在所有定义注册完成后统一校验
+ *
+ * @author renhuibo
+ * @date 2026/10/19 13:52
+ */
+public class BulkBeanDefinitionValidator {
+
+  private final ForkJoinPool pool;
+
+
+  /**
+   * 使用公共的ForkJoinPool
+   */
+  public BulkBeanDefinitionValidator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public BulkBeanDefinitionValidator(ForkJoinPool pool) {
+    Assert.notNull(pool, "ForkJoinPool must not be null");
+    this.pool = pool;
+  }
+
+
+  /**
+   * 校验注册中心中的所有BeanDefinition
+   */
+  public BeanDefinitionValidationReport validate(BeanDefinitionRegistry registry) {
+    String[] beanNames = registry.getBeanDefinitionNames();
+    BeanDefinition[] definitions = new BeanDefinition[beanNames.length];
+    for (int i = 0; i < beanNames.length; i++) {
+      definitions[i] = registry.getBeanDefinition(beanNames[i]);
+    }
+    return validate(beanNames, definitions);
+  }
+
+  /**
+   * 校验给定的BeanDefinition（报告按Map的迭代顺序排列）
+   */
+  public BeanDefinitionValidationReport validate(Map<String, ? extends BeanDefinition> definitions) {
+    String[] beanNames = StringUtils.toStringArray(definitions.keySet());
+    BeanDefinition[] values = new BeanDefinition[beanNames.length];
+    for (int i = 0; i < beanNames.length; i++) {
+      values[i] = definitions.get(beanNames[i]);
+    }
+    return validate(beanNames, values);
+  }
+
+  private BeanDefinitionValidationReport validate(String[] beanNames, BeanDefinition[] definitions) {
+    long start = System.nanoTime();
+    // 每个下标只由一个线程写入，无需同步，也保证了报告顺序与注册顺序一致
+    Problem[] problems = new Problem[definitions.length];
+    try {
+      this.pool.submit(() -> IntStream.range(0, definitions.length).parallel()
+          .forEach(i -> problems[i] = validateOne(beanNames[i], definitions[i]))).get();
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while validating bean definitions", ex);
+    }
+    catch (ExecutionException ex) {
+      throw new IllegalStateException("Bulk validation of bean definitions failed", ex.getCause());
+    }
+
+    List<Problem> found = new ArrayList<>();
+    for (Problem problem : problems) {
+      if (problem != null) {
+        found.add(problem);
+      }
+    }
+    return new BeanDefinitionValidationReport(definitions.length, found, System.nanoTime() - start);
+  }
+
+  @Nullable
+  private static Problem validateOne(String beanName, BeanDefinition bd) {
+    if (!(bd instanceof AbstractBeanDefinition)) {
+      return null;
+    }
+    try {
+      ((AbstractBeanDefinition) bd).validate();
+      return null;
+    }
+    catch (BeanDefinitionValidationException ex) {
+      return new Problem(beanName, bd.getResourceDescription(), ex);
+    }
+    catch (RuntimeException ex) {
+      return new Problem(beanName, bd.getResourceDescription(),
+          new BeanDefinitionValidationException("Unexpected validation failure: " + ex, ex));
+    }
+  }
+
+}
@@ -0,0 +1,54 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import java.lang.reflect.Method;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * 销毁Bean实例：DisposableBean.destroy() -> 定义中的destroyMethodName（与destroy()同名时不重复调用），
+ * 容器销毁单例、池化scope销毁实例时共用
+ *
+ * 销毁阶段的异常不向外抛出，与DisposableBeanAdapter保持一致
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public abstract class DestroyMethodInvoker {
+
+  private static final Log logger = LogFactory.getLog(DestroyMethodInvoker.class);
+
+
+  /**
+   * 是否有需要调用的销毁逻辑
+   */
+  public static boolean hasDestroyMethod(@Nullable BeanDefinition bd, Object bean) {
+    return (bean instanceof DisposableBean || (bd != null && StringUtils.hasLength(bd.getDestroyMethodName())));
+  }
+
+  public static void destroy(String beanName, @Nullable BeanDefinition bd, Object bean) {
+    try {
+      if (bean instanceof DisposableBean) {
+        ((DisposableBean) bean).destroy();
+      }
+      String destroyMethodName = (bd != null ? bd.getDestroyMethodName() : null);
+      if (StringUtils.hasLength(destroyMethodName) &&
+          !(bean instanceof DisposableBean && "destroy".equals(destroyMethodName))) {
+        Method destroyMethod = BeanUtils.findMethod(bean.getClass(), destroyMethodName);
+        if (destroyMethod != null) {
+          ReflectionUtils.makeAccessible(destroyMethod);
+          destroyMethod.invoke(bean);
+        }
+      }
+    }
+    catch (Throwable ex) {
+      logger.warn("Destroy method on bean with name '" + beanName + "' threw an exception", ex);
+    }
+  }
+
+}
@@ -0,0 +1,240 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 工厂方法解析缓存，键为 (工厂类, 方法名, 静态/实例, 参数形状, nonPublicAccessAllowed, lenientConstructorResolution)，
+ * 参数形状是解析后的每个参数的实际类型（null参数记为null）。不包含beanName，使用同一个工厂类的定义共享解析结果
+ *
+ * 缓存的是按原有顺序排列的候选方法（名称、静态与否、参数个数都匹配），每个候选已设置可访问、缓存了参数类型，
+ * 并预先判断当前参数形状能否不经转换直接传入。选择时仍按原有规则逐个尝试转换，结果与不缓存时一致；
+ * 宽松模式下第一个候选可以直接传入（或严格模式下只有一个候选）时，直接调用该方法
+ *
+ * @author renhuibo
+ * @date 2026/10/20 17:40
+ */
+public class FactoryMethodCache {
+
+  private final Map<Key, Resolution> resolutions = new ConcurrentHashMap<>(64);
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+
+  public Resolution getResolution(Class<?> factoryClass, String methodName, boolean isStatic, Object[] args,
+      boolean nonPublicAccessAllowed, boolean lenient) {
+
+    Key key = new Key(factoryClass, methodName, isStatic, shapeOf(args), nonPublicAccessAllowed, lenient);
+    Resolution resolution = this.resolutions.get(key);
+    if (resolution != null) {
+      this.hits.increment();
+      return resolution;
+    }
+    this.misses.increment();
+    return this.resolutions.computeIfAbsent(key, k -> resolve(k.factoryClass, k.methodName, k.isStatic, k.shape,
+        k.nonPublicAccessAllowed, k.lenient));
+  }
+
+  /**
+   * 不经缓存解析
+   */
+  public static Resolution resolve(Class<?> factoryClass, String methodName, boolean isStatic, Object[] args,
+      boolean nonPublicAccessAllowed, boolean lenient) {
+
+    return resolve(factoryClass, methodName, isStatic, shapeOf(args), nonPublicAccessAllowed, lenient);
+  }
+
+  private static Resolution resolve(Class<?> factoryClass, String methodName, boolean isStatic, Class<?>[] shape,
+      boolean nonPublicAccessAllowed, boolean lenient) {
+
+    Method[] methods = (nonPublicAccessAllowed ?
+        ReflectionUtils.getAllDeclaredMethods(factoryClass) : factoryClass.getMethods());
+    List<BoundFactoryMethod> candidates = new ArrayList<>(4);
+    for (Method method : methods) {
+      if (Modifier.isStatic(method.getModifiers()) == isStatic && method.getName().equals(methodName) &&
+          method.getParameterCount() == shape.length) {
+        candidates.add(new BoundFactoryMethod(method, shape));
+      }
+    }
+    return new Resolution(candidates.toArray(new BoundFactoryMethod[0]), lenient);
+  }
+
+  private static Class<?>[] shapeOf(Object[] args) {
+    Class<?>[] shape = new Class<?>[args.length];
+    for (int i = 0; i < args.length; i++) {
+      shape[i] = (args[i] != null ? args[i].getClass() : null);
+    }
+    return shape;
+  }
+
+
+  public int size() {
+    return this.resolutions.size();
+  }
+
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  public void clear() {
+    this.resolutions.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "FactoryMethodCache: resolutions=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount();
+  }
+
+
+  /**
+   * 一种参数形状的解析结果
+   */
+  public static final class Resolution {
+
+    private final BoundFactoryMethod[] candidates;
+
+    @Nullable
+    private final BoundFactoryMethod direct;
+
+    Resolution(BoundFactoryMethod[] candidates, boolean lenient) {
+      this.candidates = candidates;
+      boolean single = (lenient ? candidates.length > 0 : candidates.length == 1);
+      this.direct = (single && candidates[0].isDirect() ? candidates[0] : null);
+    }
+
+    /**
+     * 按原有顺序排列的候选
+     */
+    public BoundFactoryMethod[] getCandidates() {
+      return this.candidates;
+    }
+
+    /**
+     * 不需要逐个尝试、参数也不需要转换的方法，没有时为null
+     */
+    @Nullable
+    public BoundFactoryMethod getDirect() {
+      return this.direct;
+    }
+  }
+
+
+  /**
+   * 已设置可访问的工厂方法
+   */
+  public static final class BoundFactoryMethod {
+
+    private final Method method;
+
+    private final Class<?>[] parameterTypes;
+
+    /** 参数形状的每个参数都可以直接赋值给对应的参数类型 */
+    private final boolean direct;
+
+    BoundFactoryMethod(Method method, Class<?>[] shape) {
+      ReflectionUtils.makeAccessible(method);
+      this.method = method;
+      this.parameterTypes = method.getParameterTypes();
+      boolean direct = true;
+      for (int i = 0; i < shape.length && direct; i++) {
+        direct = (shape[i] != null ? ClassUtils.isAssignable(this.parameterTypes[i], shape[i]) :
+            !this.parameterTypes[i].isPrimitive());
+      }
+      this.direct = direct;
+    }
+
+    public Method getMethod() {
+      return this.method;
+    }
+
+    /**
+     * 参数类型（调用方不能修改）
+     */
+    public Class<?>[] getParameterTypes() {
+      return this.parameterTypes;
+    }
+
+    public boolean isDirect() {
+      return this.direct;
+    }
+
+    public Object invoke(@Nullable Object target, Object[] args)
+        throws IllegalAccessException, InvocationTargetException {
+
+      return this.method.invoke(target, args);
+    }
+
+    @Override
+    public String toString() {
+      return this.method.toString();
+    }
+  }
+
+
+  private static final class Key {
+
+    final Class<?> factoryClass;
+
+    final String methodName;
+
+    final boolean isStatic;
+
+    final Class<?>[] shape;
+
+    final boolean nonPublicAccessAllowed;
+
+    final boolean lenient;
+
+    private final int hashCode;
+
+    Key(Class<?> factoryClass, String methodName, boolean isStatic, Class<?>[] shape,
+        boolean nonPublicAccessAllowed, boolean lenient) {
+
+      this.factoryClass = factoryClass;
+      this.methodName = methodName;
+      this.isStatic = isStatic;
+      this.shape = shape;
+      this.nonPublicAccessAllowed = nonPublicAccessAllowed;
+      this.lenient = lenient;
+      int hashCode = factoryClass.hashCode() * 31 + methodName.hashCode();
+      hashCode = hashCode * 31 + Arrays.hashCode(shape);
+      this.hashCode = hashCode * 8 + (isStatic ? 4 : 0) + (nonPublicAccessAllowed ? 2 : 0) + (lenient ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return (this.factoryClass == that.factoryClass && this.methodName.equals(that.methodName) &&
+          this.isStatic == that.isStatic && this.nonPublicAccessAllowed == that.nonPublicAccessAllowed &&
+          this.lenient == that.lenient && Arrays.equals(this.shape, that.shape));
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+  }
+
+}
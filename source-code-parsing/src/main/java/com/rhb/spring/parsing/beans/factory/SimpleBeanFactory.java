@@ -0,0 +1,1697 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import com.rhb.spring.parsing.beans.base.AttributeKey;
+import com.rhb.spring.parsing.beans.cds.ClassListRecorder;
+import com.rhb.spring.parsing.beans.conversion.ConversionCache;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.diagnostics.DefinitionEvents;
+import com.rhb.spring.parsing.beans.factory.FactoryMethodCache.BoundFactoryMethod;
+import com.rhb.spring.parsing.beans.factory.FactoryMethodCache.Resolution;
+import com.rhb.spring.parsing.beans.metrics.DefinitionMetrics;
+import com.rhb.spring.parsing.beans.metrics.Operation;
+import com.rhb.spring.parsing.beans.offheap.OffHeapBeanDefinition;
+import com.rhb.spring.parsing.beans.placeholder.PlaceholderTemplateCache;
+import com.rhb.spring.parsing.beans.placeholder.VersionedPropertySource;
+import com.rhb.spring.parsing.beans.scope.ScopeDescriptor;
+import com.rhb.spring.parsing.beans.scope.ScopeRegistry;
+import com.rhb.spring.parsing.beans.startup.StartupRecorder;
+import com.rhb.spring.parsing.beans.startup.StartupRecorder.DependencyType;
+import com.rhb.spring.parsing.beans.support.BeanDefinitionCompactor;
+import com.rhb.spring.parsing.beans.support.BeanDefinitionCompactor.CompactionReport;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeConverter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.BeanIsAbstractException;
+import org.springframework.beans.factory.BeanNotOfRequiredTypeException;
+import org.springframework.beans.factory.CannotLoadBeanClassException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.BeanDefinitionValidationException;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedProperties;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.core.Conventions;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * 基于本项目BeanDefinition模型的简易容器：
+ *
+ * 1. 实现BeanDefinitionRegistry，保存原始的BeanDefinition
+ * 2. 按parentName合并BeanDefinition（结果缓存在mergedBeanDefinitions中）
+ * 3. 按scope创建Bean：singleton缓存、prototype每次创建、其他scope交给注册的Scope实现
+ *
+ * 创建流程参考AbstractAutowireCapableBeanFactory：实例化 -> 属性填充 -> 初始化方法，
+ * 不支持自动装配、BeanPostProcessor、方法注入等高级特性
+ *
+ * @author renhuibo
+ * @date 2026/10/19 10:31
+ */
+public class SimpleBeanFactory implements BeanDefinitionRegistry {
+
+  /**
+   * 异步初始化标记（boolean）：单例的初始化方法在initExecutor中执行，返回CompletionStage时等待它完成；
+   * 只有dependsOn中列出它的bean会等待它就绪
+   */
+  public static final AttributeKey ASYNC_INIT_ATTRIBUTE =
+      AttributeKey.booleanKey(Conventions.getQualifiedAttributeName(SimpleBeanFactory.class, "asyncInit"));
+
+  protected final Log logger = LogFactory.getLog(getClass());
+
+  /**
+   * 原始BeanDefinition容器
+   */
+  private final Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(256);
+
+  /**
+   * 注册顺序（由beanDefinitionMap的锁保护，读取时返回快照）
+   */
+  private final List<String> beanDefinitionNames = new ArrayList<>(256);
+
+  /**
+   * parentName -> 以它为parent的子定义，定义变化时只需清除这些子定义的合并缓存
+   */
+  private final Map<String, Set<String>> childBeanNames = new ConcurrentHashMap<>(64);
+
+  /**
+   * 本容器中找不到的定义到这里查找（共享、不复制），例如多租户时的租户层
+   */
+  @Nullable
+  private BeanDefinitionRegistry parentBeanDefinitionRegistry;
+
+  /**
+   * 合并后的BeanDefinition缓存
+   */
+  private final Map<String, AbstractBeanDefinition> mergedBeanDefinitions = new ConcurrentHashMap<>(256);
+
+  private final ScopeRegistry scopeRegistry = new ScopeRegistry();
+
+  private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
+
+  /**
+   * 单例的创建顺序，销毁时逆序执行
+   */
+  private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
+
+  private final Set<String> singletonsCurrentlyInCreation =
+      Collections.newSetFromMap(new ConcurrentHashMap<>(16));
+
+  /**
+   * beanName -> 单例的创建锁：只锁住正在创建的那个单例，不同单例可以在不同线程中同时创建；创建成功后移除
+   */
+  private final Map<String, CreationLock> singletonCreationLocks = new ConcurrentHashMap<>(64);
+
+  /**
+   * 正在等待创建锁的线程 -> 该锁，用于发现跨线程的循环等待（登记和检查都在它的锁内，形成环的最后一个线程一定能发现环）
+   */
+  private final Map<Thread, CreationLock> creationLockWaits = new HashMap<>(8);
+
+  /**
+   * 被要求让出的预热线程（由creationLockWaits的锁保护）：先登记再中断，预热线程结束等待时在同一个锁内取走请求
+   */
+  private final Set<Thread> warmUpYieldRequests = new HashSet<>(4);
+
+  /**
+   * 预热线程，它们创建的单例不算按需创建，循环等待时由它们让出
+   */
+  private final Set<Thread> warmUpThreads = Collections.newSetFromMap(new ConcurrentHashMap<>(4));
+
+  /**
+   * 非预热线程正在创建的单例个数，大于0时预热暂停
+   */
+  private final AtomicInteger onDemandCreations = new AtomicInteger();
+
+  /**
+   * beanName -> 依赖它的beanName（dependsOn以及属性、构造参数中的引用），
+   * 用于检测循环依赖，销毁单例时先销毁依赖它的Bean
+   */
+  private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
+
+  /**
+   * 异步初始化中（以及已完成）的单例 -> 初始化完成的future
+   */
+  private final Map<String, CompletableFuture<Void>> asyncInitFutures = new ConcurrentHashMap<>(16);
+
+  /**
+   * 单例从开始创建到初始化完成的耗时，按就绪的先后顺序
+   */
+  private final Map<String, Duration> readinessTimes = Collections.synchronizedMap(new LinkedHashMap<>(256));
+
+  @Nullable
+  private Executor initExecutor;
+
+  @Nullable
+  private ExecutorService defaultInitExecutor;
+
+  /**
+   * 属性值、构造参数中${...}占位符的取值来源，为null时不解析占位符
+   */
+  @Nullable
+  private VersionedPropertySource placeholderSource;
+
+  private final PlaceholderTemplateCache placeholderTemplates = new PlaceholderTemplateCache();
+
+  /**
+   * 字面量属性值和构造参数的转换结果（只缓存不可变的结果）
+   */
+  private final ConversionCache conversionCache = new ConversionCache();
+
+  private boolean cacheConversions = true;
+
+  /**
+   * 工厂方法的解析结果，按 (工厂类, 方法名, 参数形状, ...) 在定义之间共享
+   */
+  private final FactoryMethodCache factoryMethodCache = new FactoryMethodCache();
+
+  private boolean cacheFactoryMethods = true;
+
+  private boolean compactMetadataAfterStartup = false;
+
+  private BeanDefinitionCompactor metadataCompactor = new BeanDefinitionCompactor();
+
+  @Nullable
+  private volatile CompactionReport lastCompactionReport;
+
+  @Nullable
+  private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
+
+  @Nullable
+  private ClassListRecorder classListRecorder;
+
+  @Nullable
+  private volatile StartupRecorder startupRecorder;
+
+  private boolean validateOnRegistration = true;
+
+  private boolean warmUpLazySingletons = false;
+
+  @Nullable
+  private Executor warmUpExecutor;
+
+  @Nullable
+  private volatile SingletonWarmUp singletonWarmUp;
+
+
+  /**
+   * 设置下层的定义来源：本容器没有注册的定义直接使用它的定义（按引用共享），本容器注册的同名定义覆盖它。
+   * 需要在获取bean之前设置；它的定义在bean创建后发生变化时，需要自行清除合并缓存和单例
+   */
+  public void setParentBeanDefinitionRegistry(@Nullable BeanDefinitionRegistry parentBeanDefinitionRegistry) {
+    this.parentBeanDefinitionRegistry = parentBeanDefinitionRegistry;
+  }
+
+  @Nullable
+  public BeanDefinitionRegistry getParentBeanDefinitionRegistry() {
+    return this.parentBeanDefinitionRegistry;
+  }
+
+  /**
+   * 设置占位符的取值来源。字符串值在合并定义时编译成模板，之后只有来源的版本号变化才重新求值；
+   * 已创建的单例不会因为来源变化而重新填充
+   */
+  public void setPlaceholderSource(@Nullable VersionedPropertySource placeholderSource) {
+    this.placeholderSource = placeholderSource;
+  }
+
+  @Nullable
+  public VersionedPropertySource getPlaceholderSource() {
+    return this.placeholderSource;
+  }
+
+  public PlaceholderTemplateCache getPlaceholderTemplates() {
+    return this.placeholderTemplates;
+  }
+
+  /**
+   * 是否缓存字符串属性值和构造参数的类型转换结果，默认true
+   */
+  public void setCacheConversions(boolean cacheConversions) {
+    this.cacheConversions = cacheConversions;
+  }
+
+  public boolean isCacheConversions() {
+    return this.cacheConversions;
+  }
+
+  public ConversionCache getConversionCache() {
+    return this.conversionCache;
+  }
+
+  /**
+   * 是否缓存工厂方法的解析结果，默认true
+   */
+  public void setCacheFactoryMethods(boolean cacheFactoryMethods) {
+    this.cacheFactoryMethods = cacheFactoryMethods;
+  }
+
+  public boolean isCacheFactoryMethods() {
+    return this.cacheFactoryMethods;
+  }
+
+  public FactoryMethodCache getFactoryMethodCache() {
+    return this.factoryMethodCache;
+  }
+
+  /**
+   * preInstantiateSingletons完成后是否压缩定义元数据（释放source、共享资源描述、清除description），默认false
+   */
+  public void setCompactMetadataAfterStartup(boolean compactMetadataAfterStartup) {
+    this.compactMetadataAfterStartup = compactMetadataAfterStartup;
+  }
+
+  public boolean isCompactMetadataAfterStartup() {
+    return this.compactMetadataAfterStartup;
+  }
+
+  /**
+   * 设置元数据压缩器，多个容器共用一个压缩器时资源描述在容器之间共享
+   */
+  public void setMetadataCompactor(BeanDefinitionCompactor metadataCompactor) {
+    Assert.notNull(metadataCompactor, "BeanDefinitionCompactor must not be null");
+    this.metadataCompactor = metadataCompactor;
+  }
+
+  public BeanDefinitionCompactor getMetadataCompactor() {
+    return this.metadataCompactor;
+  }
+
+  /**
+   * 最近一次压缩的结果，没有压缩过时为null
+   */
+  @Nullable
+  public CompactionReport getLastCompactionReport() {
+    return this.lastCompactionReport;
+  }
+
+  public void setBeanClassLoader(@Nullable ClassLoader beanClassLoader) {
+    this.beanClassLoader = beanClassLoader;
+  }
+
+  @Nullable
+  public ClassLoader getBeanClassLoader() {
+    return this.beanClassLoader;
+  }
+
+  /**
+   * 记录解析的bean类和实例化得到的类（生成CDS类列表），只在训练启动时设置
+   */
+  public void setClassListRecorder(@Nullable ClassListRecorder classListRecorder) {
+    this.classListRecorder = classListRecorder;
+  }
+
+  @Nullable
+  public ClassListRecorder getClassListRecorder() {
+    return this.classListRecorder;
+  }
+
+  /**
+   * 记录单例的创建耗时和实际解析的依赖（启动关键路径分析），只在需要分析的启动过程中设置
+   */
+  public void setStartupRecorder(@Nullable StartupRecorder startupRecorder) {
+    this.startupRecorder = startupRecorder;
+  }
+
+  @Nullable
+  public StartupRecorder getStartupRecorder() {
+    return this.startupRecorder;
+  }
+
+  /**
+   * 注册时是否立即调用validate()，默认true。
+   * 关闭后可在全部注册完成后用{@link BulkBeanDefinitionValidator}统一校验
+   */
+  public void setValidateOnRegistration(boolean validateOnRegistration) {
+    this.validateOnRegistration = validateOnRegistration;
+  }
+
+  public boolean isValidateOnRegistration() {
+    return this.validateOnRegistration;
+  }
+
+  /**
+   * preInstantiateSingletons完成后是否在后台预热懒加载的单例，默认false
+   */
+  public void setWarmUpLazySingletons(boolean warmUpLazySingletons) {
+    this.warmUpLazySingletons = warmUpLazySingletons;
+  }
+
+  public boolean isWarmUpLazySingletons() {
+    return this.warmUpLazySingletons;
+  }
+
+  /**
+   * 执行预热的线程池，不设置时使用一个低优先级的守护线程；预热在一个任务中逐个创建单例
+   */
+  public void setWarmUpExecutor(@Nullable Executor warmUpExecutor) {
+    this.warmUpExecutor = warmUpExecutor;
+  }
+
+  /**
+   * 最近一次启动的预热，没有启动过时为null
+   */
+  @Nullable
+  public SingletonWarmUp getSingletonWarmUp() {
+    return this.singletonWarmUp;
+  }
+
+  /**
+   * 立即开始预热当前还没有创建的懒加载单例（取消上一次未完成的预热）
+   */
+  public SingletonWarmUp startSingletonWarmUp() {
+    SingletonWarmUp previous = this.singletonWarmUp;
+    if (previous != null) {
+      previous.cancel();
+    }
+    SingletonWarmUp warmUp = new SingletonWarmUp(this);
+    this.singletonWarmUp = warmUp;
+    warmUp.start(this.warmUpExecutor);
+    return warmUp;
+  }
+
+  /**
+   * 执行异步初始化方法的线程池，不设置时使用内部的守护线程池（destroySingletons时关闭）
+   */
+  public void setInitExecutor(@Nullable Executor initExecutor) {
+    this.initExecutor = initExecutor;
+  }
+
+  private synchronized Executor getInitExecutor() {
+    if (this.initExecutor != null) {
+      return this.initExecutor;
+    }
+    if (this.defaultInitExecutor == null) {
+      AtomicInteger threadCount = new AtomicInteger();
+      this.defaultInitExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "async-init-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return this.defaultInitExecutor;
+  }
+
+  /**
+   * 注册自定义scope（singleton和prototype不可替换）
+   */
+  public void registerScope(String scopeName, Scope scope) {
+    Assert.notNull(scopeName, "Scope identifier must not be null");
+    Assert.notNull(scope, "Scope must not be null");
+    this.scopeRegistry.registerScope(scopeName, scope);
+  }
+
+  @Nullable
+  public Scope getRegisteredScope(String scopeName) {
+    return this.scopeRegistry.getScope(scopeName);
+  }
+
+  public ScopeRegistry getScopeRegistry() {
+    return this.scopeRegistry;
+  }
+
+  /**
+   * 合并定义上缓存的scope描述符，不属于本容器的ScopeRegistry时（例如合并后又调用了setScope）重新解析
+   */
+  private ScopeDescriptor getScopeDescriptor(AbstractBeanDefinition mbd) {
+    ScopeDescriptor descriptor = mbd.getScopeDescriptor();
+    if (!descriptor.isBoundTo(this.scopeRegistry)) {
+      descriptor = this.scopeRegistry.resolve(mbd.getScope());
+      mbd.setScopeDescriptor(descriptor);
+    }
+    return descriptor;
+  }
+
+
+  /*******************************BeanDefinitionRegistry的实现************************************/
+  @Override
+  public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition)
+      throws BeanDefinitionStoreException {
+
+    Assert.hasText(beanName, "Bean name must not be empty");
+    Assert.notNull(beanDefinition, "BeanDefinition must not be null");
+
+    if (this.validateOnRegistration && beanDefinition instanceof AbstractBeanDefinition) {
+      try {
+        ((AbstractBeanDefinition) beanDefinition).validate();
+      }
+      catch (BeanDefinitionValidationException ex) {
+        throw new BeanDefinitionStoreException(beanDefinition.getResourceDescription(), beanName,
+            "Validation of bean definition failed", ex);
+      }
+    }
+
+    BeanDefinition existing = this.beanDefinitionMap.put(beanName, beanDefinition);
+    // 覆盖下层的定义时，它可能已经被合并、创建过
+    boolean shadowed = (existing == null && containsInParentRegistry(beanName));
+    if (existing == null) {
+      synchronized (this.beanDefinitionMap) {
+        this.beanDefinitionNames.add(beanName);
+      }
+    }
+    else {
+      unregisterChild(beanName, existing);
+    }
+    String parentName = beanDefinition.getParentName();
+    if (parentName != null) {
+      this.childBeanNames.computeIfAbsent(parentName, k -> Collections.newSetFromMap(new ConcurrentHashMap<>(8)))
+          .add(beanName);
+    }
+    if (existing != null || shadowed) {
+      resetBeanDefinition(beanName);
+    }
+  }
+
+  private boolean containsInParentRegistry(String beanName) {
+    return (this.parentBeanDefinitionRegistry != null &&
+        this.parentBeanDefinitionRegistry.containsBeanDefinition(beanName));
+  }
+
+  @Override
+  public void removeBeanDefinition(String beanName) throws NoSuchBeanDefinitionException {
+    Assert.hasText(beanName, "'beanName' must not be empty");
+    BeanDefinition removed = this.beanDefinitionMap.remove(beanName);
+    if (removed == null) {
+      throw new NoSuchBeanDefinitionException(beanName);
+    }
+    unregisterChild(beanName, removed);
+    synchronized (this.beanDefinitionMap) {
+      this.beanDefinitionNames.remove(beanName);
+    }
+    resetBeanDefinition(beanName);
+  }
+
+  @Override
+  public BeanDefinition getBeanDefinition(String beanName) throws NoSuchBeanDefinitionException {
+    BeanDefinition bd = this.beanDefinitionMap.get(beanName);
+    if (bd == null) {
+      if (this.parentBeanDefinitionRegistry != null) {
+        return this.parentBeanDefinitionRegistry.getBeanDefinition(beanName);
+      }
+      throw new NoSuchBeanDefinitionException(beanName);
+    }
+    return bd;
+  }
+
+  @Override
+  public boolean containsBeanDefinition(String beanName) {
+    Assert.notNull(beanName, "Bean name must not be null");
+    return (this.beanDefinitionMap.containsKey(beanName) || containsInParentRegistry(beanName));
+  }
+
+  @Override
+  public String[] getBeanDefinitionNames() {
+    String[] localNames;
+    synchronized (this.beanDefinitionMap) {
+      localNames = StringUtils.toStringArray(this.beanDefinitionNames);
+    }
+    if (this.parentBeanDefinitionRegistry == null) {
+      return localNames;
+    }
+    // 下层的beanName在前，本容器新增的在后
+    String[] parentNames = this.parentBeanDefinitionRegistry.getBeanDefinitionNames();
+    List<String> names = new ArrayList<>(parentNames.length + localNames.length);
+    Collections.addAll(names, parentNames);
+    for (String beanName : localNames) {
+      if (!this.parentBeanDefinitionRegistry.containsBeanDefinition(beanName)) {
+        names.add(beanName);
+      }
+    }
+    return StringUtils.toStringArray(names);
+  }
+
+  @Override
+  public int getBeanDefinitionCount() {
+    if (this.parentBeanDefinitionRegistry == null) {
+      return this.beanDefinitionMap.size();
+    }
+    return getBeanDefinitionNames().length;
+  }
+
+  /**
+   * 定义被替换或移除后，清除合并缓存、单例（连同依赖它的单例），以及以它为parent的子定义的合并缓存
+   */
+  protected void resetBeanDefinition(String beanName) {
+    // 先销毁：destroySingleton从合并缓存中取定义调用destroy-method
+    destroySingleton(beanName);
+    removeFromCustomScope(beanName);
+    AbstractBeanDefinition mbd = this.mergedBeanDefinitions.remove(beanName);
+    if (mbd != null) {
+      forEachPlaceholderText(mbd, this.placeholderTemplates::evict);
+    }
+    this.conversionCache.evict(beanName);
+    Set<String> children = this.childBeanNames.get(beanName);
+    if (children != null) {
+      for (String child : children) {
+        if (!beanName.equals(child)) {
+          resetBeanDefinition(child);
+        }
+      }
+    }
+  }
+
+  /**
+   * 自定义scope中按旧定义创建的对象（例如池化scope的对象池）随定义一起移除
+   */
+  private void removeFromCustomScope(String beanName) {
+    AbstractBeanDefinition mbd = this.mergedBeanDefinitions.get(beanName);
+    if (mbd != null) {
+      Scope scope = getScopeDescriptor(mbd).getScope();
+      if (scope != null) {
+        scope.remove(beanName);
+      }
+    }
+  }
+
+  /**
+   * 以beanName为parent的子定义（直接子定义，不含孙子定义）
+   */
+  public Set<String> getChildBeanNames(String beanName) {
+    Set<String> children = this.childBeanNames.get(beanName);
+    return (children != null ? Collections.unmodifiableSet(children) : Collections.emptySet());
+  }
+
+  private void unregisterChild(String beanName, BeanDefinition bd) {
+    String parentName = bd.getParentName();
+    if (parentName != null) {
+      Set<String> siblings = this.childBeanNames.get(parentName);
+      if (siblings != null) {
+        siblings.remove(beanName);
+      }
+    }
+  }
+
+
+  /*******************************************合并BeanDefinition*********************************/
+  /**
+   * 返回合并了parent定义后的BeanDefinition（parentName为空，scope已补全默认值）
+   */
+  public AbstractBeanDefinition getMergedBeanDefinition(String beanName) throws BeansException {
+    AbstractBeanDefinition mbd = this.mergedBeanDefinitions.get(beanName);
+    if (mbd != null) {
+      return mbd;
+    }
+    return getMergedBeanDefinition(beanName, getBeanDefinition(beanName));
+  }
+
+  protected AbstractBeanDefinition getMergedBeanDefinition(String beanName, BeanDefinition bd)
+      throws BeansException {
+
+    long start = DefinitionMetrics.start();
+    Object event = DefinitionEvents.beginMerge();
+    AbstractBeanDefinition mbd;
+    String parentName = bd.getParentName();
+    if (parentName == null) {
+      mbd = (bd instanceof OffHeapBeanDefinition ? ((OffHeapBeanDefinition) bd).toBeanDefinition() :
+          new GenericBeanDefinition(bd));
+    }
+    else {
+      if (parentName.equals(beanName)) {
+        throw new BeanDefinitionStoreException(bd.getResourceDescription(), beanName,
+            "Parent name '" + parentName + "' is equal to bean name '" + beanName + "': cannot be resolved");
+      }
+      mbd = new GenericBeanDefinition(getMergedBeanDefinition(parentName));
+      if (!this.beanDefinitionMap.containsKey(beanName)) {
+        // 下层的定义注册时没有进入子定义索引，合并时补上，parent被覆盖时才能清除它的合并缓存
+        this.childBeanNames.computeIfAbsent(parentName, k -> Collections.newSetFromMap(new ConcurrentHashMap<>(8)))
+            .add(beanName);
+      }
+      // 视图不是AbstractBeanDefinition，直接overrideFrom会丢失initMethodName、dependsOn等属性
+      mbd.overrideFrom(bd instanceof OffHeapBeanDefinition ? ((OffHeapBeanDefinition) bd).toBeanDefinition() : bd);
+    }
+    mbd.setParentName(null);
+    if (!StringUtils.hasLength(mbd.getScope())) {
+      mbd.setScope(BeanDefinition.SCOPE_SINGLETON);
+    }
+    mbd.setScopeDescriptor(this.scopeRegistry.resolve(mbd.getScope()));
+    if (this.placeholderSource != null) {
+      compilePlaceholders(mbd);
+    }
+    this.mergedBeanDefinitions.put(beanName, mbd);
+    DefinitionMetrics.record(Operation.MERGE, start);
+    if (event != null) {
+      DefinitionEvents.commitMerge(event, DefinitionEvents.MERGE, beanName, mbd.getBeanClassName(), parentName);
+    }
+    return mbd;
+  }
+
+  /**
+   * 预先编译属性值和构造参数中的占位符，创建bean时直接使用编译后的模板
+   */
+  private void compilePlaceholders(AbstractBeanDefinition mbd) {
+    forEachPlaceholderText(mbd, this.placeholderTemplates::getTemplate);
+  }
+
+  /**
+   * 属性值和构造参数中包含占位符的字符串
+   */
+  private static void forEachPlaceholderText(AbstractBeanDefinition mbd, Consumer<String> action) {
+    if (mbd.hasPropertyValues()) {
+      for (PropertyValue pv : mbd.getPropertyValues().getPropertyValueList()) {
+        acceptPlaceholder(pv.getValue(), action);
+      }
+    }
+    if (mbd.hasConstructorArgumentValues()) {
+      ConstructorArgumentValues cargs = mbd.getConstructorArgumentValues();
+      for (ValueHolder valueHolder : cargs.getIndexedArgumentValues().values()) {
+        acceptPlaceholder(valueHolder.getValue(), action);
+      }
+      for (ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+        acceptPlaceholder(valueHolder.getValue(), action);
+      }
+    }
+  }
+
+  private static void acceptPlaceholder(@Nullable Object value, Consumer<String> action) {
+    String text = (value instanceof TypedStringValue ? ((TypedStringValue) value).getValue() :
+        value instanceof String ? (String) value : null);
+    if (text != null && PlaceholderTemplateCache.containsPlaceholder(text)) {
+      action.accept(text);
+    }
+  }
+
+  /**
+   * 清除合并缓存，下次获取时重新合并
+   */
+  public void clearMergedBeanDefinition(String beanName) {
+    this.mergedBeanDefinitions.remove(beanName);
+  }
+
+
+  /************************************************获取Bean**************************************/
+  public Object getBean(String name) throws BeansException {
+    return doGetBean(name, null);
+  }
+
+  public <T> T getBean(String name, @Nullable Class<T> requiredType) throws BeansException {
+    return doGetBean(name, requiredType);
+  }
+
+  /**
+   * 实例化所有非抽象、非懒加载的单例
+   */
+  public void preInstantiateSingletons() throws BeansException {
+    for (String beanName : getBeanDefinitionNames()) {
+      AbstractBeanDefinition mbd = getMergedBeanDefinition(beanName);
+      if (!mbd.isAbstract() && mbd.isSingleton() && !mbd.isLazyInit()) {
+        getBean(beanName);
+      }
+    }
+    awaitAsyncInitialization();
+    if (this.compactMetadataAfterStartup) {
+      compactMetadata();
+    }
+    if (this.warmUpLazySingletons) {
+      startSingletonWarmUp();
+    }
+  }
+
+  /**
+   * 压缩本容器注册的定义和合并缓存中的定义。压缩会直接修改元数据属性、方法覆盖和属性值，
+   * 合并定义与它的来源定义共享这些元素，所以下层注册中心的定义以及来源链上有下层定义的合并定义都不处理
+   */
+  public CompactionReport compactMetadata() {
+    List<BeanDefinition> definitions =
+        new ArrayList<>(this.beanDefinitionMap.size() + this.mergedBeanDefinitions.size());
+    definitions.addAll(this.beanDefinitionMap.values());
+    for (Map.Entry<String, AbstractBeanDefinition> entry : this.mergedBeanDefinitions.entrySet()) {
+      if (isLocallyBacked(entry.getKey())) {
+        definitions.add(entry.getValue());
+      }
+    }
+    CompactionReport report = this.metadataCompactor.compact(definitions);
+    this.lastCompactionReport = report;
+    if (this.logger.isInfoEnabled()) {
+      this.logger.info(report);
+    }
+    return report;
+  }
+
+  /**
+   * 定义以及它的parent链都由本容器注册
+   */
+  private boolean isLocallyBacked(String beanName) {
+    Set<String> visited = null;
+    String name = beanName;
+    while (name != null) {
+      BeanDefinition bd = this.beanDefinitionMap.get(name);
+      if (bd == null) {
+        return false;
+      }
+      name = bd.getParentName();
+      if (name != null) {
+        if (visited == null) {
+          visited = new HashSet<>(4);
+          visited.add(beanName);
+        }
+        if (!visited.add(name)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected <T> T doGetBean(String beanName, @Nullable Class<T> requiredType) throws BeansException {
+    Object bean = this.singletonObjects.get(beanName);
+    if (bean == null) {
+      AbstractBeanDefinition mbd = getMergedBeanDefinition(beanName);
+      if (mbd.isAbstract()) {
+        throw new BeanIsAbstractException(beanName);
+      }
+
+      // 先初始化dependsOn中的Bean
+      String[] dependsOn = mbd.getDependsOn();
+      if (dependsOn != null) {
+        for (String dep : dependsOn) {
+          if (isDependent(beanName, dep, null)) {
+            throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+                "Circular depends-on relationship between '" + beanName + "' and '" + dep + "'");
+          }
+          registerDependentBean(dep, beanName);
+          recordDependency(beanName, mbd, dep, DependencyType.DEPENDS_ON);
+          getBean(dep);
+          awaitAsyncInit(dep, beanName, mbd);
+        }
+      }
+
+      ScopeDescriptor scopeDescriptor = getScopeDescriptor(mbd);
+      if (scopeDescriptor.isSingleton()) {
+        bean = getSingleton(beanName, () -> createBean(beanName, mbd));
+      }
+      else if (scopeDescriptor.isPrototype()) {
+        bean = createBean(beanName, mbd);
+      }
+      else {
+        Scope scope = scopeDescriptor.getScope();
+        if (scope == null) {
+          throw new IllegalStateException("No Scope registered for scope name '" + mbd.getScope() + "'");
+        }
+        bean = scope.get(beanName, () -> createBean(beanName, mbd));
+      }
+    }
+
+    if (requiredType != null && !requiredType.isInstance(bean)) {
+      throw new BeanNotOfRequiredTypeException(beanName, requiredType, bean.getClass());
+    }
+    return (T) bean;
+  }
+
+
+  /*************************************************单例管理**************************************/
+  /**
+   * 获取单例，不存在时在该单例自己的创建锁内创建：等待的只可能是同一个单例的创建，
+   * 按需请求不会排在预热线程创建的其他单例后面
+   */
+  protected Object getSingleton(String beanName, Supplier<Object> singletonFactory) {
+    Object singletonObject = this.singletonObjects.get(beanName);
+    if (singletonObject != null) {
+      return singletonObject;
+    }
+    CreationLock lock = this.singletonCreationLocks.computeIfAbsent(beanName, k -> new CreationLock());
+    acquireCreationLock(beanName, lock);
+    try {
+      singletonObject = this.singletonObjects.get(beanName);
+      if (singletonObject == null) {
+        if (!this.singletonsCurrentlyInCreation.add(beanName)) {
+          throw new BeanCurrentlyInCreationException(beanName);
+        }
+        boolean onDemand = !this.warmUpThreads.contains(Thread.currentThread());
+        if (onDemand) {
+          this.onDemandCreations.incrementAndGet();
+        }
+        try {
+          singletonObject = singletonFactory.get();
+        }
+        finally {
+          this.singletonsCurrentlyInCreation.remove(beanName);
+          if (onDemand) {
+            this.onDemandCreations.decrementAndGet();
+          }
+        }
+        synchronized (this.singletonObjects) {
+          // 异步初始化可能在放入缓存前就已失败，此时已由completeAsyncInit销毁，不再缓存
+          CompletableFuture<Void> initFuture = this.asyncInitFutures.get(beanName);
+          if (initFuture == null || !initFuture.isCompletedExceptionally()) {
+            this.singletonObjects.put(beanName, singletonObject);
+            this.registeredSingletons.add(beanName);
+          }
+        }
+        // 已经拿到这个锁的线程加锁后会看到单例；创建失败时保留锁，避免两个线程同时重试创建
+        this.singletonCreationLocks.remove(beanName, lock);
+      }
+      return singletonObject;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 获取单例的创建锁。等待前：持有者是预热线程则把它的优先级提高到当前线程的优先级；
+   * 当前线程的等待形成跨线程的循环等待（单例之间循环引用，各自从不同的bean开始创建）时立即处理：
+   * 当前线程是预热线程则让出；环上有预热线程则中断它让它让出，当前线程继续等待；
+   * 环上没有预热线程时当前线程抛出BeanCurrentlyInCreationException。之后的等待不轮询
+   */
+  private void acquireCreationLock(String beanName, CreationLock lock) {
+    if (lock.tryLock()) {
+      return;
+    }
+    Thread current = Thread.currentThread();
+    boolean warmUp = this.warmUpThreads.contains(current);
+    synchronized (this.creationLockWaits) {
+      this.creationLockWaits.put(current, lock);
+      List<Thread> cycle = findCreationLockCycle(current);
+      if (cycle != null) {
+        Thread warmUpThread = null;
+        for (Thread thread : cycle) {
+          if (this.warmUpThreads.contains(thread)) {
+            warmUpThread = thread;
+            break;
+          }
+        }
+        if (warmUp || warmUpThread == null) {
+          this.creationLockWaits.remove(current);
+          if (warmUp) {
+            throw new WarmUpYieldException(beanName);
+          }
+          throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in creation " +
+              "by another thread that waits for a bean this thread is creating: circular reference?");
+        }
+        this.warmUpYieldRequests.add(warmUpThread);
+        warmUpThread.interrupt();
+      }
+    }
+    Thread owner = lock.getOwnerThread();
+    if (!warmUp && owner != null && this.warmUpThreads.contains(owner) &&
+        owner.getPriority() < current.getPriority()) {
+      owner.setPriority(current.getPriority());
+    }
+    try {
+      lock.lockInterruptibly();
+    }
+    catch (InterruptedException ex) {
+      if (endCreationLockWait(current)) {
+        throw new WarmUpYieldException(beanName);
+      }
+      Thread.currentThread().interrupt();
+      throw new BeanCreationException(beanName, "Interrupted while waiting for singleton creation", ex);
+    }
+    if (endCreationLockWait(current)) {
+      // 让出请求到达前已经拿到锁，环已经解开：清除请求带来的中断
+      Thread.interrupted();
+    }
+  }
+
+  /**
+   * 结束等待
+   * @return 是否有发给当前线程的让出请求（请求的中断此时一定已经送达）
+   */
+  private boolean endCreationLockWait(Thread current) {
+    synchronized (this.creationLockWaits) {
+      this.creationLockWaits.remove(current);
+      return this.warmUpYieldRequests.remove(current);
+    }
+  }
+
+  /**
+   * 沿 等待的锁 -> 持有者 -> 持有者等待的锁 查找，回到当前线程时返回环上的线程
+   */
+  @Nullable
+  private List<Thread> findCreationLockCycle(Thread current) {
+    List<Thread> chain = new ArrayList<>(4);
+    Thread thread = current;
+    for (int i = 0; i < 64; i++) {
+      CreationLock lock = this.creationLockWaits.get(thread);
+      Thread owner = (lock != null ? lock.getOwnerThread() : null);
+      if (owner == null) {
+        return null;
+      }
+      chain.add(owner);
+      if (owner == current) {
+        return chain;
+      }
+      thread = owner;
+    }
+    return null;
+  }
+
+  void registerWarmUpThread(Thread thread) {
+    this.warmUpThreads.add(thread);
+  }
+
+  void unregisterWarmUpThread(Thread thread) {
+    this.warmUpThreads.remove(thread);
+  }
+
+  /**
+   * 非预热线程正在创建的单例个数
+   */
+  int getOnDemandCreationCount() {
+    return this.onDemandCreations.get();
+  }
+
+  public boolean containsSingleton(String beanName) {
+    return this.singletonObjects.containsKey(beanName);
+  }
+
+  /**
+   * 按创建顺序的逆序销毁所有单例
+   */
+  public void destroySingletons() {
+    SingletonWarmUp warmUp = this.singletonWarmUp;
+    if (warmUp != null) {
+      warmUp.cancel();
+    }
+    String[] singletonNames;
+    synchronized (this.singletonObjects) {
+      singletonNames = StringUtils.toStringArray(this.registeredSingletons);
+    }
+    for (int i = singletonNames.length - 1; i >= 0; i--) {
+      destroySingleton(singletonNames[i]);
+    }
+    synchronized (this) {
+      if (this.defaultInitExecutor != null) {
+        this.defaultInitExecutor.shutdownNow();
+        this.defaultInitExecutor = null;
+      }
+    }
+  }
+
+  /**
+   * 销毁单例：先销毁依赖它的Bean（它们持有的引用即将失效），再调用它自己的销毁方法，
+   * 最后从其他Bean的依赖关系中移除它
+   */
+  protected void destroySingleton(String beanName) {
+    Object singletonObject;
+    synchronized (this.singletonObjects) {
+      singletonObject = this.singletonObjects.remove(beanName);
+      this.registeredSingletons.remove(beanName);
+      this.asyncInitFutures.remove(beanName);
+    }
+    this.readinessTimes.remove(beanName);
+
+    // 先移除再遍历，循环依赖时不会重复进入
+    Set<String> dependentBeans = this.dependentBeanMap.remove(beanName);
+    if (dependentBeans != null) {
+      for (String dependentBeanName : dependentBeans) {
+        destroySingleton(dependentBeanName);
+      }
+    }
+    if (singletonObject != null) {
+      AbstractBeanDefinition mbd = this.mergedBeanDefinitions.get(beanName);
+      invokeDestroyMethod(beanName, mbd, singletonObject);
+    }
+    for (Iterator<Set<String>> it = this.dependentBeanMap.values().iterator(); it.hasNext(); ) {
+      Set<String> dependents = it.next();
+      dependents.remove(beanName);
+      if (dependents.isEmpty()) {
+        it.remove();
+      }
+    }
+  }
+
+  protected void registerDependentBean(String beanName, String dependentBeanName) {
+    this.dependentBeanMap.computeIfAbsent(beanName, k -> Collections.newSetFromMap(new ConcurrentHashMap<>(8)))
+        .add(dependentBeanName);
+  }
+
+  private boolean isDependent(String beanName, String dependentBeanName, @Nullable Set<String> alreadySeen) {
+    if (alreadySeen != null && alreadySeen.contains(beanName)) {
+      return false;
+    }
+    Set<String> dependentBeans = this.dependentBeanMap.get(beanName);
+    if (dependentBeans == null) {
+      return false;
+    }
+    if (dependentBeans.contains(dependentBeanName)) {
+      return true;
+    }
+    for (String transitiveDependency : dependentBeans) {
+      if (alreadySeen == null) {
+        alreadySeen = new LinkedHashSet<>();
+      }
+      alreadySeen.add(beanName);
+      if (isDependent(transitiveDependency, dependentBeanName, alreadySeen)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+
+  /*************************************************创建Bean**************************************/
+  /**
+   * 创建Bean：实例化 -> 属性填充 -> 初始化方法
+   */
+  protected Object createBean(String beanName, AbstractBeanDefinition mbd) throws BeanCreationException {
+    long startTime = System.nanoTime();
+    StartupRecorder recorder = (mbd.isSingleton() ? this.startupRecorder : null);
+    if (recorder != null) {
+      recorder.beanCreationStarted(beanName);
+    }
+    boolean created = false;
+    try {
+      resolveBeanClass(beanName, mbd);
+      Object event = DefinitionEvents.beginInstantiation();
+      Object bean = instantiateBean(beanName, mbd);
+      if (event != null) {
+        DefinitionEvents.commitInstantiation(event, beanName, bean.getClass().getName(),
+            (mbd.getInstanceSupplier() != null ? DefinitionEvents.INSTANCE_SUPPLIER :
+            mbd.getFactoryMethodName() != null ? DefinitionEvents.FACTORY_METHOD : DefinitionEvents.CONSTRUCTOR));
+      }
+      if (this.classListRecorder != null) {
+        this.classListRecorder.recordInstance(bean);
+      }
+      if (recorder != null) {
+        recorder.beanInstantiated(beanName);
+      }
+      populateBean(beanName, mbd, bean);
+      if (recorder != null) {
+        recorder.beanPopulated(beanName);
+      }
+      boolean asyncInit = (mbd.isSingleton() && isAsyncInit(mbd));
+      if (asyncInit) {
+        startAsyncInit(beanName, mbd, bean, startTime, recorder);
+      }
+      else {
+        invokeInitMethod(beanName, mbd, bean);
+        if (mbd.isSingleton()) {
+          this.readinessTimes.put(beanName, Duration.ofNanos(System.nanoTime() - startTime));
+        }
+      }
+      if (recorder != null) {
+        recorder.beanCreated(beanName, asyncInit);
+      }
+      created = true;
+      return bean;
+    }
+    catch (BeansException ex) {
+      throw ex;
+    }
+    catch (Throwable ex) {
+      throw new BeanCreationException(mbd.getResourceDescription(), beanName, "Instantiation of bean failed", ex);
+    }
+    finally {
+      if (recorder != null && !created) {
+        recorder.beanCreationFailed(beanName);
+      }
+    }
+  }
+
+  /**
+   * 设置了StartupRecorder时记录依赖；非单例的依赖记在当前线程正在创建的单例上
+   */
+  private void recordDependency(String beanName, AbstractBeanDefinition mbd, String dependencyName,
+      DependencyType type) {
+
+    StartupRecorder recorder = this.startupRecorder;
+    if (recorder != null) {
+      recorder.recordDependency((mbd.isSingleton() ? beanName : null), dependencyName, type);
+    }
+  }
+
+  @Nullable
+  protected Class<?> resolveBeanClass(String beanName, AbstractBeanDefinition mbd)
+      throws CannotLoadBeanClassException {
+
+    if (mbd.hasBeanClass()) {
+      return recordBeanClass(mbd.getBeanClass());
+    }
+    if (mbd.getBeanClassName() == null) {
+      return null;
+    }
+    try {
+      return recordBeanClass(mbd.resolveBeanClass(this.beanClassLoader));
+    }
+    catch (ClassNotFoundException ex) {
+      throw new CannotLoadBeanClassException(mbd.getResourceDescription(), beanName, mbd.getBeanClassName(), ex);
+    }
+    catch (LinkageError err) {
+      throw new CannotLoadBeanClassException(mbd.getResourceDescription(), beanName, mbd.getBeanClassName(), err);
+    }
+  }
+
+  @Nullable
+  private Class<?> recordBeanClass(@Nullable Class<?> beanClass) {
+    if (this.classListRecorder != null && beanClass != null) {
+      this.classListRecorder.recordBeanClass(beanClass);
+    }
+    return beanClass;
+  }
+
+  protected Object instantiateBean(String beanName, AbstractBeanDefinition mbd) throws BeansException {
+    Supplier<?> instanceSupplier = mbd.getInstanceSupplier();
+    if (instanceSupplier != null) {
+      Object instance = instanceSupplier.get();
+      if (instance == null) {
+        throw new BeanCreationException(mbd.getResourceDescription(), beanName, "Instance supplier returned null");
+      }
+      return instance;
+    }
+
+    if (mbd.getFactoryMethodName() != null) {
+      return instantiateUsingFactoryMethod(beanName, mbd);
+    }
+
+    Class<?> beanClass = mbd.getBeanClass();
+    if (mbd.hasMethodOverrides()) {
+      throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+          "Method Injection not supported in SimpleBeanFactory");
+    }
+    Object[] rawArgs = resolveConstructorArguments(beanName, mbd);
+    Constructor<?>[] candidates = (mbd.isNonPublicAccessAllowed() ?
+        beanClass.getDeclaredConstructors() : beanClass.getConstructors());
+    List<Constructor<?>> constructors = new ArrayList<>(candidates.length);
+    for (Constructor<?> candidate : candidates) {
+      if (candidate.getParameterCount() == rawArgs.length) {
+        constructors.add(candidate);
+      }
+    }
+    ResolvedExecutable<Constructor<?>> resolved =
+        selectExecutable(beanName, mbd, constructors, Constructor::getParameterTypes, rawArgs);
+    return BeanUtils.instantiateClass(resolved.executable, resolved.arguments);
+  }
+
+  /**
+   * 使用工厂方法实例化：配置了factoryBeanName时调用该Bean的实例方法，否则调用beanClass的静态方法
+   */
+  protected Object instantiateUsingFactoryMethod(String beanName, AbstractBeanDefinition mbd)
+      throws BeansException {
+
+    Object factoryBean;
+    Class<?> factoryClass;
+    boolean isStatic;
+    String factoryBeanName = mbd.getFactoryBeanName();
+    if (factoryBeanName != null) {
+      if (factoryBeanName.equals(beanName)) {
+        throw new BeanDefinitionStoreException(mbd.getResourceDescription(), beanName,
+            "factory-bean reference points back to the same bean definition");
+      }
+      recordDependency(beanName, mbd, factoryBeanName, DependencyType.FACTORY_BEAN);
+      factoryBean = getBean(factoryBeanName);
+      factoryClass = ClassUtils.getUserClass(factoryBean);
+      isStatic = false;
+    }
+    else {
+      factoryBean = null;
+      factoryClass = mbd.getBeanClass();
+      isStatic = true;
+    }
+
+    String factoryMethodName = mbd.getFactoryMethodName();
+    Object[] rawArgs = resolveConstructorArguments(beanName, mbd);
+    Resolution resolution = (this.cacheFactoryMethods ?
+        this.factoryMethodCache.getResolution(factoryClass, factoryMethodName, isStatic, rawArgs,
+            mbd.isNonPublicAccessAllowed(), mbd.isLenientConstructorResolution()) :
+        FactoryMethodCache.resolve(factoryClass, factoryMethodName, isStatic, rawArgs,
+            mbd.isNonPublicAccessAllowed(), mbd.isLenientConstructorResolution()));
+    BoundFactoryMethod factoryMethod = resolution.getDirect();
+    Object[] args = rawArgs;
+    if (factoryMethod == null) {
+      ResolvedExecutable<BoundFactoryMethod> resolved = selectExecutable(beanName, mbd,
+          Arrays.asList(resolution.getCandidates()), BoundFactoryMethod::getParameterTypes, rawArgs);
+      factoryMethod = resolved.executable;
+      args = resolved.arguments;
+    }
+    try {
+      Object instance = factoryMethod.invoke(factoryBean, args);
+      if (instance == null) {
+        throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+            "Factory method '" + factoryMethodName + "' returned null");
+      }
+      return instance;
+    }
+    catch (IllegalAccessException ex) {
+      throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+          "Cannot access factory method '" + factoryMethodName + "'", ex);
+    }
+    catch (InvocationTargetException ex) {
+      throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+          "Factory method '" + factoryMethodName + "' threw exception", ex.getTargetException());
+    }
+  }
+
+  /**
+   * 按index展开构造参数：先放indexed参数，空位按顺序用generic参数补齐
+   */
+  protected Object[] resolveConstructorArguments(String beanName, AbstractBeanDefinition mbd) {
+    if (!mbd.hasConstructorArgumentValues()) {
+      return new Object[0];
+    }
+    ConstructorArgumentValues cargs = mbd.getConstructorArgumentValues();
+    Object[] args = new Object[cargs.getArgumentCount()];
+    boolean[] filled = new boolean[args.length];
+    for (Map.Entry<Integer, ValueHolder> entry : cargs.getIndexedArgumentValues().entrySet()) {
+      int index = entry.getKey();
+      if (index >= args.length) {
+        throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+            "Constructor argument index " + index + " is out of range for " + args.length + " arguments");
+      }
+      args[index] = resolveValue(beanName, mbd, entry.getValue().getValue());
+      filled[index] = true;
+    }
+    int next = 0;
+    for (ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+      while (filled[next]) {
+        next++;
+      }
+      args[next] = resolveValue(beanName, mbd, valueHolder.getValue());
+      filled[next] = true;
+    }
+    return args;
+  }
+
+  /**
+   * 从参数个数相同的候选中选择能完成类型转换的构造器/工厂方法。
+   * lenientConstructorResolution为false时，多个候选均可匹配视为歧义
+   */
+  private <T> ResolvedExecutable<T> selectExecutable(String beanName, AbstractBeanDefinition mbd,
+      List<T> candidates, Function<T, Class<?>[]> parameterTypes, Object[] rawArgs) {
+
+    TypeConverter typeConverter = new SimpleTypeConverter();
+    ResolvedExecutable<T> match = null;
+    for (T candidate : candidates) {
+      Object[] converted = convertArguments(beanName, parameterTypes.apply(candidate), rawArgs, typeConverter);
+      if (converted == null) {
+        continue;
+      }
+      if (match == null) {
+        match = new ResolvedExecutable<>(candidate, converted);
+        if (mbd.isLenientConstructorResolution()) {
+          break;
+        }
+      }
+      else {
+        throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+            "Ambiguous matches found: " + match.executable + " and " + candidate +
+                " (hint: switch on lenient constructor resolution)");
+      }
+    }
+    if (match == null) {
+      throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+          "No matching constructor or factory method found for " + rawArgs.length + " argument(s)");
+    }
+    return match;
+  }
+
+  @Nullable
+  private Object[] convertArguments(String beanName, Class<?>[] paramTypes, Object[] rawArgs,
+      TypeConverter typeConverter) {
+
+    Object[] converted = new Object[rawArgs.length];
+    for (int i = 0; i < rawArgs.length; i++) {
+      Object rawArg = rawArgs[i];
+      boolean cacheable = (this.cacheConversions && rawArg instanceof String && needsConversion(paramTypes[i]));
+      if (cacheable) {
+        Object cached = this.conversionCache.get(beanName, true, i, paramTypes[i], (String) rawArg);
+        if (cached != null) {
+          converted[i] = cached;
+          continue;
+        }
+      }
+      try {
+        converted[i] = typeConverter.convertIfNecessary(rawArg, paramTypes[i]);
+      }
+      catch (TypeMismatchException ex) {
+        return null;
+      }
+      if (cacheable) {
+        this.conversionCache.put(beanName, true, i, paramTypes[i], (String) rawArg, converted[i]);
+      }
+    }
+    return converted;
+  }
+
+  /**
+   * 字符串可以直接赋值给String、CharSequence、Object，不需要转换
+   */
+  private static boolean needsConversion(Class<?> targetType) {
+    return !targetType.isAssignableFrom(String.class);
+  }
+
+  /**
+   * 属性填充：解析Bean引用后通过BeanWrapper设置（包含类型转换）
+   */
+  protected void populateBean(String beanName, AbstractBeanDefinition mbd, Object bean) throws BeansException {
+    if (!mbd.hasPropertyValues()) {
+      return;
+    }
+    List<PropertyValue> original = mbd.getPropertyValues().getPropertyValueList();
+    MutablePropertyValues resolved = new MutablePropertyValues(new ArrayList<>(original.size()));
+    BeanWrapperImpl bw = new BeanWrapperImpl(bean);
+    for (int i = 0; i < original.size(); i++) {
+      PropertyValue pv = original.get(i);
+      Object value = resolveValue(beanName, mbd, pv.getValue());
+      if (this.cacheConversions && value instanceof String) {
+        value = convertLiteralProperty(beanName, i, pv.getName(), (String) value, bw);
+      }
+      resolved.addPropertyValue(pv.getName(), value);
+    }
+    bw.setPropertyValues(resolved);
+  }
+
+  /**
+   * 转换字符串属性值，结果按 (beanName, 属性下标, 属性类型) 缓存；嵌套属性路径交给BeanWrapper处理
+   */
+  private Object convertLiteralProperty(String beanName, int index, String propertyName, String value,
+      BeanWrapperImpl bw) {
+
+    if (propertyName.indexOf('.') >= 0 || propertyName.indexOf('[') >= 0) {
+      return value;
+    }
+    Class<?> propertyType = bw.getPropertyType(propertyName);
+    if (propertyType == null || !needsConversion(propertyType)) {
+      return value;
+    }
+    Object converted = this.conversionCache.get(beanName, false, index, propertyType, value);
+    if (converted == null) {
+      converted = bw.convertForProperty(value, propertyName);
+      this.conversionCache.put(beanName, false, index, propertyType, value, converted);
+    }
+    return converted;
+  }
+
+  /**
+   * 解析配置值：Bean引用 -> 目标Bean，Bean名称引用 -> 名称，TypedStringValue和字符串 -> 解析占位符后的字符串，
+   * Managed集合（含ManagedArray，数组类型交给后续类型转换）-> 逐个元素解析后的List/Set/Map/Properties，其余原样返回
+   */
+  @Nullable
+  protected Object resolveValue(String beanName, AbstractBeanDefinition mbd, @Nullable Object value) {
+    if (value instanceof RuntimeBeanReference) {
+      String refName = ((RuntimeBeanReference) value).getBeanName();
+      recordDependency(beanName, mbd, refName, DependencyType.REFERENCE);
+      Object refBean = getBean(refName);
+      registerDependentBean(refName, beanName);
+      return refBean;
+    }
+    if (value instanceof RuntimeBeanNameReference) {
+      String refName = ((RuntimeBeanNameReference) value).getBeanName();
+      if (!containsBeanDefinition(refName)) {
+        throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+            "Invalid bean name '" + refName + "' in bean reference");
+      }
+      return refName;
+    }
+    if (value instanceof TypedStringValue) {
+      return resolvePlaceholders(beanName, mbd, ((TypedStringValue) value).getValue());
+    }
+    if (value instanceof String) {
+      return resolvePlaceholders(beanName, mbd, (String) value);
+    }
+    if (value instanceof ManagedList) {
+      List<?> list = (List<?>) value;
+      List<Object> resolved = new ArrayList<>(list.size());
+      for (Object element : list) {
+        resolved.add(resolveValue(beanName, mbd, element));
+      }
+      return resolved;
+    }
+    if (value instanceof ManagedSet) {
+      Set<?> set = (Set<?>) value;
+      Set<Object> resolved = new LinkedHashSet<>(set.size() * 2);
+      for (Object element : set) {
+        resolved.add(resolveValue(beanName, mbd, element));
+      }
+      return resolved;
+    }
+    if (value instanceof ManagedMap) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      Map<Object, Object> resolved = new LinkedHashMap<>(map.size() * 2);
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        resolved.put(resolveValue(beanName, mbd, entry.getKey()), resolveValue(beanName, mbd, entry.getValue()));
+      }
+      return resolved;
+    }
+    if (value instanceof ManagedProperties) {
+      Properties resolved = new Properties();
+      for (Map.Entry<Object, Object> entry : ((Properties) value).entrySet()) {
+        Object key = resolveValue(beanName, mbd, entry.getKey());
+        Object propertyValue = resolveValue(beanName, mbd, entry.getValue());
+        if (key != null && propertyValue != null) {
+          resolved.put(key, propertyValue);
+        }
+      }
+      return resolved;
+    }
+    return value;
+  }
+
+  @Nullable
+  private String resolvePlaceholders(String beanName, AbstractBeanDefinition mbd, @Nullable String text) {
+    VersionedPropertySource source = this.placeholderSource;
+    if (source == null || text == null) {
+      return text;
+    }
+    try {
+      return this.placeholderTemplates.resolve(text, source);
+    }
+    catch (IllegalArgumentException ex) {
+      throw new BeanCreationException(mbd.getResourceDescription(), beanName, ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * 调用初始化方法
+   * @return 初始化方法的返回值（异步初始化时用于获取CompletionStage）
+   */
+  @Nullable
+  protected Object invokeInitMethod(String beanName, AbstractBeanDefinition mbd, Object bean) throws Throwable {
+    String initMethodName = mbd.getInitMethodName();
+    if (!StringUtils.hasLength(initMethodName)) {
+      return null;
+    }
+    Method initMethod = (mbd.isNonPublicAccessAllowed() ?
+        BeanUtils.findMethod(bean.getClass(), initMethodName) :
+        ClassUtils.getMethodIfAvailable(bean.getClass(), initMethodName));
+    if (initMethod == null) {
+      if (mbd.isEnforceInitMethod()) {
+        throw new BeanDefinitionValidationException("Could not find an init method named '" +
+            initMethodName + "' on bean with name '" + beanName + "'");
+      }
+      return null;
+    }
+    ReflectionUtils.makeAccessible(initMethod);
+    try {
+      return initMethod.invoke(bean);
+    }
+    catch (InvocationTargetException ex) {
+      throw ex.getTargetException();
+    }
+  }
+
+  /*************************************************异步初始化************************************/
+  protected boolean isAsyncInit(AbstractBeanDefinition mbd) {
+    return mbd.getBooleanAttribute(ASYNC_INIT_ATTRIBUTE, false);
+  }
+
+  /**
+   * 在initExecutor中执行初始化方法；单例先放入缓存（尚未就绪），初始化完成后future才完成
+   */
+  private void startAsyncInit(String beanName, AbstractBeanDefinition mbd, Object bean, long startTime,
+      @Nullable StartupRecorder recorder) {
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    this.asyncInitFutures.put(beanName, future);
+    if (recorder != null) {
+      future.whenComplete((value, ex) -> recorder.asyncInitFinished(beanName, ex == null));
+    }
+    getInitExecutor().execute(() -> {
+      if (recorder != null) {
+        recorder.asyncInitStarted(beanName);
+      }
+      try {
+        Object result = invokeInitMethod(beanName, mbd, bean);
+        if (result instanceof CompletionStage) {
+          ((CompletionStage<?>) result).whenComplete((value, ex) ->
+              completeAsyncInit(beanName, mbd, bean, startTime, future, ex));
+        }
+        else {
+          completeAsyncInit(beanName, mbd, bean, startTime, future, null);
+        }
+      }
+      catch (Throwable ex) {
+        completeAsyncInit(beanName, mbd, bean, startTime, future, ex);
+      }
+    });
+  }
+
+  /**
+   * 初始化失败时从单例缓存中移除该单例并调用它的销毁方法。future在singletonObjects锁内完成，
+   * 与getSingleton放入缓存互斥：放入前已失败则不再放入；单例已被销毁（future不再是当前的）时不重复销毁
+   */
+  private void completeAsyncInit(String beanName, AbstractBeanDefinition mbd, Object bean, long startTime,
+      CompletableFuture<Void> future, @Nullable Throwable ex) {
+
+    if (ex == null) {
+      this.readinessTimes.put(beanName, Duration.ofNanos(System.nanoTime() - startTime));
+      future.complete(null);
+      return;
+    }
+    Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+    boolean current;
+    synchronized (this.singletonObjects) {
+      current = (this.asyncInitFutures.get(beanName) == future);
+      if (current && this.singletonObjects.remove(beanName, bean)) {
+        this.registeredSingletons.remove(beanName);
+      }
+      future.completeExceptionally(new BeanCreationException(mbd.getResourceDescription(), beanName,
+          "Asynchronous invocation of init method failed", cause));
+    }
+    if (current) {
+      invokeDestroyMethod(beanName, mbd, bean);
+    }
+  }
+
+  /**
+   * beanName依赖的dep是异步初始化的单例时，等待它就绪
+   */
+  private void awaitAsyncInit(String dep, String beanName, AbstractBeanDefinition mbd) {
+    CompletableFuture<Void> future = this.asyncInitFutures.get(dep);
+    if (future == null) {
+      return;
+    }
+    try {
+      future.join();
+    }
+    catch (CompletionException ex) {
+      throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+          "Depends-on bean '" + dep + "' failed to initialize", ex.getCause());
+    }
+  }
+
+  /**
+   * 单例初始化完成的future：异步初始化的单例返回其future，其他已创建的单例返回已完成的future，
+   * 尚未创建时返回null
+   */
+  @Nullable
+  public CompletableFuture<Void> getInitFuture(String beanName) {
+    CompletableFuture<Void> future = this.asyncInitFutures.get(beanName);
+    if (future != null) {
+      return future;
+    }
+    return (containsSingleton(beanName) ? CompletableFuture.completedFuture(null) : null);
+  }
+
+  /**
+   * 等待所有已启动的异步初始化完成，有失败时抛出第一个失败的异常
+   */
+  public void awaitAsyncInitialization() throws BeansException {
+    BeanCreationException failure = null;
+    for (CompletableFuture<Void> future : this.asyncInitFutures.values()) {
+      try {
+        future.join();
+      }
+      catch (CompletionException ex) {
+        if (failure == null) {
+          failure = (ex.getCause() instanceof BeanCreationException ? (BeanCreationException) ex.getCause() :
+              new BeanCreationException("Asynchronous initialization failed", ex.getCause()));
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * 单例从开始创建到就绪（初始化方法完成，异步初始化时为CompletionStage完成）的耗时，按就绪顺序
+   */
+  public Map<String, Duration> getReadinessTimes() {
+    synchronized (this.readinessTimes) {
+      return new LinkedHashMap<>(this.readinessTimes);
+    }
+  }
+
+  protected void invokeDestroyMethod(String beanName, @Nullable AbstractBeanDefinition mbd, Object bean) {
+    DestroyMethodInvoker.destroy(beanName, mbd, bean);
+  }
+
+
+  /**
+   * 可以查询持有线程的锁
+   */
+  private static final class CreationLock extends ReentrantLock {
+
+    @Nullable
+    Thread getOwnerThread() {
+      return getOwner();
+    }
+  }
+
+
+  /**
+   * 预热线程与其他线程循环等待时由预热线程抛出，回退当前的创建，稍后重试
+   */
+  static final class WarmUpYieldException extends BeanCurrentlyInCreationException {
+
+    WarmUpYieldException(String beanName) {
+      super(beanName, "Warm-up yields to an on-demand request");
+    }
+  }
+
+
+  /**
+   * 选中的构造器/工厂方法以及转换好的参数
+   */
+  private static final class ResolvedExecutable<T> {
+
+    final T executable;
+
+    final Object[] arguments;
+
+    ResolvedExecutable(T executable, Object[] arguments) {
+      this.executable = executable;
+      this.arguments = arguments;
+    }
+  }
+
+}
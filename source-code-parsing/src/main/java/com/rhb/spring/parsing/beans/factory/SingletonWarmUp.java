@@ -0,0 +1,366 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory.WarmUpYieldException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.lang.Nullable;
+
+/**
+ * 启动后在后台逐个创建懒加载的单例，避免部署后第一批请求承担创建开销
+ *
+ * 预热顺序：按注册顺序，dependsOn中同样需要预热的单例排在前面。预热在一个低优先级线程中逐个进行，
+ * 并让出给按需请求：
+ * <ul>
+ * <li>每个单例有自己的创建锁，按需请求不会等待预热线程正在创建的其他单例，
+ * 请求的正是预热中的单例时只等这一个（同时把预热线程的优先级提高到请求线程的优先级，这个单例完成后恢复）</li>
+ * <li>有按需创建正在进行时，预热在开始下一个单例之前暂停</li>
+ * <li>与按需请求循环等待时，形成环的线程立即中断预热线程，预热线程回退当前的创建，
+ * 稍后重试（最多{@value #MAX_YIELDS}次）</li>
+ * </ul>
+ * 已经被按需请求创建的单例直接跳过；创建失败的单例记录下来，不影响其他单例
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:10
+ */
+public class SingletonWarmUp {
+
+  private static final Log logger = LogFactory.getLog(SingletonWarmUp.class);
+
+  static final int MAX_YIELDS = 5;
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+
+  private final SimpleBeanFactory beanFactory;
+
+  private final List<String> plan;
+
+  private final AtomicInteger warmed = new AtomicInteger();
+
+  private final AtomicInteger createdOnDemand = new AtomicInteger();
+
+  private final AtomicInteger yields = new AtomicInteger();
+
+  private final AtomicInteger pauses = new AtomicInteger();
+
+  private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+  private final CompletableFuture<Progress> completion = new CompletableFuture<>();
+
+  private volatile boolean cancelled;
+
+  private volatile long startNanos;
+
+  private volatile long finishNanos;
+
+
+  SingletonWarmUp(SimpleBeanFactory beanFactory) {
+    this.beanFactory = beanFactory;
+    this.plan = Collections.unmodifiableList(plan(beanFactory));
+  }
+
+
+  /**
+   * 还没有创建的、非抽象的懒加载单例，dependsOn中需要预热的单例排在前面
+   */
+  static List<String> plan(SimpleBeanFactory beanFactory) {
+    Set<String> lazySingletons = new LinkedHashSet<>();
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      AbstractBeanDefinition mbd = beanFactory.getMergedBeanDefinition(beanName);
+      if (!mbd.isAbstract() && mbd.isSingleton() && mbd.isLazyInit() && !beanFactory.containsSingleton(beanName)) {
+        lazySingletons.add(beanName);
+      }
+    }
+    Set<String> ordered = new LinkedHashSet<>(lazySingletons.size() * 2);
+    Set<String> visiting = new HashSet<>();
+    for (String beanName : lazySingletons) {
+      addWithDependencies(beanFactory, beanName, lazySingletons, ordered, visiting);
+    }
+    return new ArrayList<>(ordered);
+  }
+
+  private static void addWithDependencies(SimpleBeanFactory beanFactory, String beanName, Set<String> lazySingletons,
+      Set<String> ordered, Set<String> visiting) {
+
+    if (ordered.contains(beanName) || !visiting.add(beanName)) {
+      // 已加入，或者dependsOn有环（创建时由getBean报告）
+      return;
+    }
+    String[] dependsOn;
+    try {
+      dependsOn = beanFactory.getMergedBeanDefinition(beanName).getDependsOn();
+    }
+    catch (NoSuchBeanDefinitionException ex) {
+      dependsOn = null;
+    }
+    if (dependsOn != null) {
+      for (String dep : dependsOn) {
+        if (lazySingletons.contains(dep)) {
+          addWithDependencies(beanFactory, dep, lazySingletons, ordered, visiting);
+        }
+      }
+    }
+    visiting.remove(beanName);
+    ordered.add(beanName);
+  }
+
+  void start(@Nullable Executor executor) {
+    this.startNanos = System.nanoTime();
+    if (executor != null) {
+      executor.execute(this::run);
+    }
+    else {
+      Thread thread = new Thread(this::run, "singleton-warm-up-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      thread.start();
+    }
+  }
+
+  private void run() {
+    Thread thread = Thread.currentThread();
+    int originalPriority = thread.getPriority();
+    this.beanFactory.registerWarmUpThread(thread);
+    try {
+      Deque<String> queue = new ArrayDeque<>(this.plan);
+      Map<String, Integer> yieldCounts = new LinkedHashMap<>();
+      thread.setPriority(Thread.MIN_PRIORITY);
+      while (!queue.isEmpty() && !this.cancelled) {
+        awaitOnDemandCreations();
+        String beanName = queue.poll();
+        if (this.beanFactory.containsSingleton(beanName)) {
+          this.createdOnDemand.incrementAndGet();
+          continue;
+        }
+        try {
+          this.beanFactory.getBean(beanName);
+          this.warmed.incrementAndGet();
+        }
+        catch (Throwable ex) {
+          if (isYield(ex)) {
+            this.yields.incrementAndGet();
+            int count = yieldCounts.merge(beanName, 1, Integer::sum);
+            if (count < MAX_YIELDS) {
+              queue.add(beanName);
+            }
+            else {
+              this.failures.put(beanName, "Gave up after " + count + " yields to on-demand requests");
+            }
+          }
+          else {
+            this.failures.put(beanName, String.valueOf(ex.getMessage()));
+            if (logger.isDebugEnabled()) {
+              logger.debug("Warm-up of singleton '" + beanName + "' failed", ex);
+            }
+          }
+        }
+        finally {
+          // 等待这个单例的按需请求提高的优先级，在它完成（或让出）后立即恢复
+          thread.setPriority(Thread.MIN_PRIORITY);
+        }
+      }
+    }
+    finally {
+      this.beanFactory.unregisterWarmUpThread(thread);
+      thread.setPriority(originalPriority);
+      this.finishNanos = System.nanoTime();
+      Progress progress = getProgress();
+      if (logger.isInfoEnabled()) {
+        logger.info(progress);
+      }
+      this.completion.complete(progress);
+    }
+  }
+
+  /**
+   * 有按需创建正在进行时暂停
+   */
+  private void awaitOnDemandCreations() {
+    boolean paused = false;
+    while (this.beanFactory.getOnDemandCreationCount() > 0 && !this.cancelled) {
+      paused = true;
+      try {
+        Thread.sleep(1);
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        this.cancelled = true;
+      }
+    }
+    if (paused) {
+      this.pauses.incrementAndGet();
+    }
+  }
+
+  private static boolean isYield(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof WarmUpYieldException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 停止预热：正在创建的单例会完成，之后不再创建
+   */
+  public void cancel() {
+    this.cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  /**
+   * 预热计划（按预热顺序）
+   */
+  public List<String> getPlan() {
+    return this.plan;
+  }
+
+  public Progress getProgress() {
+    long finish = this.finishNanos;
+    long elapsedNanos = (finish != 0 ? finish : System.nanoTime()) - this.startNanos;
+    Map<String, String> failures;
+    synchronized (this.failures) {
+      failures = new LinkedHashMap<>(this.failures);
+    }
+    return new Progress(this.plan.size(), this.warmed.get(), this.createdOnDemand.get(), failures,
+        this.yields.get(), this.pauses.get(), elapsedNanos / 1_000_000, finish != 0, this.cancelled);
+  }
+
+  /**
+   * 预热结束（完成或取消）时完成，结果为最终进度
+   */
+  public CompletableFuture<Progress> getCompletion() {
+    return this.completion;
+  }
+
+
+  /**
+   * 预热进度快照
+   */
+  public static final class Progress {
+
+    private final int total;
+
+    private final int warmed;
+
+    private final int createdOnDemand;
+
+    private final Map<String, String> failures;
+
+    private final int yields;
+
+    private final int pauses;
+
+    private final long elapsedMillis;
+
+    private final boolean done;
+
+    private final boolean cancelled;
+
+    Progress(int total, int warmed, int createdOnDemand, Map<String, String> failures, int yields, int pauses,
+        long elapsedMillis, boolean done, boolean cancelled) {
+
+      this.total = total;
+      this.warmed = warmed;
+      this.createdOnDemand = createdOnDemand;
+      this.failures = Collections.unmodifiableMap(failures);
+      this.yields = yields;
+      this.pauses = pauses;
+      this.elapsedMillis = elapsedMillis;
+      this.done = done;
+      this.cancelled = cancelled;
+    }
+
+    /**
+     * 计划预热的单例个数
+     */
+    public int getTotal() {
+      return this.total;
+    }
+
+    /**
+     * 由预热创建的单例个数
+     */
+    public int getWarmed() {
+      return this.warmed;
+    }
+
+    /**
+     * 轮到时已经被按需请求创建的单例个数
+     */
+    public int getCreatedOnDemand() {
+      return this.createdOnDemand;
+    }
+
+    /**
+     * 创建失败（或多次让出后放弃）的单例 -> 原因
+     */
+    public Map<String, String> getFailures() {
+      return this.failures;
+    }
+
+    public int getRemaining() {
+      return this.total - this.warmed - this.createdOnDemand - this.failures.size();
+    }
+
+    /**
+     * 与按需请求循环等待而回退的次数
+     */
+    public int getYields() {
+      return this.yields;
+    }
+
+    /**
+     * 因为按需创建正在进行而暂停的次数
+     */
+    public int getPauses() {
+      return this.pauses;
+    }
+
+    /**
+     * 从开始到现在（结束后为到结束）的毫秒数；done且没有失败时即达到完全预热的时间
+     */
+    public long getElapsedMillis() {
+      return this.elapsedMillis;
+    }
+
+    public boolean isDone() {
+      return this.done;
+    }
+
+    public boolean isCancelled() {
+      return this.cancelled;
+    }
+
+    public boolean isFullyWarm() {
+      return (this.done && !this.cancelled && this.failures.isEmpty() && getRemaining() == 0);
+    }
+
+    @Override
+    public String toString() {
+      return "Singleton warm-up " + (this.done ? (this.cancelled ? "cancelled" : "finished") : "in progress") +
+          ": " + this.warmed + " warmed, " + this.createdOnDemand + " created on demand, " + this.failures.size() +
+          " failed, " + getRemaining() + " remaining of " + this.total + " in " + this.elapsedMillis + " ms (" +
+          this.yields + " yields, " + this.pauses + " pauses)";
+    }
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.rhb.spring.parsing.beans.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 组件标记，与spring-context的@Component对应（这里只依赖spring-beans）；
+ * 也可以作为元注解定义自己的组件注解，此时该注解的value属性作为beanName
+ *
+ * 编译时由component-index-processor写入组件索引，运行时由{@link ComponentIndexLoader}读取
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Component {
+
+  /**
+   * beanName，为空时使用首字母小写的类名
+   */
+  String value() default "";
+}
@@ -0,0 +1,107 @@
+package com.rhb.spring.parsing.beans.index;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.util.Assert;
+
+/**
+ * 编译时生成的组件索引（一个类加载器下所有索引文件的内容），用来代替类路径扫描：
+ * 按包过滤组件并直接生成定义，不扫描目录、不加载类
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+public class ComponentIndex {
+
+  private final List<IndexedComponent> components;
+
+
+  ComponentIndex(List<IndexedComponent> components) {
+    this.components = components;
+  }
+
+
+  /**
+   * 全部组件，按索引文件和文件中的顺序
+   */
+  public List<IndexedComponent> getComponents() {
+    return Collections.unmodifiableList(this.components);
+  }
+
+  /**
+   * basePackage（含子包）下的组件
+   */
+  public List<IndexedComponent> getComponents(String basePackage) {
+    Assert.notNull(basePackage, "Base package must not be null");
+    List<IndexedComponent> result = new ArrayList<>();
+    for (IndexedComponent component : this.components) {
+      if (component.isInPackage(basePackage)) {
+        result.add(component);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 为basePackages下的组件创建定义（beanName -> 定义），没有指定包时为全部组件
+   * @throws BeanDefinitionStoreException 两个组件使用了同一个beanName
+   */
+  public Map<String, AbstractBeanDefinition> createBeanDefinitions(String... basePackages) {
+    Map<String, AbstractBeanDefinition> definitions = new LinkedHashMap<>(this.components.size() * 2);
+    for (IndexedComponent component : this.components) {
+      if (!matches(component, basePackages)) {
+        continue;
+      }
+      AbstractBeanDefinition existing = definitions.get(component.getBeanName());
+      if (existing != null) {
+        throw new BeanDefinitionStoreException(component.getResource() != null ?
+            component.getResource().getDescription() : null, component.getBeanName(),
+            "Component bean name '" + component.getBeanName() + "' for class [" + component.getClassName() +
+                "] conflicts with existing component of class [" + existing.getBeanClassName() + "]");
+      }
+      definitions.put(component.getBeanName(), component.toBeanDefinition());
+    }
+    return definitions;
+  }
+
+  /**
+   * 注册basePackages下的组件，没有指定包时注册全部组件
+   * @return 注册的定义个数
+   */
+  public int registerBeanDefinitions(BeanDefinitionRegistry registry, String... basePackages) {
+    Assert.notNull(registry, "BeanDefinitionRegistry must not be null");
+    Map<String, AbstractBeanDefinition> definitions = createBeanDefinitions(basePackages);
+    for (Map.Entry<String, AbstractBeanDefinition> entry : definitions.entrySet()) {
+      registry.registerBeanDefinition(entry.getKey(), entry.getValue());
+    }
+    return definitions.size();
+  }
+
+  private static boolean matches(IndexedComponent component, String[] basePackages) {
+    if (basePackages.length == 0) {
+      return true;
+    }
+    for (String basePackage : basePackages) {
+      if (component.isInPackage(basePackage)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int size() {
+    return this.components.size();
+  }
+
+  @Override
+  public String toString() {
+    return "ComponentIndex: " + this.components.size() + " components";
+  }
+
+}
@@ -0,0 +1,228 @@
+package com.rhb.spring.parsing.beans.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.UrlResource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * 读取类路径上所有的组件索引文件（{@value #COMPONENTS_RESOURCE_LOCATION}），按类加载器缓存
+ *
+ * 索引文件由component-index-processor在编译时生成，UTF-8，每行一个 key=value，
+ * 以component=类名 开始一条记录，后面跟该组件的属性：
+ * <pre>
+ * component=com.example.FastClock
+ * name=clock
+ * scope=prototype
+ * lazy=true
+ * primary=true
+ * role=2
+ * qualifier=org.springframework.beans.factory.annotation.Qualifier
+ * qualifier.value=fast
+ * </pre>
+ * qualifier.属性名 属于它前面最近的qualifier；值中的反斜杠、换行、回车转义为 \\、\n、\r；# 开头的行是注释
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+public final class ComponentIndexLoader {
+
+  public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/rhb.components";
+
+  /** 系统属性，为true时忽略索引（调用方回退到类路径扫描） */
+  public static final String IGNORE_INDEX_PROPERTY = "rhb.index.ignore";
+
+  private static final Log logger = LogFactory.getLog(ComponentIndexLoader.class);
+
+  private static final Map<ClassLoader, ComponentIndex> cache = new ConcurrentReferenceHashMap<>();
+
+  /** 没有索引文件的类加载器（ConcurrentReferenceHashMap不能保存null值） */
+  private static final ComponentIndex NO_INDEX = new ComponentIndex(new ArrayList<>());
+
+
+  private ComponentIndexLoader() {
+  }
+
+
+  /**
+   * 加载类加载器下的组件索引
+   * @return 没有索引文件或者设置了{@value #IGNORE_INDEX_PROPERTY}时为null
+   * @throws IllegalStateException 索引文件无法读取或格式错误
+   */
+  @Nullable
+  public static ComponentIndex loadIndex(@Nullable ClassLoader classLoader) {
+    if (Boolean.getBoolean(IGNORE_INDEX_PROPERTY)) {
+      return null;
+    }
+    ClassLoader classLoaderToUse = (classLoader != null ? classLoader : ComponentIndexLoader.class.getClassLoader());
+    ComponentIndex index = cache.computeIfAbsent(classLoaderToUse, ComponentIndexLoader::doLoadIndex);
+    return (index != NO_INDEX ? index : null);
+  }
+
+  private static ComponentIndex doLoadIndex(ClassLoader classLoader) {
+    long startTime = System.nanoTime();
+    List<IndexedComponent> components = new ArrayList<>();
+    int files = 0;
+    try {
+      Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+      while (urls.hasMoreElements()) {
+        parse(new UrlResource(urls.nextElement()), components);
+        files++;
+      }
+    }
+    catch (IOException ex) {
+      throw new IllegalStateException("Unable to load component index from location [" +
+          COMPONENTS_RESOURCE_LOCATION + "]", ex);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Loaded " + components.size() + " indexed components from " + files + " index file(s) in " +
+          (System.nanoTime() - startTime) / 1_000 + " us");
+    }
+    return (files > 0 ? new ComponentIndex(components) : NO_INDEX);
+  }
+
+  static void parse(UrlResource resource, List<IndexedComponent> components) throws IOException {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+      RecordBuilder record = null;
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isEmpty() || line.charAt(0) == '#') {
+          continue;
+        }
+        int separator = line.indexOf('=');
+        if (separator <= 0) {
+          throw new IllegalStateException("Invalid line " + lineNumber + " in " + resource.getDescription() +
+              ": " + line);
+        }
+        String key = line.substring(0, separator);
+        String value = unescape(line.substring(separator + 1));
+        if ("component".equals(key)) {
+          if (record != null) {
+            components.add(record.build());
+          }
+          record = new RecordBuilder(value, resource);
+        }
+        else if (record == null) {
+          throw new IllegalStateException("Line " + lineNumber + " in " + resource.getDescription() +
+              " does not belong to a component: " + line);
+        }
+        else {
+          record.set(key, value, lineNumber);
+        }
+      }
+      if (record != null) {
+        components.add(record.build());
+      }
+    }
+  }
+
+  private static String unescape(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder sb = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        sb.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+      }
+      else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 清除缓存的索引（测试或类路径变化后使用）
+   */
+  public static void clearCache() {
+    cache.clear();
+  }
+
+
+  private static final class RecordBuilder {
+
+    private final String className;
+
+    private final UrlResource resource;
+
+    private String beanName;
+
+    private String scope;
+
+    private Boolean lazyInit;
+
+    private boolean primary;
+
+    private Integer role;
+
+    private final Map<String, Map<String, String>> qualifiers = new LinkedHashMap<>(4);
+
+    @Nullable
+    private Map<String, String> currentQualifier;
+
+    RecordBuilder(String className, UrlResource resource) {
+      this.className = className;
+      this.resource = resource;
+    }
+
+    void set(String key, String value, int lineNumber) {
+      switch (key) {
+        case "name":
+          this.beanName = value;
+          break;
+        case "scope":
+          this.scope = value;
+          break;
+        case "lazy":
+          this.lazyInit = Boolean.valueOf(value);
+          break;
+        case "primary":
+          this.primary = Boolean.parseBoolean(value);
+          break;
+        case "role":
+          this.role = Integer.valueOf(value);
+          break;
+        case "qualifier":
+          this.currentQualifier = new LinkedHashMap<>(4);
+          this.qualifiers.put(value, this.currentQualifier);
+          break;
+        default:
+          if (key.startsWith("qualifier.") && this.currentQualifier != null) {
+            this.currentQualifier.put(key.substring("qualifier.".length()), value);
+          }
+          else if (logger.isDebugEnabled()) {
+            // 新版本处理器写入的未知属性
+            logger.debug("Ignoring unknown key '" + key + "' at line " + lineNumber + " in " +
+                this.resource.getDescription());
+          }
+      }
+    }
+
+    IndexedComponent build() {
+      if (this.beanName == null) {
+        throw new IllegalStateException("Component [" + this.className + "] in " + this.resource.getDescription() +
+            " has no name");
+      }
+      return new IndexedComponent(this.className, this.beanName, this.scope, this.lazyInit, this.primary, this.role,
+          this.qualifiers, this.resource);
+    }
+  }
+
+}
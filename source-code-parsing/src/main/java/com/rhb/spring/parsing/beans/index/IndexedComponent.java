@@ -0,0 +1,149 @@
+package com.rhb.spring.parsing.beans.index;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import java.util.Collections;
+import java.util.Map;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 组件索引中的一条记录：类名（二进制名）、beanName、作用域、延迟初始化、primary、角色和类上的qualifier
+ *
+ * qualifier的属性值在编译时记录为字符串（枚举为常量名，Class为类名，数组为逗号分隔的元素）
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+public final class IndexedComponent {
+
+  private final String className;
+
+  private final String beanName;
+
+  @Nullable
+  private final String scope;
+
+  @Nullable
+  private final Boolean lazyInit;
+
+  private final boolean primary;
+
+  @Nullable
+  private final Integer role;
+
+  /** qualifier注解类型 -> 属性名 -> 属性值 */
+  private final Map<String, Map<String, String>> qualifiers;
+
+  @Nullable
+  private final Resource resource;
+
+
+  IndexedComponent(String className, String beanName, @Nullable String scope, @Nullable Boolean lazyInit,
+      boolean primary, @Nullable Integer role, Map<String, Map<String, String>> qualifiers,
+      @Nullable Resource resource) {
+
+    Assert.hasText(className, "Class name must not be empty");
+    Assert.hasText(beanName, "Bean name must not be empty");
+    this.className = className;
+    this.beanName = beanName;
+    this.scope = scope;
+    this.lazyInit = lazyInit;
+    this.primary = primary;
+    this.role = role;
+    this.qualifiers = qualifiers;
+    this.resource = resource;
+  }
+
+
+  public String getClassName() {
+    return this.className;
+  }
+
+  public String getBeanName() {
+    return this.beanName;
+  }
+
+  /**
+   * 没有@Scope时为null
+   */
+  @Nullable
+  public String getScope() {
+    return this.scope;
+  }
+
+  /**
+   * 没有@Lazy时为null
+   */
+  @Nullable
+  public Boolean getLazyInit() {
+    return this.lazyInit;
+  }
+
+  public boolean isPrimary() {
+    return this.primary;
+  }
+
+  /**
+   * 没有@Role时为null
+   */
+  @Nullable
+  public Integer getRole() {
+    return this.role;
+  }
+
+  public Map<String, Map<String, String>> getQualifiers() {
+    return Collections.unmodifiableMap(this.qualifiers);
+  }
+
+  /**
+   * 记录该组件的索引文件
+   */
+  @Nullable
+  public Resource getResource() {
+    return this.resource;
+  }
+
+  /**
+   * 是否在basePackage（含子包）下
+   */
+  public boolean isInPackage(String basePackage) {
+    return (basePackage.isEmpty() ||
+        (this.className.startsWith(basePackage) && this.className.length() > basePackage.length() &&
+            this.className.charAt(basePackage.length()) == '.'));
+  }
+
+  /**
+   * 创建定义：只设置类名，不加载类
+   */
+  public GenericBeanDefinition toBeanDefinition() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName(this.className);
+    if (this.scope != null) {
+      bd.setScope(this.scope);
+    }
+    if (this.lazyInit != null) {
+      bd.setLazyInit(this.lazyInit);
+    }
+    bd.setPrimary(this.primary);
+    if (this.role != null) {
+      bd.setRole(this.role);
+    }
+    for (Map.Entry<String, Map<String, String>> entry : this.qualifiers.entrySet()) {
+      AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(entry.getKey());
+      for (Map.Entry<String, String> attribute : entry.getValue().entrySet()) {
+        qualifier.setAttribute(attribute.getKey(), attribute.getValue());
+      }
+      bd.addQualifier(qualifier);
+    }
+    bd.setResource(this.resource);
+    return bd;
+  }
+
+  @Override
+  public String toString() {
+    return "IndexedComponent '" + this.beanName + "' [" + this.className + "]";
+  }
+
+}
@@ -0,0 +1,21 @@
+package com.rhb.spring.parsing.beans.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 组件是否延迟初始化，与spring-context的@Lazy对应
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+
+  boolean value() default true;
+}
@@ -0,0 +1,19 @@
+package com.rhb.spring.parsing.beans.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 按类型匹配到多个候选时优先使用该组件，与spring-context的@Primary对应
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Primary {
+}
@@ -0,0 +1,24 @@
+package com.rhb.spring.parsing.beans.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 组件的角色，与spring-context的@Role对应
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Role {
+
+  /**
+   * BeanDefinition.ROLE_APPLICATION、ROLE_SUPPORT或ROLE_INFRASTRUCTURE
+   */
+  int value();
+}
@@ -0,0 +1,24 @@
+package com.rhb.spring.parsing.beans.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 组件的作用域，与spring-context的@Scope对应（不支持proxyMode）
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scope {
+
+  /**
+   * 作用域名称，为空时为singleton
+   */
+  String value() default "";
+}
@@ -0,0 +1,168 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * BeanDefinition模型的操作统计：每个操作一个次数、总耗时（LongAdder）和一个延迟直方图
+ *
+ * 默认关闭。被统计的代码按如下方式使用，关闭时只有一次volatile读：
+ * <pre class="code">
+ * long start = DefinitionMetrics.start();
+ * ...
+ * DefinitionMetrics.record(Operation.CLONE, start);
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:15
+ */
+public final class DefinitionMetrics {
+
+  private static final Log logger = LogFactory.getLog(DefinitionMetrics.class);
+
+  private static volatile boolean enabled = Boolean.getBoolean("rhb.beans.metrics.enabled");
+
+  private static final Operation[] OPERATIONS = Operation.values();
+
+  private static final LongAdder[] counts = new LongAdder[OPERATIONS.length];
+
+  private static final LongAdder[] totalNanos = new LongAdder[OPERATIONS.length];
+
+  private static final LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+
+  private static final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+
+  @Nullable
+  private static ScheduledExecutorService exportExecutor;
+
+  @Nullable
+  private static ScheduledFuture<?> exportTask;
+
+  static {
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      counts[i] = new LongAdder();
+      totalNanos[i] = new LongAdder();
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+
+  private DefinitionMetrics() {
+  }
+
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    DefinitionMetrics.enabled = enabled;
+  }
+
+  /**
+   * 开始计时，关闭时返回0（不调用nanoTime）
+   */
+  public static long start() {
+    return (enabled ? System.nanoTime() : 0L);
+  }
+
+  /**
+   * 记录一次操作，start为0（开始时统计是关闭的）时忽略
+   */
+  public static void record(Operation operation, long start) {
+    if (start != 0L) {
+      long elapsed = System.nanoTime() - start;
+      int index = operation.ordinal();
+      counts[index].increment();
+      totalNanos[index].add(elapsed);
+      histograms[index].record(elapsed);
+    }
+  }
+
+  public static OperationSnapshot snapshot(Operation operation) {
+    int index = operation.ordinal();
+    return new OperationSnapshot(operation, counts[index].sum(), totalNanos[index].sum(),
+        histograms[index].snapshot());
+  }
+
+  public static List<OperationSnapshot> snapshot() {
+    List<OperationSnapshot> snapshots = new ArrayList<>(OPERATIONS.length);
+    for (Operation operation : OPERATIONS) {
+      snapshots.add(snapshot(operation));
+    }
+    return snapshots;
+  }
+
+  public static void reset() {
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      counts[i].reset();
+      totalNanos[i].reset();
+      histograms[i].reset();
+    }
+  }
+
+
+  /*******************************************导出***********************************************/
+  public static void addExporter(MetricsExporter exporter) {
+    Assert.notNull(exporter, "MetricsExporter must not be null");
+    exporters.add(exporter);
+  }
+
+  public static void removeExporter(MetricsExporter exporter) {
+    exporters.remove(exporter);
+  }
+
+  /**
+   * 立即把当前快照交给所有exporter
+   */
+  public static void exportNow() {
+    if (exporters.isEmpty()) {
+      return;
+    }
+    List<OperationSnapshot> snapshots = snapshot();
+    for (MetricsExporter exporter : exporters) {
+      try {
+        exporter.export(snapshots);
+      }
+      catch (RuntimeException ex) {
+        logger.warn("MetricsExporter [" + exporter + "] failed", ex);
+      }
+    }
+  }
+
+  /**
+   * 按固定周期导出（后台守护线程），重复调用会替换之前的周期
+   */
+  public static synchronized void scheduleExport(long period, TimeUnit unit) {
+    Assert.isTrue(period > 0, "'period' must be positive");
+    if (exportExecutor == null) {
+      exportExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DefinitionMetricsExporter");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    if (exportTask != null) {
+      exportTask.cancel(false);
+    }
+    exportTask = exportExecutor.scheduleAtFixedRate(DefinitionMetrics::exportNow, period, period, unit);
+  }
+
+  public static synchronized void cancelScheduledExport() {
+    if (exportTask != null) {
+      exportTask.cancel(false);
+      exportTask = null;
+    }
+  }
+
+}
@@ -0,0 +1,127 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.springframework.util.Assert;
+
+/**
+ * 把DefinitionMetrics注册为JMX MBean（每个操作一个MXBean，外加一个开关）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:50
+ */
+public class DefinitionMetricsJmx {
+
+  public static final String DOMAIN = "com.rhb.spring";
+
+  private final MBeanServer server;
+
+  private final List<ObjectName> registeredNames = new ArrayList<>();
+
+
+  public DefinitionMetricsJmx() {
+    this(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  public DefinitionMetricsJmx(MBeanServer server) {
+    Assert.notNull(server, "MBeanServer must not be null");
+    this.server = server;
+  }
+
+
+  public synchronized void register() throws JMException {
+    Assert.state(this.registeredNames.isEmpty(), "Already registered");
+    try {
+      registerMBean(new Control(), new ObjectName(DOMAIN + ":type=DefinitionMetrics,name=control"));
+      for (Operation operation : Operation.values()) {
+        registerMBean(new OperationView(operation),
+            new ObjectName(DOMAIN + ":type=DefinitionMetrics,operation=" + operation.name()));
+      }
+    }
+    catch (JMException ex) {
+      unregister();
+      throw ex;
+    }
+  }
+
+  private void registerMBean(Object mbean, ObjectName name) throws JMException {
+    this.server.registerMBean(mbean, name);
+    this.registeredNames.add(name);
+  }
+
+  public synchronized void unregister() {
+    for (ObjectName name : this.registeredNames) {
+      try {
+        this.server.unregisterMBean(name);
+      }
+      catch (JMException ex) {
+        // 已经被其他方注销
+      }
+    }
+    this.registeredNames.clear();
+  }
+
+
+  private static class Control implements DefinitionMetricsMXBean {
+
+    @Override
+    public boolean isEnabled() {
+      return DefinitionMetrics.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+      DefinitionMetrics.setEnabled(enabled);
+    }
+
+    @Override
+    public void reset() {
+      DefinitionMetrics.reset();
+    }
+  }
+
+
+  private static class OperationView implements OperationMetricsMXBean {
+
+    private final Operation operation;
+
+    OperationView(Operation operation) {
+      this.operation = operation;
+    }
+
+    @Override
+    public long getCount() {
+      return DefinitionMetrics.snapshot(this.operation).getCount();
+    }
+
+    @Override
+    public long getMeanNanos() {
+      return DefinitionMetrics.snapshot(this.operation).getMeanNanos();
+    }
+
+    @Override
+    public long getP50Nanos() {
+      return DefinitionMetrics.snapshot(this.operation).getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+      return DefinitionMetrics.snapshot(this.operation).getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getP999Nanos() {
+      return DefinitionMetrics.snapshot(this.operation).getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public long getMaxNanos() {
+      return DefinitionMetrics.snapshot(this.operation).getMaxNanos();
+    }
+  }
+
+}
@@ -0,0 +1,16 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+/**
+ * 统计开关的JMX视图，ObjectName为 com.rhb.spring:type=DefinitionMetrics,name=control
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:46
+ */
+public interface DefinitionMetricsMXBean {
+
+  boolean isEnabled();
+
+  void setEnabled(boolean enabled);
+
+  void reset();
+}
@@ -0,0 +1,136 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR风格的纳秒延迟直方图（对数-线性分桶，相对误差不超过1/8）
+ *
+ * 小于16ns的值每个值一个桶，之后每个2的幂区间分为8个桶；
+ * 每个桶是一个LongAdder，多线程记录时不会在同一个计数上竞争
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:20
+ */
+public final class LatencyHistogram {
+
+  private static final int LINEAR_BUCKETS = 16;
+
+  private static final int SUB_BUCKET_BITS = 3;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** 第一个对数区间的指数（2^4 = 16） */
+  private static final int FIRST_EXPONENT = 4;
+
+  static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      this.buckets[i] = new LongAdder();
+    }
+  }
+
+
+  static int bucketIndex(long value) {
+    if (value < LINEAR_BUCKETS) {
+      return (value < 0 ? 0 : (int) value);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+    return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * 桶的上界（包含）
+   */
+  static long bucketUpperBound(int index) {
+    if (index < LINEAR_BUCKETS) {
+      return index;
+    }
+    int exponent = FIRST_EXPONENT + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+    long subBucket = SUB_BUCKETS + (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+    long lower = subBucket << (exponent - SUB_BUCKET_BITS);
+    return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  public void record(long nanos) {
+    this.buckets[bucketIndex(nanos)].increment();
+    if (nanos > this.max.get()) {
+      this.max.accumulate(nanos);
+    }
+  }
+
+  public void reset() {
+    for (LongAdder bucket : this.buckets) {
+      bucket.reset();
+    }
+    this.max.reset();
+  }
+
+  /**
+   * 当前各桶计数的快照（记录仍在进行时，快照内各桶之间不保证严格一致）
+   */
+  public Snapshot snapshot() {
+    long[] counts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = this.buckets[i].sum();
+      total += counts[i];
+    }
+    return new Snapshot(counts, total, this.max.get());
+  }
+
+
+  /**
+   * 直方图快照
+   */
+  public static final class Snapshot {
+
+    private final long[] counts;
+
+    private final long totalCount;
+
+    private final long max;
+
+    Snapshot(long[] counts, long totalCount, long max) {
+      this.counts = counts;
+      this.totalCount = totalCount;
+      this.max = max;
+    }
+
+    public long getTotalCount() {
+      return this.totalCount;
+    }
+
+    public long getMax() {
+      return this.max;
+    }
+
+    /**
+     * 百分位数（纳秒），例如 99.9；没有记录时返回0
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (this.totalCount == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * this.totalCount);
+      rank = Math.max(rank, 1);
+      long seen = 0;
+      for (int i = 0; i < this.counts.length; i++) {
+        seen += this.counts[i];
+        if (seen >= rank) {
+          return Math.min(bucketUpperBound(i), this.max);
+        }
+      }
+      return this.max;
+    }
+
+  }
+
+}
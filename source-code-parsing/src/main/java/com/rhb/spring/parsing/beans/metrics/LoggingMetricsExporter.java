@@ -0,0 +1,29 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+import java.util.List;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * 把有记录的操作以info级别写入日志
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:37
+ */
+public class LoggingMetricsExporter implements MetricsExporter {
+
+  private static final Log logger = LogFactory.getLog(LoggingMetricsExporter.class);
+
+  @Override
+  public void export(List<OperationSnapshot> snapshots) {
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    for (OperationSnapshot snapshot : snapshots) {
+      if (snapshot.getCount() > 0) {
+        logger.info(snapshot);
+      }
+    }
+  }
+
+}
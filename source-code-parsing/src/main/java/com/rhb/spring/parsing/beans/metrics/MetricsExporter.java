@@ -0,0 +1,18 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+import java.util.List;
+
+/**
+ * 统计数据的导出（推送到监控系统、写日志等）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:35
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+  /**
+   * @param snapshots 每个操作一个快照，按Operation声明顺序
+   */
+  void export(List<OperationSnapshot> snapshots);
+}
@@ -0,0 +1,29 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+/**
+ * 统计的操作
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:10
+ */
+public enum Operation {
+
+  /** AttributeAccessorSupport#getAttribute */
+  ATTRIBUTE_READ,
+
+  /** AttributeAccessorSupport#setAttribute / removeAttribute */
+  ATTRIBUTE_WRITE,
+
+  /** MethodOverrides#getOverride */
+  METHOD_OVERRIDE_LOOKUP,
+
+  /** cloneBeanDefinition */
+  CLONE,
+
+  /** 工厂合并parent定义 */
+  MERGE,
+
+  /** AbstractBeanDefinition#resolveBeanClass */
+  CLASS_RESOLUTION
+
+}
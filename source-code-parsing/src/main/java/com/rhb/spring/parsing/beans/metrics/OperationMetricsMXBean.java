@@ -0,0 +1,22 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+/**
+ * 单个操作的JMX视图，ObjectName为 com.rhb.spring:type=DefinitionMetrics,operation=操作名
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:45
+ */
+public interface OperationMetricsMXBean {
+
+  long getCount();
+
+  long getMeanNanos();
+
+  long getP50Nanos();
+
+  long getP99Nanos();
+
+  long getP999Nanos();
+
+  long getMaxNanos();
+}
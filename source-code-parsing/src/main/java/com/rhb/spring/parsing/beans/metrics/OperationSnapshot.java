@@ -0,0 +1,63 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+/**
+ * 单个操作的统计快照
+ *
+ * @author renhuibo
+ * @date 2026/10/19 20:32
+ */
+public final class OperationSnapshot {
+
+  private final Operation operation;
+
+  private final long count;
+
+  private final long totalNanos;
+
+  private final LatencyHistogram.Snapshot histogram;
+
+
+  OperationSnapshot(Operation operation, long count, long totalNanos, LatencyHistogram.Snapshot histogram) {
+    this.operation = operation;
+    this.count = count;
+    this.totalNanos = totalNanos;
+    this.histogram = histogram;
+  }
+
+
+  public Operation getOperation() {
+    return this.operation;
+  }
+
+  public long getCount() {
+    return this.count;
+  }
+
+  public long getTotalNanos() {
+    return this.totalNanos;
+  }
+
+  public long getMeanNanos() {
+    return (this.count > 0 ? this.totalNanos / this.count : 0);
+  }
+
+  public long getMaxNanos() {
+    return this.histogram.getMax();
+  }
+
+  public long getValueAtPercentile(double percentile) {
+    return this.histogram.getValueAtPercentile(percentile);
+  }
+
+  public LatencyHistogram.Snapshot getHistogram() {
+    return this.histogram;
+  }
+
+  @Override
+  public String toString() {
+    return this.operation + ": count=" + this.count + ", mean=" + getMeanNanos() + "ns, p50=" +
+        getValueAtPercentile(50) + "ns, p99=" + getValueAtPercentile(99) + "ns, p99.9=" +
+        getValueAtPercentile(99.9) + "ns, max=" + getMaxNanos() + "ns";
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.rhb.spring.parsing.beans.offheap;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 基于direct ByteBuffer的定长列，容量不足时按2倍扩容并复制到新的buffer
+ *
+ * 只有写线程（调用方加锁）会扩容；读线程用绝对下标读取，扩容前后已有数据的位置不变，
+ * 读到旧buffer也能得到正确的值
+ *
+ * @author renhuibo
+ * @date 2026/10/20 10:05
+ */
+final class DirectColumn {
+
+  private final int width;
+
+  private volatile ByteBuffer buffer;
+
+
+  DirectColumn(int width, int initialCapacity) {
+    this.width = width;
+    this.buffer = allocate((long) Math.max(initialCapacity, 16) * width);
+  }
+
+
+  private static ByteBuffer allocate(long bytes) {
+    if (bytes > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Off-heap column exceeds 2 GB");
+    }
+    return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * 保证可以写入第index个元素
+   */
+  void ensureCapacity(int index) {
+    ensureBytes((long) (index + 1) * this.width);
+  }
+
+  /**
+   * 保证至少有bytes个字节（变长数据区使用，width为1）
+   */
+  void ensureBytes(long bytes) {
+    ByteBuffer current = this.buffer;
+    if (bytes <= current.capacity()) {
+      return;
+    }
+    long newCapacity = current.capacity();
+    while (newCapacity < bytes) {
+      newCapacity <<= 1;
+    }
+    ByteBuffer grown = allocate(Math.min(newCapacity, Integer.MAX_VALUE));
+    ByteBuffer source = current.duplicate();
+    ((Buffer) source).clear();
+    grown.put(source);
+    ((Buffer) grown).clear();
+    this.buffer = grown;
+  }
+
+  int getInt(int index) {
+    return this.buffer.getInt(index * this.width);
+  }
+
+  void putInt(int index, int value) {
+    this.buffer.putInt(index * this.width, value);
+  }
+
+  byte getByte(int index) {
+    return this.buffer.get(index * this.width);
+  }
+
+  void putByte(int index, byte value) {
+    this.buffer.put(index * this.width, value);
+  }
+
+  ByteBuffer buffer() {
+    return this.buffer;
+  }
+
+  long capacityBytes() {
+    return this.buffer.capacity();
+  }
+
+}
@@ -0,0 +1,392 @@
+package com.rhb.spring.parsing.beans.offheap;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinitionResource;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link OffHeapDefinitionStore}中一个定义的只读享元视图，只持有store和下标，每次读取都从列中取值
+ *
+ * 字符串类属性每次调用都会解码出新的String；所有setter抛出UnsupportedOperationException，
+ * 需要修改时用{@link #toBeanDefinition()}得到堆上的GenericBeanDefinition副本
+ *
+ * @author renhuibo
+ * @date 2026/10/20 10:50
+ */
+public final class OffHeapBeanDefinition implements BeanDefinition {
+
+  private static final String[] NO_ATTRIBUTES = new String[0];
+
+  private final OffHeapDefinitionStore store;
+
+  private final int index;
+
+
+  OffHeapBeanDefinition(OffHeapDefinitionStore store, int index) {
+    this.store = store;
+    this.index = index;
+  }
+
+
+  public OffHeapDefinitionStore getStore() {
+    return this.store;
+  }
+
+  public int getIndex() {
+    return this.index;
+  }
+
+  public String getBeanName() {
+    return getString(OffHeapDefinitionStore.BEAN_NAME);
+  }
+
+  @Nullable
+  private String getString(int column) {
+    return this.store.getString(this.index, column);
+  }
+
+  private boolean hasFlag(int flag) {
+    return this.store.hasFlag(this.index, flag);
+  }
+
+  private static UnsupportedOperationException readOnly() {
+    return new UnsupportedOperationException(
+        "Off-heap bean definition is read-only: use toBeanDefinition() for a modifiable copy");
+  }
+
+  /**
+   * 还原成堆上的GenericBeanDefinition（新的副本，修改它不影响store）
+   */
+  public GenericBeanDefinition toBeanDefinition() {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    GenericBeanDefinition bd = (residual != null ? new GenericBeanDefinition(residual) : new GenericBeanDefinition());
+    bd.setParentName(getParentName());
+    bd.setBeanClassName(getBeanClassName());
+    bd.setScope(getScope());
+    bd.setAbstract(isAbstract());
+    bd.setLazyInit(isLazyInit());
+    bd.setAutowireMode(getAutowireMode());
+    bd.setDependencyCheck(getDependencyCheck());
+    bd.setDependsOn(getDependsOn());
+    bd.setAutowireCandidate(isAutowireCandidate());
+    bd.setPrimary(isPrimary());
+    bd.setFactoryBeanName(getFactoryBeanName());
+    bd.setFactoryMethodName(getFactoryMethodName());
+    bd.setInitMethodName(getInitMethodName());
+    bd.setEnforceInitMethod(isEnforceInitMethod());
+    bd.setDestroyMethodName(getDestroyMethodName());
+    bd.setEnforceDestroyMethod(isEnforceDestroyMethod());
+    bd.setNonPublicAccessAllowed(isNonPublicAccessAllowed());
+    bd.setLenientConstructorResolution(isLenientConstructorResolution());
+    bd.setSynthetic(isSynthetic());
+    bd.setRole(getRole());
+    bd.setDescription(getDescription());
+    bd.setResource(getResource());
+    return bd;
+  }
+
+
+  @Override
+  public void setParentName(@Nullable String parentName) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getParentName() {
+    return getString(OffHeapDefinitionStore.PARENT_NAME);
+  }
+
+  @Override
+  public void setBeanClassName(@Nullable String beanClassName) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getBeanClassName() {
+    return getString(OffHeapDefinitionStore.BEAN_CLASS_NAME);
+  }
+
+  @Override
+  public void setScope(@Nullable String scope) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getScope() {
+    return getString(OffHeapDefinitionStore.SCOPE);
+  }
+
+  @Override
+  public void setLazyInit(boolean lazyInit) {
+    throw readOnly();
+  }
+
+  @Override
+  public boolean isLazyInit() {
+    return hasFlag(OffHeapDefinitionStore.LAZY_INIT);
+  }
+
+  @Override
+  public void setDependsOn(@Nullable String... dependsOn) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String[] getDependsOn() {
+    String dependsOn = getString(OffHeapDefinitionStore.DEPENDS_ON);
+    return (dependsOn != null ?
+        StringUtils.delimitedListToStringArray(dependsOn, OffHeapDefinitionStore.DEPENDS_ON_DELIMITER) : null);
+  }
+
+  @Override
+  public void setAutowireCandidate(boolean autowireCandidate) {
+    throw readOnly();
+  }
+
+  @Override
+  public boolean isAutowireCandidate() {
+    return hasFlag(OffHeapDefinitionStore.AUTOWIRE_CANDIDATE);
+  }
+
+  @Override
+  public void setPrimary(boolean primary) {
+    throw readOnly();
+  }
+
+  @Override
+  public boolean isPrimary() {
+    return hasFlag(OffHeapDefinitionStore.PRIMARY);
+  }
+
+  @Override
+  public void setFactoryBeanName(@Nullable String factoryBeanName) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getFactoryBeanName() {
+    return getString(OffHeapDefinitionStore.FACTORY_BEAN_NAME);
+  }
+
+  @Override
+  public void setFactoryMethodName(@Nullable String factoryMethodName) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getFactoryMethodName() {
+    return getString(OffHeapDefinitionStore.FACTORY_METHOD_NAME);
+  }
+
+  /**
+   * 返回副本，修改它不影响store
+   */
+  @Override
+  public ConstructorArgumentValues getConstructorArgumentValues() {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null && residual.hasConstructorArgumentValues() ?
+        new ConstructorArgumentValues(residual.getConstructorArgumentValues()) : new ConstructorArgumentValues());
+  }
+
+  @Override
+  public boolean hasConstructorArgumentValues() {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null && residual.hasConstructorArgumentValues());
+  }
+
+  /**
+   * 返回副本，修改它不影响store
+   */
+  @Override
+  public MutablePropertyValues getPropertyValues() {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null && residual.hasPropertyValues() ?
+        new MutablePropertyValues(residual.getPropertyValues()) : new MutablePropertyValues());
+  }
+
+  @Override
+  public boolean hasPropertyValues() {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null && residual.hasPropertyValues());
+  }
+
+  @Override
+  public void setInitMethodName(@Nullable String initMethodName) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getInitMethodName() {
+    return getString(OffHeapDefinitionStore.INIT_METHOD_NAME);
+  }
+
+  @Override
+  public void setDestroyMethodName(@Nullable String destroyMethodName) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getDestroyMethodName() {
+    return getString(OffHeapDefinitionStore.DESTROY_METHOD_NAME);
+  }
+
+  @Override
+  public void setRole(int role) {
+    throw readOnly();
+  }
+
+  @Override
+  public int getRole() {
+    return this.store.getRole(this.index);
+  }
+
+  @Override
+  public void setDescription(@Nullable String description) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public String getDescription() {
+    return getString(OffHeapDefinitionStore.DESCRIPTION);
+  }
+
+  /**
+   * 按scope的字符串编号判断，不解码字符串
+   */
+  @Override
+  public boolean isSingleton() {
+    int scopeId = this.store.getStringId(this.index, OffHeapDefinitionStore.SCOPE);
+    return (scopeId == this.store.singletonScopeId || scopeId == this.store.defaultScopeId);
+  }
+
+  @Override
+  public boolean isPrototype() {
+    return this.store.getStringId(this.index, OffHeapDefinitionStore.SCOPE) == this.store.prototypeScopeId;
+  }
+
+  @Override
+  public boolean isAbstract() {
+    return hasFlag(OffHeapDefinitionStore.ABSTRACT);
+  }
+
+  public int getAutowireMode() {
+    return this.store.getAutowireMode(this.index);
+  }
+
+  public int getDependencyCheck() {
+    return this.store.getDependencyCheck(this.index);
+  }
+
+  public boolean isNonPublicAccessAllowed() {
+    return hasFlag(OffHeapDefinitionStore.NON_PUBLIC_ACCESS_ALLOWED);
+  }
+
+  public boolean isLenientConstructorResolution() {
+    return hasFlag(OffHeapDefinitionStore.LENIENT_CONSTRUCTOR_RESOLUTION);
+  }
+
+  public boolean isEnforceInitMethod() {
+    return hasFlag(OffHeapDefinitionStore.ENFORCE_INIT_METHOD);
+  }
+
+  public boolean isEnforceDestroyMethod() {
+    return hasFlag(OffHeapDefinitionStore.ENFORCE_DESTROY_METHOD);
+  }
+
+  public boolean isSynthetic() {
+    return hasFlag(OffHeapDefinitionStore.SYNTHETIC);
+  }
+
+  @Nullable
+  public Resource getResource() {
+    return this.store.getResource(this.index);
+  }
+
+  @Override
+  @Nullable
+  public String getResourceDescription() {
+    Resource resource = getResource();
+    return (resource != null ? resource.getDescription() : null);
+  }
+
+  @Override
+  @Nullable
+  public BeanDefinition getOriginatingBeanDefinition() {
+    Resource resource = getResource();
+    return (resource instanceof BeanDefinitionResource ?
+        ((BeanDefinitionResource) resource).getBeanDefinition() : null);
+  }
+
+
+  /*******************************元数据和source来自堆上的残余定义**********************************/
+  @Override
+  public void setAttribute(String name, @Nullable Object value) {
+    throw readOnly();
+  }
+
+  @Override
+  @Nullable
+  public Object getAttribute(String name) {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null ? residual.getAttribute(name) : null);
+  }
+
+  @Override
+  public Object removeAttribute(String name) {
+    throw readOnly();
+  }
+
+  @Override
+  public boolean hasAttribute(String name) {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null && residual.hasAttribute(name));
+  }
+
+  @Override
+  public String[] attributeNames() {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null ? residual.attributeNames() : NO_ATTRIBUTES);
+  }
+
+  @Override
+  @Nullable
+  public Object getSource() {
+    GenericBeanDefinition residual = this.store.getResidual(this.index);
+    return (residual != null ? residual.getSource() : null);
+  }
+
+
+  @Override
+  public boolean equals(Object other) {
+    return (this == other || (other instanceof OffHeapBeanDefinition &&
+        this.store == ((OffHeapBeanDefinition) other).store && this.index == ((OffHeapBeanDefinition) other).index));
+  }
+
+  @Override
+  public int hashCode() {
+    return 29 * System.identityHashCode(this.store) + this.index;
+  }
+
+  @Override
+  public String toString() {
+    return "Off-heap bean definition '" + getBeanName() + "' [class=" + getBeanClassName() +
+        "; scope=" + getScope() + "; abstract=" + isAbstract() + "; lazyInit=" + isLazyInit() +
+        "; parent=" + getParentName() + "; defined in " + getResourceDescription() + "]";
+  }
+
+}
@@ -0,0 +1,404 @@
+package com.rhb.spring.parsing.beans.offheap;
+
+import com.rhb.spring.parsing.beans.base.MethodOverrides;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.core.io.DescriptiveResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * 大规模场景下按列保存BeanDefinition元数据的堆外存储
+ *
+ * 1. 标志位、role、autowireMode、dependencyCheck保存在基本类型列中（direct ByteBuffer，每个定义一格）
+ * 2. 类名、parentName、scope、工厂bean/方法名、初始化/销毁方法名、dependsOn、description
+ *    保存在去重的{@link OffHeapStringTable}中，列里只保存字符串编号
+ * 3. 资源按equals去重后保存在堆上，列里保存资源编号
+ * 4. 属性值、构造参数、方法覆盖、qualifier、元数据、instanceSupplier和source无法列式保存，
+ *    只有带这些内容的定义才在堆上保留一个只含这些内容的残余定义
+ *
+ * 通过{@link #get}按需返回轻量的{@link OffHeapBeanDefinition}只读视图（只持有store和下标），
+ * 需要修改或合并时用{@link OffHeapBeanDefinition#toBeanDefinition()}还原成GenericBeanDefinition。
+ * 解析过的beanClass不保存，只保存类名
+ *
+ * 写入方法是同步的；读线程通过size（volatile）看到写入完成的定义，读取不加锁
+ *
+ * @author renhuibo
+ * @date 2026/10/20 10:30
+ */
+public class OffHeapDefinitionStore {
+
+  static final int ABSTRACT = 1;
+  static final int LAZY_INIT = 1 << 1;
+  static final int AUTOWIRE_CANDIDATE = 1 << 2;
+  static final int PRIMARY = 1 << 3;
+  static final int NON_PUBLIC_ACCESS_ALLOWED = 1 << 4;
+  static final int LENIENT_CONSTRUCTOR_RESOLUTION = 1 << 5;
+  static final int ENFORCE_INIT_METHOD = 1 << 6;
+  static final int ENFORCE_DESTROY_METHOD = 1 << 7;
+  static final int SYNTHETIC = 1 << 8;
+
+  static final int BEAN_NAME = 0;
+  static final int BEAN_CLASS_NAME = 1;
+  static final int PARENT_NAME = 2;
+  static final int SCOPE = 3;
+  static final int FACTORY_BEAN_NAME = 4;
+  static final int FACTORY_METHOD_NAME = 5;
+  static final int INIT_METHOD_NAME = 6;
+  static final int DESTROY_METHOD_NAME = 7;
+  static final int DEPENDS_ON = 8;
+  static final int DESCRIPTION = 9;
+  private static final int STRING_COLUMNS = 10;
+
+  /** dependsOn按该分隔符拼接成一个字符串保存，相同的依赖列表只保存一份 */
+  static final String DEPENDS_ON_DELIMITER = "\0";
+
+  private final OffHeapStringTable strings;
+
+  private final DirectColumn flags;
+
+  private final DirectColumn roles;
+
+  private final DirectColumn autowireModes;
+
+  private final DirectColumn dependencyChecks;
+
+  private final DirectColumn resourceRefs;
+
+  private final DirectColumn[] stringColumns = new DirectColumn[STRING_COLUMNS];
+
+  /** beanName的字符串编号 -> 定义下标+1（0表示没有） */
+  private final DirectColumn indexByNameId;
+
+  private final List<Resource> resources = new ArrayList<>();
+
+  private final Map<Resource, Integer> resourceIds = new HashMap<>();
+
+  private final Map<Integer, GenericBeanDefinition> residuals = new ConcurrentHashMap<>();
+
+  final int defaultScopeId;
+
+  final int singletonScopeId;
+
+  final int prototypeScopeId;
+
+  private volatile int size;
+
+
+  public OffHeapDefinitionStore() {
+    this(1024);
+  }
+
+  public OffHeapDefinitionStore(int expectedDefinitions) {
+    Assert.isTrue(expectedDefinitions >= 0, "'expectedDefinitions' must not be negative");
+    this.strings = new OffHeapStringTable(expectedDefinitions + 64);
+    this.flags = new DirectColumn(4, expectedDefinitions);
+    this.roles = new DirectColumn(1, expectedDefinitions);
+    this.autowireModes = new DirectColumn(1, expectedDefinitions);
+    this.dependencyChecks = new DirectColumn(1, expectedDefinitions);
+    this.resourceRefs = new DirectColumn(4, expectedDefinitions);
+    for (int i = 0; i < STRING_COLUMNS; i++) {
+      this.stringColumns[i] = new DirectColumn(4, expectedDefinitions);
+    }
+    this.indexByNameId = new DirectColumn(4, expectedDefinitions + 64);
+    this.defaultScopeId = this.strings.intern(AbstractBeanDefinition.SCOPE_DEFAULT);
+    this.singletonScopeId = this.strings.intern(BeanDefinition.SCOPE_SINGLETON);
+    this.prototypeScopeId = this.strings.intern(BeanDefinition.SCOPE_PROTOTYPE);
+  }
+
+
+  /**
+   * 保存定义的副本，beanName已存在时原位覆盖
+   * @return 定义的下标
+   */
+  public synchronized int add(String beanName, BeanDefinition bd) {
+    Assert.hasText(beanName, "Bean name must not be empty");
+    Assert.notNull(bd, "BeanDefinition must not be null");
+    int nameId = this.strings.intern(beanName);
+    this.indexByNameId.ensureCapacity(nameId);
+    int index = this.indexByNameId.getInt(nameId) - 1;
+    boolean added = (index < 0);
+    if (added) {
+      index = this.size;
+    }
+
+    int flags = 0;
+    int autowireMode = AbstractBeanDefinition.AUTOWIRE_NO;
+    int dependencyCheck = AbstractBeanDefinition.DEPENDENCY_CHECK_NONE;
+    Resource resource;
+    if (bd instanceof AbstractBeanDefinition) {
+      AbstractBeanDefinition abd = (AbstractBeanDefinition) bd;
+      flags |= (abd.isNonPublicAccessAllowed() ? NON_PUBLIC_ACCESS_ALLOWED : 0);
+      flags |= (abd.isLenientConstructorResolution() ? LENIENT_CONSTRUCTOR_RESOLUTION : 0);
+      flags |= (abd.isEnforceInitMethod() ? ENFORCE_INIT_METHOD : 0);
+      flags |= (abd.isEnforceDestroyMethod() ? ENFORCE_DESTROY_METHOD : 0);
+      flags |= (abd.isSynthetic() ? SYNTHETIC : 0);
+      autowireMode = abd.getAutowireMode();
+      dependencyCheck = abd.getDependencyCheck();
+      resource = abd.getResource();
+    }
+    else {
+      flags |= NON_PUBLIC_ACCESS_ALLOWED | LENIENT_CONSTRUCTOR_RESOLUTION | ENFORCE_INIT_METHOD |
+          ENFORCE_DESTROY_METHOD;
+      String resourceDescription = bd.getResourceDescription();
+      resource = (resourceDescription != null ? new DescriptiveResource(resourceDescription) : null);
+    }
+    flags |= (bd.isAbstract() ? ABSTRACT : 0);
+    flags |= (bd.isLazyInit() ? LAZY_INIT : 0);
+    flags |= (bd.isAutowireCandidate() ? AUTOWIRE_CANDIDATE : 0);
+    flags |= (bd.isPrimary() ? PRIMARY : 0);
+
+    ensureCapacity(index);
+    this.flags.putInt(index, flags);
+    this.roles.putByte(index, toByte("role", bd.getRole()));
+    this.autowireModes.putByte(index, toByte("autowireMode", autowireMode));
+    this.dependencyChecks.putByte(index, toByte("dependencyCheck", dependencyCheck));
+    this.resourceRefs.putInt(index, resourceRef(resource));
+    putString(BEAN_NAME, index, nameId);
+    putString(BEAN_CLASS_NAME, index, this.strings.intern(bd.getBeanClassName()));
+    putString(PARENT_NAME, index, this.strings.intern(bd.getParentName()));
+    putString(SCOPE, index, this.strings.intern(bd.getScope()));
+    putString(FACTORY_BEAN_NAME, index, this.strings.intern(bd.getFactoryBeanName()));
+    putString(FACTORY_METHOD_NAME, index, this.strings.intern(bd.getFactoryMethodName()));
+    putString(INIT_METHOD_NAME, index, this.strings.intern(bd.getInitMethodName()));
+    putString(DESTROY_METHOD_NAME, index, this.strings.intern(bd.getDestroyMethodName()));
+    String[] dependsOn = bd.getDependsOn();
+    putString(DEPENDS_ON, index, this.strings.intern(dependsOn != null ?
+        StringUtils.arrayToDelimitedString(dependsOn, DEPENDS_ON_DELIMITER) : null));
+    putString(DESCRIPTION, index, this.strings.intern(bd.getDescription()));
+
+    GenericBeanDefinition residual = residualOf(bd);
+    if (residual != null) {
+      this.residuals.put(index, residual);
+    }
+    else {
+      this.residuals.remove(index);
+    }
+    if (added) {
+      this.indexByNameId.putInt(nameId, index + 1);
+      this.size = index + 1;
+    }
+    return index;
+  }
+
+  /**
+   * 把全部定义的视图注册到注册中心
+   */
+  public void registerAll(BeanDefinitionRegistry registry) {
+    Assert.notNull(registry, "BeanDefinitionRegistry must not be null");
+    int size = this.size;
+    for (int index = 0; index < size; index++) {
+      OffHeapBeanDefinition view = get(index);
+      registry.registerBeanDefinition(view.getBeanName(), view);
+    }
+  }
+
+  /**
+   * 返回定义的只读视图，不存在返回null
+   */
+  @Nullable
+  public OffHeapBeanDefinition get(String beanName) {
+    int index = indexOf(beanName);
+    return (index >= 0 ? new OffHeapBeanDefinition(this, index) : null);
+  }
+
+  public OffHeapBeanDefinition get(int index) {
+    checkIndex(index);
+    return new OffHeapBeanDefinition(this, index);
+  }
+
+  /**
+   * beanName对应的下标，不存在返回-1
+   */
+  public int indexOf(String beanName) {
+    int size = this.size;
+    int nameId = this.strings.find(beanName);
+    if (nameId < 0 || (long) nameId * 4 >= this.indexByNameId.capacityBytes()) {
+      return -1;
+    }
+    int index = this.indexByNameId.getInt(nameId) - 1;
+    return (index < size ? index : -1);
+  }
+
+  public boolean contains(String beanName) {
+    return indexOf(beanName) >= 0;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public OffHeapStringTable getStringTable() {
+    return this.strings;
+  }
+
+  /**
+   * 带有堆上残余内容（属性值、构造参数等）的定义数量
+   */
+  public int getResidualCount() {
+    return this.residuals.size();
+  }
+
+  /**
+   * 列和字符串表已分配的堆外字节数
+   */
+  public long getOffHeapBytes() {
+    long bytes = this.strings.getOffHeapBytes() + this.flags.capacityBytes() + this.roles.capacityBytes() +
+        this.autowireModes.capacityBytes() + this.dependencyChecks.capacityBytes() +
+        this.resourceRefs.capacityBytes() + this.indexByNameId.capacityBytes();
+    for (DirectColumn column : this.stringColumns) {
+      bytes += column.capacityBytes();
+    }
+    return bytes;
+  }
+
+
+  /*********************************供OffHeapBeanDefinition读取********************************/
+  void checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("No bean definition with index " + index + " (size " + this.size + ")");
+    }
+  }
+
+  boolean hasFlag(int index, int flag) {
+    return (this.flags.getInt(index) & flag) != 0;
+  }
+
+  int getRole(int index) {
+    return this.roles.getByte(index);
+  }
+
+  int getAutowireMode(int index) {
+    return this.autowireModes.getByte(index);
+  }
+
+  int getDependencyCheck(int index) {
+    return this.dependencyChecks.getByte(index);
+  }
+
+  int getStringId(int index, int column) {
+    return this.stringColumns[column].getInt(index);
+  }
+
+  @Nullable
+  String getString(int index, int column) {
+    return this.strings.get(this.stringColumns[column].getInt(index));
+  }
+
+  @Nullable
+  Resource getResource(int index) {
+    int ref = this.resourceRefs.getInt(index) - 1;
+    if (ref < 0) {
+      return null;
+    }
+    synchronized (this) {
+      return this.resources.get(ref);
+    }
+  }
+
+  @Nullable
+  GenericBeanDefinition getResidual(int index) {
+    return this.residuals.get(index);
+  }
+
+
+  private void ensureCapacity(int index) {
+    this.flags.ensureCapacity(index);
+    this.roles.ensureCapacity(index);
+    this.autowireModes.ensureCapacity(index);
+    this.dependencyChecks.ensureCapacity(index);
+    this.resourceRefs.ensureCapacity(index);
+    for (DirectColumn column : this.stringColumns) {
+      column.ensureCapacity(index);
+    }
+  }
+
+  private void putString(int column, int index, int stringId) {
+    this.stringColumns[column].putInt(index, stringId);
+  }
+
+  private static byte toByte(String field, int value) {
+    if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Value of '" + field + "' out of range for off-heap column: " + value);
+    }
+    return (byte) value;
+  }
+
+  private int resourceRef(@Nullable Resource resource) {
+    if (resource == null) {
+      return 0;
+    }
+    Integer ref = this.resourceIds.get(resource);
+    if (ref == null) {
+      ref = this.resources.size();
+      this.resources.add(resource);
+      this.resourceIds.put(resource, ref);
+    }
+    return ref + 1;
+  }
+
+  /**
+   * 只包含无法列式保存的内容的副本，没有这些内容时返回null
+   */
+  @Nullable
+  private static GenericBeanDefinition residualOf(BeanDefinition bd) {
+    GenericBeanDefinition residual = null;
+    if (bd instanceof AbstractBeanDefinition) {
+      AbstractBeanDefinition abd = (AbstractBeanDefinition) bd;
+      if (abd.hasPropertyValues()) {
+        residual = new GenericBeanDefinition();
+        residual.setPropertyValues(new MutablePropertyValues(abd.getPropertyValues()));
+      }
+      if (abd.hasConstructorArgumentValues()) {
+        residual = (residual != null ? residual : new GenericBeanDefinition());
+        residual.setConstructorArgumentValues(new ConstructorArgumentValues(abd.getConstructorArgumentValues()));
+      }
+      if (abd.hasMethodOverrides()) {
+        residual = (residual != null ? residual : new GenericBeanDefinition());
+        residual.setMethodOverrides(new MethodOverrides(abd.getMethodOverrides()));
+      }
+      if (!abd.getQualifierView().isEmpty()) {
+        residual = (residual != null ? residual : new GenericBeanDefinition());
+        residual.copyQualifiersFrom(abd);
+      }
+      if (abd.getInstanceSupplier() != null) {
+        residual = (residual != null ? residual : new GenericBeanDefinition());
+        residual.setInstanceSupplier(abd.getInstanceSupplier());
+      }
+    }
+    else {
+      if (bd.hasPropertyValues()) {
+        residual = new GenericBeanDefinition();
+        residual.setPropertyValues(new MutablePropertyValues(bd.getPropertyValues()));
+      }
+      if (bd.hasConstructorArgumentValues()) {
+        residual = (residual != null ? residual : new GenericBeanDefinition());
+        residual.setConstructorArgumentValues(new ConstructorArgumentValues(bd.getConstructorArgumentValues()));
+      }
+    }
+    String[] attributeNames = bd.attributeNames();
+    if (attributeNames.length > 0) {
+      residual = (residual != null ? residual : new GenericBeanDefinition());
+      for (String attributeName : attributeNames) {
+        residual.setAttribute(attributeName, bd.getAttribute(attributeName));
+      }
+    }
+    if (bd.getSource() != null) {
+      residual = (residual != null ? residual : new GenericBeanDefinition());
+      residual.setSource(bd.getSource());
+    }
+    return residual;
+  }
+
+}
@@ -0,0 +1,196 @@
+package com.rhb.spring.parsing.beans.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.springframework.lang.Nullable;
+
+/**
+ * 去重的堆外字符串表：每个不同的字符串只保存一份UTF-8字节，用int编号引用
+ *
+ * 数据全部在direct ByteBuffer中：字节区（长度前缀+UTF-8字节）、编号 -> 偏移量、编号 -> hash，
+ * 以及线性探测的开放寻址表（槽位保存编号+1，0表示空），堆上只有几个buffer对象，与字符串数量无关。
+ * 读取时每次解码出新的String，调用方需要反复使用时应自行保存
+ *
+ * 写入（intern）需要外部同步；写入完成后，读线程通过size（volatile）看到已写入的数据
+ *
+ * @author renhuibo
+ * @date 2026/10/20 10:12
+ */
+public final class OffHeapStringTable {
+
+  /** null对应的编号 */
+  public static final int NULL_ID = -1;
+
+  private final DirectColumn data;
+
+  private final DirectColumn offsets;
+
+  private final DirectColumn hashes;
+
+  private volatile DirectColumn table;
+
+  private int dataLength;
+
+  private volatile int size;
+
+
+  public OffHeapStringTable() {
+    this(1024);
+  }
+
+  public OffHeapStringTable(int expectedStrings) {
+    int capacity = Math.max(expectedStrings, 16);
+    this.data = new DirectColumn(1, capacity * 16);
+    this.offsets = new DirectColumn(4, capacity);
+    this.hashes = new DirectColumn(4, capacity);
+    this.table = new DirectColumn(4, tableSizeFor(capacity));
+  }
+
+
+  private static int tableSizeFor(int entries) {
+    int size = Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+    return (size > 0 ? size : 1 << 30);
+  }
+
+  private static int hash(String value) {
+    int h = value.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * 返回字符串的编号，不存在时追加；null返回{@link #NULL_ID}
+   */
+  public int intern(@Nullable String value) {
+    if (value == null) {
+      return NULL_ID;
+    }
+    int hash = hash(value);
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    int existing = lookup(hash, bytes, this.size);
+    if (existing != NULL_ID) {
+      return existing;
+    }
+
+    int id = this.size;
+    int offset = this.dataLength;
+    this.data.ensureBytes((long) offset + 4 + bytes.length);
+    ByteBuffer buffer = this.data.buffer();
+    buffer.putInt(offset, bytes.length);
+    for (int i = 0; i < bytes.length; i++) {
+      buffer.put(offset + 4 + i, bytes[i]);
+    }
+    this.dataLength = offset + 4 + bytes.length;
+    this.offsets.ensureCapacity(id);
+    this.offsets.putInt(id, offset);
+    this.hashes.ensureCapacity(id);
+    this.hashes.putInt(id, hash);
+
+    if ((id + 1) * 2 > slotCount(this.table)) {
+      rehash(id + 1);
+    }
+    insertSlot(this.table, hash, id);
+    this.size = id + 1;
+    return id;
+  }
+
+  /**
+   * 查找已有字符串的编号，不存在返回{@link #NULL_ID}
+   */
+  public int find(@Nullable String value) {
+    if (value == null) {
+      return NULL_ID;
+    }
+    int size = this.size;
+    return lookup(hash(value), value.getBytes(StandardCharsets.UTF_8), size);
+  }
+
+  @Nullable
+  public String get(int id) {
+    if (id == NULL_ID) {
+      return null;
+    }
+    if (id < 0 || id >= this.size) {
+      throw new IndexOutOfBoundsException("No string with id " + id);
+    }
+    ByteBuffer buffer = this.data.buffer();
+    int offset = this.offsets.getInt(id);
+    byte[] bytes = new byte[buffer.getInt(offset)];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(offset + 4 + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * 已写入的UTF-8数据字节数（含长度前缀）
+   */
+  public long getDataBytes() {
+    return this.dataLength;
+  }
+
+  /**
+   * 已分配的堆外字节数
+   */
+  public long getOffHeapBytes() {
+    return this.data.capacityBytes() + this.offsets.capacityBytes() + this.hashes.capacityBytes() +
+        this.table.capacityBytes();
+  }
+
+  private int lookup(int hash, byte[] bytes, int size) {
+    DirectColumn table = this.table;
+    int mask = slotCount(table) - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int id = table.getInt(slot) - 1;
+      if (id < 0) {
+        return NULL_ID;
+      }
+      // 编号不小于size的槽位属于正在写入的字符串，对当前读线程不可见
+      if (id < size && this.hashes.getInt(id) == hash && matches(id, bytes)) {
+        return id;
+      }
+    }
+  }
+
+  private boolean matches(int id, byte[] bytes) {
+    ByteBuffer buffer = this.data.buffer();
+    int offset = this.offsets.getInt(id);
+    if (buffer.getInt(offset) != bytes.length) {
+      return false;
+    }
+    for (int i = 0; i < bytes.length; i++) {
+      if (buffer.get(offset + 4 + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int slotCount(DirectColumn table) {
+    return (int) (table.capacityBytes() / 4);
+  }
+
+  private static void insertSlot(DirectColumn table, int hash, int id) {
+    int mask = slotCount(table) - 1;
+    int slot = hash & mask;
+    while (table.getInt(slot) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table.putInt(slot, id + 1);
+  }
+
+  /**
+   * 在新的表中重建全部槽位后再替换，读线程要么看到旧表，要么看到完整的新表
+   */
+  private void rehash(int entries) {
+    DirectColumn rehashed = new DirectColumn(4, tableSizeFor(entries));
+    for (int id = 0; id < entries - 1; id++) {
+      insertSlot(rehashed, this.hashes.getInt(id), id);
+    }
+    this.table = rehashed;
+  }
+
+}
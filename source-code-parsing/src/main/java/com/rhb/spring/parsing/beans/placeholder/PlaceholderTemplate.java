@@ -0,0 +1,232 @@
+package com.rhb.spring.parsing.beans.placeholder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * 编译后的${...}占位符模板：字符串只解析一次，得到字面量片段和占位符槽位（key以及":"后的默认值）
+ *
+ * 语义与PropertyPlaceholderHelper一致：支持默认值、key中嵌套占位符、取到的值中再包含占位符（检测循环引用），
+ * 无法解析的占位符抛出IllegalArgumentException。
+ * 求值结果和当时的来源、版本号一起缓存，来源的版本号不变时直接返回上次的结果，不再分配任何对象
+ *
+ * @author renhuibo
+ * @date 2026/10/20 13:10
+ */
+public final class PlaceholderTemplate {
+
+  public static final String PLACEHOLDER_PREFIX = "${";
+
+  public static final String PLACEHOLDER_SUFFIX = "}";
+
+  public static final String VALUE_SEPARATOR = ":";
+
+  private static final String SIMPLE_PREFIX = "{";
+
+  private final String text;
+
+  /** 长度为占位符个数+1，字面量片段与占位符交替 */
+  private final String[] literals;
+
+  /** key中嵌套了占位符时为null，由keyTemplates求值后再拆分默认值 */
+  private final String[] keys;
+
+  private final String[] defaultValues;
+
+  @Nullable
+  private final PlaceholderTemplate[] keyTemplates;
+
+  private final int literalLength;
+
+  @Nullable
+  private volatile Evaluation cached;
+
+
+  private PlaceholderTemplate(String text, String[] literals, String[] keys, String[] defaultValues,
+      @Nullable PlaceholderTemplate[] keyTemplates) {
+
+    this.text = text;
+    this.literals = literals;
+    this.keys = keys;
+    this.defaultValues = defaultValues;
+    this.keyTemplates = keyTemplates;
+    int literalLength = 0;
+    for (String literal : literals) {
+      literalLength += literal.length();
+    }
+    this.literalLength = literalLength;
+  }
+
+
+  /**
+   * 解析字符串，不包含占位符时返回字面量模板
+   */
+  public static PlaceholderTemplate compile(String text) {
+    Assert.notNull(text, "Text must not be null");
+    List<String> literals = new ArrayList<>(4);
+    List<String> keys = new ArrayList<>(2);
+    List<String> defaultValues = new ArrayList<>(2);
+    List<PlaceholderTemplate> keyTemplates = null;
+    int position = 0;
+    int startIndex = text.indexOf(PLACEHOLDER_PREFIX);
+    while (startIndex != -1) {
+      int endIndex = findPlaceholderEndIndex(text, startIndex);
+      if (endIndex == -1) {
+        break;
+      }
+      literals.add(text.substring(position, startIndex));
+      String placeholder = text.substring(startIndex + PLACEHOLDER_PREFIX.length(), endIndex);
+      if (placeholder.contains(PLACEHOLDER_PREFIX)) {
+        if (keyTemplates == null) {
+          keyTemplates = new ArrayList<>(keys.size() + 1);
+        }
+        while (keyTemplates.size() < keys.size()) {
+          keyTemplates.add(null);
+        }
+        keyTemplates.add(compile(placeholder));
+        keys.add(null);
+        defaultValues.add(null);
+      }
+      else {
+        int separatorIndex = placeholder.indexOf(VALUE_SEPARATOR);
+        keys.add(separatorIndex != -1 ? placeholder.substring(0, separatorIndex) : placeholder);
+        defaultValues.add(separatorIndex != -1 ? placeholder.substring(separatorIndex + VALUE_SEPARATOR.length()) :
+            null);
+      }
+      position = endIndex + PLACEHOLDER_SUFFIX.length();
+      startIndex = text.indexOf(PLACEHOLDER_PREFIX, position);
+    }
+    literals.add(text.substring(position));
+    if (keyTemplates != null) {
+      while (keyTemplates.size() < keys.size()) {
+        keyTemplates.add(null);
+      }
+    }
+    return new PlaceholderTemplate(text, StringUtils.toStringArray(literals), StringUtils.toStringArray(keys),
+        StringUtils.toStringArray(defaultValues),
+        (keyTemplates != null ? keyTemplates.toArray(new PlaceholderTemplate[0]) : null));
+  }
+
+  /**
+   * 找到与startIndex处的前缀匹配的后缀，跳过嵌套的{...}
+   */
+  private static int findPlaceholderEndIndex(String text, int startIndex) {
+    int index = startIndex + PLACEHOLDER_PREFIX.length();
+    int withinNestedPlaceholder = 0;
+    while (index < text.length()) {
+      if (text.startsWith(PLACEHOLDER_SUFFIX, index)) {
+        if (withinNestedPlaceholder > 0) {
+          withinNestedPlaceholder--;
+          index += PLACEHOLDER_SUFFIX.length();
+        }
+        else {
+          return index;
+        }
+      }
+      else if (text.startsWith(SIMPLE_PREFIX, index)) {
+        withinNestedPlaceholder++;
+        index += SIMPLE_PREFIX.length();
+      }
+      else {
+        index++;
+      }
+    }
+    return -1;
+  }
+
+
+  public String getText() {
+    return this.text;
+  }
+
+  /**
+   * 不包含占位符
+   */
+  public boolean isLiteral() {
+    return this.keys.length == 0;
+  }
+
+  public int getPlaceholderCount() {
+    return this.keys.length;
+  }
+
+  /**
+   * 求值：来源和版本号与上次相同时返回缓存的结果
+   */
+  public String evaluate(VersionedPropertySource source) {
+    if (isLiteral()) {
+      return this.text;
+    }
+    // 先读版本号再取值：求值期间发生变化时，缓存的是旧版本号，下次会重新求值
+    long version = source.getVersion();
+    Evaluation cached = this.cached;
+    if (cached != null && cached.source == source && cached.version == version) {
+      return cached.value;
+    }
+    String value = render(source, null, (cached != null ? cached.value.length() : 0));
+    this.cached = new Evaluation(source, version, value);
+    return value;
+  }
+
+  private String render(VersionedPropertySource source, @Nullable Set<String> visiting, int sizeHint) {
+    StringBuilder sb = new StringBuilder(Math.max(sizeHint, this.literalLength + 16 * this.keys.length));
+    for (int i = 0; i < this.keys.length; i++) {
+      sb.append(this.literals[i]);
+      String key = this.keys[i];
+      String defaultValue = this.defaultValues[i];
+      if (key == null) {
+        String placeholder = this.keyTemplates[i].render(source, visiting, 0);
+        int separatorIndex = placeholder.indexOf(VALUE_SEPARATOR);
+        key = (separatorIndex != -1 ? placeholder.substring(0, separatorIndex) : placeholder);
+        defaultValue = (separatorIndex != -1 ? placeholder.substring(separatorIndex + VALUE_SEPARATOR.length()) :
+            null);
+      }
+      String value = source.getProperty(key);
+      if (value == null) {
+        value = defaultValue;
+      }
+      if (value == null) {
+        throw new IllegalArgumentException("Could not resolve placeholder '" + key + "' in value \"" +
+            this.text + "\"");
+      }
+      if (value.contains(PLACEHOLDER_PREFIX)) {
+        Set<String> nested = (visiting != null ? visiting : new HashSet<>(4));
+        if (!nested.add(key)) {
+          throw new IllegalArgumentException("Circular placeholder reference '" + key + "' in property definitions");
+        }
+        value = compile(value).render(source, nested, 0);
+        nested.remove(key);
+      }
+      sb.append(value);
+    }
+    sb.append(this.literals[this.keys.length]);
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return "PlaceholderTemplate [" + this.text + "]";
+  }
+
+
+  private static final class Evaluation {
+
+    final VersionedPropertySource source;
+
+    final long version;
+
+    final String value;
+
+    Evaluation(VersionedPropertySource source, long version, String value) {
+      this.source = source;
+      this.version = version;
+      this.value = value;
+    }
+  }
+
+}
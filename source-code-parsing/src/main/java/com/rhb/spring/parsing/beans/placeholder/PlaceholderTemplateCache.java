@@ -0,0 +1,64 @@
+package com.rhb.spring.parsing.beans.placeholder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.util.Assert;
+
+/**
+ * 字符串 -> 编译后的模板，同样内容的字符串只解析一次
+ *
+ * 只缓存包含"${"的字符串，其余字符串按字面量处理、不进入缓存；定义被重置或移除时由工厂调用
+ * {@link #evict}移除它的字符串（同样内容的其他定义下次使用时重新编译），缓存大小因此受当前注册的定义约束
+ *
+ * @author renhuibo
+ * @date 2026/10/20 13:25
+ */
+public class PlaceholderTemplateCache {
+
+  private final Map<String, PlaceholderTemplate> templates = new ConcurrentHashMap<>(256);
+
+
+  /**
+   * 字符串是否可能包含占位符（只有这样的字符串才会被缓存）
+   */
+  public static boolean containsPlaceholder(String text) {
+    return text.contains(PlaceholderTemplate.PLACEHOLDER_PREFIX);
+  }
+
+  /**
+   * 不包含占位符时返回不缓存的字面量模板
+   */
+  public PlaceholderTemplate getTemplate(String text) {
+    Assert.notNull(text, "Text must not be null");
+    if (!containsPlaceholder(text)) {
+      return PlaceholderTemplate.compile(text);
+    }
+    PlaceholderTemplate template = this.templates.get(text);
+    if (template == null) {
+      template = this.templates.computeIfAbsent(text, PlaceholderTemplate::compile);
+    }
+    return template;
+  }
+
+  /**
+   * 用来源解析字符串中的占位符
+   * @throws IllegalArgumentException 占位符无法解析或循环引用
+   */
+  public String resolve(String text, VersionedPropertySource source) {
+    Assert.notNull(text, "Text must not be null");
+    return (containsPlaceholder(text) ? getTemplate(text).evaluate(source) : text);
+  }
+
+  public void evict(String text) {
+    this.templates.remove(text);
+  }
+
+  public int size() {
+    return this.templates.size();
+  }
+
+  public void clear() {
+    this.templates.clear();
+  }
+
+}
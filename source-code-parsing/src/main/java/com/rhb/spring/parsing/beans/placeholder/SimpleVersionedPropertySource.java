@@ -0,0 +1,75 @@
+package com.rhb.spring.parsing.beans.placeholder;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * 基于Map的VersionedPropertySource：setProperty/removeProperty/setProperties真正改变内容时版本号加一
+ *
+ * @author renhuibo
+ * @date 2026/10/20 13:05
+ */
+public class SimpleVersionedPropertySource implements VersionedPropertySource {
+
+  private final Map<String, String> properties = new ConcurrentHashMap<>(64);
+
+  private volatile long version;
+
+
+  public SimpleVersionedPropertySource() {
+  }
+
+  public SimpleVersionedPropertySource(Properties properties) {
+    for (String key : properties.stringPropertyNames()) {
+      this.properties.put(key, properties.getProperty(key));
+    }
+  }
+
+
+  @Override
+  @Nullable
+  public String getProperty(String key) {
+    return this.properties.get(key);
+  }
+
+  @Override
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * 设置属性，value为null时移除
+   */
+  public synchronized void setProperty(String key, @Nullable String value) {
+    Assert.notNull(key, "Key must not be null");
+    String previous = (value != null ? this.properties.put(key, value) : this.properties.remove(key));
+    if (!ObjectUtils.nullSafeEquals(previous, value)) {
+      this.version++;
+    }
+  }
+
+  public void removeProperty(String key) {
+    setProperty(key, null);
+  }
+
+  /**
+   * 批量设置，无论修改多少个属性版本号最多加一
+   */
+  public synchronized void setProperties(Map<String, String> properties) {
+    boolean changed = false;
+    for (Map.Entry<String, String> entry : properties.entrySet()) {
+      String value = entry.getValue();
+      String previous = (value != null ? this.properties.put(entry.getKey(), value) :
+          this.properties.remove(entry.getKey()));
+      changed |= !ObjectUtils.nullSafeEquals(previous, value);
+    }
+    if (changed) {
+      this.version++;
+    }
+  }
+
+}
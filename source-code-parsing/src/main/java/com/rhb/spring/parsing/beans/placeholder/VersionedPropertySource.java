@@ -0,0 +1,22 @@
+package com.rhb.spring.parsing.beans.placeholder;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * 占位符的取值来源，每次内容变化时版本号递增
+ *
+ * 编译后的占位符模板缓存求值结果和当时的版本号，版本号不变时直接返回缓存的结果
+ *
+ * @author renhuibo
+ * @date 2026/10/20 13:00
+ */
+public interface VersionedPropertySource {
+
+  @Nullable
+  String getProperty(String key);
+
+  /**
+   * 当前版本号，任何属性变化后都必须变化
+   */
+  long getVersion();
+}
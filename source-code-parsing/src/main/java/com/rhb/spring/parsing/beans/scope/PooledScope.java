@@ -0,0 +1,618 @@
+package com.rhb.spring.parsing.beans.scope;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.DestroyMethodInvoker;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.core.Conventions;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 池化scope：为创建代价高的Bean按beanName维护一个有上限的对象池
+ *
+ * 与prototype一样，每个调用方拿到的是独占的实例；不同的是用完后通过{@link #release}归还，
+ * 下次get时复用，避免每次都重新构造。
+ *
+ * 池的配置通过BeanDefinition的attribute设置（值可以是数字或字符串）：
+ * <pre>
+ * bd.setScope(PooledScope.SCOPE_POOLED);
+ * bd.setAttribute(PooledScope.MAX_SIZE_ATTRIBUTE, 16);
+ * bd.setAttribute(PooledScope.MAX_IDLE_MILLIS_ATTRIBUTE, 30000L);
+ * bd.setAttribute(PooledScope.MAX_WAIT_MILLIS_ATTRIBUTE, 500L);
+ * factory.registerScope(PooledScope.SCOPE_POOLED, new PooledScope(factory::getMergedBeanDefinition));
+ * </pre>
+ *
+ * 借出的快路径只有无锁的ConcurrentLinkedDeque和原子计数，只有池满需要等待时才加锁；归还时在池的锁内
+ * 检查池是否已关闭并放回空闲队列，与{@link #remove}互斥。借出的实例按对象标识登记，只接受归还当前借出的实例。
+ * 在SimpleBeanFactory中替换或移除定义时，整个池随之移除，之后按新定义的配置重新建池
+ *
+ * 销毁实例时调用DisposableBean.destroy()和定义中的destroyMethodName，都没有时关闭AutoCloseable
+ *
+ * @author renhuibo
+ * @date 2026/10/19 11:05
+ */
+public class PooledScope implements Scope {
+
+  public static final String SCOPE_POOLED = "pooled";
+
+  /**
+   * 池中最多持有的实例数（借出的 + 空闲的）
+   */
+  public static final String MAX_SIZE_ATTRIBUTE =
+      Conventions.getQualifiedAttributeName(PooledScope.class, "maxSize");
+
+  /**
+   * 空闲实例的最长保留时间，超过后被驱逐；小于等于0表示不驱逐
+   */
+  public static final String MAX_IDLE_MILLIS_ATTRIBUTE =
+      Conventions.getQualifiedAttributeName(PooledScope.class, "maxIdleMillis");
+
+  /**
+   * 池满时等待归还的最长时间，超时抛出IllegalStateException
+   */
+  public static final String MAX_WAIT_MILLIS_ATTRIBUTE =
+      Conventions.getQualifiedAttributeName(PooledScope.class, "maxWaitMillis");
+
+  public static final int DEFAULT_MAX_SIZE = 8;
+
+  public static final long DEFAULT_MAX_IDLE_MILLIS = 60_000L;
+
+  public static final long DEFAULT_MAX_WAIT_MILLIS = 1_000L;
+
+  private static final Log logger = LogFactory.getLog(PooledScope.class);
+
+  private final Function<String, ? extends BeanDefinition> definitionLookup;
+
+  private final Map<String, BeanPool> pools = new ConcurrentHashMap<>(16);
+
+  private final Map<String, Runnable> destructionCallbacks = new ConcurrentHashMap<>(16);
+
+  /**
+   * 借出中的实例（按对象标识）-> 借出它的池，池被移除后仍保留，归还时销毁
+   */
+  private final Map<LoanKey, BeanPool> loans = new ConcurrentHashMap<>(64);
+
+
+  /**
+   * @param definitionLookup 根据beanName获取BeanDefinition（一般是合并后的定义），用于读取池配置
+   */
+  public PooledScope(Function<String, ? extends BeanDefinition> definitionLookup) {
+    Assert.notNull(definitionLookup, "Definition lookup must not be null");
+    this.definitionLookup = definitionLookup;
+  }
+
+
+  /**
+   * 借出实例：优先复用空闲实例，池未满时新建，池满时等待归还
+   */
+  @Override
+  public Object get(String name, ObjectFactory<?> objectFactory) {
+    return getPool(name).borrow(objectFactory);
+  }
+
+  /**
+   * 归还通过{@link #get}借出的实例
+   * @return 是否放回了池中（池已被移除或空闲已满时实例会被直接销毁）
+   * @throws IllegalArgumentException 实例不是从这个池借出的，或已经归还过
+   */
+  public boolean release(String name, Object bean) {
+    Assert.notNull(bean, "Bean must not be null");
+    LoanKey key = new LoanKey(bean);
+    BeanPool pool = this.loans.get(key);
+    if (pool == null || !pool.name.equals(name) || !this.loans.remove(key, pool)) {
+      throw new IllegalArgumentException("Object of type [" + bean.getClass().getName() +
+          "] is not currently borrowed from pool '" + name + "' (released twice?)");
+    }
+    return pool.giveBack(bean);
+  }
+
+  /**
+   * 移除整个池并销毁其中的空闲实例；已借出的实例归还时直接销毁
+   */
+  @Override
+  @Nullable
+  public Object remove(String name) {
+    BeanPool pool = this.pools.remove(name);
+    if (pool != null) {
+      pool.close();
+    }
+    Runnable callback = this.destructionCallbacks.remove(name);
+    if (callback != null) {
+      callback.run();
+    }
+    return null;
+  }
+
+  /**
+   * 回调在池被{@link #remove}时执行
+   */
+  @Override
+  public void registerDestructionCallback(String name, Runnable callback) {
+    this.destructionCallbacks.put(name, callback);
+  }
+
+  @Override
+  @Nullable
+  public Object resolveContextualObject(String key) {
+    return null;
+  }
+
+  @Override
+  @Nullable
+  public String getConversationId() {
+    return null;
+  }
+
+  /**
+   * 驱逐所有池中超过空闲时间的实例，可由定时任务调用（归还时也会顺带执行）
+   * @return 本次驱逐的实例数
+   */
+  public int evictIdle() {
+    int evicted = 0;
+    for (BeanPool pool : this.pools.values()) {
+      evicted += pool.evictExpired(System.nanoTime());
+    }
+    return evicted;
+  }
+
+  /**
+   * 返回指定Bean对应池的统计快照，池尚未创建时返回null
+   */
+  @Nullable
+  public PoolStatistics getPoolStatistics(String name) {
+    BeanPool pool = this.pools.get(name);
+    return (pool != null ? pool.statistics() : null);
+  }
+
+  private BeanPool getPool(String name) {
+    BeanPool pool = this.pools.get(name);
+    if (pool == null) {
+      pool = this.pools.computeIfAbsent(name, this::createPool);
+    }
+    return pool;
+  }
+
+  private BeanPool createPool(String name) {
+    BeanDefinition bd = this.definitionLookup.apply(name);
+    int maxSize = (int) longAttribute(bd, MAX_SIZE_ATTRIBUTE, DEFAULT_MAX_SIZE);
+    long maxIdleMillis = longAttribute(bd, MAX_IDLE_MILLIS_ATTRIBUTE, DEFAULT_MAX_IDLE_MILLIS);
+    long maxWaitMillis = longAttribute(bd, MAX_WAIT_MILLIS_ATTRIBUTE, DEFAULT_MAX_WAIT_MILLIS);
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Attribute '" + MAX_SIZE_ATTRIBUTE + "' of bean '" + name +
+          "' must be positive: " + maxSize);
+    }
+    return new BeanPool(name, maxSize, maxIdleMillis, maxWaitMillis);
+  }
+
+  private static long longAttribute(BeanDefinition bd, String attributeName, long defaultValue) {
+    Object value = bd.getAttribute(attributeName);
+    if (value == null) {
+      return defaultValue;
+    }
+    if (value instanceof Number) {
+      return ((Number) value).longValue();
+    }
+    return Long.parseLong(value.toString().trim());
+  }
+
+  private void destroyInstance(String name, Object bean) {
+    BeanDefinition bd;
+    try {
+      bd = this.definitionLookup.apply(name);
+    }
+    catch (BeansException ex) {
+      // 定义已被移除
+      bd = null;
+    }
+    if (DestroyMethodInvoker.hasDestroyMethod(bd, bean)) {
+      DestroyMethodInvoker.destroy(name, bd, bean);
+      return;
+    }
+    if (bean instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) bean).close();
+      }
+      catch (Throwable ex) {
+        logger.warn("Destruction of pooled bean with name '" + name + "' threw an exception", ex);
+      }
+    }
+  }
+
+
+  /**
+   * 单个beanName对应的对象池
+   */
+  private final class BeanPool {
+
+    private final String name;
+
+    private final int maxSize;
+
+    private final long maxIdleNanos;
+
+    private final long maxWaitNanos;
+
+    /**
+     * 空闲实例，头部是最近归还的（LIFO，复用热对象），尾部是最老的
+     */
+    private final ConcurrentLinkedDeque<IdleEntry> idle = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * 池持有的实例总数（借出的 + 空闲的 + 正在创建的）
+     */
+    private final AtomicInteger totalCount = new AtomicInteger();
+
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition available = this.lock.newCondition();
+
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder creations = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder waits = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    BeanPool(String name, int maxSize, long maxIdleMillis, long maxWaitMillis) {
+      this.name = name;
+      this.maxSize = maxSize;
+      this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleMillis);
+      this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    Object borrow(ObjectFactory<?> objectFactory) {
+      if (this.closed) {
+        throw new IllegalStateException("Pool for bean '" + this.name + "' has been removed");
+      }
+      Object bean = pollIdle();
+      if (bean != null) {
+        this.hits.increment();
+        return lend(bean);
+      }
+      if (tryReserve()) {
+        return lend(create(objectFactory));
+      }
+      return lend(awaitAvailable(objectFactory));
+    }
+
+    private Object lend(Object bean) {
+      if (PooledScope.this.loans.putIfAbsent(new LoanKey(bean), this) != null) {
+        // ObjectFactory返回了一个已经借出的实例，计数不能算两次
+        this.totalCount.decrementAndGet();
+        throw new IllegalStateException("Pooled bean '" + this.name + "' returned an instance that is " +
+            "already on loan");
+      }
+      return bean;
+    }
+
+    /**
+     * 慢路径：池已满，等待其他线程归还或驱逐后腾出名额
+     */
+    private Object awaitAvailable(ObjectFactory<?> objectFactory) {
+      long start = System.nanoTime();
+      long remaining = this.maxWaitNanos;
+      this.waiters.incrementAndGet();
+      this.lock.lock();
+      try {
+        while (true) {
+          if (this.closed) {
+            throw new IllegalStateException("Pool for bean '" + this.name + "' has been removed");
+          }
+          Object bean = pollIdle();
+          if (bean != null) {
+            this.hits.increment();
+            return bean;
+          }
+          if (tryReserve()) {
+            break;
+          }
+          if (remaining <= 0L) {
+            throw new IllegalStateException("Timeout waiting for pooled bean '" + this.name +
+                "' (maxSize=" + this.maxSize + ")");
+          }
+          remaining = this.available.awaitNanos(remaining);
+        }
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for pooled bean '" + this.name + "'", ex);
+      }
+      finally {
+        this.lock.unlock();
+        this.waiters.decrementAndGet();
+        this.waits.increment();
+        this.waitNanos.add(System.nanoTime() - start);
+      }
+      return create(objectFactory);
+    }
+
+    boolean giveBack(Object bean) {
+      long now = System.nanoTime();
+      boolean pooled = false;
+      // 检查closed和放回空闲队列在同一把锁内，close()不会在两者之间清空队列而漏掉这个实例
+      this.lock.lock();
+      try {
+        if (!this.closed && this.idleCount.get() < this.maxSize) {
+          this.idle.offerFirst(new IdleEntry(bean, now));
+          this.idleCount.incrementAndGet();
+          pooled = true;
+        }
+        else {
+          this.totalCount.decrementAndGet();
+        }
+        if (this.waiters.get() > 0) {
+          this.available.signal();
+        }
+      }
+      finally {
+        this.lock.unlock();
+      }
+      if (!pooled) {
+        destroyInstance(this.name, bean);
+        return false;
+      }
+      evictExpired(now);
+      return true;
+    }
+
+    @Nullable
+    private Object pollIdle() {
+      IdleEntry entry;
+      while ((entry = this.idle.pollFirst()) != null) {
+        this.idleCount.decrementAndGet();
+        if (!isExpired(entry, System.nanoTime())) {
+          return entry.bean;
+        }
+        evict(entry);
+      }
+      return null;
+    }
+
+    private boolean tryReserve() {
+      int current;
+      do {
+        current = this.totalCount.get();
+        if (current >= this.maxSize) {
+          return false;
+        }
+      }
+      while (!this.totalCount.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    private Object create(ObjectFactory<?> objectFactory) {
+      try {
+        Object bean = objectFactory.getObject();
+        this.creations.increment();
+        return bean;
+      }
+      catch (RuntimeException | Error ex) {
+        this.totalCount.decrementAndGet();
+        signalWaiter();
+        throw ex;
+      }
+    }
+
+    private void signalWaiter() {
+      if (this.waiters.get() > 0) {
+        this.lock.lock();
+        try {
+          this.available.signal();
+        }
+        finally {
+          this.lock.unlock();
+        }
+      }
+    }
+
+    /**
+     * 从最老的一端开始驱逐过期实例，遇到未过期的即停止
+     */
+    int evictExpired(long now) {
+      if (this.maxIdleNanos <= 0L) {
+        return 0;
+      }
+      int evicted = 0;
+      Iterator<IdleEntry> it = this.idle.descendingIterator();
+      while (it.hasNext()) {
+        IdleEntry entry = it.next();
+        if (!isExpired(entry, now)) {
+          break;
+        }
+        // 以CAS方式移除，避免与并发的pollFirst重复处理同一个实例
+        if (this.idle.removeFirstOccurrence(entry)) {
+          this.idleCount.decrementAndGet();
+          evict(entry);
+          evicted++;
+        }
+      }
+      if (evicted > 0) {
+        signalWaiter();
+      }
+      return evicted;
+    }
+
+    private boolean isExpired(IdleEntry entry, long now) {
+      return (this.maxIdleNanos > 0L && now - entry.returnedAt > this.maxIdleNanos);
+    }
+
+    private void evict(IdleEntry entry) {
+      this.totalCount.decrementAndGet();
+      this.evictions.increment();
+      destroyInstance(this.name, entry.bean);
+    }
+
+    void close() {
+      this.lock.lock();
+      try {
+        this.closed = true;
+        this.available.signalAll();
+      }
+      finally {
+        this.lock.unlock();
+      }
+      // 此后的归还不会再放入队列
+      IdleEntry entry;
+      while ((entry = this.idle.pollFirst()) != null) {
+        this.idleCount.decrementAndGet();
+        this.totalCount.decrementAndGet();
+        destroyInstance(this.name, entry.bean);
+      }
+    }
+
+    PoolStatistics statistics() {
+      return new PoolStatistics(this.name, this.maxSize, this.totalCount.get(), this.idleCount.get(),
+          this.hits.sum(), this.creations.sum(), this.evictions.sum(), this.waits.sum(), this.waitNanos.sum());
+    }
+  }
+
+
+  /**
+   * 按对象标识比较的借出登记键
+   */
+  private static final class LoanKey {
+
+    final Object bean;
+
+    LoanKey(Object bean) {
+      this.bean = bean;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+      return (this == other || (other instanceof LoanKey && ((LoanKey) other).bean == this.bean));
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this.bean);
+    }
+  }
+
+
+  private static final class IdleEntry {
+
+    final Object bean;
+
+    final long returnedAt;
+
+    IdleEntry(Object bean, long returnedAt) {
+      this.bean = bean;
+      this.returnedAt = returnedAt;
+    }
+  }
+
+
+  /**
+   * 对象池统计信息的快照
+   */
+  public static final class PoolStatistics {
+
+    private final String beanName;
+
+    private final int maxSize;
+
+    private final int size;
+
+    private final int idle;
+
+    private final long hits;
+
+    private final long creations;
+
+    private final long evictions;
+
+    private final long waits;
+
+    private final long waitNanos;
+
+    PoolStatistics(String beanName, int maxSize, int size, int idle, long hits, long creations,
+        long evictions, long waits, long waitNanos) {
+      this.beanName = beanName;
+      this.maxSize = maxSize;
+      this.size = size;
+      this.idle = idle;
+      this.hits = hits;
+      this.creations = creations;
+      this.evictions = evictions;
+      this.waits = waits;
+      this.waitNanos = waitNanos;
+    }
+
+    public String getBeanName() {
+      return this.beanName;
+    }
+
+    public int getMaxSize() {
+      return this.maxSize;
+    }
+
+    /**
+     * 当前池持有的实例数（借出的 + 空闲的）
+     */
+    public int getSize() {
+      return this.size;
+    }
+
+    public int getIdle() {
+      return this.idle;
+    }
+
+    /**
+     * 复用空闲实例的次数
+     */
+    public long getHits() {
+      return this.hits;
+    }
+
+    public long getCreations() {
+      return this.creations;
+    }
+
+    public long getEvictions() {
+      return this.evictions;
+    }
+
+    /**
+     * 进入等待慢路径的次数
+     */
+    public long getWaits() {
+      return this.waits;
+    }
+
+    public long getWaitTime(TimeUnit unit) {
+      return unit.convert(this.waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+      return "pool '" + this.beanName + "': size=" + this.size + "/" + this.maxSize + ", idle=" + this.idle +
+          ", hits=" + this.hits + ", creations=" + this.creations + ", evictions=" + this.evictions +
+          ", waits=" + this.waits + ", waitTime=" + getWaitTime(TimeUnit.MILLISECONDS) + "ms";
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+package com.rhb.spring.parsing.beans.scope;
+
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.lang.Nullable;
+
+/**
+ * scope字符串解析后的结果：是否singleton/prototype/自定义scope，以及自定义scope的实现
+ *
+ * 由BeanDefinition缓存（setScope时失效），获取bean时按标志位分派，不再比较字符串或按名称查找Scope。
+ * 自定义scope的描述符由{@link ScopeRegistry}按名称唯一创建，之后注册Scope实现时更新同一个对象，
+ * 已缓存它的定义不需要重新解析
+ *
+ * @author renhuibo
+ * @date 2026/10/20 9:10
+ */
+public final class ScopeDescriptor {
+
+  /** "singleton" */
+  public static final ScopeDescriptor SINGLETON = new ScopeDescriptor("singleton", true, false, null);
+
+  /** ""（未指定，按singleton处理） */
+  public static final ScopeDescriptor DEFAULT = new ScopeDescriptor("", true, false, null);
+
+  /** "prototype" */
+  public static final ScopeDescriptor PROTOTYPE = new ScopeDescriptor("prototype", false, true, null);
+
+  /** scope为null：既不是singleton也不是prototype */
+  public static final ScopeDescriptor NONE = new ScopeDescriptor(null, false, false, null);
+
+  @Nullable
+  private final String name;
+
+  private final boolean singleton;
+
+  private final boolean prototype;
+
+  /**
+   * 创建它的注册中心，内置scope为null
+   */
+  @Nullable
+  private final ScopeRegistry registry;
+
+  @Nullable
+  private volatile Scope scope;
+
+
+  private ScopeDescriptor(@Nullable String name, boolean singleton, boolean prototype,
+      @Nullable ScopeRegistry registry) {
+
+    this.name = name;
+    this.singleton = singleton;
+    this.prototype = prototype;
+    this.registry = registry;
+  }
+
+  static ScopeDescriptor custom(String name, @Nullable ScopeRegistry registry) {
+    return new ScopeDescriptor(name, false, false, registry);
+  }
+
+  /**
+   * 解析内置scope；自定义scope返回一个不属于任何注册中心、没有Scope实现的描述符
+   */
+  public static ScopeDescriptor forName(@Nullable String name) {
+    ScopeDescriptor builtin = builtin(name);
+    return (builtin != null ? builtin : custom(name, null));
+  }
+
+  @Nullable
+  static ScopeDescriptor builtin(@Nullable String name) {
+    if (name == null) {
+      return NONE;
+    }
+    switch (name) {
+      case "singleton":
+        return SINGLETON;
+      case "":
+        return DEFAULT;
+      case "prototype":
+        return PROTOTYPE;
+      default:
+        return null;
+    }
+  }
+
+
+  @Nullable
+  public String getName() {
+    return this.name;
+  }
+
+  public boolean isSingleton() {
+    return this.singleton;
+  }
+
+  public boolean isPrototype() {
+    return this.prototype;
+  }
+
+  public boolean isCustom() {
+    return (this.name != null && !this.singleton && !this.prototype);
+  }
+
+  /**
+   * 内置scope对所有注册中心都有效，自定义scope只对创建它的注册中心有效
+   */
+  public boolean isBoundTo(ScopeRegistry registry) {
+    return (!isCustom() || this.registry == registry);
+  }
+
+  /**
+   * 自定义scope的实现，尚未注册时为null
+   */
+  @Nullable
+  public Scope getScope() {
+    return this.scope;
+  }
+
+  void setScope(@Nullable Scope scope) {
+    this.scope = scope;
+  }
+
+  @Override
+  public String toString() {
+    return "ScopeDescriptor '" + this.name + "'" + (isCustom() ? (this.scope != null ? " -> " + this.scope :
+        " (no Scope registered)") : "");
+  }
+
+}
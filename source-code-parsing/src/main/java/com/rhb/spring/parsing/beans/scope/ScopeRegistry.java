@@ -0,0 +1,64 @@
+package com.rhb.spring.parsing.beans.scope;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 自定义Scope的注册中心：scope名称 -> 唯一的ScopeDescriptor
+ *
+ * @author renhuibo
+ * @date 2026/10/20 9:20
+ */
+public class ScopeRegistry {
+
+  private final Map<String, ScopeDescriptor> descriptors = new ConcurrentHashMap<>(8);
+
+
+  /**
+   * 注册（或替换）自定义scope的实现，不能替换singleton和prototype
+   */
+  public void registerScope(String scopeName, Scope scope) {
+    Assert.notNull(scopeName, "Scope identifier must not be null");
+    Assert.notNull(scope, "Scope must not be null");
+    if (ScopeDescriptor.builtin(scopeName) != null) {
+      throw new IllegalArgumentException("Cannot replace existing scopes 'singleton' and 'prototype'");
+    }
+    resolve(scopeName).setScope(scope);
+  }
+
+  @Nullable
+  public Scope getScope(String scopeName) {
+    Assert.notNull(scopeName, "Scope identifier must not be null");
+    ScopeDescriptor descriptor = this.descriptors.get(scopeName);
+    return (descriptor != null ? descriptor.getScope() : null);
+  }
+
+  /**
+   * 解析scope名称：内置scope返回共享的描述符，自定义scope返回本注册中心中唯一的描述符（必要时创建）
+   */
+  public ScopeDescriptor resolve(@Nullable String scopeName) {
+    ScopeDescriptor builtin = ScopeDescriptor.builtin(scopeName);
+    if (builtin != null) {
+      return builtin;
+    }
+    ScopeDescriptor descriptor = this.descriptors.get(scopeName);
+    if (descriptor == null) {
+      descriptor = this.descriptors.computeIfAbsent(scopeName, name -> ScopeDescriptor.custom(name, this));
+    }
+    return descriptor;
+  }
+
+  /**
+   * 已注册了Scope实现的名称
+   */
+  public String[] getRegisteredScopeNames() {
+    return this.descriptors.values().stream()
+        .filter(descriptor -> descriptor.getScope() != null)
+        .map(ScopeDescriptor::getName)
+        .toArray(String[]::new);
+  }
+
+}
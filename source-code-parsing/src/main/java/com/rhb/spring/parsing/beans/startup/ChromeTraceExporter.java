@@ -0,0 +1,282 @@
+package com.rhb.spring.parsing.beans.startup;
+
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.BeanNode;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.Suggestion;
+import com.rhb.spring.parsing.beans.startup.StartupRecorder.BeanTiming;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 把启动记录和分析结果导出为Chrome Trace Event格式的JSON，可以离线在Perfetto（ui.perfetto.dev）
+ * 或chrome://tracing中打开
+ *
+ * <ul>
+ * <li>每个创建线程、异步初始化线程一条轨道：单例的创建是一个区间，其中嵌套实例化、属性填充、初始化三个阶段，
+ * 阶段内嵌套创建的依赖显示在下一层</li>
+ * <li>"critical path"轨道：理想调度下关键路径上的单例，相邻的单例之间用flow箭头连接</li>
+ * <li>args中带有自身耗时、slack、依赖；otherData中带有汇总和建议</li>
+ * </ul>
+ * 时间单位为微秒，从记录器创建的时刻开始。实例在导出过程中持有Writer，不是线程安全的
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:40
+ */
+public class ChromeTraceExporter {
+
+  private static final int PID = 1;
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  @Nullable
+  private Writer writer;
+
+  private boolean firstEvent;
+
+
+  public void export(StartupRecorder recorder, StartupAnalysis analysis, Path file) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      export(recorder, analysis, writer);
+    }
+  }
+
+  /**
+   * 写出完整的trace JSON，不关闭writer
+   */
+  public void export(StartupRecorder recorder, StartupAnalysis analysis, Writer writer) throws IOException {
+    Assert.notNull(recorder, "StartupRecorder must not be null");
+    Assert.notNull(analysis, "StartupAnalysis must not be null");
+    Assert.notNull(writer, "Writer must not be null");
+    this.writer = writer;
+    this.firstEvent = true;
+    try {
+      write("{\"traceEvents\":[");
+      writeEvents(recorder, analysis);
+      write("],\"displayTimeUnit\":\"ms\",\"otherData\":");
+      writeSummary(analysis);
+      write("}\n");
+      writer.flush();
+    }
+    finally {
+      this.writer = null;
+    }
+  }
+
+  private void writeEvents(StartupRecorder recorder, StartupAnalysis analysis) throws IOException {
+    // 线程名 -> tid，按第一次出现的顺序
+    Map<String, Integer> threads = new LinkedHashMap<>();
+    List<BeanTiming> timings = recorder.getBeanTimings();
+    for (BeanTiming timing : timings) {
+      threads.computeIfAbsent(timing.getThreadName(), k -> threads.size() + 1);
+      if (timing.getAsyncThreadName() != null) {
+        threads.computeIfAbsent(timing.getAsyncThreadName(), k -> threads.size() + 1);
+      }
+    }
+    int criticalTid = threads.size() + 1;
+
+    beginEvent("process_name", "M", PID, 0);
+    write(",\"args\":{\"name\":\"bean factory startup\"}}");
+    for (Map.Entry<String, Integer> thread : threads.entrySet()) {
+      threadName(thread.getValue(), thread.getKey());
+    }
+    threadName(criticalTid, "critical path (ideal schedule)");
+
+    for (BeanTiming timing : timings) {
+      if (timing.getEndNanos() < 0) {
+        continue;
+      }
+      int tid = threads.get(timing.getThreadName());
+      BeanNode node = analysis.getNode(timing.getBeanName());
+      complete(timing.getBeanName(), (timing.isFailed() ? "bean,failed" : "bean"), tid, timing.getStartNanos(),
+          timing.getEndNanos());
+      write(",\"args\":{");
+      micros("creationMicros", timing.getCreationNanos(), true);
+      micros("instantiateMicros", timing.getInstantiateNanos(), false);
+      micros("populateMicros", timing.getPopulateNanos(), false);
+      micros("initMicros", timing.getInitNanos(), false);
+      write(",\"asyncInit\":").write(String.valueOf(timing.isAsyncInit()));
+      if (node != null) {
+        micros("slackMicros", node.getSlackNanos(), false);
+        write(",\"critical\":").write(String.valueOf(node.isCritical()));
+        write(",\"dependencies\":");
+        stringArray(node.getDependencies());
+      }
+      write("}}");
+
+      phase("instantiate", tid, timing.getStartNanos(), timing.getInstantiatedAt());
+      phase("populate", tid, timing.getInstantiatedAt(), timing.getPopulatedAt());
+      if (!timing.isAsyncInit()) {
+        phase("init", tid, timing.getPopulatedAt(), timing.getEndNanos());
+      }
+      else if (timing.getAsyncThreadName() != null && timing.getAsyncStartNanos() >= 0 &&
+          timing.getAsyncEndNanos() >= 0) {
+        complete(timing.getBeanName() + " (async init)", "asyncInit", threads.get(timing.getAsyncThreadName()),
+            timing.getAsyncStartNanos(), timing.getAsyncEndNanos());
+        write("}");
+      }
+    }
+
+    writeCriticalPath(analysis, criticalTid);
+  }
+
+  private void writeCriticalPath(StartupAnalysis analysis, int tid) throws IOException {
+    BeanNode previous = null;
+    int flowId = 0;
+    for (String beanName : analysis.getCriticalPath()) {
+      BeanNode node = analysis.getNode(beanName);
+      if (node == null) {
+        continue;
+      }
+      complete(beanName, "criticalPath", tid, node.getEarliestStartNanos(), node.getEarliestCreatedNanos());
+      write(",\"args\":{");
+      micros("creationMicros", node.getCreationNanos(), true);
+      micros("asyncInitMicros", node.getAsyncInitNanos(), false);
+      write("}}");
+      if (node.getAsyncInitNanos() > 0) {
+        complete(beanName + " (async init)", "criticalPath", tid, node.getEarliestCreatedNanos(),
+            node.getEarliestReadyNanos());
+        write("}");
+      }
+      if (previous != null) {
+        flowId++;
+        beginEvent("critical path", "s", PID, tid);
+        write(",\"cat\":\"criticalPath\",\"id\":").write(String.valueOf(flowId)).write(",\"ts\":")
+            .timestamp(previous.getEarliestStartNanos()).write("}");
+        beginEvent("critical path", "f", PID, tid);
+        write(",\"cat\":\"criticalPath\",\"bp\":\"e\",\"id\":").write(String.valueOf(flowId)).write(",\"ts\":")
+            .timestamp(node.getEarliestStartNanos()).write("}");
+      }
+      previous = node;
+    }
+  }
+
+  private void writeSummary(StartupAnalysis analysis) throws IOException {
+    write("{\"beans\":").write(String.valueOf(analysis.getNodes().size()));
+    write(",\"wallMicros\":").timestamp(analysis.getWallNanos());
+    write(",\"serialMicros\":").timestamp(analysis.getSerialNanos());
+    write(",\"criticalPathMicros\":").timestamp(analysis.getCriticalPathNanos());
+    write(",\"criticalPath\":");
+    string(String.join(" -> ", analysis.getCriticalPath()));
+    int i = 0;
+    for (Suggestion suggestion : analysis.getLazyInitCandidates()) {
+      write(",\"lazyInitCandidate").write(String.valueOf(++i)).write("\":");
+      string(suggestion.toString());
+    }
+    i = 0;
+    for (Suggestion suggestion : analysis.getAsyncInitCandidates()) {
+      write(",\"asyncInitCandidate").write(String.valueOf(++i)).write("\":");
+      string(suggestion.toString());
+    }
+    write("}");
+  }
+
+  private void threadName(int tid, String name) throws IOException {
+    beginEvent("thread_name", "M", PID, tid);
+    write(",\"args\":{\"name\":");
+    string(name);
+    write("}}");
+    beginEvent("thread_sort_index", "M", PID, tid);
+    write(",\"args\":{\"sort_index\":").write(String.valueOf(tid)).write("}}");
+  }
+
+  private void phase(String name, int tid, long start, long end) throws IOException {
+    if (start >= 0 && end >= start) {
+      complete(name, "phase", tid, start, end);
+      write("}");
+    }
+  }
+
+  /**
+   * 写出"X"事件的开头，调用方补充args（可选）和结尾的'}'
+   */
+  private void complete(String name, String category, int tid, long start, long end) throws IOException {
+    beginEvent(name, "X", PID, tid);
+    write(",\"cat\":");
+    string(category);
+    write(",\"ts\":").timestamp(start).write(",\"dur\":").timestamp(Math.max(0, end - start));
+  }
+
+  private void beginEvent(String name, String phase, int pid, int tid) throws IOException {
+    write(this.firstEvent ? "\n{\"name\":" : ",\n{\"name\":");
+    this.firstEvent = false;
+    string(name);
+    write(",\"ph\":\"").write(phase).write("\",\"pid\":").write(String.valueOf(pid)).write(",\"tid\":")
+        .write(String.valueOf(tid));
+  }
+
+  private void micros(String name, long nanos, boolean first) throws IOException {
+    write(first ? "\"" : ",\"").write(name).write("\":").timestamp(nanos);
+  }
+
+  /**
+   * 纳秒写成保留3位小数的微秒
+   */
+  private ChromeTraceExporter timestamp(long nanos) throws IOException {
+    long fraction = nanos % 1_000;
+    write(String.valueOf(nanos / 1_000)).write(".");
+    if (fraction < 100) {
+      write(fraction < 10 ? "00" : "0");
+    }
+    return write(String.valueOf(fraction));
+  }
+
+  private void stringArray(List<String> values) throws IOException {
+    write("[");
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        write(",");
+      }
+      string(values.get(i));
+    }
+    write("]");
+  }
+
+  private void string(String value) throws IOException {
+    Writer writer = this.writer;
+    writer.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          writer.write("\\\"");
+          break;
+        case '\\':
+          writer.write("\\\\");
+          break;
+        case '\n':
+          writer.write("\\n");
+          break;
+        case '\r':
+          writer.write("\\r");
+          break;
+        case '\t':
+          writer.write("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            writer.write("\\u00");
+            writer.write(HEX_DIGITS[c >> 4]);
+            writer.write(HEX_DIGITS[c & 0xF]);
+          }
+          else {
+            writer.write(c);
+          }
+      }
+    }
+    writer.write('"');
+  }
+
+  private ChromeTraceExporter write(String text) throws IOException {
+    this.writer.write(text);
+    return this;
+  }
+
+}
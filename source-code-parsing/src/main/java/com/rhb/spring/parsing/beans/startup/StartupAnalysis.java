@@ -0,0 +1,320 @@
+package com.rhb.spring.parsing.beans.startup;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link StartupCriticalPathAnalyzer}的分析结果
+ *
+ * 理想调度：每个单例在它的依赖都满足后立即开始创建（引用、factory-bean需要依赖创建完成，dependsOn需要依赖就绪），
+ * 不受线程数限制。关键路径是理想调度下决定启动总耗时的依赖链，slack是一个单例可以推迟而不延长启动的时间
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:40
+ */
+public class StartupAnalysis {
+
+  private final List<BeanNode> nodes;
+
+  private final Map<String, BeanNode> nodesByName;
+
+  private final List<String> criticalPath;
+
+  private final long criticalPathNanos;
+
+  private final long serialNanos;
+
+  private final long wallNanos;
+
+  private final int brokenDependencies;
+
+  private final List<Suggestion> lazyInitCandidates;
+
+  private final List<Suggestion> asyncInitCandidates;
+
+
+  StartupAnalysis(List<BeanNode> nodes, List<String> criticalPath, long criticalPathNanos, long serialNanos,
+      long wallNanos, int brokenDependencies, List<Suggestion> lazyInitCandidates,
+      List<Suggestion> asyncInitCandidates) {
+
+    this.nodes = Collections.unmodifiableList(nodes);
+    Map<String, BeanNode> nodesByName = new LinkedHashMap<>(nodes.size() * 2);
+    for (BeanNode node : nodes) {
+      nodesByName.put(node.getBeanName(), node);
+    }
+    this.nodesByName = Collections.unmodifiableMap(nodesByName);
+    this.criticalPath = Collections.unmodifiableList(criticalPath);
+    this.criticalPathNanos = criticalPathNanos;
+    this.serialNanos = serialNanos;
+    this.wallNanos = wallNanos;
+    this.brokenDependencies = brokenDependencies;
+    this.lazyInitCandidates = Collections.unmodifiableList(lazyInitCandidates);
+    this.asyncInitCandidates = Collections.unmodifiableList(asyncInitCandidates);
+  }
+
+
+  /**
+   * 创建完成的单例，按拓扑顺序（依赖在前）
+   */
+  public List<BeanNode> getNodes() {
+    return this.nodes;
+  }
+
+  @Nullable
+  public BeanNode getNode(String beanName) {
+    return this.nodesByName.get(beanName);
+  }
+
+  /**
+   * 关键路径上的单例，从最先开始的到最后就绪的
+   */
+  public List<String> getCriticalPath() {
+    return this.criticalPath;
+  }
+
+  /**
+   * 理想调度下的启动耗时，即关键路径的长度
+   */
+  public long getCriticalPathNanos() {
+    return this.criticalPathNanos;
+  }
+
+  /**
+   * 所有单例在创建线程上的自身耗时之和，即单线程、不异步初始化时的启动耗时
+   */
+  public long getSerialNanos() {
+    return this.serialNanos;
+  }
+
+  /**
+   * 实际记录到的从第一个单例开始创建到最后一个单例就绪的时间
+   */
+  public long getWallNanos() {
+    return this.wallNanos;
+  }
+
+  /**
+   * 为了得到拓扑顺序而忽略的依赖个数（依赖之间有环时大于0）
+   */
+  public int getBrokenDependencies() {
+    return this.brokenDependencies;
+  }
+
+  /**
+   * 适合改为懒加载的单例，按省下的创建开销从大到小
+   */
+  public List<Suggestion> getLazyInitCandidates() {
+    return this.lazyInitCandidates;
+  }
+
+  /**
+   * 适合改为异步初始化的单例，按初始化方法的耗时从大到小
+   */
+  public List<Suggestion> getAsyncInitCandidates() {
+    return this.asyncInitCandidates;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("Startup analysis of ").append(this.nodes.size())
+        .append(" singletons: wall ").append(this.wallNanos / 1_000).append(" us, serial ")
+        .append(this.serialNanos / 1_000).append(" us, critical path ").append(this.criticalPathNanos / 1_000)
+        .append(" us ").append(this.criticalPath);
+    for (Suggestion suggestion : this.lazyInitCandidates) {
+      sb.append("\n  ").append(suggestion);
+    }
+    for (Suggestion suggestion : this.asyncInitCandidates) {
+      sb.append("\n  ").append(suggestion);
+    }
+    return sb.toString();
+  }
+
+
+  /**
+   * 依赖图中的一个单例
+   */
+  public static final class BeanNode {
+
+    private final StartupRecorder.BeanTiming timing;
+
+    private final List<String> dependencies;
+
+    private final List<String> dependents;
+
+    private final long earliestStartNanos;
+
+    private final long earliestCreatedNanos;
+
+    private final long earliestReadyNanos;
+
+    private final long slackNanos;
+
+    private final boolean onCriticalPath;
+
+    private final boolean lazyInit;
+
+    BeanNode(StartupRecorder.BeanTiming timing, List<String> dependencies, List<String> dependents,
+        long earliestStartNanos, long earliestCreatedNanos, long earliestReadyNanos, long slackNanos,
+        boolean onCriticalPath, boolean lazyInit) {
+
+      this.timing = timing;
+      this.dependencies = Collections.unmodifiableList(dependencies);
+      this.dependents = Collections.unmodifiableList(dependents);
+      this.earliestStartNanos = earliestStartNanos;
+      this.earliestCreatedNanos = earliestCreatedNanos;
+      this.earliestReadyNanos = earliestReadyNanos;
+      this.slackNanos = slackNanos;
+      this.onCriticalPath = onCriticalPath;
+      this.lazyInit = lazyInit;
+    }
+
+    public String getBeanName() {
+      return this.timing.getBeanName();
+    }
+
+    public StartupRecorder.BeanTiming getTiming() {
+      return this.timing;
+    }
+
+    /**
+     * 创建线程上的自身耗时，即依赖图中这个单例的权重
+     */
+    public long getCreationNanos() {
+      return this.timing.getCreationNanos();
+    }
+
+    /**
+     * 异步初始化的耗时（同步初始化为0）
+     */
+    public long getAsyncInitNanos() {
+      return (this.timing.isAsyncInit() ? this.timing.getInitNanos() : 0);
+    }
+
+    /**
+     * 依赖图中它依赖的单例（不含被忽略的环上的依赖）
+     */
+    public List<String> getDependencies() {
+      return this.dependencies;
+    }
+
+    public List<String> getDependents() {
+      return this.dependents;
+    }
+
+    public long getEarliestStartNanos() {
+      return this.earliestStartNanos;
+    }
+
+    public long getEarliestCreatedNanos() {
+      return this.earliestCreatedNanos;
+    }
+
+    public long getEarliestReadyNanos() {
+      return this.earliestReadyNanos;
+    }
+
+    /**
+     * 可以推迟创建而不延长启动的时间，关键路径上为0
+     */
+    public long getSlackNanos() {
+      return this.slackNanos;
+    }
+
+    public boolean isCritical() {
+      return (this.slackNanos == 0);
+    }
+
+    /**
+     * 是否在{@link StartupAnalysis#getCriticalPath()}上（slack为0的单例可能有多条关键路径，这里只取一条）
+     */
+    public boolean isOnCriticalPath() {
+      return this.onCriticalPath;
+    }
+
+    public boolean isLazyInit() {
+      return this.lazyInit;
+    }
+
+    @Override
+    public String toString() {
+      return "BeanNode '" + getBeanName() + "': creation " + getCreationNanos() / 1_000 + " us, async init " +
+          getAsyncInitNanos() / 1_000 + " us, slack " + this.slackNanos / 1_000 + " us";
+    }
+  }
+
+
+  /**
+   * 优化建议
+   */
+  public static final class Suggestion {
+
+    public enum Kind {
+
+      LAZY_INIT, ASYNC_INIT
+    }
+
+    private final String beanName;
+
+    private final Kind kind;
+
+    private final long startupThreadSavingNanos;
+
+    private final long criticalPathSavingNanos;
+
+    private final List<String> referencingDependents;
+
+    Suggestion(String beanName, Kind kind, long startupThreadSavingNanos, long criticalPathSavingNanos,
+        List<String> referencingDependents) {
+
+      this.beanName = beanName;
+      this.kind = kind;
+      this.startupThreadSavingNanos = startupThreadSavingNanos;
+      this.criticalPathSavingNanos = criticalPathSavingNanos;
+      this.referencingDependents = Collections.unmodifiableList(referencingDependents);
+    }
+
+    public String getBeanName() {
+      return this.beanName;
+    }
+
+    public Kind getKind() {
+      return this.kind;
+    }
+
+    /**
+     * 创建线程上省下的时间
+     */
+    public long getStartupThreadSavingNanos() {
+      return this.startupThreadSavingNanos;
+    }
+
+    /**
+     * 关键路径缩短的时间（按理想调度重新计算）
+     */
+    public long getCriticalPathSavingNanos() {
+      return this.criticalPathSavingNanos;
+    }
+
+    /**
+     * 异步初始化时：通过引用依赖它的单例。它们不等待初始化完成，需要就绪时应该把它加到dependsOn中
+     */
+    public List<String> getReferencingDependents() {
+      return this.referencingDependents;
+    }
+
+    @Override
+    public String toString() {
+      String text = (this.kind == Kind.LAZY_INIT ? "Make '" + this.beanName + "' lazy-init" :
+          "Initialize '" + this.beanName + "' asynchronously") + ": saves " + this.startupThreadSavingNanos / 1_000 +
+          " us on the startup thread, " + this.criticalPathSavingNanos / 1_000 + " us on the critical path";
+      if (!this.referencingDependents.isEmpty()) {
+        text += " (add it to depends-on of " + this.referencingDependents + " if they need it initialized)";
+      }
+      return text;
+    }
+  }
+
+}
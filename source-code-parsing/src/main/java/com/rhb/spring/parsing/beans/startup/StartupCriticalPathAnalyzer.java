@@ -0,0 +1,422 @@
+package com.rhb.spring.parsing.beans.startup;
+
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.BeanNode;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.Suggestion;
+import com.rhb.spring.parsing.beans.startup.StartupRecorder.BeanTiming;
+import com.rhb.spring.parsing.beans.startup.StartupRecorder.Dependency;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.util.Assert;
+
+/**
+ * 启动关键路径分析：以{@link StartupRecorder}记录的自身耗时为权重，在实际解析的依赖图上计算
+ * 理想调度下每个单例的最早开始/完成时间、slack和关键路径，并给出懒加载、异步初始化的建议
+ *
+ * <ul>
+ * <li>懒加载：启动时没有其他单例依赖它、定义不是懒加载的单例，按省下的创建开销排序</li>
+ * <li>异步初始化：同步执行初始化方法的单例，按初始化方法的耗时排序；
+ * 初始化方法移到初始化线程池后只有dependsOn的依赖方等待它就绪，通过引用依赖它的单例在建议中列出</li>
+ * </ul>
+ * 每个建议都在依赖图上按修改后的权重重新调度，得到关键路径缩短的时间
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:40
+ */
+public class StartupCriticalPathAnalyzer {
+
+  private int suggestionLimit = 10;
+
+
+  /**
+   * 每类建议最多给出的个数，默认10
+   */
+  public void setSuggestionLimit(int suggestionLimit) {
+    Assert.isTrue(suggestionLimit >= 0, "Suggestion limit must not be negative");
+    this.suggestionLimit = suggestionLimit;
+  }
+
+  public int getSuggestionLimit() {
+    return this.suggestionLimit;
+  }
+
+  /**
+   * 分析已经创建完成的单例，beanFactory用于判断定义是否已经是懒加载
+   */
+  public StartupAnalysis analyze(StartupRecorder recorder, SimpleBeanFactory beanFactory) {
+    Assert.notNull(recorder, "StartupRecorder must not be null");
+    Assert.notNull(beanFactory, "SimpleBeanFactory must not be null");
+    Graph graph = new Graph(recorder);
+    int n = graph.size();
+    long[] creation = new long[n];
+    long[] asyncInit = new long[n];
+    long serialNanos = 0;
+    long wallStart = Long.MAX_VALUE;
+    long wallEnd = 0;
+    for (int i = 0; i < n; i++) {
+      BeanTiming timing = graph.timings[i];
+      creation[i] = timing.getCreationNanos();
+      asyncInit[i] = (timing.isAsyncInit() ? timing.getInitNanos() : 0);
+      serialNanos += creation[i];
+      wallStart = Math.min(wallStart, timing.getStartNanos());
+      wallEnd = Math.max(wallEnd, Math.max(timing.getEndNanos(), timing.getReadyNanos()));
+    }
+
+    Schedule schedule = graph.schedule(creation, asyncInit);
+    long[] slack = graph.slack(schedule, creation, asyncInit);
+    List<Integer> path = graph.criticalPath(schedule, creation);
+    boolean[] onPath = new boolean[n];
+    List<String> criticalPath = new ArrayList<>(path.size());
+    for (int i : path) {
+      onPath[i] = true;
+      criticalPath.add(graph.timings[i].getBeanName());
+    }
+
+    boolean[] lazy = new boolean[n];
+    List<BeanNode> nodes = new ArrayList<>(n);
+    for (int i : graph.order) {
+      lazy[i] = isLazyInit(beanFactory, graph.timings[i].getBeanName());
+      nodes.add(new BeanNode(graph.timings[i], graph.names(graph.dependencies[i]), graph.names(graph.dependents[i]),
+          schedule.created[i] - creation[i], schedule.created[i], schedule.ready[i], slack[i], onPath[i], lazy[i]));
+    }
+
+    List<Suggestion> lazyInitCandidates = lazyInitCandidates(graph, schedule, creation, asyncInit, lazy);
+    List<Suggestion> asyncInitCandidates = asyncInitCandidates(graph, schedule, creation, asyncInit);
+    return new StartupAnalysis(nodes, criticalPath, schedule.makespan, serialNanos,
+        (n > 0 ? wallEnd - wallStart : 0), graph.brokenDependencies, lazyInitCandidates, asyncInitCandidates);
+  }
+
+  private static boolean isLazyInit(SimpleBeanFactory beanFactory, String beanName) {
+    try {
+      return beanFactory.getMergedBeanDefinition(beanName).isLazyInit();
+    }
+    catch (NoSuchBeanDefinitionException ex) {
+      return false;
+    }
+  }
+
+  private List<Suggestion> lazyInitCandidates(Graph graph, Schedule schedule, long[] creation, long[] asyncInit,
+      boolean[] lazy) {
+
+    List<Integer> candidates = new ArrayList<>();
+    for (int i = 0; i < graph.size(); i++) {
+      if (!lazy[i] && !graph.timings[i].isFailed() && graph.dependents[i].length == 0 &&
+          creation[i] + asyncInit[i] > 0) {
+        candidates.add(i);
+      }
+    }
+    candidates.sort(Comparator.comparingLong((Integer i) -> creation[i] + asyncInit[i]).reversed());
+    List<Suggestion> suggestions = new ArrayList<>();
+    for (int i : candidates.subList(0, Math.min(this.suggestionLimit, candidates.size()))) {
+      long[] c = creation.clone();
+      long[] a = asyncInit.clone();
+      c[i] = 0;
+      a[i] = 0;
+      long saving = schedule.makespan - graph.schedule(c, a).makespan;
+      suggestions.add(new Suggestion(graph.timings[i].getBeanName(), Suggestion.Kind.LAZY_INIT, creation[i],
+          saving, new ArrayList<>()));
+    }
+    return suggestions;
+  }
+
+  private List<Suggestion> asyncInitCandidates(Graph graph, Schedule schedule, long[] creation, long[] asyncInit) {
+    List<Integer> candidates = new ArrayList<>();
+    for (int i = 0; i < graph.size(); i++) {
+      BeanTiming timing = graph.timings[i];
+      if (!timing.isAsyncInit() && !timing.isFailed() && timing.getInitNanos() > 0) {
+        candidates.add(i);
+      }
+    }
+    candidates.sort(Comparator.comparingLong((Integer i) -> graph.timings[i].getInitNanos()).reversed());
+    List<Suggestion> suggestions = new ArrayList<>();
+    for (int i : candidates.subList(0, Math.min(this.suggestionLimit, candidates.size()))) {
+      long init = graph.timings[i].getInitNanos();
+      long[] c = creation.clone();
+      long[] a = asyncInit.clone();
+      c[i] -= init;
+      a[i] = init;
+      long saving = schedule.makespan - graph.schedule(c, a).makespan;
+      List<String> referencing = new ArrayList<>();
+      for (int j = 0; j < graph.dependents[i].length; j++) {
+        if (!graph.dependentAwaitsReadiness[i][j]) {
+          referencing.add(graph.timings[graph.dependents[i][j]].getBeanName());
+        }
+      }
+      suggestions.add(new Suggestion(graph.timings[i].getBeanName(), Suggestion.Kind.ASYNC_INIT, init, saving,
+          referencing));
+    }
+    return suggestions;
+  }
+
+
+  /**
+   * 下标形式的依赖图，边只保留拓扑顺序中从前到后的
+   */
+  private static final class Graph {
+
+    final BeanTiming[] timings;
+
+    /**
+     * 拓扑顺序：依赖在前
+     */
+    final int[] order;
+
+    final int[][] dependencies;
+
+    final boolean[][] awaitsReadiness;
+
+    final int[][] dependents;
+
+    final boolean[][] dependentAwaitsReadiness;
+
+    int brokenDependencies;
+
+    Graph(StartupRecorder recorder) {
+      List<BeanTiming> finished = new ArrayList<>();
+      for (BeanTiming timing : recorder.getBeanTimings()) {
+        if (timing.getEndNanos() >= 0) {
+          finished.add(timing);
+        }
+      }
+      int n = finished.size();
+      this.timings = finished.toArray(new BeanTiming[0]);
+      Map<String, Integer> index = new HashMap<>(n * 2);
+      for (int i = 0; i < n; i++) {
+        index.put(this.timings[i].getBeanName(), i);
+      }
+
+      // 依赖 -> 是否等待就绪（同一个依赖既有引用又有dependsOn时按dependsOn）
+      List<Map<Integer, Boolean>> edges = new ArrayList<>(n);
+      for (int i = 0; i < n; i++) {
+        Map<Integer, Boolean> deps = new LinkedHashMap<>();
+        for (Dependency dependency : recorder.getDependencies(this.timings[i].getBeanName())) {
+          Integer dep = index.get(dependency.getBeanName());
+          if (dep != null) {
+            deps.merge(dep, dependency.awaitsReadiness(), Boolean::logicalOr);
+          }
+        }
+        edges.add(deps);
+      }
+
+      this.order = topologicalOrder(edges);
+      int[] position = new int[n];
+      for (int i = 0; i < n; i++) {
+        position[this.order[i]] = i;
+      }
+      this.dependencies = new int[n][];
+      this.awaitsReadiness = new boolean[n][];
+      List<List<Integer>> dependents = new ArrayList<>(n);
+      List<List<Boolean>> dependentAwaits = new ArrayList<>(n);
+      for (int i = 0; i < n; i++) {
+        dependents.add(new ArrayList<>());
+        dependentAwaits.add(new ArrayList<>());
+      }
+      for (int i = 0; i < n; i++) {
+        List<Integer> deps = new ArrayList<>();
+        List<Boolean> awaits = new ArrayList<>();
+        for (Map.Entry<Integer, Boolean> edge : edges.get(i).entrySet()) {
+          int dep = edge.getKey();
+          if (position[dep] < position[i]) {
+            deps.add(dep);
+            awaits.add(edge.getValue());
+            dependents.get(dep).add(i);
+            dependentAwaits.get(dep).add(edge.getValue());
+          }
+          else {
+            this.brokenDependencies++;
+          }
+        }
+        this.dependencies[i] = toIntArray(deps);
+        this.awaitsReadiness[i] = toBooleanArray(awaits);
+      }
+      this.dependents = new int[n][];
+      this.dependentAwaitsReadiness = new boolean[n][];
+      for (int i = 0; i < n; i++) {
+        this.dependents[i] = toIntArray(dependents.get(i));
+        this.dependentAwaitsReadiness[i] = toBooleanArray(dependentAwaits.get(i));
+      }
+    }
+
+    /**
+     * Kahn算法；剩下的节点有环时，取开始创建最早的一个，忽略它尚未满足的依赖后继续
+     */
+    private static int[] topologicalOrder(List<Map<Integer, Boolean>> edges) {
+      int n = edges.size();
+      int[] remaining = new int[n];
+      List<List<Integer>> dependents = new ArrayList<>(n);
+      for (int i = 0; i < n; i++) {
+        dependents.add(new ArrayList<>());
+      }
+      for (int i = 0; i < n; i++) {
+        remaining[i] = edges.get(i).size();
+        for (int dep : edges.get(i).keySet()) {
+          dependents.get(dep).add(i);
+        }
+      }
+      int[] order = new int[n];
+      int count = 0;
+      boolean[] done = new boolean[n];
+      Deque<Integer> ready = new ArrayDeque<>();
+      for (int i = 0; i < n; i++) {
+        if (remaining[i] == 0) {
+          ready.add(i);
+        }
+      }
+      int next = 0;
+      while (count < n) {
+        if (ready.isEmpty()) {
+          while (done[next]) {
+            next++;
+          }
+          ready.add(next);
+        }
+        int i = ready.poll();
+        if (done[i]) {
+          continue;
+        }
+        done[i] = true;
+        order[count++] = i;
+        for (int dependent : dependents.get(i)) {
+          if (--remaining[dependent] == 0 && !done[dependent]) {
+            ready.add(dependent);
+          }
+        }
+      }
+      return order;
+    }
+
+    int size() {
+      return this.timings.length;
+    }
+
+    List<String> names(int[] nodes) {
+      List<String> names = new ArrayList<>(nodes.length);
+      for (int node : nodes) {
+        names.add(this.timings[node].getBeanName());
+      }
+      return names;
+    }
+
+    /**
+     * 按拓扑顺序计算理想调度下的最早创建完成、就绪时间
+     */
+    Schedule schedule(long[] creation, long[] asyncInit) {
+      int n = size();
+      long[] created = new long[n];
+      long[] ready = new long[n];
+      long makespan = 0;
+      for (int i : this.order) {
+        long start = 0;
+        for (int j = 0; j < this.dependencies[i].length; j++) {
+          int dep = this.dependencies[i][j];
+          start = Math.max(start, this.awaitsReadiness[i][j] ? ready[dep] : created[dep]);
+        }
+        created[i] = start + creation[i];
+        ready[i] = created[i] + asyncInit[i];
+        makespan = Math.max(makespan, ready[i]);
+      }
+      return new Schedule(created, ready, makespan);
+    }
+
+    /**
+     * 按拓扑逆序计算最晚创建完成时间，slack = 最晚 - 最早
+     */
+    long[] slack(Schedule schedule, long[] creation, long[] asyncInit) {
+      int n = size();
+      long[] latestCreated = new long[n];
+      long[] slack = new long[n];
+      for (int k = n - 1; k >= 0; k--) {
+        int i = this.order[k];
+        long latestReady = schedule.makespan;
+        long latest = Long.MAX_VALUE;
+        for (int j = 0; j < this.dependents[i].length; j++) {
+          int dependent = this.dependents[i][j];
+          long latestStart = latestCreated[dependent] - creation[dependent];
+          if (this.dependentAwaitsReadiness[i][j]) {
+            latestReady = Math.min(latestReady, latestStart);
+          }
+          else {
+            latest = Math.min(latest, latestStart);
+          }
+        }
+        latestCreated[i] = Math.min(latest, latestReady - asyncInit[i]);
+        slack[i] = latestCreated[i] - schedule.created[i];
+      }
+      return slack;
+    }
+
+    /**
+     * 从最后就绪的单例沿决定其开始时间的依赖往回走
+     */
+    List<Integer> criticalPath(Schedule schedule, long[] creation) {
+      if (size() == 0) {
+        return new ArrayList<>();
+      }
+      int current = this.order[0];
+      for (int i : this.order) {
+        if (schedule.ready[i] > schedule.ready[current]) {
+          current = i;
+        }
+      }
+      Deque<Integer> path = new ArrayDeque<>();
+      path.addFirst(current);
+      while (true) {
+        long start = schedule.created[current] - creation[current];
+        int previous = -1;
+        for (int j = 0; j < this.dependencies[current].length && start > 0; j++) {
+          int dep = this.dependencies[current][j];
+          long finish = (this.awaitsReadiness[current][j] ? schedule.ready[dep] : schedule.created[dep]);
+          if (finish == start) {
+            previous = dep;
+            break;
+          }
+        }
+        if (previous < 0) {
+          return new ArrayList<>(path);
+        }
+        path.addFirst(previous);
+        current = previous;
+      }
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+      int[] array = new int[values.size()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = values.get(i);
+      }
+      return array;
+    }
+
+    private static boolean[] toBooleanArray(List<Boolean> values) {
+      boolean[] array = new boolean[values.size()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = values.get(i);
+      }
+      return array;
+    }
+  }
+
+
+  private static final class Schedule {
+
+    final long[] created;
+
+    final long[] ready;
+
+    final long makespan;
+
+    Schedule(long[] created, long[] ready, long makespan) {
+      this.created = created;
+      this.ready = ready;
+      this.makespan = makespan;
+    }
+  }
+
+}
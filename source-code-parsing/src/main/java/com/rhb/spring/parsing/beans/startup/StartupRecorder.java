@@ -0,0 +1,493 @@
+package com.rhb.spring.parsing.beans.startup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 记录容器启动时每个单例的创建耗时和实际解析的依赖，供{@link StartupCriticalPathAnalyzer}分析
+ *
+ * 容器在createBean中按阶段回调：实例化（含类解析、构造参数）-> 属性填充 -> 初始化方法，
+ * 每个阶段记录的是自身耗时，其间嵌套创建的其他单例的耗时记在那个单例上；异步初始化单独记录所在线程和起止时间。
+ * 依赖来自dependsOn、属性值和构造参数中的Bean引用、factory-bean，非单例（原型等）的创建耗时和依赖记在
+ * 当前线程正在创建的单例上。
+ *
+ * 只在需要分析的启动过程中设置到容器上（{@code setStartupRecorder}），时间相对于本实例创建的时刻
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:40
+ */
+public class StartupRecorder {
+
+  /**
+   * 依赖的类型：只有dependsOn会等待异步初始化完成
+   */
+  public enum DependencyType {
+
+    DEPENDS_ON, REFERENCE, FACTORY_BEAN
+  }
+
+  private final long originNanos = System.nanoTime();
+
+  private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+  /**
+   * beanName -> 创建记录，按开始创建的顺序
+   */
+  private final Map<String, Record> records = Collections.synchronizedMap(new LinkedHashMap<>(256));
+
+  private final Map<String, Set<Dependency>> dependencies = new ConcurrentHashMap<>(256);
+
+
+  public void beanCreationStarted(String beanName) {
+    long now = now();
+    Record record = new Record(beanName, Thread.currentThread().getName(), now);
+    this.records.put(beanName, record);
+    this.frames.get().push(new Frame(record, now));
+  }
+
+  /**
+   * 实例化完成（实例化之前的类解析也算在这个阶段）
+   */
+  public void beanInstantiated(String beanName) {
+    Frame frame = currentFrame(beanName);
+    if (frame != null) {
+      long now = now();
+      frame.record.instantiateNanos = frame.finishPhase(now);
+      frame.record.instantiatedAt = now;
+    }
+  }
+
+  public void beanPopulated(String beanName) {
+    Frame frame = currentFrame(beanName);
+    if (frame != null) {
+      long now = now();
+      frame.record.populateNanos = frame.finishPhase(now);
+      frame.record.populatedAt = now;
+    }
+  }
+
+  /**
+   * 创建完成：同步初始化时初始化方法已经返回，异步初始化时已经提交到初始化线程池
+   */
+  public void beanCreated(String beanName, boolean asyncInit) {
+    Frame frame = popFrame(beanName);
+    if (frame != null) {
+      long now = now();
+      if (!asyncInit) {
+        frame.record.initNanos = frame.finishPhase(now);
+      }
+      frame.record.asyncInit = asyncInit;
+      frame.record.endNanos = now;
+    }
+  }
+
+  public void beanCreationFailed(String beanName) {
+    Frame frame = popFrame(beanName);
+    if (frame != null) {
+      frame.record.failed = true;
+      frame.record.endNanos = now();
+    }
+  }
+
+  public void asyncInitStarted(String beanName) {
+    Record record = this.records.get(beanName);
+    if (record != null) {
+      record.asyncThreadName = Thread.currentThread().getName();
+      record.asyncStartNanos = now();
+    }
+  }
+
+  public void asyncInitFinished(String beanName, boolean success) {
+    Record record = this.records.get(beanName);
+    if (record != null) {
+      long now = now();
+      if (record.asyncStartNanos < 0) {
+        record.asyncStartNanos = now;
+      }
+      record.initNanos = now - record.asyncStartNanos;
+      record.asyncEndNanos = now;
+      record.failed |= !success;
+    }
+  }
+
+  /**
+   * 记录依赖
+   * @param beanName 依赖方，为null时记在当前线程正在创建的单例上（原型等非单例在创建过程中解析的依赖）
+   */
+  public void recordDependency(@Nullable String beanName, String dependencyName, DependencyType type) {
+    Assert.notNull(dependencyName, "Dependency name must not be null");
+    Assert.notNull(type, "Dependency type must not be null");
+    if (beanName == null) {
+      Frame frame = this.frames.get().peek();
+      if (frame == null) {
+        return;
+      }
+      beanName = frame.record.beanName;
+    }
+    if (!beanName.equals(dependencyName)) {
+      this.dependencies.computeIfAbsent(beanName, k -> Collections.synchronizedSet(new LinkedHashSet<>(8)))
+          .add(new Dependency(dependencyName, type));
+    }
+  }
+
+  @Nullable
+  private Frame currentFrame(String beanName) {
+    Frame frame = this.frames.get().peek();
+    return (frame != null && frame.record.beanName.equals(beanName) ? frame : null);
+  }
+
+  /**
+   * 出栈，并把这个单例从开始到现在的耗时记为外层单例当前阶段的嵌套耗时
+   */
+  @Nullable
+  private Frame popFrame(String beanName) {
+    Deque<Frame> stack = this.frames.get();
+    Frame frame = stack.peek();
+    if (frame == null || !frame.record.beanName.equals(beanName)) {
+      return null;
+    }
+    stack.pop();
+    Frame outer = stack.peek();
+    if (outer != null) {
+      outer.nestedNanos += now() - frame.record.startNanos;
+    }
+    if (stack.isEmpty()) {
+      this.frames.remove();
+    }
+    return frame;
+  }
+
+  /**
+   * 当前时刻（相对于本实例创建的时刻），子类可以替换时钟
+   */
+  protected long now() {
+    return System.nanoTime() - this.originNanos;
+  }
+
+  /**
+   * 本实例创建时的System.nanoTime()，记录的时间都相对于它
+   */
+  public long getOriginNanos() {
+    return this.originNanos;
+  }
+
+  /**
+   * 已经开始创建的单例的耗时快照，按开始创建的顺序；尚未结束的单例endNanos为-1
+   */
+  public List<BeanTiming> getBeanTimings() {
+    List<Record> snapshot;
+    synchronized (this.records) {
+      snapshot = new ArrayList<>(this.records.values());
+    }
+    List<BeanTiming> timings = new ArrayList<>(snapshot.size());
+    for (Record record : snapshot) {
+      timings.add(record.toTiming());
+    }
+    return timings;
+  }
+
+  public Set<Dependency> getDependencies(String beanName) {
+    Set<Dependency> deps = this.dependencies.get(beanName);
+    if (deps == null) {
+      return Collections.emptySet();
+    }
+    synchronized (deps) {
+      return new LinkedHashSet<>(deps);
+    }
+  }
+
+  public void clear() {
+    this.records.clear();
+    this.dependencies.clear();
+  }
+
+
+  /**
+   * 当前线程正在创建的单例，nestedNanos为当前阶段中嵌套创建其他单例的耗时
+   */
+  private static final class Frame {
+
+    final Record record;
+
+    long phaseStart;
+
+    long nestedNanos;
+
+    Frame(Record record, long now) {
+      this.record = record;
+      this.phaseStart = now;
+    }
+
+    long finishPhase(long now) {
+      long self = now - this.phaseStart - this.nestedNanos;
+      this.phaseStart = now;
+      this.nestedNanos = 0;
+      return Math.max(0, self);
+    }
+  }
+
+
+  private static final class Record {
+
+    final String beanName;
+
+    final String threadName;
+
+    final long startNanos;
+
+    volatile long instantiatedAt = -1;
+
+    volatile long populatedAt = -1;
+
+    volatile long endNanos = -1;
+
+    volatile long instantiateNanos;
+
+    volatile long populateNanos;
+
+    volatile long initNanos;
+
+    volatile boolean asyncInit;
+
+    @Nullable
+    volatile String asyncThreadName;
+
+    volatile long asyncStartNanos = -1;
+
+    volatile long asyncEndNanos = -1;
+
+    volatile boolean failed;
+
+    Record(String beanName, String threadName, long startNanos) {
+      this.beanName = beanName;
+      this.threadName = threadName;
+      this.startNanos = startNanos;
+    }
+
+    BeanTiming toTiming() {
+      return new BeanTiming(this.beanName, this.threadName, this.startNanos, this.instantiatedAt,
+          this.populatedAt, this.endNanos, this.instantiateNanos, this.populateNanos, this.initNanos,
+          this.asyncInit, this.asyncThreadName, this.asyncStartNanos, this.asyncEndNanos, this.failed);
+    }
+  }
+
+
+  /**
+   * 一个单例的创建耗时，时间均为相对于记录器创建时刻的纳秒数，未发生的时刻为-1
+   */
+  public static final class BeanTiming {
+
+    private final String beanName;
+
+    private final String threadName;
+
+    private final long startNanos;
+
+    private final long instantiatedAt;
+
+    private final long populatedAt;
+
+    private final long endNanos;
+
+    private final long instantiateNanos;
+
+    private final long populateNanos;
+
+    private final long initNanos;
+
+    private final boolean asyncInit;
+
+    @Nullable
+    private final String asyncThreadName;
+
+    private final long asyncStartNanos;
+
+    private final long asyncEndNanos;
+
+    private final boolean failed;
+
+    BeanTiming(String beanName, String threadName, long startNanos, long instantiatedAt, long populatedAt,
+        long endNanos, long instantiateNanos, long populateNanos, long initNanos, boolean asyncInit,
+        @Nullable String asyncThreadName, long asyncStartNanos, long asyncEndNanos, boolean failed) {
+
+      this.beanName = beanName;
+      this.threadName = threadName;
+      this.startNanos = startNanos;
+      this.instantiatedAt = instantiatedAt;
+      this.populatedAt = populatedAt;
+      this.endNanos = endNanos;
+      this.instantiateNanos = instantiateNanos;
+      this.populateNanos = populateNanos;
+      this.initNanos = initNanos;
+      this.asyncInit = asyncInit;
+      this.asyncThreadName = asyncThreadName;
+      this.asyncStartNanos = asyncStartNanos;
+      this.asyncEndNanos = asyncEndNanos;
+      this.failed = failed;
+    }
+
+    public String getBeanName() {
+      return this.beanName;
+    }
+
+    /**
+     * 执行创建的线程
+     */
+    public String getThreadName() {
+      return this.threadName;
+    }
+
+    public long getStartNanos() {
+      return this.startNanos;
+    }
+
+    /**
+     * 实例化完成的时刻
+     */
+    public long getInstantiatedAt() {
+      return this.instantiatedAt;
+    }
+
+    /**
+     * 属性填充完成的时刻
+     */
+    public long getPopulatedAt() {
+      return this.populatedAt;
+    }
+
+    /**
+     * 创建结束的时刻（异步初始化时为提交初始化之后）
+     */
+    public long getEndNanos() {
+      return this.endNanos;
+    }
+
+    /**
+     * 实例化阶段的自身耗时，不含其间嵌套创建的单例
+     */
+    public long getInstantiateNanos() {
+      return this.instantiateNanos;
+    }
+
+    /**
+     * 属性填充阶段的自身耗时，不含其间嵌套创建的单例
+     */
+    public long getPopulateNanos() {
+      return this.populateNanos;
+    }
+
+    /**
+     * 初始化方法的耗时：同步初始化为自身耗时，异步初始化为在初始化线程中开始到就绪
+     */
+    public long getInitNanos() {
+      return this.initNanos;
+    }
+
+    /**
+     * 创建线程上的自身耗时（异步初始化不在创建线程上，不计入）
+     */
+    public long getCreationNanos() {
+      return this.instantiateNanos + this.populateNanos + (this.asyncInit ? 0 : this.initNanos);
+    }
+
+    public boolean isAsyncInit() {
+      return this.asyncInit;
+    }
+
+    @Nullable
+    public String getAsyncThreadName() {
+      return this.asyncThreadName;
+    }
+
+    public long getAsyncStartNanos() {
+      return this.asyncStartNanos;
+    }
+
+    public long getAsyncEndNanos() {
+      return this.asyncEndNanos;
+    }
+
+    /**
+     * 就绪的时刻：异步初始化完成或创建结束
+     */
+    public long getReadyNanos() {
+      return (this.asyncInit ? this.asyncEndNanos : this.endNanos);
+    }
+
+    public boolean isFailed() {
+      return this.failed;
+    }
+
+    @Override
+    public String toString() {
+      return "BeanTiming '" + this.beanName + "': instantiate " + this.instantiateNanos / 1_000 + " us, populate " +
+          this.populateNanos / 1_000 + " us, " + (this.asyncInit ? "async " : "") + "init " +
+          this.initNanos / 1_000 + " us" + (this.failed ? " (failed)" : "");
+    }
+  }
+
+
+  /**
+   * 实际解析到的一个依赖
+   */
+  public static final class Dependency {
+
+    private final String beanName;
+
+    private final DependencyType type;
+
+    Dependency(String beanName, DependencyType type) {
+      this.beanName = beanName;
+      this.type = type;
+    }
+
+    public String getBeanName() {
+      return this.beanName;
+    }
+
+    public DependencyType getType() {
+      return this.type;
+    }
+
+    /**
+     * 依赖方是否要等被依赖的单例就绪（异步初始化完成），否则只需创建完成
+     */
+    public boolean awaitsReadiness() {
+      return (this.type == DependencyType.DEPENDS_ON);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Dependency)) {
+        return false;
+      }
+      Dependency that = (Dependency) other;
+      return (this.beanName.equals(that.beanName) && this.type == that.type);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.beanName, this.type);
+    }
+
+    @Override
+    public String toString() {
+      return this.beanName + " (" + this.type + ")";
+    }
+  }
+
+}
@@ -0,0 +1,322 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.base.BeanMetadataAttribute;
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import com.rhb.spring.parsing.beans.base.MethodOverrides;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinitionResource;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.core.io.DescriptiveResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * 启动后的元数据压缩：释放只在解析阶段有用的数据
+ *
+ * <ul>
+ * <li>定义、元数据属性、方法覆盖、属性值和构造参数上的source置为null</li>
+ * <li>DescriptiveResource和BeanDefinitionResource替换为按描述共享的DescriptiveResource，
+ * getResourceDescription()仍可用于错误信息，但getOriginatingBeanDefinition()此后返回null；
+ * 其他资源（例如配置文件）按equals去重</li>
+ * <li>description置为null（{@link #setDropDescriptions}为false时改为共享相同的字符串）</li>
+ * </ul>
+ *
+ * 同一个压缩器可以用于多个容器，资源描述在这些容器之间共享。
+ * 元数据属性、方法覆盖和TypedStringValue是直接修改的，调用方需保证它们不被未压缩的定义（例如下层注册中心的定义）引用
+ *
+ * @author renhuibo
+ * @date 2026/10/20 15:30
+ */
+public class BeanDefinitionCompactor {
+
+  private final Map<String, Resource> descriptors = new ConcurrentHashMap<>(64);
+
+  private final Map<Resource, Resource> resources = new ConcurrentHashMap<>(64);
+
+  private final Map<String, String> descriptions = new ConcurrentHashMap<>(64);
+
+  private boolean dropSources = true;
+
+  private boolean dropDescriptions = true;
+
+  private boolean measureHeap = false;
+
+
+  /**
+   * 是否清除source，默认true
+   */
+  public void setDropSources(boolean dropSources) {
+    this.dropSources = dropSources;
+  }
+
+  /**
+   * 是否清除description，默认true；false时只共享内容相同的字符串
+   */
+  public void setDropDescriptions(boolean dropDescriptions) {
+    this.dropDescriptions = dropDescriptions;
+  }
+
+  /**
+   * 是否在压缩前后各做一次full GC，测量实际释放的堆大小，默认false（只统计处理的对象个数）
+   */
+  public void setMeasureHeap(boolean measureHeap) {
+    this.measureHeap = measureHeap;
+  }
+
+
+  /**
+   * 压缩给定的定义，非AbstractBeanDefinition（例如堆外定义的只读视图）跳过
+   */
+  public CompactionReport compact(Iterable<? extends BeanDefinition> beanDefinitions) {
+    long heapBefore = (this.measureHeap ? usedHeapAfterGc() : 0);
+    long start = System.nanoTime();
+    CompactionReport report = new CompactionReport();
+    for (BeanDefinition bd : beanDefinitions) {
+      if (bd instanceof AbstractBeanDefinition) {
+        compact((AbstractBeanDefinition) bd, report);
+        report.definitions++;
+      }
+      else {
+        report.skippedDefinitions++;
+      }
+    }
+    report.nanos = System.nanoTime() - start;
+    report.distinctResources = this.descriptors.size() + this.resources.size();
+    if (this.measureHeap) {
+      report.heapBytesReclaimed = heapBefore - usedHeapAfterGc();
+    }
+    return report;
+  }
+
+  private void compact(AbstractBeanDefinition bd, CompactionReport report) {
+    if (this.dropSources) {
+      if (bd.getSource() != null) {
+        bd.setSource(null);
+        report.sourcesDropped++;
+      }
+      dropAttributeSources(bd, report);
+      if (bd.hasMethodOverrides()) {
+        dropOverrideSources(bd.getMethodOverrides(), report);
+      }
+      if (bd.hasPropertyValues()) {
+        dropValueSources(bd.getPropertyValues(), report);
+      }
+      if (bd.hasConstructorArgumentValues()) {
+        dropValueSources(bd.getConstructorArgumentValues(), report);
+      }
+    }
+
+    Resource resource = bd.getResource();
+    if (resource != null) {
+      Resource compact = compactResource(resource);
+      if (compact != resource) {
+        bd.setResource(compact);
+        report.resourcesReplaced++;
+      }
+    }
+
+    String description = bd.getDescription();
+    if (description != null) {
+      if (this.dropDescriptions) {
+        bd.setDescription(null);
+        report.descriptionsDropped++;
+      }
+      else {
+        String shared = this.descriptions.computeIfAbsent(description, d -> d);
+        if (shared != description) {
+          bd.setDescription(shared);
+          report.descriptionsShared++;
+        }
+      }
+    }
+  }
+
+  private void dropAttributeSources(AbstractBeanDefinition bd, CompactionReport report) {
+    for (String name : bd.attributeNameSet()) {
+      Object attribute = bd.getAttribute(name);
+      if (attribute instanceof BeanMetadataAttribute && ((BeanMetadataAttribute) attribute).getSource() != null) {
+        ((BeanMetadataAttribute) attribute).setSource(null);
+        report.sourcesDropped++;
+      }
+    }
+  }
+
+  /**
+   * MethodOverride的equals包含source，清除后可能出现重复的覆盖，需要重新去重
+   */
+  private void dropOverrideSources(MethodOverrides methodOverrides, CompactionReport report) {
+    Set<MethodOverride> overrides = methodOverrides.getOverrides();
+    boolean changed = false;
+    for (MethodOverride override : overrides) {
+      if (override.getSource() != null) {
+        override.setSource(null);
+        report.sourcesDropped++;
+        changed = true;
+      }
+    }
+    if (changed) {
+      Set<MethodOverride> distinct = new LinkedHashSet<>(overrides);
+      if (distinct.size() < overrides.size()) {
+        overrides.clear();
+        overrides.addAll(distinct);
+      }
+    }
+  }
+
+  private void dropValueSources(MutablePropertyValues pvs, CompactionReport report) {
+    for (PropertyValue pv : pvs.getPropertyValueList()) {
+      if (pv.getSource() != null) {
+        pv.setSource(null);
+        report.sourcesDropped++;
+      }
+      dropValueSource(pv.getValue(), report);
+    }
+  }
+
+  private void dropValueSources(ConstructorArgumentValues cargs, CompactionReport report) {
+    for (ValueHolder valueHolder : cargs.getIndexedArgumentValues().values()) {
+      dropValueSource(valueHolder, report);
+    }
+    for (ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+      dropValueSource(valueHolder, report);
+    }
+  }
+
+  private void dropValueSource(ValueHolder valueHolder, CompactionReport report) {
+    if (valueHolder.getSource() != null) {
+      valueHolder.setSource(null);
+      report.sourcesDropped++;
+    }
+    dropValueSource(valueHolder.getValue(), report);
+  }
+
+  private void dropValueSource(@Nullable Object value, CompactionReport report) {
+    if (value instanceof TypedStringValue && ((TypedStringValue) value).getSource() != null) {
+      ((TypedStringValue) value).setSource(null);
+      report.sourcesDropped++;
+    }
+  }
+
+  /**
+   * 只有描述的资源（包括派生定义的BeanDefinitionResource）换成共享的DescriptiveResource，其他资源按equals去重
+   */
+  private Resource compactResource(Resource resource) {
+    if (resource instanceof DescriptiveResource || resource instanceof BeanDefinitionResource) {
+      String description = resource.getDescription();
+      Resource descriptor = this.descriptors.get(description);
+      if (descriptor == null) {
+        descriptor = this.descriptors.computeIfAbsent(description,
+            d -> (resource instanceof DescriptiveResource ? resource : new DescriptiveResource(d)));
+      }
+      return descriptor;
+    }
+    Resource shared = this.resources.putIfAbsent(resource, resource);
+    return (shared != null ? shared : resource);
+  }
+
+  /**
+   * 清除共享的资源描述
+   */
+  public void clear() {
+    this.descriptors.clear();
+    this.resources.clear();
+    this.descriptions.clear();
+  }
+
+  private static long usedHeapAfterGc() {
+    System.gc();
+    System.gc();
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+
+  /**
+   * 一次压缩的结果
+   */
+  public static class CompactionReport {
+
+    private int definitions;
+
+    private int skippedDefinitions;
+
+    private int sourcesDropped;
+
+    private int resourcesReplaced;
+
+    private int distinctResources;
+
+    private int descriptionsDropped;
+
+    private int descriptionsShared;
+
+    private long nanos;
+
+    private long heapBytesReclaimed = -1;
+
+    public int getDefinitions() {
+      return this.definitions;
+    }
+
+    public int getSkippedDefinitions() {
+      return this.skippedDefinitions;
+    }
+
+    public int getSourcesDropped() {
+      return this.sourcesDropped;
+    }
+
+    /**
+     * 被替换为共享实例的资源个数
+     */
+    public int getResourcesReplaced() {
+      return this.resourcesReplaced;
+    }
+
+    /**
+     * 压缩器当前共享的资源个数（包括之前压缩其他容器时记录的）
+     */
+    public int getDistinctResources() {
+      return this.distinctResources;
+    }
+
+    public int getDescriptionsDropped() {
+      return this.descriptionsDropped;
+    }
+
+    public int getDescriptionsShared() {
+      return this.descriptionsShared;
+    }
+
+    public long getNanos() {
+      return this.nanos;
+    }
+
+    /**
+     * 压缩前后full GC后已用堆的差值，未开启测量时为-1
+     */
+    public long getHeapBytesReclaimed() {
+      return this.heapBytesReclaimed;
+    }
+
+    @Override
+    public String toString() {
+      return "Compacted " + this.definitions + " bean definitions (" + this.skippedDefinitions + " skipped): " +
+          this.sourcesDropped + " sources dropped, " + this.resourcesReplaced + " resources replaced by " +
+          this.distinctResources + " shared, " + this.descriptionsDropped + " descriptions dropped, " +
+          this.descriptionsShared + " shared" +
+          (this.heapBytesReclaimed >= 0 ? ", " + this.heapBytesReclaimed + " bytes of heap reclaimed" : "") +
+          " in " + Math.round(this.nanos / 1000.0) / 1000.0 + " ms";
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import com.rhb.spring.parsing.beans.support.BeanDefinitionFingerprint.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * 两组BeanDefinition的差异：新增、删除、变化（以及变化的字段）
+ *
+ * 先用{@link #fingerprint}为每组定义生成指纹快照（可以保存上一次部署的快照），
+ * 再用{@link #compare}一次遍历比较两份快照，只比较64位hash，不逐字段equals
+ *
+ * @author renhuibo
+ * @date 2026/10/19 17:40
+ */
+public final class BeanDefinitionDiff {
+
+  private final List<String> added;
+
+  private final List<String> removed;
+
+  private final Map<String, Set<Field>> changed;
+
+
+  private BeanDefinitionDiff(List<String> added, List<String> removed, Map<String, Set<Field>> changed) {
+    this.added = Collections.unmodifiableList(added);
+    this.removed = Collections.unmodifiableList(removed);
+    this.changed = Collections.unmodifiableMap(changed);
+  }
+
+
+  /**
+   * 为注册中心中的所有定义生成指纹快照（并行计算，结果保持注册顺序）
+   */
+  public static Map<String, BeanDefinitionFingerprint> fingerprint(BeanDefinitionRegistry registry) {
+    String[] beanNames = registry.getBeanDefinitionNames();
+    BeanDefinitionFingerprint[] fingerprints = new BeanDefinitionFingerprint[beanNames.length];
+    IntStream.range(0, beanNames.length).parallel().forEach(i ->
+        fingerprints[i] = BeanDefinitionFingerprint.of(registry.getBeanDefinition(beanNames[i])));
+    Map<String, BeanDefinitionFingerprint> snapshot = new LinkedHashMap<>((int) (beanNames.length / 0.75f) + 1);
+    for (int i = 0; i < beanNames.length; i++) {
+      snapshot.put(beanNames[i], fingerprints[i]);
+    }
+    return snapshot;
+  }
+
+  /**
+   * 为给定的定义生成指纹快照（保持Map的迭代顺序）
+   */
+  public static Map<String, BeanDefinitionFingerprint> fingerprint(Map<String, ? extends BeanDefinition> definitions) {
+    Map<String, BeanDefinitionFingerprint> snapshot = new LinkedHashMap<>((int) (definitions.size() / 0.75f) + 1);
+    for (Map.Entry<String, ? extends BeanDefinition> entry : definitions.entrySet()) {
+      snapshot.put(entry.getKey(), BeanDefinitionFingerprint.of(entry.getValue()));
+    }
+    return snapshot;
+  }
+
+  /**
+   * 比较两份指纹快照
+   * @param before 变更前的快照
+   * @param after 变更后的快照
+   */
+  public static BeanDefinitionDiff compare(Map<String, BeanDefinitionFingerprint> before,
+      Map<String, BeanDefinitionFingerprint> after) {
+
+    List<String> added = new ArrayList<>();
+    Map<String, Set<Field>> changed = new LinkedHashMap<>();
+    int matched = 0;
+    for (Map.Entry<String, BeanDefinitionFingerprint> entry : after.entrySet()) {
+      BeanDefinitionFingerprint previous = before.get(entry.getKey());
+      if (previous == null) {
+        added.add(entry.getKey());
+        continue;
+      }
+      matched++;
+      if (previous.getHash() != entry.getValue().getHash()) {
+        changed.put(entry.getKey(), previous.differingFields(entry.getValue()));
+      }
+    }
+
+    List<String> removed = new ArrayList<>();
+    if (matched < before.size()) {
+      for (String beanName : before.keySet()) {
+        if (!after.containsKey(beanName)) {
+          removed.add(beanName);
+        }
+      }
+    }
+    return new BeanDefinitionDiff(added, removed, changed);
+  }
+
+  /**
+   * 比较两个注册中心当前的定义
+   */
+  public static BeanDefinitionDiff compare(BeanDefinitionRegistry before, BeanDefinitionRegistry after) {
+    return compare(fingerprint(before), fingerprint(after));
+  }
+
+
+  public List<String> getAdded() {
+    return this.added;
+  }
+
+  public List<String> getRemoved() {
+    return this.removed;
+  }
+
+  /**
+   * beanName -> 发生变化的字段
+   */
+  public Map<String, Set<Field>> getChanged() {
+    return this.changed;
+  }
+
+  public boolean isEmpty() {
+    return (this.added.isEmpty() && this.removed.isEmpty() && this.changed.isEmpty());
+  }
+
+  @Override
+  public String toString() {
+    return "BeanDefinitionDiff: added=" + this.added + ", removed=" + this.removed + ", changed=" + this.changed;
+  }
+
+}
@@ -0,0 +1,311 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.base.AttributeAccessor;
+import com.rhb.spring.parsing.beans.base.AttributeAccessorSupport;
+import com.rhb.spring.parsing.beans.base.BeanMetadataAttribute;
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.lang.Nullable;
+
+/**
+ * BeanDefinition的内容指纹：对每一组字段计算一个稳定的64位hash（不依赖对象地址，跨JVM一致），
+ * 指纹相同即认为定义内容没有变化，不同时可以直接比较各字段的hash找出变化的字段
+ *
+ * 覆盖的内容：标量字段、构造参数、属性值、方法覆盖、qualifier、元数据；
+ * 不包含description和来源资源（只是说明性信息，不影响Bean本身）。
+ * 属性值、元数据、qualifier、方法覆盖按集合处理，与顺序无关
+ *
+ * @author renhuibo
+ * @date 2026/10/19 17:05
+ */
+public final class BeanDefinitionFingerprint {
+
+  /**
+   * 参与指纹计算的字段分组
+   */
+  public enum Field {
+    BEAN_CLASS_NAME, PARENT_NAME, SCOPE, FLAGS, AUTOWIRE_MODE, DEPENDENCY_CHECK, ROLE, DEPENDS_ON,
+    FACTORY_BEAN_NAME, FACTORY_METHOD_NAME, INIT_METHOD_NAME, DESTROY_METHOD_NAME,
+    CONSTRUCTOR_ARGUMENTS, PROPERTY_VALUES, METHOD_OVERRIDES, QUALIFIERS, ATTRIBUTES
+  }
+
+  private static final Field[] FIELDS = Field.values();
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+
+  private final long[] fieldHashes;
+
+  private final long hash;
+
+
+  private BeanDefinitionFingerprint(long[] fieldHashes) {
+    this.fieldHashes = fieldHashes;
+    long h = FNV_OFFSET_BASIS;
+    for (long fieldHash : fieldHashes) {
+      h = mix(h, fieldHash);
+    }
+    this.hash = h;
+  }
+
+
+  /**
+   * 计算指定BeanDefinition的指纹
+   */
+  public static BeanDefinitionFingerprint of(BeanDefinition bd) {
+    long[] hashes = new long[FIELDS.length];
+    hashes[Field.BEAN_CLASS_NAME.ordinal()] = hashString(bd.getBeanClassName());
+    hashes[Field.PARENT_NAME.ordinal()] = hashString(bd.getParentName());
+    hashes[Field.SCOPE.ordinal()] = hashString(bd.getScope());
+    hashes[Field.ROLE.ordinal()] = mix(FNV_OFFSET_BASIS, bd.getRole());
+    hashes[Field.DEPENDS_ON.ordinal()] = hashValue(bd.getDependsOn());
+    hashes[Field.FACTORY_BEAN_NAME.ordinal()] = hashString(bd.getFactoryBeanName());
+    hashes[Field.FACTORY_METHOD_NAME.ordinal()] = hashString(bd.getFactoryMethodName());
+    hashes[Field.INIT_METHOD_NAME.ordinal()] = hashString(bd.getInitMethodName());
+    hashes[Field.DESTROY_METHOD_NAME.ordinal()] = hashString(bd.getDestroyMethodName());
+    hashes[Field.ATTRIBUTES.ordinal()] = hashAttributes(bd);
+
+    long flags = flag(bd.isAbstract(), 0) | flag(bd.isLazyInit(), 1) | flag(bd.isAutowireCandidate(), 2) |
+        flag(bd.isPrimary(), 3);
+    if (bd instanceof AbstractBeanDefinition) {
+      AbstractBeanDefinition abd = (AbstractBeanDefinition) bd;
+      flags |= flag(abd.isNonPublicAccessAllowed(), 4) | flag(abd.isLenientConstructorResolution(), 5) |
+          flag(abd.isEnforceInitMethod(), 6) | flag(abd.isEnforceDestroyMethod(), 7) | flag(abd.isSynthetic(), 8);
+      hashes[Field.AUTOWIRE_MODE.ordinal()] = mix(FNV_OFFSET_BASIS, abd.getAutowireMode());
+      hashes[Field.DEPENDENCY_CHECK.ordinal()] = mix(FNV_OFFSET_BASIS, abd.getDependencyCheck());
+      hashes[Field.CONSTRUCTOR_ARGUMENTS.ordinal()] = (abd.hasConstructorArgumentValues() ?
+          hashConstructorArguments(abd.getConstructorArgumentValues()) : NULL_HASH);
+      hashes[Field.PROPERTY_VALUES.ordinal()] = (abd.hasPropertyValues() ?
+          hashPropertyValues(abd.getPropertyValues()) : NULL_HASH);
+      hashes[Field.METHOD_OVERRIDES.ordinal()] = hashMethodOverrides(abd);
+      hashes[Field.QUALIFIERS.ordinal()] = hashQualifiers(abd);
+    }
+    else {
+      hashes[Field.CONSTRUCTOR_ARGUMENTS.ordinal()] = hashConstructorArguments(bd.getConstructorArgumentValues());
+      hashes[Field.PROPERTY_VALUES.ordinal()] = hashPropertyValues(bd.getPropertyValues());
+      hashes[Field.METHOD_OVERRIDES.ordinal()] = NULL_HASH;
+      hashes[Field.QUALIFIERS.ordinal()] = NULL_HASH;
+    }
+    hashes[Field.FLAGS.ordinal()] = mix(FNV_OFFSET_BASIS, flags);
+    return new BeanDefinitionFingerprint(hashes);
+  }
+
+
+  /**
+   * 整体指纹
+   */
+  public long getHash() {
+    return this.hash;
+  }
+
+  public long getFieldHash(Field field) {
+    return this.fieldHashes[field.ordinal()];
+  }
+
+  /**
+   * 与另一个指纹相比，hash不同的字段；完全相同时返回空集合
+   */
+  public Set<Field> differingFields(BeanDefinitionFingerprint other) {
+    Set<Field> fields = EnumSet.noneOf(Field.class);
+    if (this.hash != other.hash) {
+      for (int i = 0; i < this.fieldHashes.length; i++) {
+        if (this.fieldHashes[i] != other.fieldHashes[i]) {
+          fields.add(FIELDS[i]);
+        }
+      }
+    }
+    return fields;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return (this == other || (other instanceof BeanDefinitionFingerprint &&
+        this.hash == ((BeanDefinitionFingerprint) other).hash &&
+        Arrays.equals(this.fieldHashes, ((BeanDefinitionFingerprint) other).fieldHashes)));
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.hash);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%016x", this.hash);
+  }
+
+
+  /*********************************************hash计算**************************************/
+  private static long flag(boolean value, int bit) {
+    return (value ? 1L << bit : 0L);
+  }
+
+  /**
+   * 把一个64位值混入当前hash（splitmix64的finalizer，保证每一位都充分扩散）
+   */
+  private static long mix(long h, long value) {
+    long z = (h ^ value) * FNV_PRIME + 0x9e3779b97f4a7c15L;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  private static long hashString(@Nullable String value) {
+    if (value == null) {
+      return NULL_HASH;
+    }
+    long h = FNV_OFFSET_BASIS;
+    for (int i = 0; i < value.length(); i++) {
+      h = (h ^ value.charAt(i)) * FNV_PRIME;
+    }
+    return mix(h, value.length());
+  }
+
+  private static long hashConstructorArguments(ConstructorArgumentValues cargs) {
+    long indexed = 0L;
+    for (Map.Entry<Integer, ValueHolder> entry : cargs.getIndexedArgumentValues().entrySet()) {
+      indexed += mix(mix(FNV_OFFSET_BASIS, entry.getKey()), hashValueHolder(entry.getValue()));
+    }
+    long h = mix(FNV_OFFSET_BASIS, indexed);
+    for (ValueHolder holder : cargs.getGenericArgumentValues()) {
+      h = mix(h, hashValueHolder(holder));
+    }
+    return h;
+  }
+
+  private static long hashValueHolder(ValueHolder holder) {
+    long h = hashValue(holder.getValue());
+    h = mix(h, hashString(holder.getType()));
+    return mix(h, hashString(holder.getName()));
+  }
+
+  private static long hashPropertyValues(MutablePropertyValues pvs) {
+    long sum = 0L;
+    for (PropertyValue pv : pvs.getPropertyValueList()) {
+      sum += mix(hashString(pv.getName()), hashValue(pv.getValue()));
+    }
+    return mix(FNV_OFFSET_BASIS, sum);
+  }
+
+  private static long hashMethodOverrides(AbstractBeanDefinition abd) {
+    if (!abd.hasMethodOverrides()) {
+      return NULL_HASH;
+    }
+    long sum = 0L;
+    for (MethodOverride override : abd.getMethodOverrides().getOverrides()) {
+      sum += mix(hashString(override.getClass().getName()), hashString(override.getMethodName()));
+    }
+    return mix(FNV_OFFSET_BASIS, sum);
+  }
+
+  private static long hashQualifiers(AbstractBeanDefinition abd) {
+    long sum = 0L;
+    for (AutowireCandidateQualifier qualifier : abd.getQualifierView()) {
+      sum += hashValue(qualifier);
+    }
+    return mix(FNV_OFFSET_BASIS, sum);
+  }
+
+  private static long hashAttributes(AttributeAccessor accessor) {
+    long sum = 0L;
+    for (String name : AttributeAccessorSupport.attributeNamesOf(accessor)) {
+      sum += mix(hashString(name), hashValue(accessor.getAttribute(name)));
+    }
+    return mix(FNV_OFFSET_BASIS, sum);
+  }
+
+  /**
+   * 配置值的hash：常见的配置类型按内容计算，其余类型退化为类名 + toString()
+   */
+  private static long hashValue(@Nullable Object value) {
+    if (value == null) {
+      return NULL_HASH;
+    }
+    if (value instanceof String) {
+      return hashString((String) value);
+    }
+    if (value instanceof Boolean) {
+      return mix(FNV_OFFSET_BASIS, (Boolean) value ? 1L : 2L);
+    }
+    if (value instanceof Double || value instanceof Float) {
+      return mix(hashString(value.getClass().getName()), Double.doubleToLongBits(((Number) value).doubleValue()));
+    }
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return mix(hashString(value.getClass().getName()), ((Number) value).longValue());
+    }
+    if (value instanceof TypedStringValue) {
+      TypedStringValue typed = (TypedStringValue) value;
+      return mix(hashString(typed.getValue()), hashString(typed.getTargetTypeName()));
+    }
+    if (value instanceof BeanReference) {
+      return mix(hashString(value.getClass().getName()), hashString(((BeanReference) value).getBeanName()));
+    }
+    if (value instanceof BeanMetadataAttribute) {
+      BeanMetadataAttribute attribute = (BeanMetadataAttribute) value;
+      return mix(hashString(attribute.getName()), hashValue(attribute.getValue()));
+    }
+    if (value instanceof AutowireCandidateQualifier) {
+      AutowireCandidateQualifier qualifier = (AutowireCandidateQualifier) value;
+      long sum = 0L;
+      // Spring的AutowireCandidateQualifier只有复制数组的attributeNames()
+      for (String name : qualifier.attributeNames()) {
+        sum += mix(hashString(name), hashValue(qualifier.getAttribute(name)));
+      }
+      return mix(hashString(qualifier.getTypeName()), sum);
+    }
+    if (value instanceof Class) {
+      return hashString(((Class<?>) value).getName());
+    }
+    if (value instanceof Enum) {
+      return mix(hashString(value.getClass().getName()), hashString(((Enum<?>) value).name()));
+    }
+    if (value instanceof Map) {
+      long sum = 0L;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        sum += mix(hashValue(entry.getKey()), hashValue(entry.getValue()));
+      }
+      return mix(hashString("map"), sum);
+    }
+    if (value instanceof Set) {
+      long sum = 0L;
+      for (Object element : (Set<?>) value) {
+        sum += hashValue(element);
+      }
+      return mix(hashString("set"), sum);
+    }
+    if (value instanceof Collection) {
+      long h = hashString("list");
+      for (Object element : (Collection<?>) value) {
+        h = mix(h, hashValue(element));
+      }
+      return h;
+    }
+    if (value.getClass().isArray()) {
+      long h = hashString("array");
+      int length = Array.getLength(value);
+      for (int i = 0; i < length; i++) {
+        h = mix(h, hashValue(Array.get(value, i)));
+      }
+      return h;
+    }
+    return mix(hashString(value.getClass().getName()), hashString(value.toString()));
+  }
+
+}
@@ -0,0 +1,156 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * 按资源增量重新加载BeanDefinition
+ *
+ * 只重新解析变化的资源，用指纹比较该资源中原有的定义，只注册新增和变化的定义、移除消失的定义；
+ * 注册中心是SimpleBeanFactory时，替换定义会清除它和子定义的合并缓存，这里再把受影响的定义重新合并
+ *
+ * @author renhuibo
+ * @date 2026/10/19 18:52
+ */
+public class IncrementalDefinitionReloader {
+
+  private static final Log logger = LogFactory.getLog(IncrementalDefinitionReloader.class);
+
+  private final BeanDefinitionRegistry registry;
+
+  private final ResourceDefinitionLoader loader;
+
+  private final ResourceDefinitionIndex index;
+
+  private boolean eagerlyMerge = true;
+
+
+  public IncrementalDefinitionReloader(BeanDefinitionRegistry registry, ResourceDefinitionLoader loader) {
+    this(registry, loader, ResourceDefinitionIndex.build(registry));
+  }
+
+  public IncrementalDefinitionReloader(BeanDefinitionRegistry registry, ResourceDefinitionLoader loader,
+      ResourceDefinitionIndex index) {
+
+    Assert.notNull(registry, "BeanDefinitionRegistry must not be null");
+    Assert.notNull(loader, "ResourceDefinitionLoader must not be null");
+    Assert.notNull(index, "ResourceDefinitionIndex must not be null");
+    this.registry = registry;
+    this.loader = loader;
+    this.index = index;
+  }
+
+
+  /**
+   * 重新加载后是否立即重新合并受影响的定义（默认true），否则等到下次获取时再合并
+   */
+  public void setEagerlyMerge(boolean eagerlyMerge) {
+    this.eagerlyMerge = eagerlyMerge;
+  }
+
+  public ResourceDefinitionIndex getIndex() {
+    return this.index;
+  }
+
+  /**
+   * 重新解析资源并应用差异
+   * @return 该资源中定义的差异
+   */
+  public synchronized BeanDefinitionDiff reload(Resource resource) throws BeanDefinitionStoreException {
+    Assert.notNull(resource, "Resource must not be null");
+    long startTime = System.nanoTime();
+
+    Map<String, BeanDefinition> loaded;
+    try {
+      loaded = this.loader.loadBeanDefinitions(resource);
+    }
+    catch (IOException ex) {
+      throw new BeanDefinitionStoreException("IOException parsing bean definitions from " + resource, ex);
+    }
+    for (BeanDefinition bd : loaded.values()) {
+      if (bd instanceof AbstractBeanDefinition && ((AbstractBeanDefinition) bd).getResource() == null) {
+        ((AbstractBeanDefinition) bd).setResource(resource);
+      }
+    }
+
+    Map<String, BeanDefinition> current = new LinkedHashMap<>();
+    for (String beanName : this.index.getBeanNames(resource)) {
+      if (this.registry.containsBeanDefinition(beanName)) {
+        current.put(beanName, this.registry.getBeanDefinition(beanName));
+      }
+    }
+    BeanDefinitionDiff diff = BeanDefinitionDiff.compare(
+        BeanDefinitionDiff.fingerprint(current), BeanDefinitionDiff.fingerprint(loaded));
+
+    for (String beanName : diff.getRemoved()) {
+      if (this.registry.containsBeanDefinition(beanName)) {
+        this.registry.removeBeanDefinition(beanName);
+      }
+      this.index.unregister(beanName);
+    }
+    for (String beanName : diff.getAdded()) {
+      register(beanName, loaded.get(beanName), resource);
+    }
+    for (String beanName : diff.getChanged().keySet()) {
+      register(beanName, loaded.get(beanName), resource);
+    }
+
+    if (this.eagerlyMerge && this.registry instanceof SimpleBeanFactory) {
+      remerge((SimpleBeanFactory) this.registry, diff);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Reloaded " + resource + " in " + (System.nanoTime() - startTime) / 1000 + " us: " + diff);
+    }
+    return diff;
+  }
+
+  private void register(String beanName, BeanDefinition bd, Resource resource) {
+    this.registry.registerBeanDefinition(beanName, bd);
+    this.index.register(beanName, resource);
+  }
+
+  /**
+   * 重新合并变化、新增的定义以及它们的全部子孙定义
+   */
+  private void remerge(SimpleBeanFactory beanFactory, BeanDefinitionDiff diff) {
+    Set<String> affected = new LinkedHashSet<>();
+    Deque<String> pending = new ArrayDeque<>(diff.getChanged().keySet());
+    pending.addAll(diff.getAdded());
+    pending.addAll(diff.getRemoved());
+    while (!pending.isEmpty()) {
+      String beanName = pending.poll();
+      if (affected.add(beanName)) {
+        pending.addAll(beanFactory.getChildBeanNames(beanName));
+      }
+    }
+    for (String beanName : affected) {
+      if (!beanFactory.containsBeanDefinition(beanName)) {
+        continue;
+      }
+      try {
+        beanFactory.getMergedBeanDefinition(beanName);
+      }
+      catch (RuntimeException ex) {
+        // parent可能在其他资源中、还未加载，留到获取bean时再报错
+        if (logger.isDebugEnabled()) {
+          logger.debug("Could not re-merge bean definition '" + beanName + "' after reload", ex);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,231 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import com.rhb.spring.parsing.beans.offheap.OffHeapBeanDefinition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * 分层的BeanDefinition注册中心：每一层只保存本层注册或覆盖的定义，查找时逐层向下，不复制定义
+ *
+ * 典型用法是多租户：基础层加载一次公共定义，每个租户一层，只有租户覆盖的定义才在该层复制一份
+ * （copy-on-write，见{@link #overrideBeanDefinition}），内存和创建时间与覆盖的数量成正比，与租户数量无关。
+ * 租户的SimpleBeanFactory通过setParentBeanDefinitionRegistry以租户层作为定义来源
+ *
+ * 从下层查到的定义是各层共享的同一个实例，不能直接修改；需要修改时用
+ * {@link #getBeanDefinitionForUpdate}在本层得到副本。在某层移除下层的定义只在本层隐藏它
+ *
+ * 注册中心不通知使用它的容器：某层（包括基础层）的定义在容器合并过它之后被注册、覆盖或移除时，
+ * 上层租户容器的合并缓存和单例不会失效，仍使用旧的定义。层应在获取bean之前准备好，
+ * 之后的修改需要重新创建受影响的租户容器
+ *
+ * @author renhuibo
+ * @date 2026/10/20 11:50
+ */
+public class LayeredBeanDefinitionRegistry implements BeanDefinitionRegistry {
+
+  @Nullable
+  private final BeanDefinitionRegistry parent;
+
+  private final Map<String, BeanDefinition> localDefinitions = new ConcurrentHashMap<>(64);
+
+  /**
+   * 本层的注册顺序（由localDefinitions的锁保护）
+   */
+  private final List<String> localBeanNames = new ArrayList<>(64);
+
+  /**
+   * 在本层被移除的下层定义
+   */
+  private final Set<String> hiddenBeanNames = Collections.newSetFromMap(new ConcurrentHashMap<>(8));
+
+
+  /**
+   * 创建基础层
+   */
+  public LayeredBeanDefinitionRegistry() {
+    this.parent = null;
+  }
+
+  /**
+   * 创建parent之上的一层，parent可以是任意注册中心
+   */
+  public LayeredBeanDefinitionRegistry(BeanDefinitionRegistry parent) {
+    Assert.notNull(parent, "Parent BeanDefinitionRegistry must not be null");
+    this.parent = parent;
+  }
+
+
+  /**
+   * 在本层之上创建新的一层
+   */
+  public LayeredBeanDefinitionRegistry createLayer() {
+    return new LayeredBeanDefinitionRegistry(this);
+  }
+
+  @Nullable
+  public BeanDefinitionRegistry getParent() {
+    return this.parent;
+  }
+
+  /**
+   * 用overrides覆盖下层的同名定义：复制下层的定义到本层，再调用overrideFrom
+   * @return 本层的定义（已注册）
+   */
+  public AbstractBeanDefinition overrideBeanDefinition(String beanName, BeanDefinition overrides)
+      throws NoSuchBeanDefinitionException {
+
+    Assert.notNull(overrides, "Override BeanDefinition must not be null");
+    AbstractBeanDefinition bd = getBeanDefinitionForUpdate(beanName);
+    bd.overrideFrom(overrides instanceof OffHeapBeanDefinition ?
+        ((OffHeapBeanDefinition) overrides).toBeanDefinition() : overrides);
+    return bd;
+  }
+
+  /**
+   * 返回可以修改的本层定义：本层已有时直接返回，否则复制下层的定义并注册到本层。
+   * 与registerBeanDefinition在同一个锁内完成，并发调用得到同一个副本
+   */
+  public AbstractBeanDefinition getBeanDefinitionForUpdate(String beanName) throws NoSuchBeanDefinitionException {
+    synchronized (this.localDefinitions) {
+      BeanDefinition local = this.localDefinitions.get(beanName);
+      if (local instanceof AbstractBeanDefinition) {
+        return (AbstractBeanDefinition) local;
+      }
+      AbstractBeanDefinition copy = copyOf(getBeanDefinition(beanName));
+      registerBeanDefinition(beanName, copy);
+      return copy;
+    }
+  }
+
+  private static AbstractBeanDefinition copyOf(BeanDefinition bd) {
+    if (bd instanceof OffHeapBeanDefinition) {
+      return ((OffHeapBeanDefinition) bd).toBeanDefinition();
+    }
+    if (bd instanceof AbstractBeanDefinition) {
+      return ((AbstractBeanDefinition) bd).cloneBeanDefinition();
+    }
+    return new GenericBeanDefinition(bd);
+  }
+
+  /**
+   * 定义是否在本层注册（新增或覆盖）
+   */
+  public boolean isLocalBeanDefinition(String beanName) {
+    return this.localDefinitions.containsKey(beanName);
+  }
+
+  /**
+   * 本层注册的beanName，按注册顺序
+   */
+  public String[] getLocalBeanDefinitionNames() {
+    synchronized (this.localDefinitions) {
+      return StringUtils.toStringArray(this.localBeanNames);
+    }
+  }
+
+  public int getLocalBeanDefinitionCount() {
+    return this.localDefinitions.size();
+  }
+
+
+  /*******************************BeanDefinitionRegistry的实现************************************/
+  @Override
+  public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition)
+      throws BeanDefinitionStoreException {
+
+    Assert.hasText(beanName, "Bean name must not be empty");
+    Assert.notNull(beanDefinition, "BeanDefinition must not be null");
+    synchronized (this.localDefinitions) {
+      if (this.localDefinitions.put(beanName, beanDefinition) == null) {
+        this.localBeanNames.add(beanName);
+      }
+      this.hiddenBeanNames.remove(beanName);
+    }
+  }
+
+  @Override
+  public void removeBeanDefinition(String beanName) throws NoSuchBeanDefinitionException {
+    Assert.hasText(beanName, "'beanName' must not be empty");
+    synchronized (this.localDefinitions) {
+      boolean removed = (this.localDefinitions.remove(beanName) != null);
+      if (removed) {
+        this.localBeanNames.remove(beanName);
+      }
+      if (containsInParent(beanName)) {
+        this.hiddenBeanNames.add(beanName);
+      }
+      else if (!removed) {
+        throw new NoSuchBeanDefinitionException(beanName);
+      }
+    }
+  }
+
+  @Override
+  public BeanDefinition getBeanDefinition(String beanName) throws NoSuchBeanDefinitionException {
+    BeanDefinition bd = this.localDefinitions.get(beanName);
+    if (bd != null) {
+      return bd;
+    }
+    if (this.parent == null || this.hiddenBeanNames.contains(beanName)) {
+      throw new NoSuchBeanDefinitionException(beanName);
+    }
+    return this.parent.getBeanDefinition(beanName);
+  }
+
+  @Override
+  public boolean containsBeanDefinition(String beanName) {
+    Assert.notNull(beanName, "Bean name must not be null");
+    return (this.localDefinitions.containsKey(beanName) || containsInParent(beanName));
+  }
+
+  private boolean containsInParent(String beanName) {
+    return (this.parent != null && !this.hiddenBeanNames.contains(beanName) &&
+        this.parent.containsBeanDefinition(beanName));
+  }
+
+  /**
+   * 下层的beanName在前（覆盖的定义保持下层中的位置），本层新增的在后
+   */
+  @Override
+  public String[] getBeanDefinitionNames() {
+    if (this.parent == null) {
+      return getLocalBeanDefinitionNames();
+    }
+    String[] parentNames = this.parent.getBeanDefinitionNames();
+    String[] localNames = getLocalBeanDefinitionNames();
+    List<String> names = new ArrayList<>(parentNames.length + localNames.length);
+    for (String beanName : parentNames) {
+      if (!this.hiddenBeanNames.contains(beanName)) {
+        names.add(beanName);
+      }
+    }
+    for (String beanName : localNames) {
+      if (!this.parent.containsBeanDefinition(beanName)) {
+        names.add(beanName);
+      }
+    }
+    return StringUtils.toStringArray(names);
+  }
+
+  @Override
+  public int getBeanDefinitionCount() {
+    if (this.parent == null) {
+      return this.localDefinitions.size();
+    }
+    return getBeanDefinitionNames().length;
+  }
+
+}
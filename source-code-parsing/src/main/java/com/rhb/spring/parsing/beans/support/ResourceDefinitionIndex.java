@@ -0,0 +1,107 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 资源 -> 该资源中定义的beanName 的反向索引
+ *
+ * 每个AbstractBeanDefinition都通过getResource()记录了来源，但没有地方按资源查找定义；
+ * 有了这个索引，某个配置文件变化时只需要处理该文件中的定义
+ *
+ * @author renhuibo
+ * @date 2026/10/19 18:30
+ */
+public class ResourceDefinitionIndex {
+
+  private final Map<Resource, Set<String>> beanNamesByResource = new ConcurrentHashMap<>(64);
+
+  private final Map<String, Resource> resourceByBeanName = new ConcurrentHashMap<>(256);
+
+
+  /**
+   * 按注册中心当前的定义建立索引（没有来源资源的定义不会被索引）
+   */
+  public static ResourceDefinitionIndex build(BeanDefinitionRegistry registry) {
+    ResourceDefinitionIndex index = new ResourceDefinitionIndex();
+    for (String beanName : registry.getBeanDefinitionNames()) {
+      Resource resource = resourceOf(registry.getBeanDefinition(beanName));
+      if (resource != null) {
+        index.register(beanName, resource);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * 定义的来源资源，BeanDefinitionResource（由其他定义派生）不作为文件资源索引
+   */
+  @Nullable
+  static Resource resourceOf(BeanDefinition bd) {
+    if (bd instanceof AbstractBeanDefinition && bd.getOriginatingBeanDefinition() == null) {
+      return ((AbstractBeanDefinition) bd).getResource();
+    }
+    return null;
+  }
+
+
+  public synchronized void register(String beanName, Resource resource) {
+    Assert.notNull(beanName, "Bean name must not be null");
+    Assert.notNull(resource, "Resource must not be null");
+    Resource previous = this.resourceByBeanName.put(beanName, resource);
+    if (previous != null && !previous.equals(resource)) {
+      removeFrom(previous, beanName);
+    }
+    this.beanNamesByResource.computeIfAbsent(resource, r -> Collections.synchronizedSet(new LinkedHashSet<>()))
+        .add(beanName);
+  }
+
+  public synchronized void unregister(String beanName) {
+    Resource previous = this.resourceByBeanName.remove(beanName);
+    if (previous != null) {
+      removeFrom(previous, beanName);
+    }
+  }
+
+  private void removeFrom(Resource resource, String beanName) {
+    Set<String> beanNames = this.beanNamesByResource.get(resource);
+    if (beanNames != null) {
+      beanNames.remove(beanName);
+      if (beanNames.isEmpty()) {
+        this.beanNamesByResource.remove(resource);
+      }
+    }
+  }
+
+  /**
+   * 资源中定义的beanName（按注册顺序，返回副本）
+   */
+  public Set<String> getBeanNames(Resource resource) {
+    Set<String> beanNames = this.beanNamesByResource.get(resource);
+    if (beanNames == null) {
+      return Collections.emptySet();
+    }
+    synchronized (beanNames) {
+      return new LinkedHashSet<>(beanNames);
+    }
+  }
+
+  @Nullable
+  public Resource getResource(String beanName) {
+    return this.resourceByBeanName.get(beanName);
+  }
+
+  public Set<Resource> getResources() {
+    return Collections.unmodifiableSet(this.beanNamesByResource.keySet());
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import java.io.IOException;
+import java.util.Map;
+import org.springframework.core.io.Resource;
+
+/**
+ * 从单个资源中解析出BeanDefinition（beanName -> 定义，按定义顺序）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 18:41
+ */
+@FunctionalInterface
+public interface ResourceDefinitionLoader {
+
+  Map<String, BeanDefinition> loadBeanDefinitions(Resource resource) throws IOException;
+}
@@ -0,0 +1,181 @@
+package com.rhb.spring.parsing.beans.support;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 基于NIO WatchService监听文件资源的变化
+ *
+ * 按目录注册监听，同一文件在debounce时间内的多次修改事件（编辑器保存时常见）只回调一次；
+ * 回调在{@link #start()}启动的后台守护线程中执行，通常交给{@link IncrementalDefinitionReloader#reload}
+ *
+ * @author renhuibo
+ * @date 2026/10/19 19:10
+ */
+public class ResourceWatcher implements Closeable {
+
+  private static final Log logger = LogFactory.getLog(ResourceWatcher.class);
+
+  private final WatchService watchService;
+
+  private final Consumer<Resource> callback;
+
+  private final long debounceMillis;
+
+  /** 目录 -> (文件 -> 资源) */
+  private final Map<Path, Map<Path, Resource>> watchedFiles = new ConcurrentHashMap<>();
+
+  private final Map<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+
+  @Nullable
+  private Thread watchThread;
+
+  private volatile boolean running = true;
+
+
+  public ResourceWatcher(Consumer<Resource> callback) throws IOException {
+    this(callback, 100);
+  }
+
+  public ResourceWatcher(Consumer<Resource> callback, long debounceMillis) throws IOException {
+    Assert.notNull(callback, "Callback must not be null");
+    Assert.isTrue(debounceMillis >= 0, "'debounceMillis' must not be negative");
+    this.callback = callback;
+    this.debounceMillis = debounceMillis;
+    this.watchService = FileSystems.getDefault().newWatchService();
+  }
+
+
+  /**
+   * 启动监听线程（不在构造方法中启动，避免线程看到未构造完成的对象）；重复调用无效
+   */
+  public synchronized void start() {
+    Assert.state(this.running, "ResourceWatcher has been closed");
+    if (this.watchThread == null) {
+      this.watchThread = new Thread(this::run, "ResourceWatcher");
+      this.watchThread.setDaemon(true);
+      this.watchThread.start();
+    }
+  }
+
+
+  /**
+   * 监听资源对应的文件，不是文件系统中的资源（如jar中的classpath资源）返回false
+   */
+  public boolean watch(Resource resource) throws IOException {
+    File file;
+    try {
+      file = resource.getFile();
+    }
+    catch (IOException ex) {
+      return false;
+    }
+    Path path = file.toPath().toAbsolutePath().normalize();
+    Path dir = path.getParent();
+    if (dir == null) {
+      return false;
+    }
+    synchronized (this.watchedFiles) {
+      Map<Path, Resource> files = this.watchedFiles.get(dir);
+      if (files == null) {
+        WatchKey key = dir.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchKeys.put(key, dir);
+        files = new ConcurrentHashMap<>();
+        this.watchedFiles.put(dir, files);
+      }
+      files.put(path, resource);
+    }
+    return true;
+  }
+
+  /**
+   * 监听注册中心索引到的全部文件资源
+   */
+  public void watchAll(ResourceDefinitionIndex index) throws IOException {
+    for (Resource resource : index.getResources()) {
+      watch(resource);
+    }
+  }
+
+  private void run() {
+    // 文件 -> 最近一次事件时间，超过debounce没有新事件才回调
+    Map<Path, Long> pending = new LinkedHashMap<>();
+    while (this.running) {
+      WatchKey key;
+      try {
+        key = (pending.isEmpty() ? this.watchService.take() :
+            this.watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS));
+      }
+      catch (InterruptedException | ClosedWatchServiceException ex) {
+        return;
+      }
+      if (key != null) {
+        Path dir = this.watchKeys.get(key);
+        Map<Path, Resource> files = (dir != null ? this.watchedFiles.get(dir) : null);
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (files != null && event.context() instanceof Path) {
+            Path path = dir.resolve((Path) event.context());
+            if (files.containsKey(path)) {
+              pending.remove(path);
+              pending.put(path, System.nanoTime());
+            }
+          }
+        }
+        key.reset();
+      }
+      firePending(pending);
+    }
+  }
+
+  private void firePending(Map<Path, Long> pending) {
+    long now = System.nanoTime();
+    for (Iterator<Map.Entry<Path, Long>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+      Map.Entry<Path, Long> entry = it.next();
+      if (TimeUnit.NANOSECONDS.toMillis(now - entry.getValue()) < this.debounceMillis) {
+        continue;
+      }
+      it.remove();
+      Map<Path, Resource> files = this.watchedFiles.get(entry.getKey().getParent());
+      Resource resource = (files != null ? files.get(entry.getKey()) : null);
+      if (resource == null) {
+        continue;
+      }
+      try {
+        this.callback.accept(resource);
+      }
+      catch (RuntimeException ex) {
+        logger.warn("Failed to process change of " + resource, ex);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    this.running = false;
+    this.watchService.close();
+    if (this.watchThread != null) {
+      this.watchThread.interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,622 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.base.BeanMetadataAttribute;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionDefaults;
+import org.springframework.beans.factory.support.ManagedArray;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedProperties;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * 用StAX逐个解析spring-beans格式XML中的顶层&lt;bean&gt;元素，每解析完一个元素就交给consumer，不构建整棵文档树
+ *
+ * 支持bean的常用属性、description、property、constructor-arg、qualifier、meta，以及value、null、ref、idref、
+ * list、set、array、map、props这些值元素；不支持内部bean、lookup-method、replaced-method（抛出
+ * BeanDefinitionStoreException）。alias、import和其他命名空间的元素会被跳过，嵌套&lt;beans&gt;的profile不做判断
+ *
+ * &lt;beans&gt;的default-lazy-init、default-autowire、default-init-method、default-destroy-method按作用域生效：
+ * 嵌套的&lt;beans&gt;没有指定（或为default）时沿用外层的值，bean自己的属性优先；
+ * default-merge="true"和default-autowire-candidates不支持，抛出BeanDefinitionStoreException
+ *
+ * @author renhuibo
+ * @date 2026/10/20 18:40
+ */
+final class StaxBeanDefinitionParser {
+
+  private static final Log logger = LogFactory.getLog(StaxBeanDefinitionParser.class);
+
+  private static final String BEANS_NAMESPACE_URI = "http://www.springframework.org/schema/beans";
+
+  private static final String MULTI_VALUE_ATTRIBUTE_DELIMITERS = ",; ";
+
+  private static final String TRUE_VALUE = "true";
+
+  private static final String DEFAULT_VALUE = "default";
+
+  private final XMLInputFactory inputFactory;
+
+
+  StaxBeanDefinitionParser() {
+    XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    this.inputFactory = inputFactory;
+  }
+
+
+  /**
+   * 解析一个资源，定义按文档顺序交给consumer
+   */
+  void parse(Resource resource, DefinitionConsumer consumer) throws IOException, InterruptedException {
+    try (InputStream inputStream = resource.getInputStream()) {
+      XMLStreamReader reader = this.inputFactory.createXMLStreamReader(inputStream);
+      try {
+        Set<String> usedNames = new HashSet<>(256);
+        // 每层<beans>的默认值，栈顶是当前作用域
+        Deque<BeanDefinitionDefaults> defaultsStack = new ArrayDeque<>(4);
+        while (reader.hasNext()) {
+          int event = reader.next();
+          if (event == XMLStreamConstants.END_ELEMENT) {
+            // 其他元素都在处理开始标签时整体读完，这里只会遇到</beans>
+            if (isBeansElement(reader) && "beans".equals(reader.getLocalName())) {
+              defaultsStack.pop();
+            }
+            continue;
+          }
+          if (event != XMLStreamConstants.START_ELEMENT) {
+            continue;
+          }
+          if (!isBeansElement(reader)) {
+            skipElement(reader);
+          }
+          else if ("bean".equals(reader.getLocalName())) {
+            BeanDefinitionDefaults defaults = defaultsStack.peek();
+            consumer.accept(parseBean(reader, resource, usedNames,
+                (defaults != null ? defaults : new BeanDefinitionDefaults())));
+          }
+          else if ("beans".equals(reader.getLocalName())) {
+            defaultsStack.push(parseDefaults(reader, resource, defaultsStack.peek()));
+          }
+          else {
+            // description、alias、import等：嵌套的<beans>继续向下解析，其余跳过
+            if (logger.isDebugEnabled() && !"description".equals(reader.getLocalName())) {
+              logger.debug("Skipping <" + reader.getLocalName() + "> in " + resource.getDescription());
+            }
+            skipElement(reader);
+          }
+        }
+      }
+      finally {
+        reader.close();
+      }
+    }
+    catch (XMLStreamException ex) {
+      throw new BeanDefinitionStoreException(resource.getDescription(),
+          "Invalid XML in " + resource.getDescription() + ": " + ex.getMessage(), ex);
+    }
+  }
+
+  private static boolean isBeansElement(XMLStreamReader reader) {
+    String namespaceUri = reader.getNamespaceURI();
+    return (!StringUtils.hasLength(namespaceUri) || BEANS_NAMESPACE_URI.equals(namespaceUri));
+  }
+
+  /**
+   * 当前&lt;beans&gt;元素的默认值，没有指定或为default时沿用外层（最外层为Spring的默认值）
+   */
+  private static BeanDefinitionDefaults parseDefaults(XMLStreamReader reader, Resource resource,
+      @Nullable BeanDefinitionDefaults parent) throws XMLStreamException {
+
+    BeanDefinitionDefaults defaults = new BeanDefinitionDefaults();
+    String lazyInit = reader.getAttributeValue(null, "default-lazy-init");
+    if (lazyInit == null || DEFAULT_VALUE.equals(lazyInit)) {
+      defaults.setLazyInit(parent != null && parent.isLazyInit());
+    }
+    else {
+      defaults.setLazyInit(TRUE_VALUE.equals(lazyInit));
+    }
+    String autowire = reader.getAttributeValue(null, "default-autowire");
+    if (autowire == null || DEFAULT_VALUE.equals(autowire)) {
+      defaults.setAutowireMode(parent != null ? parent.getAutowireMode() : AbstractBeanDefinition.AUTOWIRE_NO);
+    }
+    else {
+      defaults.setAutowireMode(autowireMode(autowire));
+    }
+    String initMethod = reader.getAttributeValue(null, "default-init-method");
+    defaults.setInitMethodName(StringUtils.hasLength(initMethod) ? initMethod :
+        (parent != null ? parent.getInitMethodName() : null));
+    String destroyMethod = reader.getAttributeValue(null, "default-destroy-method");
+    defaults.setDestroyMethodName(StringUtils.hasLength(destroyMethod) ? destroyMethod :
+        (parent != null ? parent.getDestroyMethodName() : null));
+
+    if (TRUE_VALUE.equals(reader.getAttributeValue(null, "default-merge"))) {
+      throw error(resource, reader, null, "default-merge=\"true\" is not supported by the streaming reader");
+    }
+    if (StringUtils.hasText(reader.getAttributeValue(null, "default-autowire-candidates"))) {
+      throw error(resource, reader, null, "default-autowire-candidates is not supported by the streaming reader");
+    }
+    return defaults;
+  }
+
+  private ParsedBeanDefinition parseBean(XMLStreamReader reader, Resource resource, Set<String> usedNames,
+      BeanDefinitionDefaults defaults) throws XMLStreamException {
+
+    int line = reader.getLocation().getLineNumber();
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setResource(resource);
+    bd.applyDefaults(defaults);
+    String id = null;
+    String nameAttribute = null;
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      String value = reader.getAttributeValue(i);
+      switch (reader.getAttributeLocalName(i)) {
+        case "id":
+          id = value;
+          break;
+        case "name":
+          nameAttribute = value;
+          break;
+        case "class":
+          bd.setBeanClassName(value.trim());
+          break;
+        case "parent":
+          bd.setParentName(value);
+          break;
+        case "scope":
+          bd.setScope(value);
+          break;
+        case "abstract":
+          bd.setAbstract(TRUE_VALUE.equals(value));
+          break;
+        case "lazy-init":
+          if (!DEFAULT_VALUE.equals(value)) {
+            bd.setLazyInit(TRUE_VALUE.equals(value));
+          }
+          break;
+        case "autowire":
+          if (!DEFAULT_VALUE.equals(value)) {
+            bd.setAutowireMode(autowireMode(value));
+          }
+          break;
+        case "depends-on":
+          bd.setDependsOn(StringUtils.tokenizeToStringArray(value, MULTI_VALUE_ATTRIBUTE_DELIMITERS));
+          break;
+        case "autowire-candidate":
+          if (!DEFAULT_VALUE.equals(value)) {
+            bd.setAutowireCandidate(TRUE_VALUE.equals(value));
+          }
+          break;
+        case "primary":
+          bd.setPrimary(TRUE_VALUE.equals(value));
+          break;
+        case "init-method":
+          bd.setInitMethodName(value);
+          bd.setEnforceInitMethod(true);
+          break;
+        case "destroy-method":
+          bd.setDestroyMethodName(value);
+          bd.setEnforceDestroyMethod(true);
+          break;
+        case "factory-method":
+          bd.setFactoryMethodName(value);
+          break;
+        case "factory-bean":
+          bd.setFactoryBeanName(value);
+          break;
+        default:
+          // 其他命名空间的属性（例如p:、c:）不支持，忽略
+      }
+    }
+    // 没有id时使用name中的第一个（其余别名不支持，忽略）
+    String beanName = (StringUtils.hasText(id) ? id : null);
+    if (beanName == null && StringUtils.hasText(nameAttribute)) {
+      beanName = StringUtils.tokenizeToStringArray(nameAttribute, MULTI_VALUE_ATTRIBUTE_DELIMITERS)[0];
+    }
+    if (beanName != null && !usedNames.add(beanName)) {
+      throw error(resource, reader, beanName, "Bean name '" + beanName + "' is already used in this file");
+    }
+
+    while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+      if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      if (!isBeansElement(reader)) {
+        skipElement(reader);
+        continue;
+      }
+      switch (reader.getLocalName()) {
+        case "description":
+          bd.setDescription(reader.getElementText().trim());
+          break;
+        case "property":
+          parseProperty(reader, resource, beanName, bd);
+          break;
+        case "constructor-arg":
+          parseConstructorArg(reader, resource, beanName, bd);
+          break;
+        case "qualifier":
+          bd.addQualifier(parseQualifier(reader));
+          break;
+        case "meta":
+          bd.addMetadataAttribute(new BeanMetadataAttribute(reader.getAttributeValue(null, "key"),
+              reader.getAttributeValue(null, "value")));
+          skipElement(reader);
+          break;
+        default:
+          throw error(resource, reader, beanName, "<" + reader.getLocalName() +
+              "> is not supported by the streaming reader");
+      }
+    }
+    return new ParsedBeanDefinition(beanName, bd, line);
+  }
+
+  private static int autowireMode(String value) {
+    switch (value) {
+      case "byName":
+        return AbstractBeanDefinition.AUTOWIRE_BY_NAME;
+      case "byType":
+        return AbstractBeanDefinition.AUTOWIRE_BY_TYPE;
+      case "constructor":
+        return AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR;
+      default:
+        return AbstractBeanDefinition.AUTOWIRE_NO;
+    }
+  }
+
+  private void parseProperty(XMLStreamReader reader, Resource resource, @Nullable String beanName,
+      GenericBeanDefinition bd) throws XMLStreamException {
+
+    String name = reader.getAttributeValue(null, "name");
+    if (!StringUtils.hasLength(name)) {
+      throw error(resource, reader, beanName, "<property> element without 'name' attribute");
+    }
+    if (bd.getPropertyValues().contains(name)) {
+      throw error(resource, reader, beanName, "Multiple <property> elements for property '" + name + "'");
+    }
+    bd.getPropertyValues().add(name, parseValueHolder(reader, resource, beanName, "<property name='" + name + "'>"));
+  }
+
+  private void parseConstructorArg(XMLStreamReader reader, Resource resource, @Nullable String beanName,
+      GenericBeanDefinition bd) throws XMLStreamException {
+
+    String index = reader.getAttributeValue(null, "index");
+    String type = reader.getAttributeValue(null, "type");
+    String name = reader.getAttributeValue(null, "name");
+    ValueHolder valueHolder = new ValueHolder(parseValueHolder(reader, resource, beanName, "<constructor-arg>"));
+    if (StringUtils.hasLength(type)) {
+      valueHolder.setType(type);
+    }
+    if (StringUtils.hasLength(name)) {
+      valueHolder.setName(name);
+    }
+    if (StringUtils.hasLength(index)) {
+      int position;
+      try {
+        position = Integer.parseInt(index);
+      }
+      catch (NumberFormatException ex) {
+        throw error(resource, reader, beanName, "Attribute 'index' of <constructor-arg> must be an integer");
+      }
+      if (bd.getConstructorArgumentValues().hasIndexedArgumentValue(position)) {
+        throw error(resource, reader, beanName, "Ambiguous <constructor-arg> entries for index " + position);
+      }
+      bd.getConstructorArgumentValues().addIndexedArgumentValue(position, valueHolder);
+    }
+    else {
+      bd.getConstructorArgumentValues().addGenericArgumentValue(valueHolder);
+    }
+  }
+
+  /**
+   * property/constructor-arg的值：value或ref属性，或者一个值子元素；读到该元素的结束标签为止
+   */
+  @Nullable
+  private Object parseValueHolder(XMLStreamReader reader, Resource resource, @Nullable String beanName,
+      String elementName) throws XMLStreamException {
+
+    String valueAttribute = reader.getAttributeValue(null, "value");
+    String refAttribute = reader.getAttributeValue(null, "ref");
+    Object value = null;
+    boolean hasValue = false;
+    if (valueAttribute != null) {
+      value = new TypedStringValue(valueAttribute);
+      hasValue = true;
+    }
+    if (refAttribute != null) {
+      if (hasValue) {
+        throw error(resource, reader, beanName, elementName + " is only allowed to contain either 'ref' or 'value'");
+      }
+      value = new RuntimeBeanReference(refAttribute);
+      hasValue = true;
+    }
+    while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+      if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      if (!isBeansElement(reader) || "description".equals(reader.getLocalName()) ||
+          "meta".equals(reader.getLocalName())) {
+        skipElement(reader);
+        continue;
+      }
+      if (hasValue) {
+        throw error(resource, reader, beanName, elementName + " must not contain more than one value");
+      }
+      value = parseValueElement(reader, resource, beanName, null);
+      hasValue = true;
+    }
+    if (!hasValue) {
+      throw error(resource, reader, beanName, elementName + " must specify a ref or value");
+    }
+    return value;
+  }
+
+  /**
+   * 解析当前的值元素（已读到开始标签），返回时已读到它的结束标签
+   */
+  @Nullable
+  private Object parseValueElement(XMLStreamReader reader, Resource resource, @Nullable String beanName,
+      @Nullable String defaultValueType) throws XMLStreamException {
+
+    switch (reader.getLocalName()) {
+      case "value": {
+        String type = reader.getAttributeValue(null, "type");
+        TypedStringValue value = new TypedStringValue(reader.getElementText());
+        String targetTypeName = (StringUtils.hasLength(type) ? type : defaultValueType);
+        if (targetTypeName != null) {
+          value.setTargetTypeName(targetTypeName);
+        }
+        return value;
+      }
+      case "null":
+        skipElement(reader);
+        return new TypedStringValue(null);
+      case "ref": {
+        String refName = reader.getAttributeValue(null, "bean");
+        if (!StringUtils.hasLength(refName)) {
+          throw error(resource, reader, beanName, "<ref> element without 'bean' attribute");
+        }
+        skipElement(reader);
+        return new RuntimeBeanReference(refName);
+      }
+      case "idref": {
+        String refName = reader.getAttributeValue(null, "bean");
+        if (!StringUtils.hasLength(refName)) {
+          throw error(resource, reader, beanName, "<idref> element without 'bean' attribute");
+        }
+        skipElement(reader);
+        return new RuntimeBeanNameReference(refName);
+      }
+      case "list":
+        return parseCollection(reader, resource, beanName, new ManagedList<>());
+      case "set":
+        return parseCollection(reader, resource, beanName, new ManagedSet<>());
+      case "array": {
+        String valueType = reader.getAttributeValue(null, "value-type");
+        List<Object> elements = parseCollection(reader, resource, beanName, new ArrayList<>());
+        ManagedArray array = new ManagedArray(StringUtils.hasLength(valueType) ? valueType : Object.class.getName(),
+            elements.size());
+        array.addAll(elements);
+        return array;
+      }
+      case "map":
+        return parseMap(reader, resource, beanName);
+      case "props":
+        return parseProps(reader);
+      case "bean":
+        throw error(resource, reader, beanName, "Inner bean definitions are not supported by the streaming reader");
+      default:
+        throw error(resource, reader, beanName, "Unknown value element <" + reader.getLocalName() + ">");
+    }
+  }
+
+  private <C extends Collection<Object>> C parseCollection(XMLStreamReader reader, Resource resource,
+      @Nullable String beanName, C collection) throws XMLStreamException {
+
+    String valueType = reader.getAttributeValue(null, "value-type");
+    while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+      if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      if (!isBeansElement(reader) || "description".equals(reader.getLocalName())) {
+        skipElement(reader);
+        continue;
+      }
+      collection.add(parseValueElement(reader, resource, beanName, valueType));
+    }
+    return collection;
+  }
+
+  private ManagedMap<Object, Object> parseMap(XMLStreamReader reader, Resource resource, @Nullable String beanName)
+      throws XMLStreamException {
+
+    String keyType = reader.getAttributeValue(null, "key-type");
+    String valueType = reader.getAttributeValue(null, "value-type");
+    ManagedMap<Object, Object> map = new ManagedMap<>();
+    while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+      if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      if (!isBeansElement(reader) || !"entry".equals(reader.getLocalName())) {
+        skipElement(reader);
+        continue;
+      }
+      Object key = null;
+      Object value = null;
+      String keyAttribute = reader.getAttributeValue(null, "key");
+      String keyRef = reader.getAttributeValue(null, "key-ref");
+      String valueAttribute = reader.getAttributeValue(null, "value");
+      String valueRef = reader.getAttributeValue(null, "value-ref");
+      if (keyAttribute != null) {
+        key = typedValue(keyAttribute, keyType);
+      }
+      else if (keyRef != null) {
+        key = new RuntimeBeanReference(keyRef);
+      }
+      if (valueAttribute != null) {
+        value = typedValue(valueAttribute, valueType);
+      }
+      else if (valueRef != null) {
+        value = new RuntimeBeanReference(valueRef);
+      }
+      while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+          continue;
+        }
+        if (!isBeansElement(reader) || "description".equals(reader.getLocalName())) {
+          skipElement(reader);
+        }
+        else if ("key".equals(reader.getLocalName())) {
+          key = parseSingleChild(reader, resource, beanName, keyType);
+        }
+        else {
+          value = parseValueElement(reader, resource, beanName, valueType);
+        }
+      }
+      if (key == null) {
+        throw error(resource, reader, beanName, "<entry> element must specify a key");
+      }
+      map.put(key, value);
+    }
+    return map;
+  }
+
+  /**
+   * &lt;key&gt;中的唯一值元素
+   */
+  @Nullable
+  private Object parseSingleChild(XMLStreamReader reader, Resource resource, @Nullable String beanName,
+      @Nullable String valueType) throws XMLStreamException {
+
+    Object value = null;
+    while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+      if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+        value = parseValueElement(reader, resource, beanName, valueType);
+      }
+    }
+    return value;
+  }
+
+  private static TypedStringValue typedValue(String value, @Nullable String type) {
+    TypedStringValue typedValue = new TypedStringValue(value);
+    if (StringUtils.hasLength(type)) {
+      typedValue.setTargetTypeName(type);
+    }
+    return typedValue;
+  }
+
+  private ManagedProperties parseProps(XMLStreamReader reader) throws XMLStreamException {
+    ManagedProperties props = new ManagedProperties();
+    while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+      if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      if (!"prop".equals(reader.getLocalName())) {
+        skipElement(reader);
+        continue;
+      }
+      String key = reader.getAttributeValue(null, "key");
+      props.put(new TypedStringValue(key), new TypedStringValue(reader.getElementText().trim()));
+    }
+    return props;
+  }
+
+  private AutowireCandidateQualifier parseQualifier(XMLStreamReader reader) throws XMLStreamException {
+    AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(reader.getAttributeValue(null, "type"));
+    String value = reader.getAttributeValue(null, "value");
+    if (StringUtils.hasLength(value)) {
+      qualifier.setAttribute(AutowireCandidateQualifier.VALUE_KEY, value);
+    }
+    while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+      if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+        if ("attribute".equals(reader.getLocalName())) {
+          qualifier.addMetadataAttribute(new org.springframework.beans.BeanMetadataAttribute(
+              reader.getAttributeValue(null, "key"), reader.getAttributeValue(null, "value")));
+        }
+        skipElement(reader);
+      }
+    }
+    return qualifier;
+  }
+
+  /**
+   * 跳过当前元素（已读到开始标签）及其内容，返回时已读到它的结束标签
+   */
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      }
+      else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private static BeanDefinitionStoreException error(Resource resource, XMLStreamReader reader,
+      @Nullable String beanName, String message) {
+
+    return new BeanDefinitionStoreException(resource.getDescription(), beanName,
+        message + " (line " + reader.getLocation().getLineNumber() + ")");
+  }
+
+
+  /**
+   * 接收解析出的定义，可能阻塞（等待注册线程消费）
+   */
+  @FunctionalInterface
+  interface DefinitionConsumer {
+
+    void accept(ParsedBeanDefinition definition) throws InterruptedException;
+  }
+
+
+  /**
+   * 解析出的定义；beanName为null时由注册方生成
+   */
+  static final class ParsedBeanDefinition {
+
+    @Nullable
+    final String beanName;
+
+    final AbstractBeanDefinition beanDefinition;
+
+    final int line;
+
+    ParsedBeanDefinition(@Nullable String beanName, AbstractBeanDefinition beanDefinition, int line) {
+      this.beanName = beanName;
+      this.beanDefinition = beanDefinition;
+      this.line = line;
+    }
+  }
+
+}
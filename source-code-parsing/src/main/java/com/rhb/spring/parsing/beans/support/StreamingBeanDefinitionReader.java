@@ -0,0 +1,284 @@
+package com.rhb.spring.parsing.beans.support;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionRegistry;
+import com.rhb.spring.parsing.beans.support.StaxBeanDefinitionParser.ParsedBeanDefinition;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * 流式、并行地从spring-beans格式的XML资源中读取BeanDefinition（支持的元素见{@link StaxBeanDefinitionParser}）
+ *
+ * 每个资源用StAX解析，解析完一个&lt;bean&gt;元素就放入该资源的有界队列，不构建文档树；多个资源由parallelism个线程
+ * 并行解析，调用线程按资源顺序、资源内按文档顺序依次取出并注册，所以注册顺序（以及生成的beanName）与顺序解析
+ * 完全相同。解析线程最多领先queueCapacity个定义，内存峰值与单个bean元素的大小和并行度有关，与资源总大小无关
+ *
+ * 每个定义都通过setResource记录来源资源。没有id和name的定义在注册时生成名称：类名#N，
+ * 没有类名时为 父定义名$child#N 或 工厂bean名$created#N，N取第一个未被占用的序号
+ *
+ * @author renhuibo
+ * @date 2026/10/20 18:40
+ */
+public class StreamingBeanDefinitionReader implements ResourceDefinitionLoader {
+
+  private static final Log logger = LogFactory.getLog(StreamingBeanDefinitionReader.class);
+
+  private static final String GENERATED_BEAN_NAME_SEPARATOR = "#";
+
+  private static final ParsedBeanDefinition END = new ParsedBeanDefinition(null, new GenericBeanDefinition(), -1);
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+
+  private final BeanDefinitionRegistry registry;
+
+  private final StaxBeanDefinitionParser parser = new StaxBeanDefinitionParser();
+
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  private int queueCapacity = 16;
+
+
+  public StreamingBeanDefinitionReader(BeanDefinitionRegistry registry) {
+    Assert.notNull(registry, "BeanDefinitionRegistry must not be null");
+    this.registry = registry;
+  }
+
+
+  /**
+   * 并行解析的线程数（默认CPU核数），1表示在调用线程中逐个解析
+   */
+  public void setParallelism(int parallelism) {
+    Assert.isTrue(parallelism > 0, "Parallelism must be positive");
+    this.parallelism = parallelism;
+  }
+
+  public int getParallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * 每个资源已解析、未注册的定义的最大个数（默认16）
+   */
+  public void setQueueCapacity(int queueCapacity) {
+    Assert.isTrue(queueCapacity > 0, "Queue capacity must be positive");
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getQueueCapacity() {
+    return this.queueCapacity;
+  }
+
+  public BeanDefinitionRegistry getRegistry() {
+    return this.registry;
+  }
+
+
+  /**
+   * 读取并注册资源中的定义，注册顺序与按参数顺序逐个读取相同
+   * @return 注册的定义个数
+   */
+  public int registerBeanDefinitions(Resource... resources) throws BeanDefinitionStoreException {
+    Assert.notNull(resources, "Resources must not be null");
+    long startTime = System.nanoTime();
+    int countBefore = this.registry.getBeanDefinitionCount();
+    int[] registered = new int[1];
+    Map<String, Integer> nameCounters = new HashMap<>();
+    int threads = Math.min(this.parallelism, resources.length);
+    if (threads <= 1) {
+      for (Resource resource : resources) {
+        parse(resource, definition -> {
+          register(definition, nameCounters);
+          registered[0]++;
+        });
+      }
+    }
+    else {
+      registered[0] = registerInParallel(resources, threads, nameCounters);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Registered " + registered[0] + " bean definitions from " + resources.length + " resources in " +
+          (System.nanoTime() - startTime) / 1_000_000 + " ms using " + Math.max(threads, 1) + " thread(s); " +
+          (this.registry.getBeanDefinitionCount() - countBefore) + " new names");
+    }
+    return registered[0];
+  }
+
+  private int registerInParallel(Resource[] resources, int threads, Map<String, Integer> nameCounters) {
+    ResourceSlot[] slots = new ResourceSlot[resources.length];
+    for (int i = 0; i < resources.length; i++) {
+      slots[i] = new ResourceSlot(resources[i], this.queueCapacity);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "StreamingBeanDefinitionReader-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      // 固定线程池按提交顺序执行：调用线程等待的资源一定已经开始解析，或者排在所有已结束的资源之后
+      for (ResourceSlot slot : slots) {
+        executor.execute(() -> parseInto(slot));
+      }
+      int registered = 0;
+      for (ResourceSlot slot : slots) {
+        ParsedBeanDefinition definition;
+        while ((definition = slot.queue.take()) != END) {
+          register(definition, nameCounters);
+          registered++;
+        }
+        if (slot.error != null) {
+          throw rethrow(slot.resource, slot.error);
+        }
+      }
+      return registered;
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new BeanDefinitionStoreException("Interrupted while reading bean definitions", ex);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void parseInto(ResourceSlot slot) {
+    try {
+      this.parser.parse(slot.resource, slot.queue::put);
+    }
+    catch (InterruptedException ex) {
+      // 调用线程已经放弃（出错或被中断）
+      return;
+    }
+    catch (Throwable ex) {
+      slot.error = ex;
+    }
+    try {
+      slot.queue.put(END);
+    }
+    catch (InterruptedException ex) {
+      // 同上
+    }
+  }
+
+  private void parse(Resource resource, StaxBeanDefinitionParser.DefinitionConsumer consumer) {
+    try {
+      this.parser.parse(resource, consumer);
+    }
+    catch (IOException | InterruptedException ex) {
+      if (ex instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      throw rethrow(resource, ex);
+    }
+  }
+
+  private static RuntimeException rethrow(Resource resource, Throwable ex) {
+    if (ex instanceof Error) {
+      throw (Error) ex;
+    }
+    if (ex instanceof RuntimeException) {
+      return (RuntimeException) ex;
+    }
+    return new BeanDefinitionStoreException(resource.getDescription(),
+        "Could not read bean definitions from " + resource.getDescription(), ex);
+  }
+
+  private void register(ParsedBeanDefinition definition, Map<String, Integer> nameCounters) {
+    String beanName = definition.beanName;
+    if (beanName == null) {
+      beanName = generateBeanName(definition.beanDefinition, this.registry::containsBeanDefinition, nameCounters);
+    }
+    else if (logger.isDebugEnabled() && this.registry.containsBeanDefinition(beanName)) {
+      logger.debug("Overriding bean definition '" + beanName + "' with definition from " +
+          definition.beanDefinition.getResourceDescription() + " (line " + definition.line + ")");
+    }
+    this.registry.registerBeanDefinition(beanName, definition.beanDefinition);
+  }
+
+
+  /**
+   * 顺序解析单个资源，不注册；生成的beanName只在该资源内唯一，重新加载同一资源时保持不变
+   */
+  @Override
+  public Map<String, BeanDefinition> loadBeanDefinitions(Resource resource) throws IOException {
+    Map<String, BeanDefinition> definitions = new LinkedHashMap<>(64);
+    Map<String, Integer> nameCounters = new HashMap<>();
+    try {
+      this.parser.parse(resource, definition -> {
+        String beanName = (definition.beanName != null ? definition.beanName :
+            generateBeanName(definition.beanDefinition, definitions::containsKey, nameCounters));
+        definitions.put(beanName, definition.beanDefinition);
+      });
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while reading " + resource.getDescription(), ex);
+    }
+    return definitions;
+  }
+
+  /**
+   * 类名#N，没有类名时为 父定义名$child#N 或 工厂bean名$created#N；
+   * nameCounters记录本次读取中每个前缀已用到的序号，避免每次都从0开始查找
+   */
+  static String generateBeanName(AbstractBeanDefinition definition, Predicate<String> inUse,
+      Map<String, Integer> nameCounters) {
+    String prefix = definition.getBeanClassName();
+    if (prefix == null) {
+      if (definition.getParentName() != null) {
+        prefix = definition.getParentName() + "$child";
+      }
+      else if (definition.getFactoryBeanName() != null) {
+        prefix = definition.getFactoryBeanName() + "$created";
+      }
+    }
+    if (!StringUtils.hasText(prefix)) {
+      throw new BeanDefinitionStoreException(definition.getResourceDescription(), "",
+          "Unnamed bean definition specifies neither 'class' nor 'parent' nor 'factory-bean' - can't generate bean name");
+    }
+    int counter = nameCounters.getOrDefault(prefix, 0);
+    String beanName;
+    do {
+      beanName = prefix + GENERATED_BEAN_NAME_SEPARATOR + counter++;
+    }
+    while (inUse.test(beanName));
+    nameCounters.put(prefix, counter);
+    return beanName;
+  }
+
+
+  /**
+   * 一个资源的解析结果队列；解析结束（包括出错）后放入END
+   */
+  private static final class ResourceSlot {
+
+    final Resource resource;
+
+    final BlockingQueue<ParsedBeanDefinition> queue;
+
+    @Nullable
+    volatile Throwable error;
+
+    ResourceSlot(Resource resource, int capacity) {
+      this.resource = resource;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+  }
+
+}
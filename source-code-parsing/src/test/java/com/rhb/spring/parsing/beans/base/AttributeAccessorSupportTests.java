@@ -0,0 +1,383 @@
+package com.rhb.spring.parsing.beans.base;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.StringUtils;
+
+/**
+ * BeanDefinition元数据的并发访问：原子的computeAttributeIfAbsent、并发写入不丢失、无锁读，
+ * 以及批量复制；基本类型元数据与普通元数据的顺序和互通
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class AttributeAccessorSupportTests {
+
+  private static final int THREADS = 8;
+
+  private static final String[] NAMES = new String[8];
+
+  static {
+    for (int i = 0; i < NAMES.length; i++) {
+      NAMES[i] = "attribute" + i;
+    }
+  }
+
+  private ExecutorService executor;
+
+
+  @Before
+  public void setUp() {
+    this.executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    this.executor.shutdownNow();
+    this.executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+
+  @Test
+  public void computeAttributeIfAbsentRunsOncePerName() throws Exception {
+    for (int round = 0; round < 200; round++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      AtomicInteger computations = new AtomicInteger();
+      List<Object> results = runConcurrently(() -> bd.computeAttributeIfAbsent("shared", name -> {
+        computations.incrementAndGet();
+        return new Object();
+      }));
+      assertEquals(1, computations.get());
+      for (Object result : results) {
+        assertSame(bd.getAttribute("shared"), result);
+      }
+    }
+  }
+
+  @Test
+  public void concurrentWritesAreNotLost() throws Exception {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    AtomicInteger next = new AtomicInteger();
+    AtomicBoolean writing = new AtomicBoolean(true);
+    // 读线程在写入的同时遍历，不能看到没有值的name
+    Future<Integer> reader = this.executor.submit(() -> {
+      int reads = 0;
+      while (writing.get()) {
+        for (String name : bd.attributeNames()) {
+          assertNotNull(name, bd.getAttribute(name));
+          reads++;
+        }
+      }
+      return reads;
+    });
+    runConcurrently(() -> {
+      int thread = next.getAndIncrement();
+      for (int i = 0; i < 200; i++) {
+        bd.setAttribute("t" + thread + "-" + i, i);
+        bd.computeAttribute("counter", (name, value) -> (value == null ? 1 : (Integer) value + 1));
+      }
+      return null;
+    });
+    writing.set(false);
+    reader.get(10, TimeUnit.SECONDS);
+
+    assertEquals((THREADS - 1) * 200, bd.getAttribute("counter"));
+    String[] names = bd.attributeNames();
+    assertEquals((THREADS - 1) * 200 + 1, names.length);
+    // 同一个线程写入的name保持写入顺序
+    Map<String, Integer> lastIndexByThread = new LinkedHashMap<>();
+    for (String name : names) {
+      if (name.equals("counter")) {
+        continue;
+      }
+      String thread = name.substring(0, name.indexOf('-'));
+      int index = Integer.parseInt(name.substring(name.indexOf('-') + 1));
+      Integer last = lastIndexByThread.put(thread, index);
+      assertTrue(name, last == null || last < index);
+      assertEquals(index, bd.getAttribute(name));
+    }
+  }
+
+  @Test
+  public void setAttributeIfAbsentKeepsFirstValue() throws Exception {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    AtomicInteger next = new AtomicInteger();
+    List<Object> results = runConcurrently(() -> bd.setAttributeIfAbsent("owner", next.getAndIncrement()));
+    int winners = 0;
+    for (Object result : results) {
+      if (result == null) {
+        winners++;
+      }
+      else {
+        assertEquals(bd.getAttribute("owner"), result);
+      }
+    }
+    assertEquals(1, winners);
+  }
+
+  @Test
+  public void computeAttributeRemovesOnNull() {
+    ConcurrentAttributeAccessor accessor = new ConcurrentAttributeAccessor();
+    accessor.setAttribute("a", 1);
+    accessor.setAttribute("b", 2);
+    assertNull(accessor.computeAttribute("a", (name, value) -> null));
+    assertArrayEquals(new String[] {"b"}, accessor.attributeNames());
+  }
+
+  @Test
+  public void attributeNamesKeepInsertionOrderAcrossTypedAndUntyped() {
+    AttributeKey weight = AttributeKey.intKey("tests.weight");
+    AttributeKey enabled = AttributeKey.booleanKey("tests.enabled");
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setAttribute("first", "a");
+    bd.setIntAttribute(weight, 3);
+    bd.setAttribute("second", "b");
+    bd.setBooleanAttribute(enabled, true);
+    bd.setIntAttribute(weight, 4);
+    assertArrayEquals(new String[] {"first", "tests.weight", "second", "tests.enabled"}, bd.attributeNames());
+    assertEquals(4, bd.getAttribute("tests.weight"));
+    assertEquals(Boolean.TRUE, bd.getAttribute("tests.enabled"));
+    assertTrue(bd.hasAttribute("tests.weight"));
+
+    GenericBeanDefinition copy = new GenericBeanDefinition(bd);
+    assertArrayEquals(bd.attributeNames(), copy.attributeNames());
+    assertEquals(4, copy.getIntAttribute(weight, 0));
+    assertEquals(bd, copy);
+    assertEquals(bd.hashCode(), copy.hashCode());
+  }
+
+  @Test
+  public void untypedWriteReplacesTypedValueInPlace() {
+    AttributeKey weight = AttributeKey.intKey("tests.weight");
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setIntAttribute(weight, 3);
+    bd.setAttribute("other", "x");
+    bd.setAttribute("tests.weight", 7L);
+    assertEquals(7L, bd.getAttribute("tests.weight"));
+    assertEquals(7, bd.getIntAttribute(weight, 0));
+    bd.setAttribute("tests.weight", "not a number");
+    assertEquals(-1, bd.getIntAttribute(weight, -1));
+    bd.setIntAttribute(weight, 5);
+    assertEquals(5, bd.getAttribute("tests.weight"));
+    assertArrayEquals(new String[] {"tests.weight", "other"}, bd.attributeNames());
+    assertEquals(5, bd.removeAttribute("tests.weight"));
+    assertEquals(-1, bd.getIntAttribute(weight, -1));
+    assertArrayEquals(new String[] {"other"}, bd.attributeNames());
+  }
+
+  @Test
+  public void serializationKeepsOrderAndTypedValues() throws Exception {
+    AttributeKey ratio = AttributeKey.doubleKey("tests.ratio");
+    ConcurrentAttributeAccessor accessor = new ConcurrentAttributeAccessor();
+    accessor.setAttribute("a", "1");
+    accessor.setDoubleAttribute(ratio, 0.5);
+    accessor.setAttribute("b", 2);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(accessor);
+    }
+    ConcurrentAttributeAccessor read;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      read = (ConcurrentAttributeAccessor) in.readObject();
+    }
+    assertArrayEquals(new String[] {"a", "tests.ratio", "b"}, read.attributeNames());
+    assertEquals(0.5, read.getDoubleAttribute(ratio, 0), 0);
+    assertEquals(accessor, read);
+  }
+
+  @Test
+  public void keysAreReusedPerName() {
+    AttributeKey key = AttributeKey.intKey("tests.reused");
+    assertSame(key, AttributeKey.of("tests.reused", AttributeKey.Type.INT));
+    try {
+      AttributeKey.longKey("tests.reused");
+      fail("Attribute must not be redeclared with another type");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void deserializationDoesNotDeclareUnknownKeys() throws Exception {
+    AttributeKey declared = AttributeKey.intKey("tests.known1");
+    ConcurrentAttributeAccessor accessor = new ConcurrentAttributeAccessor();
+    accessor.setIntAttribute(declared, 42);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(accessor);
+    }
+    // 把流中的name换成当前JVM没有声明过的同长度name
+    String stream = new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1)
+        .replace("tests.known1", "tests.other1");
+    ConcurrentAttributeAccessor read;
+    try (ObjectInputStream in = new ObjectInputStream(
+        new ByteArrayInputStream(stream.getBytes(StandardCharsets.ISO_8859_1)))) {
+      read = (ConcurrentAttributeAccessor) in.readObject();
+    }
+    assertNull(AttributeKey.find("tests.other1", AttributeKey.Type.INT));
+    assertEquals(42, read.getAttribute("tests.other1"));
+    assertEquals(42, read.getIntAttribute(AttributeKey.intKey("tests.other1"), 0));
+  }
+
+  @Test
+  public void attributeNamesAreCopiesAndNameSetIsSnapshot() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setAttribute("a", 1);
+    String[] names = bd.attributeNames();
+    names[0] = "changed";
+    assertArrayEquals(new String[] {"a"}, bd.attributeNames());
+    assertNotSame(bd.attributeNames(), bd.attributeNames());
+
+    Set<String> nameSet = bd.attributeNameSet();
+    assertSame(nameSet, bd.attributeNameSet());
+    bd.setAttribute("b", 2);
+    assertEquals(Collections.singleton("a"), nameSet);
+    assertEquals(new LinkedHashSet<>(Arrays.asList("a", "b")), bd.attributeNameSet());
+    try {
+      nameSet.remove("a");
+      fail("Attribute name set must be read-only");
+    }
+    catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  @Test
+  public void copyAttributesFromMergesTypedAndUntypedValues() {
+    AttributeKey replaced = AttributeKey.intKey("tests.copy.replaced");
+    AttributeKey kept = AttributeKey.longKey("tests.copy.kept");
+    AttributeKey copied = AttributeKey.doubleKey("tests.copy.copied");
+    ConcurrentAttributeAccessor target = new ConcurrentAttributeAccessor();
+    target.setAttribute("a", "old");
+    target.setIntAttribute(replaced, 1);
+    target.setLongAttribute(kept, 2L);
+
+    ConcurrentAttributeAccessor source = new ConcurrentAttributeAccessor();
+    source.setAttribute("a", "new");
+    source.setAttribute("tests.copy.replaced", "untyped");
+    source.setDoubleAttribute(copied, 0.25);
+    for (int i = 0; i < 100; i++) {
+      source.setAttribute("n" + i, i);
+    }
+    target.copyAttributesFrom(source);
+
+    String[] names = target.attributeNames();
+    assertEquals(104, names.length);
+    assertArrayEquals(new String[] {"a", "tests.copy.replaced", "tests.copy.kept", "tests.copy.copied", "n0"},
+        Arrays.copyOf(names, 5));
+    assertEquals("new", target.getAttribute("a"));
+    assertEquals("untyped", target.getAttribute("tests.copy.replaced"));
+    assertEquals(-1, target.getIntAttribute(replaced, -1));
+    assertEquals(2L, target.getLongAttribute(kept, 0));
+    assertEquals(0.25, target.getDoubleAttribute(copied, 0), 0);
+    assertEquals(99, target.getAttribute("n99"));
+    assertEquals(new LinkedHashSet<>(Arrays.asList(names)), target.attributeNameSet());
+  }
+
+  @Test
+  public void copyAttributesFromPlainAccessorReplacesTypedValue() {
+    AttributeKey typed = AttributeKey.intKey("tests.copy.plain");
+    ConcurrentAttributeAccessor target = new ConcurrentAttributeAccessor();
+    target.setIntAttribute(typed, 7);
+    SynchronizedAttributeAccessor source = new SynchronizedAttributeAccessor();
+    source.setAttribute("tests.copy.plain", "plain");
+    source.setAttribute("b", 2);
+    target.copyAttributesFrom(source);
+
+    assertArrayEquals(new String[] {"tests.copy.plain", "b"}, target.attributeNames());
+    assertEquals("plain", target.getAttribute("tests.copy.plain"));
+    assertEquals(-1, target.getIntAttribute(typed, -1));
+    assertEquals(2, target.getAttribute("b"));
+  }
+
+
+  /**
+   * 所有线程同时开始执行task（THREADS-1个线程，留一个给读线程）
+   */
+  private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+    CountDownLatch ready = new CountDownLatch(THREADS - 1);
+    List<Future<T>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS - 1; t++) {
+      futures.add(this.executor.submit(() -> {
+        ready.countDown();
+        ready.await();
+        return task.call();
+      }));
+    }
+    List<T> results = new ArrayList<>();
+    for (Future<T> future : futures) {
+      results.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return results;
+  }
+
+  /**
+   * 不继承AttributeAccessorSupport的元数据来源：每个方法都加锁的LinkedHashMap
+   */
+  private static class SynchronizedAttributeAccessor implements AttributeAccessor {
+
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void setAttribute(String name, Object value) {
+      if (value != null) {
+        this.attributes.put(name, value);
+      }
+      else {
+        this.attributes.remove(name);
+      }
+    }
+
+    @Override
+    public synchronized Object getAttribute(String name) {
+      return this.attributes.get(name);
+    }
+
+    @Override
+    public synchronized Object removeAttribute(String name) {
+      return this.attributes.remove(name);
+    }
+
+    @Override
+    public synchronized boolean hasAttribute(String name) {
+      return this.attributes.containsKey(name);
+    }
+
+    @Override
+    public synchronized String[] attributeNames() {
+      return StringUtils.toStringArray(this.attributes.keySet());
+    }
+  }
+
+}
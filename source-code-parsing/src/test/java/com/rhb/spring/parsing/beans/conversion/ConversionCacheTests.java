@@ -0,0 +1,148 @@
+package com.rhb.spring.parsing.beans.conversion;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * 只缓存不可变的转换结果；转换前的字符串或目标类型不同时不命中；容器中可变结果每次重新转换
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class ConversionCacheTests {
+
+  private ConversionCache cache;
+
+
+  @Before
+  public void setUp() {
+    this.cache = new ConversionCache();
+  }
+
+
+  @Test
+  public void onlyImmutableResultsAreCacheable() {
+    assertTrue(this.cache.isImmutable(42));
+    assertTrue(this.cache.isImmutable(new BigDecimal("1.5")));
+    assertTrue(this.cache.isImmutable(Duration.ofSeconds(3)));
+    assertTrue(this.cache.isImmutable(TimeUnit.SECONDS));
+    assertTrue(this.cache.isImmutable(ZoneId.of("Asia/Shanghai")));
+    assertTrue(this.cache.isImmutable(new ClassPathResource("a.xml")));
+
+    assertFalse(this.cache.isImmutable(null));
+    assertFalse(this.cache.isImmutable(new String[] {"a"}));
+    assertFalse(this.cache.isImmutable(new int[] {1}));
+    assertFalse(this.cache.isImmutable(new ArrayList<>()));
+    assertFalse(this.cache.isImmutable(Collections.emptyMap()));
+    assertFalse(this.cache.isImmutable(new Date()));
+    assertFalse(this.cache.isImmutable(new ByteArrayResource(new byte[0])));
+    assertFalse(this.cache.isImmutable(new StringBuilder()));
+  }
+
+  @Test
+  public void mutableResultsAreCountedButNotStored() {
+    this.cache.put("bean", false, 0, String[].class, "a,b", new String[] {"a", "b"});
+    this.cache.put("bean", false, 1, Date.class, "now", new Date());
+    assertEquals(2, this.cache.getUncacheableCount());
+    assertEquals(0, this.cache.getCachedBeanCount());
+    assertNull(this.cache.get("bean", false, 0, String[].class, "a,b"));
+  }
+
+  @Test
+  public void lookupMatchesValueAndTargetType() {
+    Integer converted = 30;
+    this.cache.put("bean", true, 0, Integer.class, "30", converted);
+    assertSame(converted, this.cache.get("bean", true, 0, Integer.class, new String("30")));
+    assertNull(this.cache.get("bean", true, 0, Integer.class, "31"));
+    assertNull(this.cache.get("bean", true, 0, Long.class, "30"));
+    assertNull(this.cache.get("bean", false, 0, Integer.class, "30"));
+    assertNull(this.cache.get("bean", true, 1, Integer.class, "30"));
+
+    this.cache.put("bean", true, 0, Long.class, "30", 30L);
+    assertSame(converted, this.cache.get("bean", true, 0, Integer.class, "30"));
+    assertEquals(30L, this.cache.get("bean", true, 0, Long.class, "30"));
+    assertEquals(3, this.cache.getHitCount());
+
+    this.cache.evict("bean");
+    assertNull(this.cache.get("bean", true, 0, Integer.class, "30"));
+  }
+
+  @Test
+  public void registeredTypesChangeCacheability() {
+    this.cache.registerImmutableType(StringBuilder.class);
+    assertTrue(this.cache.isImmutable(new StringBuilder()));
+    this.cache.put("bean", false, 0, StringBuilder.class, "x", new StringBuilder("x"));
+    assertEquals(1, this.cache.getCachedBeanCount());
+
+    this.cache.registerMutableType(StringBuilder.class);
+    assertFalse(this.cache.isImmutable(new StringBuilder()));
+    assertEquals(0, this.cache.getCachedBeanCount());
+    try {
+      this.cache.registerImmutableType(ArrayList.class);
+      fail("Explicitly mutable type cannot be declared immutable");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void factoryConvertsMutableValuesForEveryInstance() {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(Settings.class);
+    bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    bd.getPropertyValues().add("names", "a");
+    bd.getPropertyValues().add("timeout", "30");
+    beanFactory.registerBeanDefinition("settings", bd);
+
+    Settings first = (Settings) beanFactory.getBean("settings");
+    Settings second = (Settings) beanFactory.getBean("settings");
+    assertArrayEquals(new String[] {"a"}, second.names);
+    assertNotSame(first.names, second.names);
+    first.names[0] = "changed";
+    assertEquals("a", ((Settings) beanFactory.getBean("settings")).names[0]);
+    assertEquals(Integer.valueOf(30), second.timeout);
+
+    ConversionCache factoryCache = beanFactory.getConversionCache();
+    assertTrue(factoryCache.getHitCount() >= 2);
+    assertTrue(factoryCache.getUncacheableCount() >= 3);
+  }
+
+
+  public static class Settings {
+
+    String[] names;
+
+    Integer timeout;
+
+    public void setNames(String[] names) {
+      this.names = names;
+    }
+
+    public void setTimeout(Integer timeout) {
+      this.timeout = timeout;
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.rhb.spring.parsing.beans.definition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import org.junit.Test;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+
+/**
+ * qualifier的快照与只读视图
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class AbstractBeanDefinitionTests {
+
+  @Test
+  public void getQualifiersReturnsSnapshot() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    assertTrue(bd.getQualifiers().isEmpty());
+    bd.addQualifier(new AutowireCandidateQualifier("com.example.Primary"));
+    Set<AutowireCandidateQualifier> snapshot = bd.getQualifiers();
+    bd.addQualifier(new AutowireCandidateQualifier("com.example.Region", "eu"));
+    assertEquals(1, snapshot.size());
+    // 快照可以自由修改，不影响定义
+    snapshot.clear();
+    assertEquals(2, bd.getQualifiers().size());
+  }
+
+  @Test
+  public void qualifierViewIsLiveAndReadOnly() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    Set<AutowireCandidateQualifier> view = bd.getQualifierView();
+    assertSame(view, bd.getQualifierView());
+    AutowireCandidateQualifier primary = new AutowireCandidateQualifier("com.example.Primary");
+    bd.addQualifier(primary);
+    assertEquals(1, view.size());
+    assertTrue(view.contains(primary));
+    try {
+      view.iterator().remove();
+      fail("Qualifier view must be read-only");
+    }
+    catch (UnsupportedOperationException | IllegalStateException expected) {
+    }
+    try {
+      view.add(new AutowireCandidateQualifier("com.example.Other"));
+      fail("Qualifier view must be read-only");
+    }
+    catch (UnsupportedOperationException expected) {
+    }
+  }
+
+}
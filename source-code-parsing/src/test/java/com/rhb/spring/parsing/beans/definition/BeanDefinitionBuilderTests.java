@@ -0,0 +1,129 @@
+package com.rhb.spring.parsing.beans.definition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import java.lang.reflect.Method;
+import org.junit.Test;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+
+/**
+ * builder构建的定义与setter构建的相同；交出定义后builder不能再使用；方法覆盖和qualifier按需创建
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class BeanDefinitionBuilderTests {
+
+  @Test
+  public void builderMatchesSetters() {
+    GenericBeanDefinition built = BeanDefinitionBuilder.genericBeanDefinition("com.example.Service")
+        .setScope(BeanDefinition.SCOPE_PROTOTYPE)
+        .setLazyInit(true)
+        .setDependsOn("dataSource")
+        .addConstructorArgValue("first")
+        .addConstructorArgReference("second")
+        .expectPropertyValues(2)
+        .addPropertyValue("timeout", 30)
+        .addPropertyReference("dataSource", "dataSource")
+        .addQualifier(new AutowireCandidateQualifier("com.example.Primary"))
+        .setInitMethodName("start")
+        .setAttribute("owner", "alice")
+        .getBeanDefinition();
+
+    GenericBeanDefinition expected = new GenericBeanDefinition();
+    expected.setBeanClassName("com.example.Service");
+    expected.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    expected.setLazyInit(true);
+    expected.setDependsOn("dataSource");
+    expected.getConstructorArgumentValues().addIndexedArgumentValue(0, "first");
+    expected.getConstructorArgumentValues().addIndexedArgumentValue(1, new RuntimeBeanReference("second"));
+    expected.getPropertyValues().add("timeout", 30);
+    expected.getPropertyValues().add("dataSource", new RuntimeBeanReference("dataSource"));
+    expected.addQualifier(new AutowireCandidateQualifier("com.example.Primary"));
+    expected.setInitMethodName("start");
+    expected.setAttribute("owner", "alice");
+
+    assertEquals(expected, built);
+    ValueHolder second = built.getConstructorArgumentValues().getIndexedArgumentValue(1, null);
+    assertEquals("second", ((RuntimeBeanReference) second.getValue()).getBeanName());
+  }
+
+  @Test
+  public void builderRejectsUseAfterGetBeanDefinition() {
+    BeanDefinitionBuilder builder = BeanDefinitionBuilder.childBeanDefinition("parent");
+    GenericBeanDefinition bd = builder.getBeanDefinition();
+    assertEquals("parent", bd.getParentName());
+    try {
+      builder.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+      fail("Builder must not modify a definition it has handed over");
+    }
+    catch (IllegalStateException expected) {
+    }
+    try {
+      builder.getBeanDefinition();
+      fail("Builder must hand over its definition only once");
+    }
+    catch (IllegalStateException expected) {
+    }
+    assertEquals("", bd.getScope());
+  }
+
+  @Test
+  public void dependsOnArrayIsNotCopied() {
+    String[] dependsOn = {"a", "b"};
+    GenericBeanDefinition bd = BeanDefinitionBuilder.genericBeanDefinition().setDependsOn(dependsOn)
+        .getBeanDefinition();
+    assertSame(dependsOn, bd.getDependsOn());
+  }
+
+  @Test
+  public void expectPropertyValuesMustComeFirst() {
+    BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition().addPropertyValue("a", 1);
+    try {
+      builder.expectPropertyValues(4);
+      fail("Capacity can only be set before the first property value");
+    }
+    catch (IllegalStateException expected) {
+    }
+  }
+
+  @Test
+  public void overridesAndQualifiersAreCreatedOnDemand() throws Exception {
+    GenericBeanDefinition empty = new GenericBeanDefinition();
+    assertFalse(empty.hasMethodOverrides());
+    assertTrue(empty.getQualifierView().isEmpty());
+    // 读取后创建的空集合与从未创建的相同
+    GenericBeanDefinition touched = new GenericBeanDefinition();
+    assertTrue(touched.getMethodOverrides().isEmpty());
+    assertEquals(empty, touched);
+    assertEquals(empty.hashCode(), touched.hashCode());
+
+    Method toString = Object.class.getMethod("toString");
+    GenericBeanDefinition withOverride = BeanDefinitionBuilder.genericBeanDefinition()
+        .addMethodOverride(new NamedMethodOverride("toString"))
+        .getBeanDefinition();
+    assertTrue(withOverride.hasMethodOverrides());
+    assertEquals("toString", withOverride.getMethodOverrides().getOverride(toString).getMethodName());
+  }
+
+
+  private static class NamedMethodOverride extends MethodOverride {
+
+    NamedMethodOverride(String methodName) {
+      super(methodName);
+    }
+
+    @Override
+    public boolean matches(Method method) {
+      return method.getName().equals(getMethodName());
+    }
+  }
+
+}
@@ -0,0 +1,254 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+
+/**
+ * 导出的每一行都是合法的JSON，解析回来的字段与定义一致；Writer与Channel两种输出逐字节相同
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class BeanDefinitionJsonLinesExporterTests {
+
+  private static final String TRICKY = "quote\" backslash\\ newline\n tab\t control\u0001 \u4e2d\u6587 \ud83d\ude00";
+
+  private SimpleBeanFactory registry;
+
+
+  @Before
+  public void setUp() {
+    this.registry = new SimpleBeanFactory();
+    GenericBeanDefinition service = new GenericBeanDefinition();
+    service.setBeanClassName("com.example.Service");
+    service.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    service.setLazyInit(true);
+    service.setDependsOn("dataSource", "cache");
+    service.setDescription(TRICKY);
+    service.getConstructorArgumentValues().addIndexedArgumentValue(0, new RuntimeBeanReference("dataSource"));
+    service.getConstructorArgumentValues().addGenericArgumentValue(42);
+    service.getPropertyValues().add("name", TRICKY);
+    service.getPropertyValues().add("enabled", true);
+    service.addQualifier(new AutowireCandidateQualifier("com.example.Primary", "main"));
+    service.setAttribute("owner", "team-a");
+    service.setAttribute("weight", -7L);
+    this.registry.registerBeanDefinition("service", service);
+
+    GenericBeanDefinition infrastructure = new GenericBeanDefinition();
+    infrastructure.setBeanClassName("com.example.Infrastructure");
+    infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+    this.registry.registerBeanDefinition("infrastructure", infrastructure);
+  }
+
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void exportedLinesRoundTrip() throws Exception {
+    StringWriter writer = new StringWriter();
+    assertEquals(2, new BeanDefinitionJsonLinesExporter().export(this.registry, writer, null));
+    String[] lines = writer.toString().split("\n");
+    assertEquals(2, lines.length);
+
+    Map<String, Object> service = (Map<String, Object>) new JsonReader(lines[0]).read();
+    assertEquals("service", service.get("beanName"));
+    assertEquals("com.example.Service", service.get("beanClassName"));
+    assertEquals(BeanDefinition.SCOPE_PROTOTYPE, service.get("scope"));
+    assertEquals(true, service.get("lazyInit"));
+    assertEquals(false, service.get("abstract"));
+    assertEquals((long) BeanDefinition.ROLE_APPLICATION, service.get("role"));
+    assertEquals(TRICKY, service.get("description"));
+    assertEquals(Arrays.asList("dataSource", "cache"), service.get("dependsOn"));
+    assertNull(service.get("parentName"));
+
+    Map<String, Object> cargs = (Map<String, Object>) service.get("constructorArguments");
+    assertEquals(Collections.singletonMap("0", Collections.singletonMap("ref", "dataSource")), cargs.get("indexed"));
+    assertEquals(Collections.singletonList(42L), cargs.get("generic"));
+
+    Map<String, Object> properties = (Map<String, Object>) service.get("properties");
+    assertEquals(TRICKY, properties.get("name"));
+    assertEquals(true, properties.get("enabled"));
+
+    List<Object> qualifiers = (List<Object>) service.get("qualifiers");
+    assertEquals(1, qualifiers.size());
+    Map<String, Object> qualifier = (Map<String, Object>) qualifiers.get(0);
+    assertEquals("com.example.Primary", qualifier.get("type"));
+    assertEquals("main", qualifier.get("value"));
+
+    Map<String, Object> attributes = (Map<String, Object>) service.get("attributes");
+    assertEquals(Arrays.asList("owner", "weight"), new ArrayList<>(attributes.keySet()));
+    assertEquals("team-a", attributes.get("owner"));
+    assertEquals(-7L, attributes.get("weight"));
+
+    Map<String, Object> infrastructure = (Map<String, Object>) new JsonReader(lines[1]).read();
+    assertEquals("infrastructure", infrastructure.get("beanName"));
+    assertEquals((long) BeanDefinition.ROLE_INFRASTRUCTURE, infrastructure.get("role"));
+    assertFalse(infrastructure.containsKey("attributes"));
+  }
+
+  @Test
+  public void channelOutputMatchesWriterAcrossBufferBoundaries() throws Exception {
+    // 最小缓冲区，代理对和转义字符都会跨越缓冲区边界
+    for (int i = 0; i < 20; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClassName("com.example.Bean" + i);
+      bd.setDescription(TRICKY + i);
+      this.registry.registerBeanDefinition("bean" + i, bd);
+    }
+    BeanDefinitionJsonLinesExporter exporter = new BeanDefinitionJsonLinesExporter(64);
+    StringWriter writer = new StringWriter();
+    exporter.export(this.registry, writer, null);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    // 复用同一个实例
+    assertEquals(22, exporter.export(this.registry, Channels.newChannel(bytes), null));
+    assertEquals(writer.toString(), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void filtersRestrictExport() throws Exception {
+    BeanDefinitionJsonLinesExporter exporter = new BeanDefinitionJsonLinesExporter();
+    StringWriter writer = new StringWriter();
+    assertEquals(1, exporter.export(this.registry, writer,
+        BeanDefinitionJsonLinesExporter.roleFilter(BeanDefinition.ROLE_INFRASTRUCTURE)));
+    assertEquals(1, writer.toString().split("\n").length);
+
+    writer = new StringWriter();
+    // 空scope视为singleton
+    assertEquals(1, exporter.export(this.registry, writer,
+        BeanDefinitionJsonLinesExporter.scopeFilter(BeanDefinition.SCOPE_SINGLETON)));
+    assertEquals("infrastructure", new JsonReader(writer.toString().trim()).readBeanName());
+  }
+
+
+  /**
+   * 只支持导出器会输出的JSON子集：对象、数组、字符串、整数、布尔和null
+   */
+  private static class JsonReader {
+
+    private final String json;
+
+    private int position;
+
+    JsonReader(String json) {
+      this.json = json;
+    }
+
+    @SuppressWarnings("unchecked")
+    String readBeanName() {
+      return (String) ((Map<String, Object>) read()).get("beanName");
+    }
+
+    Object read() {
+      Object value = readValue();
+      assertEquals("Trailing characters in " + this.json, this.json.length(), this.position);
+      return value;
+    }
+
+    private Object readValue() {
+      char c = this.json.charAt(this.position);
+      if (c == '{') {
+        Map<String, Object> map = new LinkedHashMap<>();
+        this.position++;
+        while (this.json.charAt(this.position) != '}') {
+          if (!map.isEmpty()) {
+            expect(',');
+          }
+          String key = readString();
+          expect(':');
+          map.put(key, readValue());
+        }
+        this.position++;
+        return map;
+      }
+      if (c == '[') {
+        List<Object> list = new ArrayList<>();
+        this.position++;
+        while (this.json.charAt(this.position) != ']') {
+          if (!list.isEmpty()) {
+            expect(',');
+          }
+          list.add(readValue());
+        }
+        this.position++;
+        return list;
+      }
+      if (c == '"') {
+        return readString();
+      }
+      for (String literal : new String[] {"true", "false", "null"}) {
+        if (this.json.startsWith(literal, this.position)) {
+          this.position += literal.length();
+          return (literal.equals("null") ? null : Boolean.valueOf(literal));
+        }
+      }
+      int start = this.position;
+      if (c == '-') {
+        this.position++;
+      }
+      while (this.position < this.json.length() && Character.isDigit(this.json.charAt(this.position))) {
+        this.position++;
+      }
+      return Long.parseLong(this.json.substring(start, this.position));
+    }
+
+    private String readString() {
+      expect('"');
+      StringBuilder sb = new StringBuilder();
+      while (true) {
+        char c = this.json.charAt(this.position++);
+        if (c == '"') {
+          return sb.toString();
+        }
+        if (c < 0x20) {
+          throw new AssertionError("Unescaped control character in " + this.json);
+        }
+        if (c != '\\') {
+          sb.append(c);
+          continue;
+        }
+        char escaped = this.json.charAt(this.position++);
+        switch (escaped) {
+          case 'n':
+            sb.append('\n');
+            break;
+          case 'r':
+            sb.append('\r');
+            break;
+          case 't':
+            sb.append('\t');
+            break;
+          case 'u':
+            sb.append((char) Integer.parseInt(this.json.substring(this.position, this.position + 4), 16));
+            this.position += 4;
+            break;
+          default:
+            sb.append(escaped);
+        }
+      }
+    }
+
+    private void expect(char c) {
+      assertEquals("Unexpected character at " + this.position + " in " + this.json,
+          c, this.json.charAt(this.position++));
+    }
+  }
+
+}
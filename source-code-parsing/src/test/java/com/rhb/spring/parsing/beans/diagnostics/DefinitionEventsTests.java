@@ -0,0 +1,120 @@
+package com.rhb.spring.parsing.beans.diagnostics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * 录制BeanDefinition生命周期事件并检查内容；没有录制时不分配事件
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class DefinitionEventsTests {
+
+  private static final String[] EVENT_NAMES = {
+      "com.rhb.spring.BeanClassResolution",
+      "com.rhb.spring.BeanDefinitionMerge",
+      "com.rhb.spring.BeanDefinitionValidation",
+      "com.rhb.spring.BeanDefinitionClone",
+      "com.rhb.spring.BeanInstantiation"
+  };
+
+
+  @Test
+  public void noEventWithoutRecording() {
+    assertTrue(DefinitionEvents.isJfrPresent());
+    assertNull(DefinitionEvents.beginMerge());
+    assertNull(DefinitionEvents.beginClassResolution());
+    assertNull(DefinitionEvents.beginValidation());
+    assertNull(DefinitionEvents.beginClone());
+    assertNull(DefinitionEvents.beginInstantiation());
+  }
+
+  @Test
+  public void recordsLifecycleEvents() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      for (String name : EVENT_NAMES) {
+        recording.enable(name).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+      assertNotNull(DefinitionEvents.beginMerge());
+
+      SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+      GenericBeanDefinition parent = new GenericBeanDefinition();
+      parent.setBeanClassName(StringBuilder.class.getName());
+      parent.setAbstract(true);
+      beanFactory.registerBeanDefinition("parent", parent);
+      GenericBeanDefinition child = new GenericBeanDefinition();
+      child.setParentName("parent");
+      beanFactory.registerBeanDefinition("child", child);
+      assertNotNull(beanFactory.getBean("child"));
+      parent.cloneBeanDefinition().validate();
+
+      recording.stop();
+      Path file = Files.createTempFile("definition-events", ".jfr");
+      try {
+        recording.dump(file);
+        events = RecordingFile.readAllEvents(file);
+      }
+      finally {
+        Files.deleteIfExists(file);
+      }
+    }
+
+    List<String> merges = new ArrayList<>();
+    boolean resolved = false;
+    boolean instantiated = false;
+    boolean validated = false;
+    boolean cloned = false;
+    for (RecordedEvent event : events) {
+      String name = event.getEventType().getName();
+      if (name.equals("com.rhb.spring.BeanDefinitionMerge")) {
+        merges.add(event.getString("operation"));
+        if ("merge".equals(event.getString("operation")) && "child".equals(event.getString("beanName"))) {
+          assertEquals("parent", event.getString("parentName"));
+          assertEquals(StringBuilder.class.getName(), event.getString("beanClassName"));
+        }
+      }
+      else if (name.equals("com.rhb.spring.BeanClassResolution")) {
+        resolved |= (event.getBoolean("resolved") &&
+            StringBuilder.class.getName().equals(event.getString("beanClassName")));
+      }
+      else if (name.equals("com.rhb.spring.BeanInstantiation")) {
+        assertEquals("child", event.getString("beanName"));
+        assertEquals(DefinitionEvents.CONSTRUCTOR, event.getString("strategy"));
+        assertFalse(event.getDuration().isNegative());
+        instantiated = true;
+      }
+      else if (name.equals("com.rhb.spring.BeanDefinitionValidation")) {
+        validated |= event.getBoolean("valid");
+      }
+      else if (name.equals("com.rhb.spring.BeanDefinitionClone")) {
+        cloned |= StringBuilder.class.getName().equals(event.getString("beanClassName"));
+      }
+    }
+    assertTrue(merges.toString(), merges.contains(DefinitionEvents.MERGE));
+    assertTrue(merges.toString(), merges.contains(DefinitionEvents.MERGE_COPY));
+    assertTrue(merges.toString(), merges.contains(DefinitionEvents.MERGE_OVERRIDE_FROM));
+    assertTrue(resolved);
+    assertTrue(instantiated);
+    assertTrue(validated);
+    assertTrue(cloned);
+  }
+
+}
@@ -0,0 +1,134 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.BeanDefinitionValidationReport.Problem;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.springframework.beans.factory.support.BeanDefinitionValidationException;
+
+/**
+ * 并行批量校验：收集全部问题，报告顺序与注册顺序一致
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class BulkBeanDefinitionValidatorTests {
+
+  private static GenericBeanDefinition valid() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(StringBuilder.class);
+    return bd;
+  }
+
+  /**
+   * 工厂方法与方法覆盖不能同时使用
+   */
+  private static GenericBeanDefinition factoryMethodWithOverride() {
+    GenericBeanDefinition bd = valid();
+    bd.setFactoryMethodName("create");
+    bd.getMethodOverrides().addOverride(new NamedOverride("toString"));
+    return bd;
+  }
+
+  /**
+   * 覆盖的方法在类上不存在
+   */
+  private static GenericBeanDefinition missingOverrideMethod() {
+    GenericBeanDefinition bd = valid();
+    bd.getMethodOverrides().addOverride(new NamedOverride("noSuchMethod"));
+    return bd;
+  }
+
+
+  @Test
+  public void reportsAllProblemsInRegistrationOrder() {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setValidateOnRegistration(false);
+    List<String> invalid = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      String beanName = "bean" + i;
+      if (i % 97 == 13) {
+        beanFactory.registerBeanDefinition(beanName, (i % 2 == 0 ? factoryMethodWithOverride() :
+            missingOverrideMethod()));
+        invalid.add(beanName);
+      }
+      else {
+        beanFactory.registerBeanDefinition(beanName, valid());
+      }
+    }
+
+    BeanDefinitionValidationReport report = new BulkBeanDefinitionValidator().validate(beanFactory);
+    assertEquals(500, report.getValidatedCount());
+    assertTrue(report.hasProblems());
+    List<String> reported = new ArrayList<>();
+    for (Problem problem : report.getProblems()) {
+      reported.add(problem.getBeanName());
+    }
+    assertEquals(invalid, reported);
+    try {
+      report.throwIfProblems();
+      fail("Report with problems must throw");
+    }
+    catch (BeanDefinitionValidationException ex) {
+      for (String beanName : invalid) {
+        assertTrue(ex.getMessage(), ex.getMessage().contains("bean '" + beanName + "'"));
+      }
+      assertEquals(report.getProblems().get(0).getException(), ex.getCause());
+    }
+  }
+
+  @Test
+  public void validatesMapInIterationOrderOnGivenPool() {
+    Map<String, GenericBeanDefinition> definitions = new LinkedHashMap<>();
+    definitions.put("b", missingOverrideMethod());
+    definitions.put("a", valid());
+    definitions.put("c", factoryMethodWithOverride());
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      BeanDefinitionValidationReport report = new BulkBeanDefinitionValidator(pool).validate(definitions);
+      assertEquals(3, report.getValidatedCount());
+      assertEquals(2, report.getProblems().size());
+      assertEquals("b", report.getProblems().get(0).getBeanName());
+      assertTrue(report.getProblems().get(0).getException().getMessage().contains("noSuchMethod"));
+      assertEquals("c", report.getProblems().get(1).getBeanName());
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void noProblems() {
+    Map<String, GenericBeanDefinition> definitions = new LinkedHashMap<>();
+    definitions.put("a", valid());
+    BeanDefinitionValidationReport report = new BulkBeanDefinitionValidator().validate(definitions);
+    assertFalse(report.hasProblems());
+    report.throwIfProblems();
+    assertTrue(report.toString(), report.toString().contains("no problems found"));
+  }
+
+
+  private static final class NamedOverride extends MethodOverride {
+
+    NamedOverride(String methodName) {
+      super(methodName);
+    }
+
+    @Override
+    public boolean matches(Method method) {
+      return method.getName().equals(getMethodName());
+    }
+  }
+
+}
@@ -0,0 +1,165 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.FactoryMethodCache.Resolution;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.BeanCreationException;
+
+/**
+ * 工厂方法缓存：按 (工厂类, 方法名, 参数形状, 访问和宽松标志) 共享解析结果，缓存与否选中的重载相同
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class FactoryMethodCacheTests {
+
+  private FactoryMethodCache cache;
+
+
+  @Before
+  public void setUp() {
+    this.cache = new FactoryMethodCache();
+  }
+
+
+  @Test
+  public void resolutionsAreSharedPerShape() {
+    Resolution first = this.cache.getResolution(Factory.class, "create", true, new Object[] {"a"}, false, true);
+    assertSame(first, this.cache.getResolution(Factory.class, "create", true, new Object[] {"b"}, false, true));
+    assertEquals(1, this.cache.getHitCount());
+
+    assertNotSame(first, this.cache.getResolution(Factory.class, "create", true, new Object[] {1}, false, true));
+    assertNotSame(first, this.cache.getResolution(Factory.class, "create", true, new Object[] {"a"}, false, false));
+    assertNotSame(first, this.cache.getResolution(Factory.class, "create", true, new Object[] {"a"}, true, true));
+    assertEquals(4, this.cache.size());
+    assertEquals(4, this.cache.getMissCount());
+
+    this.cache.clear();
+    assertEquals(0, this.cache.size());
+  }
+
+  @Test
+  public void candidatesMatchStaticnessCountAndAccess() {
+    Resolution statics = FactoryMethodCache.resolve(Factory.class, "create", true, new Object[] {"a", "b"},
+        false, true);
+    assertEquals(2, statics.getCandidates().length);
+    Resolution withNonPublic = FactoryMethodCache.resolve(Factory.class, "create", true, new Object[] {"a", "b"},
+        true, true);
+    assertEquals(3, withNonPublic.getCandidates().length);
+    Resolution instance = FactoryMethodCache.resolve(Factory.class, "open", false, new Object[] {"a"},
+        false, true);
+    assertEquals(1, instance.getCandidates().length);
+    assertEquals(0, FactoryMethodCache.resolve(Factory.class, "open", true, new Object[] {"a"}, false, true)
+        .getCandidates().length);
+  }
+
+  @Test
+  public void directInvocationOnlyWithoutConversionOrProbing() {
+    Resolution lenient = FactoryMethodCache.resolve(Factory.class, "create", true, new Object[] {"a"}, false, true);
+    assertEquals(2, lenient.getCandidates().length);
+    // 宽松模式下只看第一个候选；严格模式下有多个候选时需要逐个尝试
+    Resolution strict = FactoryMethodCache.resolve(Factory.class, "create", true, new Object[] {"a"}, false, false);
+    assertNull(strict.getDirect());
+
+    Resolution single = FactoryMethodCache.resolve(Factory.class, "open", false, new Object[] {"a"}, false, false);
+    assertEquals("open", single.getDirect().getMethod().getName());
+    Resolution converted = FactoryMethodCache.resolve(Factory.class, "open", false, new Object[] {1}, false, false);
+    assertNull(converted.getDirect());
+    Resolution nullForPrimitive = FactoryMethodCache.resolve(Factory.class, "timeout", true, new Object[] {null},
+        false, true);
+    assertNull(nullForPrimitive.getDirect());
+  }
+
+  @Test
+  public void cachedAndUncachedSelectTheSameOverload() {
+    Object[][] argumentSets = {
+        {"jdbc:a"}, {URI.create("jdbc:b")}, {"jdbc:c", 30}, {"jdbc:d", "30"}, {"jdbc:e", TimeUnit.SECONDS},
+        {"jdbc:f", "SECONDS"}, {"jdbc:g", 5L, TimeUnit.MINUTES}, {"jdbc:h", "5", "MINUTES"}};
+    for (boolean lenient : new boolean[] {true, false}) {
+      SimpleBeanFactory cached = factoryFor(argumentSets, lenient, true);
+      SimpleBeanFactory uncached = factoryFor(argumentSets, lenient, false);
+      for (int i = 0; i < argumentSets.length; i++) {
+        for (int round = 0; round < 2; round++) {
+          assertEquals("arguments " + i + ", lenient " + lenient, outcome(uncached, "bean" + i),
+              outcome(cached, "bean" + i));
+        }
+      }
+      assertEquals(0, uncached.getFactoryMethodCache().size());
+    }
+  }
+
+  /**
+   * 选中的重载，严格模式下有歧义时为异常信息
+   */
+  private static String outcome(SimpleBeanFactory beanFactory, String beanName) {
+    try {
+      return beanFactory.getBean(beanName).toString();
+    }
+    catch (BeanCreationException ex) {
+      return ex.getMessage();
+    }
+  }
+
+  private static SimpleBeanFactory factoryFor(Object[][] argumentSets, boolean lenient, boolean cacheFactoryMethods) {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setCacheFactoryMethods(cacheFactoryMethods);
+    for (int i = 0; i < argumentSets.length; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(Factory.class);
+      bd.setFactoryMethodName("create");
+      bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+      bd.setLenientConstructorResolution(lenient);
+      for (int j = 0; j < argumentSets[i].length; j++) {
+        bd.getConstructorArgumentValues().addIndexedArgumentValue(j, argumentSets[i][j]);
+      }
+      beanFactory.registerBeanDefinition("bean" + i, bd);
+    }
+    return beanFactory;
+  }
+
+
+  public static class Factory {
+
+    public static String create(String url) {
+      return "create(String)";
+    }
+
+    public static String create(URI uri) {
+      return "create(URI)";
+    }
+
+    public static String create(String url, int timeoutMillis) {
+      return "create(String,int)";
+    }
+
+    public static String create(String url, TimeUnit unit) {
+      return "create(String,TimeUnit)";
+    }
+
+    public static String create(String url, long timeout, TimeUnit unit) {
+      return "create(String,long,TimeUnit)";
+    }
+
+    static String create(String url, String description) {
+      return "create(String,String)";
+    }
+
+    public static String timeout(long millis) {
+      return "timeout(long)";
+    }
+
+    public String open(String url) {
+      return "open(String)";
+    }
+  }
+
+}
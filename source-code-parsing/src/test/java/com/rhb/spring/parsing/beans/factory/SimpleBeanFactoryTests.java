@@ -0,0 +1,233 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.base.BeanMetadataAttribute;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.placeholder.SimpleVersionedPropertySource;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * SimpleBeanFactory：定义重置时销毁单例、清除占位符模板，压缩元数据时不修改下层的定义，
+ * 异步初始化失败时移除并销毁单例
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class SimpleBeanFactoryTests {
+
+  private static final AtomicInteger shutdowns = new AtomicInteger();
+
+  private static CompletableFuture<Void> readiness;
+
+  private SimpleBeanFactory beanFactory;
+
+  private final Queue<Runnable> initTasks = new ArrayDeque<>();
+
+
+  @Before
+  public void setUp() {
+    shutdowns.set(0);
+    readiness = new CompletableFuture<>();
+    this.beanFactory = new SimpleBeanFactory();
+    this.beanFactory.setInitExecutor(this.initTasks::add);
+  }
+
+  private static GenericBeanDefinition resourceDefinition() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(Resource.class);
+    bd.setDestroyMethodName("shutdown");
+    return bd;
+  }
+
+  private static GenericBeanDefinition asyncDefinition(String initMethodName) {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(AsyncResource.class);
+    bd.setInitMethodName(initMethodName);
+    bd.setDestroyMethodName("shutdown");
+    bd.setBooleanAttribute(SimpleBeanFactory.ASYNC_INIT_ATTRIBUTE, true);
+    return bd;
+  }
+
+  private void runInitTasks() {
+    for (Runnable task; (task = this.initTasks.poll()) != null; ) {
+      task.run();
+    }
+  }
+
+
+  @Test
+  public void reRegistrationInvokesDestroyMethod() {
+    this.beanFactory.registerBeanDefinition("resource", resourceDefinition());
+    Object first = this.beanFactory.getBean("resource");
+    this.beanFactory.registerBeanDefinition("resource", resourceDefinition());
+    assertEquals(1, shutdowns.get());
+    assertNotSame(first, this.beanFactory.getBean("resource"));
+  }
+
+  @Test
+  public void removalInvokesDestroyMethod() {
+    this.beanFactory.registerBeanDefinition("resource", resourceDefinition());
+    this.beanFactory.getBean("resource");
+    this.beanFactory.removeBeanDefinition("resource");
+    assertEquals(1, shutdowns.get());
+  }
+
+  @Test
+  public void placeholderTemplatesAreCachedOnlyForPlaceholdersAndEvictedOnReset() {
+    SimpleVersionedPropertySource source = new SimpleVersionedPropertySource();
+    source.setProperty("host", "db.example.com");
+    this.beanFactory.setPlaceholderSource(source);
+    for (int i = 0; i < 100; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(StringBuilder.class);
+      bd.getConstructorArgumentValues().addGenericArgumentValue("literal-" + i);
+      this.beanFactory.registerBeanDefinition("literal" + i, bd);
+      this.beanFactory.getMergedBeanDefinition("literal" + i);
+    }
+    assertEquals(0, this.beanFactory.getPlaceholderTemplates().size());
+
+    for (int version = 0; version < 10; version++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(StringBuilder.class);
+      bd.getConstructorArgumentValues().addGenericArgumentValue("jdbc://${host}/v" + version);
+      this.beanFactory.registerBeanDefinition("url", bd);
+      assertEquals("jdbc://db.example.com/v" + version, this.beanFactory.getBean("url").toString());
+      assertEquals(1, this.beanFactory.getPlaceholderTemplates().size());
+    }
+    this.beanFactory.removeBeanDefinition("url");
+    assertEquals(0, this.beanFactory.getPlaceholderTemplates().size());
+  }
+
+  @Test
+  public void destroySingletonsInvokesDestroyMethod() {
+    this.beanFactory.registerBeanDefinition("resource", resourceDefinition());
+    this.beanFactory.getBean("resource");
+    this.beanFactory.destroySingletons();
+    assertEquals(1, shutdowns.get());
+  }
+
+  @Test
+  public void compactMetadataLeavesParentRegistryDefinitionsIntact() {
+    Object baseSource = new Object();
+    GenericBeanDefinition base = new GenericBeanDefinition();
+    base.setBeanClass(StringBuilder.class);
+    base.setSource(baseSource);
+    TypedStringValue value = new TypedStringValue("base");
+    value.setSource(baseSource);
+    base.getConstructorArgumentValues().addGenericArgumentValue(value);
+    BeanMetadataAttribute attribute = new BeanMetadataAttribute("origin", "base");
+    attribute.setSource(baseSource);
+    base.addMetadataAttribute(attribute);
+    SimpleBeanFactory baseFactory = new SimpleBeanFactory();
+    baseFactory.registerBeanDefinition("base", base);
+
+    this.beanFactory.setParentBeanDefinitionRegistry(baseFactory);
+    GenericBeanDefinition child = new GenericBeanDefinition();
+    child.setParentName("base");
+    child.setSource(new Object());
+    this.beanFactory.registerBeanDefinition("child", child);
+    GenericBeanDefinition local = new GenericBeanDefinition();
+    local.setBeanClass(StringBuilder.class);
+    TypedStringValue localValue = new TypedStringValue("local");
+    localValue.setSource(new Object());
+    local.getConstructorArgumentValues().addGenericArgumentValue(localValue);
+    this.beanFactory.registerBeanDefinition("local", local);
+    assertEquals("base", this.beanFactory.getBean("base").toString());
+    assertEquals("base", this.beanFactory.getBean("child").toString());
+    assertEquals("local", this.beanFactory.getBean("local").toString());
+
+    this.beanFactory.compactMetadata();
+    assertSame(baseSource, base.getSource());
+    assertSame(baseSource, value.getSource());
+    assertSame(baseSource, attribute.getSource());
+    assertNull(child.getSource());
+    assertNull(localValue.getSource());
+  }
+
+  @Test
+  public void asyncInitCompletesWithReturnedStage() {
+    this.beanFactory.registerBeanDefinition("async", asyncDefinition("start"));
+    Object bean = this.beanFactory.getBean("async");
+    CompletableFuture<Void> future = this.beanFactory.getInitFuture("async");
+    assertFalse(future.isDone());
+    runInitTasks();
+    assertFalse(future.isDone());
+
+    readiness.complete(null);
+    assertTrue(future.isDone());
+    assertFalse(future.isCompletedExceptionally());
+    this.beanFactory.awaitAsyncInitialization();
+    assertSame(bean, this.beanFactory.getBean("async"));
+    assertTrue(this.beanFactory.getReadinessTimes().containsKey("async"));
+    assertEquals(0, shutdowns.get());
+  }
+
+  @Test
+  public void asyncInitFailureRemovesAndDestroysSingleton() {
+    this.beanFactory.registerBeanDefinition("async", asyncDefinition("fail"));
+    Object bean = this.beanFactory.getBean("async");
+    assertTrue(this.beanFactory.containsSingleton("async"));
+    runInitTasks();
+
+    assertFalse(this.beanFactory.containsSingleton("async"));
+    assertEquals(1, shutdowns.get());
+    assertTrue(this.beanFactory.getInitFuture("async").isCompletedExceptionally());
+    try {
+      this.beanFactory.awaitAsyncInitialization();
+      fail("Failed asynchronous init must be reported");
+    }
+    catch (BeanCreationException expected) {
+      assertTrue(expected.getCause() instanceof IllegalStateException);
+    }
+    // 再次获取时重新创建
+    assertNotSame(bean, this.beanFactory.getBean("async"));
+    this.beanFactory.destroySingletons();
+    assertEquals(2, shutdowns.get());
+  }
+
+  @Test
+  public void asyncInitFailureBeforeRegistrationIsNotCached() {
+    this.beanFactory.setInitExecutor(Runnable::run);
+    this.beanFactory.registerBeanDefinition("async", asyncDefinition("fail"));
+    this.beanFactory.getBean("async");
+    assertFalse(this.beanFactory.containsSingleton("async"));
+    assertEquals(1, shutdowns.get());
+    this.beanFactory.destroySingletons();
+    assertEquals(1, shutdowns.get());
+  }
+
+
+  public static class Resource {
+
+    public void shutdown() {
+      shutdowns.incrementAndGet();
+    }
+  }
+
+
+  public static class AsyncResource extends Resource {
+
+    public CompletableFuture<Void> start() {
+      return readiness;
+    }
+
+    public void fail() {
+      throw new IllegalStateException("init failed");
+    }
+  }
+
+}
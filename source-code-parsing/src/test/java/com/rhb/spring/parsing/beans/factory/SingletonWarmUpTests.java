@@ -0,0 +1,181 @@
+package com.rhb.spring.parsing.beans.factory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SingletonWarmUp.Progress;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * 懒加载单例预热：依赖排在前面、跳过已创建的单例、取消后不再创建、与按需请求循环等待时让出
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class SingletonWarmUpTests {
+
+  private static final long TIMEOUT_SECONDS = 30;
+
+  private static volatile SimpleBeanFactory current;
+
+  private static volatile Thread warmUpThread;
+
+  private static volatile CountDownLatch warmUpStarted;
+
+  private static volatile CountDownLatch requestStarted;
+
+  private SimpleBeanFactory beanFactory;
+
+
+  @Before
+  public void setUp() {
+    this.beanFactory = new SimpleBeanFactory();
+    current = this.beanFactory;
+    warmUpThread = null;
+    warmUpStarted = new CountDownLatch(1);
+    requestStarted = new CountDownLatch(1);
+  }
+
+  @After
+  public void tearDown() {
+    SingletonWarmUp warmUp = this.beanFactory.getSingletonWarmUp();
+    if (warmUp != null) {
+      warmUp.cancel();
+    }
+    current = null;
+  }
+
+  private GenericBeanDefinition register(String beanName, Class<?> beanClass, boolean lazyInit) {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(beanClass);
+    bd.setLazyInit(lazyInit);
+    this.beanFactory.registerBeanDefinition(beanName, bd);
+    return bd;
+  }
+
+
+  @Test
+  public void planPutsDependenciesFirstAndSkipsOthers() {
+    register("a", StringBuilder.class, true).setDependsOn("c", "eager");
+    register("b", StringBuilder.class, true);
+    register("c", StringBuilder.class, true);
+    register("eager", StringBuilder.class, false);
+    register("template", StringBuilder.class, true).setAbstract(true);
+    register("prototype", StringBuilder.class, true).setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    register("created", StringBuilder.class, true);
+    this.beanFactory.getBean("created");
+
+    assertArrayEquals(new String[] {"c", "a", "b"}, SingletonWarmUp.plan(this.beanFactory).toArray());
+  }
+
+  @Test
+  public void warmUpCreatesLazySingletonsAndRecordsFailures() throws Exception {
+    register("first", StringBuilder.class, true);
+    register("second", StringBuilder.class, true);
+    register("broken", Broken.class, true);
+    this.beanFactory.setWarmUpExecutor(Runnable::run);
+
+    SingletonWarmUp warmUp = this.beanFactory.startSingletonWarmUp();
+    Progress progress = warmUp.getCompletion().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertTrue(progress.isDone());
+    assertEquals(2, progress.getWarmed());
+    assertEquals(1, progress.getFailures().size());
+    assertTrue(progress.getFailures().containsKey("broken"));
+    assertEquals(0, progress.getRemaining());
+    assertFalse(progress.isFullyWarm());
+    assertTrue(this.beanFactory.containsSingleton("first"));
+    assertTrue(this.beanFactory.containsSingleton("second"));
+  }
+
+  @Test
+  public void cancelledWarmUpCreatesNothing() throws Exception {
+    register("first", StringBuilder.class, true);
+    register("second", StringBuilder.class, true);
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    this.beanFactory.setWarmUpExecutor(tasks::add);
+
+    SingletonWarmUp warmUp = this.beanFactory.startSingletonWarmUp();
+    warmUp.cancel();
+    tasks.poll().run();
+    Progress progress = warmUp.getCompletion().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertTrue(progress.isCancelled());
+    assertEquals(0, progress.getWarmed());
+    assertEquals(2, progress.getRemaining());
+    assertFalse(this.beanFactory.containsSingleton("first"));
+  }
+
+  @Test
+  public void warmUpYieldsToOnDemandRequestInCycle() throws Exception {
+    register("x", WarmedFirst.class, true);
+    register("y", RequestedFirst.class, true).getPropertyValues()
+        .add("x", new RuntimeBeanReference("x"));
+    this.beanFactory.setWarmUpExecutor(task -> {
+      Thread thread = new Thread(task, "warm-up-test");
+      warmUpThread = thread;
+      thread.start();
+    });
+
+    SingletonWarmUp warmUp = this.beanFactory.startSingletonWarmUp();
+    assertTrue(warmUpStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    // 预热线程持有x的锁并等待y，当前线程持有y的锁并等待x
+    RequestedFirst y = (RequestedFirst) this.beanFactory.getBean("y");
+    assertSame(this.beanFactory.getBean("x"), y.x);
+
+    Progress progress = warmUp.getCompletion().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertEquals(1, progress.getYields());
+    assertEquals(0, progress.getWarmed());
+    assertEquals(2, progress.getCreatedOnDemand());
+    assertTrue(progress.toString(), progress.isFullyWarm());
+  }
+
+
+  public static class Broken {
+
+    public Broken() {
+      throw new IllegalStateException("broken");
+    }
+  }
+
+
+  /**
+   * 在预热线程中创建时，先等按需请求开始创建y，再获取y
+   */
+  public static class WarmedFirst {
+
+    public WarmedFirst() throws InterruptedException {
+      if (Thread.currentThread() == warmUpThread) {
+        warmUpStarted.countDown();
+        if (requestStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          current.getBean("y");
+        }
+      }
+    }
+  }
+
+
+  public static class RequestedFirst {
+
+    Object x;
+
+    public RequestedFirst() {
+      requestStarted.countDown();
+    }
+
+    public void setX(Object x) {
+      this.x = x;
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 关闭时不计数；打开后被统计的操作计入次数和直方图，并能通过exporter和JMX读取
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class DefinitionMetricsTests {
+
+  private boolean enabled;
+
+
+  @Before
+  public void setUp() {
+    this.enabled = DefinitionMetrics.isEnabled();
+    DefinitionMetrics.reset();
+  }
+
+  @After
+  public void tearDown() {
+    DefinitionMetrics.setEnabled(this.enabled);
+    DefinitionMetrics.reset();
+  }
+
+
+  @Test
+  public void disabledMetricsRecordNothing() {
+    DefinitionMetrics.setEnabled(false);
+    assertEquals(0L, DefinitionMetrics.start());
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setAttribute("a", 1);
+    bd.getAttribute("a");
+    bd.cloneBeanDefinition();
+    for (OperationSnapshot snapshot : DefinitionMetrics.snapshot()) {
+      assertEquals(snapshot.toString(), 0, snapshot.getCount());
+    }
+  }
+
+  @Test
+  public void enabledMetricsCountInstrumentedOperations() {
+    DefinitionMetrics.setEnabled(true);
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setAttribute("a", 1);
+    for (int i = 0; i < 10; i++) {
+      bd.getAttribute("a");
+    }
+    bd.cloneBeanDefinition();
+
+    assertEquals(1, DefinitionMetrics.snapshot(Operation.CLONE).getCount());
+    OperationSnapshot reads = DefinitionMetrics.snapshot(Operation.ATTRIBUTE_READ);
+    assertTrue(reads.toString(), reads.getCount() >= 10);
+    assertEquals(reads.getCount(), reads.getHistogram().getTotalCount());
+    assertTrue(reads.getValueAtPercentile(50) <= reads.getMaxNanos());
+
+    DefinitionMetrics.reset();
+    assertEquals(0, DefinitionMetrics.snapshot(Operation.CLONE).getCount());
+  }
+
+  @Test
+  public void exportersReceiveEveryOperation() {
+    List<OperationSnapshot> exported = new ArrayList<>();
+    MetricsExporter exporter = exported::addAll;
+    MetricsExporter failing = snapshots -> {
+      throw new IllegalStateException("failing exporter");
+    };
+    DefinitionMetrics.addExporter(failing);
+    DefinitionMetrics.addExporter(exporter);
+    try {
+      DefinitionMetrics.exportNow();
+    }
+    finally {
+      DefinitionMetrics.removeExporter(failing);
+      DefinitionMetrics.removeExporter(exporter);
+    }
+    // 一个exporter失败不影响其他exporter
+    assertEquals(Operation.values().length, exported.size());
+  }
+
+  @Test
+  public void jmxExposesControlAndOperations() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    DefinitionMetricsJmx jmx = new DefinitionMetricsJmx(server);
+    jmx.register();
+    try {
+      ObjectName control = new ObjectName(DefinitionMetricsJmx.DOMAIN + ":type=DefinitionMetrics,name=control");
+      server.setAttribute(control, new Attribute("Enabled", true));
+      assertTrue(DefinitionMetrics.isEnabled());
+      new GenericBeanDefinition().cloneBeanDefinition();
+      ObjectName clone = new ObjectName(DefinitionMetricsJmx.DOMAIN + ":type=DefinitionMetrics,operation=CLONE");
+      assertEquals(1L, server.getAttribute(clone, "Count"));
+      server.invoke(control, "reset", null, null);
+      assertEquals(0L, server.getAttribute(clone, "Count"));
+    }
+    finally {
+      jmx.unregister();
+    }
+    assertFalse(server.isRegistered(new ObjectName(DefinitionMetricsJmx.DOMAIN +
+        ":type=DefinitionMetrics,operation=CLONE")));
+  }
+
+}
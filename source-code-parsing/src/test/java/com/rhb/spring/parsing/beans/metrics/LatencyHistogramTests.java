@@ -0,0 +1,98 @@
+package com.rhb.spring.parsing.beans.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * 分桶的边界和相对误差、百分位数、重置以及并发记录
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class LatencyHistogramTests {
+
+  @Test
+  public void bucketsCoverEveryValueWithBoundedError() {
+    int previous = -1;
+    for (long value = 0; value < 1 << 20; value++) {
+      int index = LatencyHistogram.bucketIndex(value);
+      assertTrue(index >= previous);
+      previous = index;
+      long upper = LatencyHistogram.bucketUpperBound(index);
+      assertTrue(value + " -> " + upper, upper >= value);
+      // 上界与值的相对误差不超过1/8
+      assertTrue(value + " -> " + upper, (upper - value) * 8 <= Math.max(value, 1));
+    }
+    assertEquals(0, LatencyHistogram.bucketIndex(-5));
+    assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.BUCKET_COUNT - 1));
+  }
+
+  @Test
+  public void percentilesAreWithinBucketError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 1000; value++) {
+      histogram.record(value);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1000, snapshot.getTotalCount());
+    assertEquals(1000, snapshot.getMax());
+    assertWithin(500, snapshot.getValueAtPercentile(50));
+    assertWithin(990, snapshot.getValueAtPercentile(99));
+    // 最高的百分位不超过实际的最大值
+    assertEquals(1000, snapshot.getValueAtPercentile(100));
+    assertEquals(1, snapshot.getValueAtPercentile(0));
+  }
+
+  @Test
+  public void emptyAndResetHistogramsReportZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+    histogram.record(12345);
+    histogram.reset();
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(0, snapshot.getTotalCount());
+    assertEquals(0, snapshot.getMax());
+  }
+
+  @Test
+  public void concurrentRecordsAreNotLost() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        long offset = t * 1000L;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 100_000; i++) {
+            histogram.record(offset + i % 1000);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(400_000, snapshot.getTotalCount());
+    assertEquals(3999, snapshot.getMax());
+  }
+
+
+  private static void assertWithin(long expected, long actual) {
+    assertTrue("expected ~" + expected + " but was " + actual,
+        actual >= expected && actual <= expected + expected / 8);
+  }
+
+}
@@ -0,0 +1,161 @@
+package com.rhb.spring.parsing.beans.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.core.io.DescriptiveResource;
+
+/**
+ * 堆外存储：toBeanDefinition()还原出与原定义相同的定义，字符串去重，同名覆盖原位更新，视图只读
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class OffHeapDefinitionStoreTests {
+
+  private OffHeapDefinitionStore store;
+
+
+  @Before
+  public void setUp() {
+    this.store = new OffHeapDefinitionStore(4);
+  }
+
+  private static GenericBeanDefinition fullDefinition() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName("com.example.OrderService");
+    bd.setParentName("baseService");
+    bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    bd.setAbstract(true);
+    bd.setLazyInit(true);
+    bd.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_TYPE);
+    bd.setDependencyCheck(AbstractBeanDefinition.DEPENDENCY_CHECK_OBJECTS);
+    bd.setDependsOn("dataSource", "cache");
+    bd.setAutowireCandidate(false);
+    bd.setPrimary(true);
+    bd.setFactoryBeanName("serviceFactory");
+    bd.setFactoryMethodName("create");
+    bd.setInitMethodName("start");
+    bd.setEnforceInitMethod(false);
+    bd.setDestroyMethodName("stop");
+    bd.setEnforceDestroyMethod(false);
+    bd.setNonPublicAccessAllowed(false);
+    bd.setLenientConstructorResolution(false);
+    bd.setSynthetic(true);
+    bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+    bd.setDescription("\u8ba2\u5355\u670d\u52a1");
+    bd.setResource(new DescriptiveResource("orders.xml"));
+    bd.getPropertyValues().add("timeout", 30);
+    bd.getConstructorArgumentValues().addIndexedArgumentValue(0, new RuntimeBeanReference("repository"));
+    bd.addQualifier(new AutowireCandidateQualifier("com.example.Primary"));
+    bd.setAttribute("owner", "orders");
+    bd.setSource("orders.xml:12");
+    return bd;
+  }
+
+
+  @Test
+  public void toBeanDefinitionRestoresEveryField() {
+    GenericBeanDefinition original = fullDefinition();
+    this.store.add("orderService", original);
+    OffHeapBeanDefinition view = this.store.get("orderService");
+    assertEquals("orderService", view.getBeanName());
+    assertArrayEquals(new String[] {"dataSource", "cache"}, view.getDependsOn());
+
+    GenericBeanDefinition restored = view.toBeanDefinition();
+    assertEquals(original, restored);
+    assertEquals(original.getDescription(), restored.getDescription());
+    assertEquals(original.getResourceDescription(), restored.getResourceDescription());
+    assertEquals("orders.xml:12", restored.getSource());
+    assertEquals(1, this.store.getResidualCount());
+
+    // 还原的是新副本，修改它不影响store
+    restored.setInitMethodName("other");
+    restored.getPropertyValues().add("timeout", 60);
+    GenericBeanDefinition again = this.store.get("orderService").toBeanDefinition();
+    assertEquals("start", again.getInitMethodName());
+    assertEquals(original, again);
+    assertNotSame(restored.getPropertyValues(), again.getPropertyValues());
+  }
+
+  @Test
+  public void metadataOnlyDefinitionHasNoResidual() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName("com.example.Plain");
+    bd.setDependsOn();
+    this.store.add("plain", bd);
+    assertEquals(0, this.store.getResidualCount());
+    GenericBeanDefinition restored = this.store.get("plain").toBeanDefinition();
+    assertEquals(bd, restored);
+    assertNull(restored.getParentName());
+    assertTrue(restored.isSingleton());
+  }
+
+  @Test
+  public void addOverwritesInPlace() {
+    this.store.add("a", fullDefinition());
+    GenericBeanDefinition replacement = new GenericBeanDefinition();
+    replacement.setBeanClassName("com.example.Other");
+    int index = this.store.add("b", replacement);
+    assertEquals(index, this.store.add("b", fullDefinition()));
+    assertEquals(index, this.store.add("b", replacement));
+
+    assertEquals(2, this.store.size());
+    assertEquals(1, this.store.getResidualCount());
+    assertEquals(replacement, this.store.get("b").toBeanDefinition());
+    assertEquals(-1, this.store.indexOf("c"));
+    assertNull(this.store.get("c"));
+  }
+
+  @Test
+  public void stringTableDeduplicates() {
+    OffHeapStringTable strings = new OffHeapStringTable(2);
+    int id = strings.intern("\u4e2d\u6587");
+    assertEquals(id, strings.intern("\u4e2d\u6587"));
+    for (int i = 0; i < 100; i++) {
+      strings.intern("value" + i);
+    }
+    assertEquals(101, strings.size());
+    assertEquals("\u4e2d\u6587", strings.get(id));
+    assertEquals(id, strings.find("\u4e2d\u6587"));
+    assertEquals(OffHeapStringTable.NULL_ID, strings.intern(null));
+    assertNull(strings.get(OffHeapStringTable.NULL_ID));
+  }
+
+  @Test
+  public void viewIsReadOnlyAndUsableByFactory() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(StringBuilder.class);
+    bd.getConstructorArgumentValues().addGenericArgumentValue("off-heap");
+    this.store.add("builder", bd);
+    OffHeapBeanDefinition view = this.store.get("builder");
+    try {
+      view.setLazyInit(true);
+      fail("View must be read-only");
+    }
+    catch (UnsupportedOperationException expected) {
+    }
+    assertFalse(view.isLazyInit());
+
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    this.store.registerAll(beanFactory);
+    Object bean = beanFactory.getBean("builder");
+    assertEquals("off-heap", bean.toString());
+    assertSame(bean, beanFactory.getBean("builder"));
+  }
+
+}
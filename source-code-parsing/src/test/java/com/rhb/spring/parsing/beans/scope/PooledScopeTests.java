@@ -0,0 +1,183 @@
+package com.rhb.spring.parsing.beans.scope;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * PooledScope：借出登记、池移除时唤醒等待者、销毁方法、归还与移除并发、定义替换后重建池
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class PooledScopeTests {
+
+  private static final AtomicInteger cleanups = new AtomicInteger();
+
+  private static final AtomicInteger instances = new AtomicInteger();
+
+  private SimpleBeanFactory beanFactory;
+
+  private PooledScope scope;
+
+
+  @Before
+  public void setUp() {
+    cleanups.set(0);
+    instances.set(0);
+    this.beanFactory = new SimpleBeanFactory();
+    this.scope = new PooledScope(this.beanFactory::getMergedBeanDefinition);
+    this.beanFactory.registerScope(PooledScope.SCOPE_POOLED, this.scope);
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(Connection.class);
+    bd.setScope(PooledScope.SCOPE_POOLED);
+    bd.setDestroyMethodName("cleanup");
+    bd.setAttribute(PooledScope.MAX_SIZE_ATTRIBUTE, 1);
+    bd.setAttribute(PooledScope.MAX_WAIT_MILLIS_ATTRIBUTE, 10_000L);
+    this.beanFactory.registerBeanDefinition("connection", bd);
+  }
+
+
+  @Test
+  public void releaseTwiceIsRejected() {
+    GenericBeanDefinition bd = (GenericBeanDefinition) this.beanFactory.getBeanDefinition("connection");
+    bd.setAttribute(PooledScope.MAX_SIZE_ATTRIBUTE, 2);
+    Object first = this.beanFactory.getBean("connection");
+    assertTrue(this.scope.release("connection", first));
+    try {
+      this.scope.release("connection", first);
+      fail("Second release of the same instance must be rejected");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+    Object a = this.beanFactory.getBean("connection");
+    Object b = this.beanFactory.getBean("connection");
+    assertNotSame(a, b);
+    assertEquals(2, this.scope.getPoolStatistics("connection").getSize());
+    assertEquals(0, this.scope.getPoolStatistics("connection").getIdle());
+  }
+
+  @Test
+  public void foreignObjectIsRejected() {
+    this.beanFactory.getBean("connection");
+    try {
+      this.scope.release("connection", new Connection());
+      fail("Release of an object that was never borrowed must be rejected");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+    assertEquals(1, this.scope.getPoolStatistics("connection").getSize());
+  }
+
+  @Test
+  public void removeWakesWaitersWithRemovedError() throws Exception {
+    this.beanFactory.getBean("connection");
+    CompletableFuture<Object> waiter = CompletableFuture.supplyAsync(() -> this.beanFactory.getBean("connection"));
+    // 等待者进入慢路径（池满，maxWait为10秒）
+    Thread.sleep(200);
+    long start = System.nanoTime();
+    this.scope.remove("connection");
+    try {
+      waiter.get(5, TimeUnit.SECONDS);
+      fail("Waiter must fail after the pool is removed");
+    }
+    catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof IllegalStateException);
+      assertTrue(ex.getCause().getMessage(), ex.getCause().getMessage().contains("has been removed"));
+    }
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+  }
+
+  @Test
+  public void destroyMethodIsInvoked() {
+    Object bean = this.beanFactory.getBean("connection");
+    assertTrue(this.scope.release("connection", bean));
+    this.scope.remove("connection");
+    assertEquals(1, cleanups.get());
+  }
+
+  @Test
+  public void releaseAfterRemoveDestroysLoanedInstance() {
+    Object bean = this.beanFactory.getBean("connection");
+    this.scope.remove("connection");
+    assertFalse(this.scope.release("connection", bean));
+    assertEquals(1, cleanups.get());
+    Object next = this.beanFactory.getBean("connection");
+    assertNotSame(bean, next);
+    assertEquals(1, this.scope.getPoolStatistics("connection").getSize());
+    assertTrue(this.scope.release("connection", next));
+    assertSame(next, this.beanFactory.getBean("connection"));
+  }
+
+  @Test
+  public void redefinitionDropsPool() {
+    Object bean = this.beanFactory.getBean("connection");
+    assertTrue(this.scope.release("connection", bean));
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(Connection.class);
+    bd.setScope(PooledScope.SCOPE_POOLED);
+    bd.setDestroyMethodName("cleanup");
+    bd.setAttribute(PooledScope.MAX_SIZE_ATTRIBUTE, 3);
+    this.beanFactory.registerBeanDefinition("connection", bd);
+    assertEquals(1, cleanups.get());
+    assertNull(this.scope.getPoolStatistics("connection"));
+    assertNotSame(bean, this.beanFactory.getBean("connection"));
+    assertEquals(3, this.scope.getPoolStatistics("connection").getMaxSize());
+  }
+
+  @Test
+  public void concurrentReleaseAndRemoveDestroyEveryInstance() throws Exception {
+    GenericBeanDefinition bd = (GenericBeanDefinition) this.beanFactory.getBeanDefinition("connection");
+    bd.setAttribute(PooledScope.MAX_SIZE_ATTRIBUTE, 4);
+    int threads = 4;
+    CompletableFuture<?>[] workers = new CompletableFuture<?>[threads];
+    for (int t = 0; t < threads; t++) {
+      workers[t] = CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < 2_000; i++) {
+          Object bean;
+          try {
+            bean = this.beanFactory.getBean("connection");
+          }
+          catch (IllegalStateException ex) {
+            // 池刚被移除
+            continue;
+          }
+          this.scope.release("connection", bean);
+        }
+      });
+    }
+    for (int i = 0; i < 50; i++) {
+      this.scope.remove("connection");
+      Thread.sleep(1);
+    }
+    CompletableFuture.allOf(workers).get(30, TimeUnit.SECONDS);
+    this.scope.remove("connection");
+    assertEquals(instances.get(), cleanups.get());
+  }
+
+
+  public static class Connection {
+
+    public Connection() {
+      instances.incrementAndGet();
+    }
+
+    public void cleanup() {
+      cleanups.incrementAndGet();
+    }
+  }
+
+}
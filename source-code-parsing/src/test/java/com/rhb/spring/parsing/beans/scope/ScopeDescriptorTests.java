@@ -0,0 +1,150 @@
+package com.rhb.spring.parsing.beans.scope;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.Scope;
+
+/**
+ * scope描述符：setScope后重新解析；每个注册中心中自定义scope只有一个描述符，之后注册的实现对已缓存的定义可见
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class ScopeDescriptorTests {
+
+  private ScopeRegistry registry;
+
+
+  @Before
+  public void setUp() {
+    this.registry = new ScopeRegistry();
+  }
+
+
+  @Test
+  public void setScopeInvalidatesCachedDescriptor() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    assertSame(ScopeDescriptor.DEFAULT, bd.getScopeDescriptor());
+    assertTrue(bd.isSingleton());
+
+    bd.setScope("prototype");
+    assertSame(ScopeDescriptor.PROTOTYPE, bd.getScopeDescriptor());
+    assertTrue(bd.isPrototype());
+    assertFalse(bd.isSingleton());
+
+    bd.setScope("conversation");
+    assertTrue(bd.getScopeDescriptor().isCustom());
+    assertFalse(bd.isSingleton());
+    assertFalse(bd.isPrototype());
+
+    bd.setScopeDescriptor(this.registry.resolve("conversation"));
+    bd.setScope("singleton");
+    assertSame(ScopeDescriptor.SINGLETON, bd.getScopeDescriptor());
+  }
+
+  @Test
+  public void setScopeDescriptorRejectsOtherScope() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setScope("conversation");
+    try {
+      bd.setScopeDescriptor(this.registry.resolve("request"));
+      fail("Descriptor of another scope must be rejected");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void registryKeepsOneDescriptorPerName() {
+    ScopeDescriptor descriptor = this.registry.resolve("conversation");
+    assertSame(descriptor, this.registry.resolve("conversation"));
+    assertSame(ScopeDescriptor.SINGLETON, this.registry.resolve("singleton"));
+    assertNull(descriptor.getScope());
+    MapScope scope = new MapScope();
+    this.registry.registerScope("conversation", scope);
+    assertSame(scope, descriptor.getScope());
+    assertSame(scope, this.registry.getScope("conversation"));
+
+    assertTrue(descriptor.isBoundTo(this.registry));
+    assertFalse(descriptor.isBoundTo(new ScopeRegistry()));
+    assertFalse(ScopeDescriptor.forName("conversation").isBoundTo(this.registry));
+    assertTrue(ScopeDescriptor.PROTOTYPE.isBoundTo(new ScopeRegistry()));
+  }
+
+  @Test
+  public void builtinScopesCannotBeReplaced() {
+    try {
+      this.registry.registerScope("singleton", new MapScope());
+      fail("Built-in scope must not be replaced");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void factoryBindsDescriptorAndSeesLaterRegistration() {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(StringBuilder.class);
+    bd.setScope("conversation");
+    beanFactory.registerBeanDefinition("builder", bd);
+    try {
+      beanFactory.getBean("builder");
+      fail("Scope is not registered yet");
+    }
+    catch (IllegalStateException expected) {
+    }
+
+    MapScope scope = new MapScope();
+    beanFactory.registerScope("conversation", scope);
+    Object bean = beanFactory.getBean("builder");
+    assertSame(bean, beanFactory.getBean("builder"));
+    assertSame(bean, scope.objects.get("builder"));
+
+    scope.objects.clear();
+    assertNotSame(bean, beanFactory.getBean("builder"));
+  }
+
+
+  private static class MapScope implements Scope {
+
+    final Map<String, Object> objects = new HashMap<>();
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+      return this.objects.computeIfAbsent(name, k -> objectFactory.getObject());
+    }
+
+    @Override
+    public Object remove(String name) {
+      return this.objects.remove(name);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+    }
+
+    @Override
+    public Object resolveContextualObject(String key) {
+      return null;
+    }
+
+    @Override
+    public String getConversationId() {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,188 @@
+package com.rhb.spring.parsing.beans.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.BeanNode;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.Suggestion;
+import com.rhb.spring.parsing.beans.startup.StartupRecorder.DependencyType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * 关键路径分析：按记录的耗时在依赖图上计算最早完成时间、slack、关键路径和建议的收益
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class StartupCriticalPathAnalyzerTests {
+
+  private ManualClockRecorder recorder;
+
+  private SimpleBeanFactory beanFactory;
+
+  private StartupCriticalPathAnalyzer analyzer;
+
+
+  @Before
+  public void setUp() {
+    this.recorder = new ManualClockRecorder();
+    this.beanFactory = new SimpleBeanFactory();
+    this.analyzer = new StartupCriticalPathAnalyzer();
+  }
+
+  /**
+   * 按顺序记录一个单例的各阶段耗时
+   */
+  private void create(String beanName, long instantiate, long init, String... references) {
+    this.recorder.beanCreationStarted(beanName);
+    for (String reference : references) {
+      this.recorder.recordDependency(beanName, reference, DependencyType.REFERENCE);
+    }
+    this.recorder.clock += instantiate;
+    this.recorder.beanInstantiated(beanName);
+    this.recorder.beanPopulated(beanName);
+    this.recorder.clock += init;
+    this.recorder.beanCreated(beanName, false);
+  }
+
+  /**
+   * 记录这样一次启动（括号内为自身耗时，init为初始化方法）：
+   * a(10) <- b(15 + init 10) <- g(4)；c(3)，懒加载；a <-dependsOn- d(7)；e(2 + 异步init 20) <-dependsOn- f(1)
+   */
+  private void recordStartup() {
+    create("a", 10, 0);
+    create("b", 15, 10, "a");
+    create("g", 4, 0, "b");
+    create("c", 3, 0);
+    this.recorder.recordDependency("d", "a", DependencyType.DEPENDS_ON);
+    create("d", 7, 0);
+    this.recorder.beanCreationStarted("e");
+    this.recorder.clock += 2;
+    this.recorder.beanInstantiated("e");
+    this.recorder.beanPopulated("e");
+    this.recorder.beanCreated("e", true);
+    this.recorder.asyncInitStarted("e");
+    this.recorder.clock += 20;
+    this.recorder.asyncInitFinished("e", true);
+    this.recorder.recordDependency("f", "e", DependencyType.DEPENDS_ON);
+    create("f", 1, 0);
+
+    GenericBeanDefinition lazy = new GenericBeanDefinition();
+    lazy.setLazyInit(true);
+    this.beanFactory.registerBeanDefinition("c", lazy);
+  }
+
+
+  @Test
+  public void scheduleAndCriticalPath() {
+    recordStartup();
+    StartupAnalysis analysis = this.analyzer.analyze(this.recorder, this.beanFactory);
+
+    assertEquals(Arrays.asList("a", "b", "g"), analysis.getCriticalPath());
+    assertEquals(39, analysis.getCriticalPathNanos());
+    assertEquals(10 + 25 + 4 + 3 + 7 + 2 + 1, analysis.getSerialNanos());
+    assertEquals(0, analysis.getBrokenDependencies());
+
+    BeanNode b = analysis.getNode("b");
+    assertEquals(10, b.getEarliestStartNanos());
+    assertEquals(35, b.getEarliestCreatedNanos());
+    assertEquals(0, b.getSlackNanos());
+    assertTrue(b.isOnCriticalPath());
+    assertEquals(Collections.singletonList("a"), b.getDependencies());
+    assertEquals(Collections.singletonList("g"), b.getDependents());
+
+    assertEquals(36, analysis.getNode("c").getSlackNanos());
+    assertTrue(analysis.getNode("c").isLazyInit());
+    assertEquals(22, analysis.getNode("d").getSlackNanos());
+    BeanNode e = analysis.getNode("e");
+    assertEquals(20, e.getAsyncInitNanos());
+    assertEquals(22, e.getEarliestReadyNanos());
+    assertEquals(16, e.getSlackNanos());
+    // f等待e初始化完成
+    assertEquals(22, analysis.getNode("f").getEarliestStartNanos());
+    assertFalse(analysis.getNode("f").isOnCriticalPath());
+  }
+
+  @Test
+  public void suggestionsAreRankedAndRescheduled() {
+    recordStartup();
+    StartupAnalysis analysis = this.analyzer.analyze(this.recorder, this.beanFactory);
+
+    // 没有依赖方、不是懒加载的单例，按创建耗时排序；c已经是懒加载
+    List<String> lazyNames = new ArrayList<>();
+    for (Suggestion suggestion : analysis.getLazyInitCandidates()) {
+      lazyNames.add(suggestion.getBeanName());
+    }
+    assertEquals(Arrays.asList("d", "g", "f"), lazyNames);
+    assertEquals(0, analysis.getLazyInitCandidates().get(0).getCriticalPathSavingNanos());
+    assertEquals(4, analysis.getLazyInitCandidates().get(1).getCriticalPathSavingNanos());
+
+    assertEquals(1, analysis.getAsyncInitCandidates().size());
+    Suggestion async = analysis.getAsyncInitCandidates().get(0);
+    assertEquals("b", async.getBeanName());
+    assertEquals(10, async.getStartupThreadSavingNanos());
+    assertEquals(4, async.getCriticalPathSavingNanos());
+    assertEquals(Collections.singletonList("g"), async.getReferencingDependents());
+
+    this.analyzer.setSuggestionLimit(1);
+    assertEquals(1, this.analyzer.analyze(this.recorder, this.beanFactory).getLazyInitCandidates().size());
+  }
+
+  @Test
+  public void cyclesAreBrokenAtTheEarliestBean() {
+    create("x", 5, 0, "y");
+    create("y", 5, 0, "x");
+    StartupAnalysis analysis = this.analyzer.analyze(this.recorder, this.beanFactory);
+    assertEquals(1, analysis.getBrokenDependencies());
+    assertEquals(Arrays.asList("x", "y"), analysis.getCriticalPath());
+    assertEquals(10, analysis.getCriticalPathNanos());
+  }
+
+  @Test
+  public void factoryRecordsResolvedDependencies() {
+    GenericBeanDefinition a = new GenericBeanDefinition();
+    a.setBeanClass(StringBuilder.class);
+    this.beanFactory.registerBeanDefinition("a", a);
+    GenericBeanDefinition b = new GenericBeanDefinition();
+    b.setBeanClass(StringBuilder.class);
+    b.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("a"));
+    this.beanFactory.registerBeanDefinition("b", b);
+    GenericBeanDefinition c = new GenericBeanDefinition();
+    c.setBeanClass(StringBuilder.class);
+    c.setDependsOn("b");
+    this.beanFactory.registerBeanDefinition("c", c);
+    StartupRecorder realRecorder = new StartupRecorder();
+    this.beanFactory.setStartupRecorder(realRecorder);
+    this.beanFactory.preInstantiateSingletons();
+
+    StartupAnalysis analysis = this.analyzer.analyze(realRecorder, this.beanFactory);
+    assertEquals(3, analysis.getNodes().size());
+    assertEquals(Collections.singletonList("a"), analysis.getNode("b").getDependencies());
+    assertEquals(Collections.singletonList("b"), analysis.getNode("c").getDependencies());
+    assertEquals(Arrays.asList("a", "b", "c"), analysis.getCriticalPath());
+  }
+
+
+  /**
+   * 手动推进的时钟
+   */
+  private static class ManualClockRecorder extends StartupRecorder {
+
+    long clock;
+
+    @Override
+    protected long now() {
+      return this.clock;
+    }
+  }
+
+}
@@ -0,0 +1,155 @@
+package com.rhb.spring.parsing.beans.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.base.BeanMetadataAttribute;
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.offheap.OffHeapDefinitionStore;
+import com.rhb.spring.parsing.beans.support.BeanDefinitionCompactor.CompactionReport;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DescriptiveResource;
+
+/**
+ * 压缩后source全部清除，资源描述按描述共享且错误信息仍可用，description被清除或共享
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class BeanDefinitionCompactorTests {
+
+  private BeanDefinitionCompactor compactor;
+
+
+  @Before
+  public void setUp() {
+    this.compactor = new BeanDefinitionCompactor();
+  }
+
+
+  @Test
+  public void sourcesAreDroppedEverywhere() {
+    Object source = new Object();
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setSource(source);
+    BeanMetadataAttribute attribute = new BeanMetadataAttribute("origin", "xml");
+    attribute.setSource(source);
+    bd.addMetadataAttribute(attribute);
+    TypedStringValue literal = new TypedStringValue("30");
+    literal.setSource(source);
+    PropertyValue pv = new PropertyValue("timeout", literal);
+    pv.setSource(source);
+    bd.getPropertyValues().addPropertyValue(pv);
+    ValueHolder arg = new ValueHolder("first");
+    arg.setSource(source);
+    bd.getConstructorArgumentValues().addIndexedArgumentValue(0, arg);
+
+    CompactionReport report = this.compactor.compact(Collections.singletonList(bd));
+    assertEquals(1, report.getDefinitions());
+    assertEquals(5, report.getSourcesDropped());
+    assertNull(bd.getSource());
+    assertNull(attribute.getSource());
+    assertNull(literal.getSource());
+    assertNull(pv.getSource());
+    assertNull(arg.getSource());
+    assertEquals("30", literal.getValue());
+  }
+
+  @Test
+  public void overridesEqualWithoutSourceAreMerged() throws Exception {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    NamedMethodOverride first = new NamedMethodOverride("toString");
+    first.setSource("line 1");
+    NamedMethodOverride second = new NamedMethodOverride("toString");
+    second.setSource("line 2");
+    bd.getMethodOverrides().addOverride(first);
+    bd.getMethodOverrides().addOverride(second);
+    assertEquals(2, bd.getMethodOverrides().getOverrides().size());
+
+    this.compactor.compact(Collections.singletonList(bd));
+    assertEquals(1, bd.getMethodOverrides().getOverrides().size());
+    Method toString = Object.class.getMethod("toString");
+    assertNotNull(bd.getMethodOverrides().getOverride(toString));
+  }
+
+  @Test
+  public void resourcesAreSharedByDescription() {
+    GenericBeanDefinition first = new GenericBeanDefinition();
+    first.setResource(new DescriptiveResource("orders.xml"));
+    GenericBeanDefinition second = new GenericBeanDefinition();
+    second.setResource(new DescriptiveResource("orders.xml"));
+    GenericBeanDefinition decorated = new GenericBeanDefinition();
+    decorated.setOriginatingBeanDefinition(first);
+    GenericBeanDefinition classpath = new GenericBeanDefinition();
+    classpath.setResource(new ClassPathResource("orders.xml"));
+    GenericBeanDefinition otherClasspath = new GenericBeanDefinition();
+    otherClasspath.setResource(new ClassPathResource("orders.xml"));
+    String decoratedDescription = decorated.getResourceDescription();
+
+    CompactionReport report = this.compactor.compact(Arrays.asList(first, second, decorated, classpath,
+        otherClasspath));
+    assertSame(first.getResource(), second.getResource());
+    assertSame(classpath.getResource(), otherClasspath.getResource());
+    assertEquals(decoratedDescription, decorated.getResourceDescription());
+    assertTrue(decorated.getResource() instanceof DescriptiveResource);
+    assertNull(decorated.getOriginatingBeanDefinition());
+    assertEquals(3, report.getResourcesReplaced());
+    assertEquals(3, report.getDistinctResources());
+  }
+
+  @Test
+  public void descriptionsAreDroppedOrShared() {
+    GenericBeanDefinition dropped = new GenericBeanDefinition();
+    dropped.setDescription("orders");
+    assertEquals(1, this.compactor.compact(Collections.singletonList(dropped)).getDescriptionsDropped());
+    assertNull(dropped.getDescription());
+
+    this.compactor.setDropDescriptions(false);
+    GenericBeanDefinition first = new GenericBeanDefinition();
+    first.setDescription(new String("orders"));
+    GenericBeanDefinition second = new GenericBeanDefinition();
+    second.setDescription(new String("orders"));
+    CompactionReport report = this.compactor.compact(Arrays.asList(first, second));
+    assertEquals(1, report.getDescriptionsShared());
+    assertSame(first.getDescription(), second.getDescription());
+  }
+
+  @Test
+  public void readOnlyDefinitionsAreSkipped() {
+    OffHeapDefinitionStore store = new OffHeapDefinitionStore();
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setDescription("orders");
+    store.add("orders", bd);
+
+    CompactionReport report = this.compactor.compact(Collections.singletonList(store.get("orders")));
+    assertEquals(0, report.getDefinitions());
+    assertEquals(1, report.getSkippedDefinitions());
+    assertEquals("orders", store.get("orders").getDescription());
+  }
+
+
+  private static class NamedMethodOverride extends MethodOverride {
+
+    NamedMethodOverride(String methodName) {
+      super(methodName);
+    }
+
+    @Override
+    public boolean matches(Method method) {
+      return method.getName().equals(getMethodName());
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+package com.rhb.spring.parsing.beans.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.support.BeanDefinitionFingerprint.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * 指纹按内容计算、与顺序和说明信息无关，跨JVM稳定；diff找出新增、删除、变化的定义和字段
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class BeanDefinitionDiffTests {
+
+  /**
+   * {@link #sample()}的指纹，hash算法或字段分组变化时需要同步更新（旧快照随之失效）
+   */
+  private static final long SAMPLE_HASH = 0xc920a6777e51e5a5L;
+
+  private SimpleBeanFactory before;
+
+  private SimpleBeanFactory after;
+
+
+  @Before
+  public void setUp() {
+    this.before = new SimpleBeanFactory();
+    this.after = new SimpleBeanFactory();
+  }
+
+
+  @Test
+  public void fingerprintIsStableAcrossInstancesAndRuns() {
+    BeanDefinitionFingerprint fingerprint = BeanDefinitionFingerprint.of(sample());
+    assertEquals(fingerprint, BeanDefinitionFingerprint.of(sample()));
+    // 常量保证跨JVM一致：不依赖identityHashCode或String.hashCode的实现
+    assertEquals(Long.toHexString(fingerprint.getHash()), SAMPLE_HASH, fingerprint.getHash());
+  }
+
+  @Test
+  public void fingerprintIgnoresOrderAndDescription() {
+    GenericBeanDefinition reordered = sample();
+    reordered.getPropertyValues().getPropertyValueList().clear();
+    reordered.getPropertyValues().add("timeout", 30);
+    reordered.getPropertyValues().add("dataSource", new RuntimeBeanReference("dataSource"));
+    for (String name : reordered.attributeNames()) {
+      reordered.removeAttribute(name);
+    }
+    reordered.setAttribute("team", "payments");
+    reordered.setAttribute("owner", "alice");
+    reordered.setDescription("another description");
+    assertEquals(BeanDefinitionFingerprint.of(sample()), BeanDefinitionFingerprint.of(reordered));
+  }
+
+  @Test
+  public void differingFieldsNameTheChangedGroups() {
+    GenericBeanDefinition changed = sample();
+    changed.setScope("prototype");
+    changed.getPropertyValues().add("timeout", 60);
+    BeanDefinitionFingerprint original = BeanDefinitionFingerprint.of(sample());
+    BeanDefinitionFingerprint modified = BeanDefinitionFingerprint.of(changed);
+    assertNotEquals(original.getHash(), modified.getHash());
+    assertEquals(EnumSet.of(Field.SCOPE, Field.PROPERTY_VALUES), original.differingFields(modified));
+    assertEquals(original.getFieldHash(Field.ATTRIBUTES), modified.getFieldHash(Field.ATTRIBUTES));
+    assertTrue(original.differingFields(BeanDefinitionFingerprint.of(sample())).isEmpty());
+  }
+
+  @Test
+  public void compareReportsAddedRemovedAndChanged() {
+    this.before.registerBeanDefinition("kept", sample());
+    this.before.registerBeanDefinition("changed", sample());
+    this.before.registerBeanDefinition("removed", sample());
+    this.after.registerBeanDefinition("kept", sample());
+    GenericBeanDefinition changed = sample();
+    changed.setLazyInit(true);
+    changed.setAttribute("owner", "bob");
+    this.after.registerBeanDefinition("changed", changed);
+    this.after.registerBeanDefinition("added", sample());
+
+    BeanDefinitionDiff diff = BeanDefinitionDiff.compare(this.before, this.after);
+    assertEquals(Collections.singletonList("added"), diff.getAdded());
+    assertEquals(Collections.singletonList("removed"), diff.getRemoved());
+    assertEquals(Collections.singletonMap("changed", EnumSet.of(Field.FLAGS, Field.ATTRIBUTES)), diff.getChanged());
+
+    // 保存的快照与当前注册中心比较，结果相同
+    Map<String, GenericBeanDefinition> saved = new LinkedHashMap<>();
+    for (String beanName : Arrays.asList("kept", "changed", "removed")) {
+      saved.put(beanName, sample());
+    }
+    BeanDefinitionDiff fromSnapshot = BeanDefinitionDiff.compare(
+        BeanDefinitionDiff.fingerprint(saved), BeanDefinitionDiff.fingerprint(this.after));
+    assertEquals(diff.toString(), fromSnapshot.toString());
+  }
+
+  @Test
+  public void identicalRegistriesHaveEmptyDiff() {
+    for (int i = 0; i < 100; i++) {
+      this.before.registerBeanDefinition("bean" + i, sample());
+      this.after.registerBeanDefinition("bean" + i, sample());
+    }
+    assertTrue(BeanDefinitionDiff.compare(this.before, this.after).isEmpty());
+  }
+
+
+  private static GenericBeanDefinition sample() {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName("com.example.OrderService");
+    bd.setDependsOn("dataSource");
+    bd.setInitMethodName("start");
+    bd.getConstructorArgumentValues().addIndexedArgumentValue(0, "orders");
+    bd.getPropertyValues().add("dataSource", new RuntimeBeanReference("dataSource"));
+    bd.getPropertyValues().add("timeout", 30);
+    bd.setAttribute("owner", "alice");
+    bd.setAttribute("team", "payments");
+    bd.setDescription("order service");
+    return bd;
+  }
+
+}
@@ -0,0 +1,189 @@
+package com.rhb.spring.parsing.beans.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.support.StaxBeanDefinitionParser.ParsedBeanDefinition;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * 增量重新加载：只替换变化资源中变化的定义，依赖被替换定义的单例随之销毁、重新创建，无关的单例保持不变
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class IncrementalDefinitionReloaderTests {
+
+  private static final String DATA_SOURCE_CLASS = DataSource.class.getName();
+
+  private static final String REPOSITORY_CLASS = Repository.class.getName();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final StaxBeanDefinitionParser parser = new StaxBeanDefinitionParser();
+
+  private SimpleBeanFactory beanFactory;
+
+  private Resource infrastructure;
+
+  private Resource services;
+
+
+  @Before
+  public void setUp() throws Exception {
+    this.infrastructure = write("infrastructure.xml", dataSourceXml("jdbc:v1"));
+    this.services = write("services.xml", "<beans>" +
+        "<bean id='repository' class='" + REPOSITORY_CLASS + "' destroy-method='close'>" +
+        "<property name='dataSource' ref='dataSource'/></bean>" +
+        "<bean id='unrelated' class='" + DATA_SOURCE_CLASS + "'><property name='url' value='jdbc:other'/></bean>" +
+        "</beans>");
+    this.beanFactory = new SimpleBeanFactory();
+    for (Resource resource : new Resource[] {this.infrastructure, this.services}) {
+      load(resource).forEach(this.beanFactory::registerBeanDefinition);
+    }
+  }
+
+
+  @Test
+  public void indexMapsResourcesToBeanNames() {
+    ResourceDefinitionIndex index = ResourceDefinitionIndex.build(this.beanFactory);
+    assertEquals(Collections.singleton("dataSource"), index.getBeanNames(this.infrastructure));
+    assertEquals(2, index.getBeanNames(this.services).size());
+    assertEquals(this.services, index.getResource("unrelated"));
+  }
+
+  @Test
+  public void reloadRebuildsDependentsOfChangedDefinitions() throws Exception {
+    IncrementalDefinitionReloader reloader = new IncrementalDefinitionReloader(this.beanFactory, this::load);
+    Repository repository = (Repository) this.beanFactory.getBean("repository");
+    DataSource dataSource = repository.dataSource;
+    Object unrelated = this.beanFactory.getBean("unrelated");
+    assertEquals("jdbc:v1", dataSource.url);
+
+    write("infrastructure.xml", dataSourceXml("jdbc:v2"));
+    BeanDefinitionDiff diff = reloader.reload(this.infrastructure);
+    assertEquals(Collections.singleton("dataSource"), diff.getChanged().keySet());
+
+    // 被替换的单例和依赖它的单例都已销毁
+    assertTrue(dataSource.closed);
+    assertTrue(repository.closed);
+    assertFalse(this.beanFactory.containsSingleton("dataSource"));
+    assertFalse(this.beanFactory.containsSingleton("repository"));
+    assertTrue(this.beanFactory.containsSingleton("unrelated"));
+
+    Repository rebuilt = (Repository) this.beanFactory.getBean("repository");
+    assertNotSame(repository, rebuilt);
+    assertEquals("jdbc:v2", rebuilt.dataSource.url);
+    assertSame(rebuilt.dataSource, this.beanFactory.getBean("dataSource"));
+    assertSame(unrelated, this.beanFactory.getBean("unrelated"));
+  }
+
+  @Test
+  public void unchangedResourceKeepsSingletons() throws Exception {
+    IncrementalDefinitionReloader reloader = new IncrementalDefinitionReloader(this.beanFactory, this::load);
+    Object repository = this.beanFactory.getBean("repository");
+    assertTrue(reloader.reload(this.infrastructure).isEmpty());
+    assertTrue(reloader.reload(this.services).isEmpty());
+    assertSame(repository, this.beanFactory.getBean("repository"));
+  }
+
+  @Test
+  public void removedDefinitionsAreUnregistered() throws Exception {
+    IncrementalDefinitionReloader reloader = new IncrementalDefinitionReloader(this.beanFactory, this::load);
+    write("services.xml", "<beans>" +
+        "<bean id='unrelated' class='" + DATA_SOURCE_CLASS + "'><property name='url' value='jdbc:other'/></bean>" +
+        "</beans>");
+    BeanDefinitionDiff diff = reloader.reload(this.services);
+    assertEquals(Collections.singletonList("repository"), diff.getRemoved());
+    assertFalse(this.beanFactory.containsBeanDefinition("repository"));
+    assertEquals(Collections.singleton("unrelated"), reloader.getIndex().getBeanNames(this.services));
+  }
+
+  @Test
+  public void watcherReportsModifiedFilesAfterStart() throws Exception {
+    BlockingQueue<Resource> changed = new LinkedBlockingQueue<>();
+    try (ResourceWatcher watcher = new ResourceWatcher(changed::add, 50)) {
+      watcher.watchAll(ResourceDefinitionIndex.build(this.beanFactory));
+      watcher.start();
+      write("infrastructure.xml", dataSourceXml("jdbc:v3"));
+      assertEquals(this.infrastructure, changed.poll(10, TimeUnit.SECONDS));
+    }
+  }
+
+
+  private Map<String, BeanDefinition> load(Resource resource) throws IOException {
+    Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+    try {
+      this.parser.parse(resource,
+          (ParsedBeanDefinition definition) -> definitions.put(definition.beanName, definition.beanDefinition));
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    return definitions;
+  }
+
+  private Resource write(String fileName, String content) throws Exception {
+    File file = new File(this.temporaryFolder.getRoot(), fileName);
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return new FileSystemResource(file);
+  }
+
+  private static String dataSourceXml(String url) {
+    return "<beans><bean id='dataSource' class='" + DATA_SOURCE_CLASS + "' destroy-method='close'>" +
+        "<property name='url' value='" + url + "'/></bean></beans>";
+  }
+
+
+  public static class DataSource {
+
+    String url;
+
+    volatile boolean closed;
+
+    public void setUrl(String url) {
+      this.url = url;
+    }
+
+    public void close() {
+      this.closed = true;
+    }
+  }
+
+  public static class Repository {
+
+    DataSource dataSource;
+
+    volatile boolean closed;
+
+    public void setDataSource(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    public void close() {
+      this.closed = true;
+    }
+  }
+
+}
@@ -0,0 +1,161 @@
+package com.rhb.spring.parsing.beans.support;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+
+/**
+ * 分层注册中心：未覆盖的定义落到下层、移除下层定义只在本层隐藏、修改时在本层复制（并发时只复制一次）
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class LayeredBeanDefinitionRegistryTests {
+
+  private LayeredBeanDefinitionRegistry base;
+
+  private LayeredBeanDefinitionRegistry tenant;
+
+
+  @Before
+  public void setUp() {
+    this.base = new LayeredBeanDefinitionRegistry();
+    this.base.registerBeanDefinition("greeting", builderDefinition("hello"));
+    this.base.registerBeanDefinition("farewell", builderDefinition("bye"));
+    this.tenant = this.base.createLayer();
+  }
+
+  private static GenericBeanDefinition builderDefinition(String value) {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClass(StringBuilder.class);
+    bd.getConstructorArgumentValues().addGenericArgumentValue(value);
+    return bd;
+  }
+
+
+  @Test
+  public void lookupFallsThroughToLowerLayer() {
+    assertSame(this.base.getBeanDefinition("greeting"), this.tenant.getBeanDefinition("greeting"));
+    assertTrue(this.tenant.containsBeanDefinition("farewell"));
+    assertFalse(this.tenant.isLocalBeanDefinition("greeting"));
+    assertEquals(0, this.tenant.getLocalBeanDefinitionCount());
+
+    this.tenant.registerBeanDefinition("extra", builderDefinition("tenant"));
+    assertFalse(this.base.containsBeanDefinition("extra"));
+    assertArrayEquals(new String[] {"greeting", "farewell", "extra"}, this.tenant.getBeanDefinitionNames());
+    assertEquals(3, this.tenant.getBeanDefinitionCount());
+  }
+
+  @Test
+  public void removingLowerDefinitionHidesItInThisLayerOnly() {
+    this.tenant.removeBeanDefinition("farewell");
+    assertFalse(this.tenant.containsBeanDefinition("farewell"));
+    assertTrue(this.base.containsBeanDefinition("farewell"));
+    assertArrayEquals(new String[] {"greeting"}, this.tenant.getBeanDefinitionNames());
+    try {
+      this.tenant.getBeanDefinition("farewell");
+      fail("Hidden definition must not be found");
+    }
+    catch (NoSuchBeanDefinitionException expected) {
+    }
+    try {
+      this.tenant.getBeanDefinitionForUpdate("farewell");
+      fail("Hidden definition must not be copied");
+    }
+    catch (NoSuchBeanDefinitionException expected) {
+    }
+    try {
+      this.tenant.removeBeanDefinition("missing");
+      fail("Unknown definition cannot be removed");
+    }
+    catch (NoSuchBeanDefinitionException expected) {
+    }
+
+    // 重新注册后取消隐藏
+    this.tenant.registerBeanDefinition("farewell", builderDefinition("tenant bye"));
+    assertTrue(this.tenant.containsBeanDefinition("farewell"));
+    assertArrayEquals(new String[] {"greeting", "farewell"}, this.tenant.getBeanDefinitionNames());
+  }
+
+  @Test
+  public void updateCopiesIntoThisLayer() {
+    BeanDefinition shared = this.base.getBeanDefinition("greeting");
+    AbstractBeanDefinition copy = this.tenant.getBeanDefinitionForUpdate("greeting");
+    assertNotSame(shared, copy);
+    assertEquals(shared, copy);
+    assertSame(copy, this.tenant.getBeanDefinitionForUpdate("greeting"));
+    assertTrue(this.tenant.isLocalBeanDefinition("greeting"));
+
+    GenericBeanDefinition overrides = new GenericBeanDefinition();
+    overrides.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    assertSame(copy, this.tenant.overrideBeanDefinition("greeting", overrides));
+    assertTrue(copy.isPrototype());
+    assertTrue(shared.isSingleton());
+    // 覆盖的定义保持下层中的位置
+    assertArrayEquals(new String[] {"greeting", "farewell"}, this.tenant.getBeanDefinitionNames());
+  }
+
+  @Test
+  public void concurrentUpdatesShareOneCopy() throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < 50; round++) {
+        LayeredBeanDefinitionRegistry layer = this.base.createLayer();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AbstractBeanDefinition>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+          futures.add(executor.submit(() -> {
+            start.await();
+            return layer.getBeanDefinitionForUpdate("greeting");
+          }));
+        }
+        start.countDown();
+        AbstractBeanDefinition first = futures.get(0).get();
+        for (Future<AbstractBeanDefinition> future : futures) {
+          assertSame(first, future.get());
+        }
+        assertSame(first, layer.getBeanDefinition("greeting"));
+        assertEquals(1, layer.getLocalBeanDefinitionCount());
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void tenantFactoriesSeeTheirOwnOverrides() {
+    LayeredBeanDefinitionRegistry other = this.base.createLayer();
+    AbstractBeanDefinition copy = this.tenant.getBeanDefinitionForUpdate("greeting");
+    copy.getConstructorArgumentValues().clear();
+    copy.getConstructorArgumentValues().addGenericArgumentValue("tenant hello");
+    SimpleBeanFactory tenantFactory = new SimpleBeanFactory();
+    tenantFactory.setParentBeanDefinitionRegistry(this.tenant);
+    SimpleBeanFactory otherFactory = new SimpleBeanFactory();
+    otherFactory.setParentBeanDefinitionRegistry(other);
+
+    assertEquals("tenant hello", tenantFactory.getBean("greeting").toString());
+    assertEquals("hello", otherFactory.getBean("greeting").toString());
+    assertEquals("bye", tenantFactory.getBean("farewell").toString());
+  }
+
+}
@@ -0,0 +1,103 @@
+package com.rhb.spring.parsing.beans.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.support.StaxBeanDefinitionParser.ParsedBeanDefinition;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * &lt;beans&gt;的default-*属性按作用域生效，不支持的默认值抛出异常
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class StaxBeanDefinitionParserTests {
+
+  private final StaxBeanDefinitionParser parser = new StaxBeanDefinitionParser();
+
+
+  private Map<String, AbstractBeanDefinition> parse(String xml) throws Exception {
+    Map<String, AbstractBeanDefinition> definitions = new LinkedHashMap<>();
+    this.parser.parse(new ByteArrayResource(xml.getBytes(StandardCharsets.UTF_8)),
+        (ParsedBeanDefinition definition) -> definitions.put(definition.beanName, definition.beanDefinition));
+    return definitions;
+  }
+
+  @Test
+  public void defaultsApplyPerBeansScope() throws Exception {
+    Map<String, AbstractBeanDefinition> definitions = parse(
+        "<beans xmlns='http://www.springframework.org/schema/beans' default-lazy-init='true'" +
+            " default-autowire='byName' default-init-method='start' default-destroy-method='stop'>" +
+            "<bean id='outer' class='java.lang.Object'/>" +
+            "<beans default-lazy-init='false' default-init-method='open'>" +
+            "<bean id='nested' class='java.lang.Object'/>" +
+            "<bean id='explicit' class='java.lang.Object' lazy-init='default' autowire='byType'" +
+            " init-method='init' destroy-method='close'/>" +
+            "</beans>" +
+            "<bean id='after' class='java.lang.Object'/>" +
+            "</beans>");
+
+    AbstractBeanDefinition outer = definitions.get("outer");
+    assertTrue(outer.isLazyInit());
+    assertEquals(AbstractBeanDefinition.AUTOWIRE_BY_NAME, outer.getAutowireMode());
+    assertEquals("start", outer.getInitMethodName());
+    assertFalse(outer.isEnforceInitMethod());
+    assertEquals("stop", outer.getDestroyMethodName());
+    assertFalse(outer.isEnforceDestroyMethod());
+
+    AbstractBeanDefinition nested = definitions.get("nested");
+    assertFalse(nested.isLazyInit());
+    assertEquals(AbstractBeanDefinition.AUTOWIRE_BY_NAME, nested.getAutowireMode());
+    assertEquals("open", nested.getInitMethodName());
+    assertEquals("stop", nested.getDestroyMethodName());
+
+    AbstractBeanDefinition explicit = definitions.get("explicit");
+    assertFalse(explicit.isLazyInit());
+    assertEquals(AbstractBeanDefinition.AUTOWIRE_BY_TYPE, explicit.getAutowireMode());
+    assertEquals("init", explicit.getInitMethodName());
+    assertTrue(explicit.isEnforceInitMethod());
+    assertEquals("close", explicit.getDestroyMethodName());
+    assertTrue(explicit.isEnforceDestroyMethod());
+
+    // 离开嵌套的<beans>后恢复外层的默认值
+    AbstractBeanDefinition after = definitions.get("after");
+    assertTrue(after.isLazyInit());
+    assertEquals("start", after.getInitMethodName());
+  }
+
+  @Test
+  public void noDefaultsWithoutAttributes() throws Exception {
+    AbstractBeanDefinition bd = parse("<beans><bean id='plain' class='java.lang.Object'/></beans>").get("plain");
+    assertFalse(bd.isLazyInit());
+    assertEquals(AbstractBeanDefinition.AUTOWIRE_NO, bd.getAutowireMode());
+    assertNull(bd.getInitMethodName());
+    assertNull(bd.getDestroyMethodName());
+  }
+
+  @Test
+  public void unsupportedDefaultsAreRejected() throws Exception {
+    try {
+      parse("<beans default-merge='true'><bean id='a' class='java.lang.Object'/></beans>");
+      fail("default-merge='true' must be rejected");
+    }
+    catch (BeanDefinitionStoreException expected) {
+    }
+    try {
+      parse("<beans><beans default-autowire-candidates='*Service'/></beans>");
+      fail("default-autowire-candidates must be rejected");
+    }
+    catch (BeanDefinitionStoreException expected) {
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+package com.rhb.spring.demo.allocation;
+
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import com.rhb.spring.parsing.beans.base.MethodOverrides;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+
+/**
+ * BeanDefinition热点路径的分配预算检查
+ *
+ * 每个操作有一个字节预算（每次调用），超出时以非0状态退出；
+ * 默认构建中由AllocationBudgetTests执行，mvn -P allocation-check verify 会额外打印测量结果。
+ * 比较时允许{@link #NOISE_BYTES_PER_OPERATION}的测量误差，它小于最小的对象（16字节），每次调用多分配一个对象仍会超出预算
+ *
+ * @author renhuibo
+ * @date 2026/10/19 21:30
+ */
+public class AllocationBudgetCheck {
+
+  /**
+   * 测量误差（JIT编译、TLAB等与操作无关的分配），平均到每次操作远小于一个对象
+   */
+  static final double NOISE_BYTES_PER_OPERATION = 4;
+
+  private final AllocationMeter meter;
+
+  private final Map<String, Result> results = new LinkedHashMap<>();
+
+
+  public AllocationBudgetCheck(AllocationMeter meter) {
+    this.meter = meter;
+  }
+
+
+  public void check(String name, long budgetBytes, LongSupplier operation) {
+    this.results.put(name, new Result(this.meter.bytesPerOperation(operation), budgetBytes));
+  }
+
+  /**
+   * 打印每个操作的测量结果
+   * @return 超出预算的操作
+   */
+  public List<String> report() {
+    for (Map.Entry<String, Result> entry : this.results.entrySet()) {
+      Result result = entry.getValue();
+      System.out.printf("%-28s %10.1f B/op  budget %6d B/op  %s%n",
+          entry.getKey(), result.bytesPerOperation, result.budgetBytes, (result.isWithinBudget() ? "OK" : "OVER BUDGET"));
+    }
+    return getFailures();
+  }
+
+  /**
+   * 超出预算的操作及其测量结果
+   */
+  public List<String> getFailures() {
+    List<String> failures = new ArrayList<>();
+    for (Map.Entry<String, Result> entry : this.results.entrySet()) {
+      Result result = entry.getValue();
+      if (!result.isWithinBudget()) {
+        failures.add(String.format("%s: %.1f B/op, budget %d B/op",
+            entry.getKey(), result.bytesPerOperation, result.budgetBytes));
+      }
+    }
+    return failures;
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    List<String> failures = checkDefinitionHotPaths(new AllocationMeter(200_000, 100_000)).report();
+    if (!failures.isEmpty()) {
+      System.err.println("Allocation budget exceeded: " + failures);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * BeanDefinition热点路径的预算
+   */
+  public static AllocationBudgetCheck checkDefinitionHotPaths(AllocationMeter meter) throws NoSuchMethodException {
+    AllocationBudgetCheck check = new AllocationBudgetCheck(meter);
+
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName("java.lang.StringBuilder");
+    bd.setScope(AbstractBeanDefinition.SCOPE_SINGLETON);
+    bd.setAttribute("name", "value");
+    bd.setAttribute("order", 1);
+    bd.addQualifier(new AutowireCandidateQualifier("com.example.Primary"));
+    bd.addQualifier(new AutowireCandidateQualifier("com.example.Region", "eu"));
+    MutablePropertyValues pvs = new MutablePropertyValues();
+    pvs.add("capacity", "16");
+    bd.setPropertyValues(pvs);
+
+    MethodOverrides overrides = new MethodOverrides();
+    overrides.addOverride(new NamedMethodOverride("length"));
+    overrides.addOverride(new NamedMethodOverride("toString"));
+    Method method = StringBuilder.class.getMethod("toString");
+
+    check.check("getAttribute", 0, () -> (bd.getAttribute("name") != null ? 1 : 0));
+    // attributeNames()/getQualifiers()返回调用方可以保留的副本，只读遍历走不复制的attributeNameSet()/getQualifierView()；
+    // 两个元素的String[]是24字节，预算留出一个额外元素的余量（32字节），更大的回退（如经过ArrayList）仍会超出
+    check.check("attributeNames", 32, () -> bd.attributeNames().length);
+    check.check("attributeNameSet", 0, () -> bd.attributeNameSet().size());
+    check.check("getOverride", 0, () -> (overrides.getOverride(method) != null ? 1 : 0));
+    check.check("getQualifier", 0, () -> (bd.getQualifier("com.example.Region") != null ? 1 : 0));
+    check.check("getQualifiers", 256, () -> bd.getQualifiers().size());
+    check.check("getQualifierView", 0, () -> bd.getQualifierView().size());
+    check.check("isSingleton", 0, () -> (bd.isSingleton() ? 1 : 0));
+    check.check("hashCode", 0, bd::hashCode);
+    // 深拷贝本身必须分配，预算按当前的对象图大小设定，防止回退
+    check.check("copy constructor", 1200, () -> new GenericBeanDefinition(bd).getRole());
+    return check;
+  }
+
+
+  private static class Result {
+
+    final double bytesPerOperation;
+
+    final long budgetBytes;
+
+    Result(double bytesPerOperation, long budgetBytes) {
+      this.bytesPerOperation = bytesPerOperation;
+      this.budgetBytes = budgetBytes;
+    }
+
+    boolean isWithinBudget() {
+      return (this.bytesPerOperation <= this.budgetBytes + NOISE_BYTES_PER_OPERATION);
+    }
+  }
+
+
+  private static class NamedMethodOverride extends MethodOverride {
+
+    NamedMethodOverride(String methodName) {
+      super(methodName);
+    }
+
+    @Override
+    public boolean matches(Method method) {
+      return method.getName().equals(getMethodName());
+    }
+  }
+
+}
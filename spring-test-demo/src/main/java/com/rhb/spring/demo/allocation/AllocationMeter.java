@@ -0,0 +1,81 @@
+package com.rhb.spring.demo.allocation;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+/**
+ * 用com.sun.management.ThreadMXBean测量当前线程每次操作分配的字节数
+ *
+ * 先预热到JIT编译完成（逃逸分析消除的分配不计入），再扣除测量本身的分配；
+ * 测量重复多轮取最小值，与操作无关的偶发分配（JIT编译、GC簿记等）只会让某一轮偏大
+ *
+ * @author renhuibo
+ * @date 2026/10/19 21:20
+ */
+public class AllocationMeter {
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private static final int ROUNDS = 3;
+
+  private final int warmupIterations;
+
+  private final int measuredIterations;
+
+  private final long baseline;
+
+  /** 防止JIT把操作当作死代码消除 */
+  private volatile long sink;
+
+
+  public AllocationMeter(int warmupIterations, int measuredIterations) {
+    if (!THREAD_MX_BEAN.isThreadAllocatedMemorySupported()) {
+      throw new IllegalStateException("Thread allocated memory measurement not supported on this JVM");
+    }
+    THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+    this.warmupIterations = warmupIterations;
+    this.measuredIterations = measuredIterations;
+    this.baseline = minimumTotal(() -> 0L);
+  }
+
+
+  /**
+   * 每次操作平均分配的字节数
+   */
+  public double bytesPerOperation(LongSupplier operation) {
+    long total = minimumTotal(operation) - this.baseline;
+    return Math.max(0, total) / (double) this.measuredIterations;
+  }
+
+  /**
+   * 当前JVM是否支持按线程统计分配
+   */
+  public static boolean isSupported() {
+    return THREAD_MX_BEAN.isThreadAllocatedMemorySupported();
+  }
+
+  private long minimumTotal(LongSupplier operation) {
+    long total = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      total = Math.min(total, measureTotal(operation));
+    }
+    return total;
+  }
+
+  private long measureTotal(LongSupplier operation) {
+    long acc = 0;
+    for (int i = 0; i < this.warmupIterations; i++) {
+      acc += operation.getAsLong();
+    }
+    long threadId = Thread.currentThread().getId();
+    long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < this.measuredIterations; i++) {
+      acc += operation.getAsLong();
+    }
+    long after = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+    this.sink = acc;
+    return after - before;
+  }
+
+}
@@ -0,0 +1,88 @@
+package com.rhb.spring.demo.builder;
+
+import com.rhb.spring.demo.allocation.AllocationMeter;
+import com.rhb.spring.parsing.beans.definition.BeanDefinitionBuilder;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * 构建定义的两种方式对比：逐个setter vs BeanDefinitionBuilder
+ *
+ * 每种方式构建count个定义（默认一百万），输出耗时和每个定义分配的字节数（JSON）
+ *
+ * @author renhuibo
+ * @date 2026/10/19 23:30
+ */
+public class DefinitionConstructionBenchmark {
+
+  private static final String BEAN_CLASS = "com.rhb.spring.demo.scale.SampleBean";
+
+  private static final String[] DEPENDS_ON = {"dataSource"};
+
+  private static int counter;
+
+
+  static GenericBeanDefinition viaSetters() {
+    int i = counter++;
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName(BEAN_CLASS);
+    bd.setScope(GenericBeanDefinition.SCOPE_SINGLETON);
+    bd.setLazyInit((i & 1) == 0);
+    bd.setDependsOn(DEPENDS_ON);
+    bd.setInitMethodName("init");
+    bd.getPropertyValues().add("name", "bean");
+    bd.getPropertyValues().add("capacity", "16");
+    bd.getPropertyValues().add("ref", new RuntimeBeanReference("dataSource"));
+    return bd;
+  }
+
+  static GenericBeanDefinition viaBuilder() {
+    int i = counter++;
+    return BeanDefinitionBuilder.genericBeanDefinition(BEAN_CLASS)
+        .setScope(GenericBeanDefinition.SCOPE_SINGLETON)
+        .setLazyInit((i & 1) == 0)
+        .setDependsOn(DEPENDS_ON)
+        .setInitMethodName("init")
+        .expectPropertyValues(3)
+        .addPropertyValue("name", "bean")
+        .addPropertyValue("capacity", "16")
+        .addPropertyReference("ref", "dataSource")
+        .getBeanDefinition();
+  }
+
+  static double timeMillis(int count, LongSupplier operation) {
+    long sink = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      sink += operation.getAsLong();
+    }
+    double millis = (System.nanoTime() - start) / 1_000_000.0;
+    if (sink == 42) {
+      System.err.print("");
+    }
+    return millis;
+  }
+
+
+  public static void main(String[] args) {
+    int count = (args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000);
+    LongSupplier setters = () -> viaSetters().getRole();
+    LongSupplier builder = () -> viaBuilder().getRole();
+
+    // 预热两种方式后交替测量
+    timeMillis(count / 4, setters);
+    timeMillis(count / 4, builder);
+    double settersMillis = timeMillis(count, setters);
+    double builderMillis = timeMillis(count, builder);
+
+    AllocationMeter meter = new AllocationMeter(100_000, 100_000);
+    double settersBytes = meter.bytesPerOperation(setters);
+    double builderBytes = meter.bytesPerOperation(builder);
+
+    System.out.println("{\"benchmark\":\"definitionConstruction\",\"count\":" + count +
+        ",\"setters\":{\"millis\":" + settersMillis + ",\"bytesPerDefinition\":" + settersBytes + "}" +
+        ",\"builder\":{\"millis\":" + builderMillis + ",\"bytesPerDefinition\":" + builderBytes + "}}");
+  }
+
+}
@@ -0,0 +1,270 @@
+package com.rhb.spring.demo.cds;
+
+import com.rhb.spring.parsing.beans.cds.CdsArchiveGenerator;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 有无CDS归档的启动耗时对比
+ *
+ * 用{@link CdsTrainingStartup}训练启动生成归档，然后分别以三种方式各启动runs次，取进程耗时的中位数：
+ * <ul>
+ * <li>noSharing：-Xshare:off，不使用任何归档</li>
+ * <li>jdkArchive：只使用JDK自带的归档（JDK的类）</li>
+ * <li>appArchive：使用生成的归档（JDK、Spring和应用的类）</li>
+ * </ul>
+ * 另外各用-Xlog:class+load统计一次从归档加载的类的比例，输出JSON。
+ * CdsStartupComparisonTests以较少的定义和启动次数运行{@link #compare()}并检查结果
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --definitions=2000        训练和对比启动的定义数量
+ * --runs=7                  每种方式的启动次数
+ * --work=target/cds         工作目录（打包的jar、类列表、归档）
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/20 17:10
+ */
+public class CdsStartupComparison {
+
+  private static final String CLASS_LOAD_TAG = "[class,load] ";
+
+  private static final String APP_PACKAGE_PREFIX = "com.rhb.spring.";
+
+  private final CdsArchiveGenerator generator;
+
+  private final List<String> arguments;
+
+  private final int runs;
+
+  private long generateMillis;
+
+
+  public CdsStartupComparison(CdsArchiveGenerator generator, List<String> arguments, int runs) {
+    this.generator = generator;
+    this.arguments = arguments;
+    this.runs = runs;
+  }
+
+
+  /**
+   * 生成归档并依次测量三种方式
+   * @return 依次为noSharing、jdkArchive、appArchive
+   */
+  public List<ModeResult> compare() throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    this.generator.generate();
+    this.generateMillis = (System.nanoTime() - start) / 1_000_000;
+    String classPath = String.join(File.pathSeparator, this.generator.getArchiveClassPath());
+
+    List<ModeResult> results = new ArrayList<>(3);
+    results.add(measure("noSharing", Arrays.asList("-Xshare:off", "-cp", classPath)));
+    results.add(measure("jdkArchive", Arrays.asList("-cp", classPath)));
+    results.add(measure("appArchive", this.generator.getProductionJvmOptions()));
+    return results;
+  }
+
+  public String run() throws IOException, InterruptedException {
+    return report(compare());
+  }
+
+  /**
+   * {@link #compare()}结果的JSON报告（包括归档生成耗时和大小）
+   */
+  public String report(List<ModeResult> results) throws IOException {
+    Path archive = this.generator.getArchive();
+    StringBuilder json = new StringBuilder("{\"benchmark\":\"cdsStartup\",\"runs\":").append(this.runs)
+        .append(",\"generateMillis\":").append(this.generateMillis)
+        .append(",\"classListEntries\":").append(Files.readAllLines(archive.resolveSibling("app.classlist")).size())
+        .append(",\"archiveBytes\":").append(Files.size(archive))
+        .append(",\"modes\":[");
+    for (int i = 0; i < results.size(); i++) {
+      json.append(i > 0 ? "," : "").append(results.get(i).toJson());
+    }
+    return json.append("]}").toString();
+  }
+
+  private ModeResult measure(String mode, List<String> jvmOptions) throws IOException, InterruptedException {
+    // 第一次启动预热文件缓存，不计入
+    launch(jvmOptions, false);
+    long[] processMillis = new long[this.runs];
+    long[] startupMillis = new long[this.runs];
+    for (int i = 0; i < this.runs; i++) {
+      long start = System.nanoTime();
+      List<String> output = launch(jvmOptions, false);
+      processMillis[i] = (System.nanoTime() - start) / 1_000_000;
+      startupMillis[i] = parseStartupMillis(output);
+    }
+    List<String> classLoading = launch(jvmOptions, true);
+    int loaded = 0;
+    int shared = 0;
+    int appShared = 0;
+    for (String line : classLoading) {
+      int index = line.indexOf(CLASS_LOAD_TAG);
+      if (index >= 0) {
+        loaded++;
+        if (line.contains("shared objects file")) {
+          shared++;
+          if (line.startsWith(APP_PACKAGE_PREFIX, index + CLASS_LOAD_TAG.length())) {
+            appShared++;
+          }
+        }
+      }
+    }
+    return new ModeResult(mode, median(processMillis), median(startupMillis), loaded, shared, appShared);
+  }
+
+  private List<String> launch(List<String> jvmOptions, boolean logClassLoading)
+      throws IOException, InterruptedException {
+
+    List<String> command = new ArrayList<>();
+    command.add(this.generator.getJavaCommand());
+    if (logClassLoading) {
+      command.add("-Xlog:class+load=info");
+    }
+    command.addAll(jvmOptions);
+    command.add(CdsTrainingStartup.class.getName());
+    command.addAll(this.arguments);
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    List<String> output = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        output.add(line);
+      }
+    }
+    int exitCode = process.waitFor();
+    if (exitCode != 0) {
+      throw new IOException("Startup failed with exit code " + exitCode + ": " + command + "\n" +
+          String.join("\n", output));
+    }
+    return output;
+  }
+
+  private static long parseStartupMillis(List<String> output) {
+    for (String line : output) {
+      int index = line.indexOf("\"startupMillis\":");
+      if (index >= 0) {
+        int start = index + "\"startupMillis\":".length();
+        int end = line.indexOf(',', start);
+        return Long.parseLong(line.substring(start, end));
+      }
+    }
+    return -1;
+  }
+
+  private static long median(long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+
+
+
+  /**
+   * 一种启动方式的测量结果
+   */
+  public static class ModeResult {
+
+    private final String mode;
+
+    private final long processMillis;
+
+    private final long mainToReadyMillis;
+
+    private final int classesLoaded;
+
+    private final int classesFromArchive;
+
+    private final int appClassesFromArchive;
+
+    ModeResult(String mode, long processMillis, long mainToReadyMillis, int classesLoaded, int classesFromArchive,
+        int appClassesFromArchive) {
+
+      this.mode = mode;
+      this.processMillis = processMillis;
+      this.mainToReadyMillis = mainToReadyMillis;
+      this.classesLoaded = classesLoaded;
+      this.classesFromArchive = classesFromArchive;
+      this.appClassesFromArchive = appClassesFromArchive;
+    }
+
+    public String getMode() {
+      return this.mode;
+    }
+
+    /**
+     * 进程从启动到退出的耗时中位数
+     */
+    public long getProcessMillis() {
+      return this.processMillis;
+    }
+
+    /**
+     * main方法到容器就绪的耗时中位数，启动没有输出耗时时为-1
+     */
+    public long getMainToReadyMillis() {
+      return this.mainToReadyMillis;
+    }
+
+    public int getClassesLoaded() {
+      return this.classesLoaded;
+    }
+
+    public int getClassesFromArchive() {
+      return this.classesFromArchive;
+    }
+
+    /**
+     * 从归档加载的应用类（com.rhb.spring包下）个数
+     */
+    public int getAppClassesFromArchive() {
+      return this.appClassesFromArchive;
+    }
+
+    String toJson() {
+      return "{\"mode\":\"" + this.mode + "\",\"processMillis\":" + this.processMillis +
+          ",\"mainToReadyMillis\":" + this.mainToReadyMillis + ",\"classesLoaded\":" + this.classesLoaded +
+          ",\"classesFromArchive\":" + this.classesFromArchive +
+          ",\"appClassesFromArchive\":" + this.appClassesFromArchive + "}";
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    String definitions = "2000";
+    int runs = 7;
+    Path work = Paths.get("target", "cds");
+    for (String arg : args) {
+      if (arg.startsWith("--definitions=")) {
+        definitions = arg.substring("--definitions=".length());
+      }
+      else if (arg.startsWith("--runs=")) {
+        runs = Integer.parseInt(arg.substring("--runs=".length()));
+      }
+      else if (arg.startsWith("--work=")) {
+        work = Paths.get(arg.substring("--work=".length()));
+      }
+      else {
+        throw new IllegalArgumentException("Unknown argument '" + arg + "'");
+      }
+    }
+    List<String> arguments = Collections.singletonList(definitions);
+    CdsArchiveGenerator generator = new CdsArchiveGenerator(work, CdsTrainingStartup.class.getName());
+    generator.setClassPath(Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator)));
+    generator.setArguments(arguments);
+    System.out.println(new CdsStartupComparison(generator, arguments, runs).run());
+  }
+
+}
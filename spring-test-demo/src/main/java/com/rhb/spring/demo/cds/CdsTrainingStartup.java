@@ -0,0 +1,59 @@
+package com.rhb.spring.demo.cds;
+
+import com.rhb.spring.demo.conversion.ClientSettings;
+import com.rhb.spring.demo.scale.BeanSpec;
+import com.rhb.spring.demo.scale.DefinitionSetGenerator;
+import com.rhb.spring.demo.scale.SimpleFactoryUnderTest;
+import com.rhb.spring.parsing.beans.cds.ClassListRecorder;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.io.IOException;
+import org.springframework.beans.factory.config.TypedStringValue;
+
+/**
+ * CDS训练和对比用的启动过程：注册生成的定义和几个需要类型转换的定义，实例化全部非懒加载单例
+ *
+ * 由{@link com.rhb.spring.parsing.beans.cds.CdsArchiveGenerator}训练启动时（设置了
+ * {@link ClassListRecorder#OUTPUT_PROPERTY}）记录并写出bean类列表；输出main开始到启动完成的耗时（JSON）
+ *
+ * 参数：定义数量，默认2000
+ *
+ * @author renhuibo
+ * @date 2026/10/20 16:50
+ */
+public class CdsTrainingStartup {
+
+  public static void main(String[] args) throws IOException {
+    long start = System.nanoTime();
+    int definitions = (args.length > 0 ? Integer.parseInt(args[0]) : 2000);
+    ClassListRecorder recorder = (System.getProperty(ClassListRecorder.OUTPUT_PROPERTY) != null ?
+        new ClassListRecorder() : null);
+
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setClassListRecorder(recorder);
+    for (BeanSpec spec : new DefinitionSetGenerator().generate(definitions)) {
+      beanFactory.registerBeanDefinition(spec.getName(), SimpleFactoryUnderTest.toBeanDefinition(spec));
+    }
+    for (int i = 0; i < 10; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(ClientSettings.class);
+      bd.getConstructorArgumentValues().addIndexedArgumentValue(0, new TypedStringValue("3"));
+      bd.getPropertyValues().add("unit", new TypedStringValue("SECONDS"));
+      bd.getPropertyValues().add("locale", new TypedStringValue("zh_CN"));
+      bd.getPropertyValues().add("charset", new TypedStringValue("UTF-8"));
+      bd.getPropertyValues().add("handlerType", new TypedStringValue("java.util.concurrent.ThreadPoolExecutor"));
+      bd.getPropertyValues().add("config", new TypedStringValue("classpath:logback.xml"));
+      bd.getPropertyValues().add("hosts", new TypedStringValue("a.example.com,b.example.com"));
+      beanFactory.registerBeanDefinition("client" + i, bd);
+    }
+    beanFactory.preInstantiateSingletons();
+    long millis = (System.nanoTime() - start) / 1_000_000;
+
+    if (recorder != null) {
+      recorder.writeClassListIfRequested();
+    }
+    System.out.println("{\"startupMillis\":" + millis + ",\"beanClasses\":" +
+        (recorder != null ? recorder.size() : -1) + "}");
+  }
+
+}
@@ -0,0 +1,101 @@
+package com.rhb.spring.demo.conversion;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.io.Resource;
+
+/**
+ * 类型转换基准中的prototype bean：属性都从字符串转换而来
+ *
+ * @author renhuibo
+ * @date 2026/10/20 14:50
+ */
+public class ClientSettings {
+
+  private final int retries;
+
+  private TimeUnit unit;
+
+  private Locale locale;
+
+  private Charset charset;
+
+  private Class<?> handlerType;
+
+  private Resource config;
+
+  private long maxBytes;
+
+  private String[] hosts;
+
+
+  public ClientSettings(int retries) {
+    this.retries = retries;
+  }
+
+
+  public int getRetries() {
+    return this.retries;
+  }
+
+  public void setUnit(TimeUnit unit) {
+    this.unit = unit;
+  }
+
+  public TimeUnit getUnit() {
+    return this.unit;
+  }
+
+  public void setLocale(Locale locale) {
+    this.locale = locale;
+  }
+
+  public Locale getLocale() {
+    return this.locale;
+  }
+
+  public void setCharset(Charset charset) {
+    this.charset = charset;
+  }
+
+  public Charset getCharset() {
+    return this.charset;
+  }
+
+  public void setHandlerType(Class<?> handlerType) {
+    this.handlerType = handlerType;
+  }
+
+  public Class<?> getHandlerType() {
+    return this.handlerType;
+  }
+
+  public void setConfig(Resource config) {
+    this.config = config;
+  }
+
+  public Resource getConfig() {
+    return this.config;
+  }
+
+  public void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  public long getMaxBytes() {
+    return this.maxBytes;
+  }
+
+  /**
+   * 数组是可变的，不会被缓存，每个实例得到自己的数组
+   */
+  public void setHosts(String[] hosts) {
+    this.hosts = hosts;
+  }
+
+  public String[] getHosts() {
+    return this.hosts;
+  }
+
+}
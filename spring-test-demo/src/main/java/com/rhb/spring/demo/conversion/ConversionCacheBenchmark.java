@@ -0,0 +1,119 @@
+package com.rhb.spring.demo.conversion;
+
+import com.rhb.spring.demo.allocation.AllocationMeter;
+import com.rhb.spring.parsing.beans.conversion.ConversionCache;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.config.TypedStringValue;
+
+/**
+ * 字面量类型转换缓存开启 vs 关闭
+ *
+ * 注册beans个（默认5000）prototype定义，每个有1个构造参数和7个字符串属性（其中String[]是可变结果，不缓存），
+ * 输出获取全部prototype的耗时、每个bean的分配字节数以及缓存的命中统计（JSON）
+ *
+ * @author renhuibo
+ * @date 2026/10/20 15:05
+ */
+public class ConversionCacheBenchmark {
+
+  private static final String[][] PROPERTIES = {
+      {"unit", "SECONDS"},
+      {"locale", "zh_CN"},
+      {"charset", "UTF-8"},
+      {"handlerType", "java.util.concurrent.ThreadPoolExecutor"},
+      {"config", "classpath:logback.xml"},
+      {"maxBytes", "1048576"},
+      {"hosts", "a.example.com,b.example.com,c.example.com"},
+  };
+
+  private final int beans;
+
+  private final List<String> beanNames = new ArrayList<>();
+
+
+  public ConversionCacheBenchmark(int beans) {
+    this.beans = beans;
+  }
+
+
+  private SimpleBeanFactory createFactory(boolean cacheConversions) {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setCacheConversions(cacheConversions);
+    this.beanNames.clear();
+    for (int i = 0; i < this.beans; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(ClientSettings.class);
+      bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+      bd.getConstructorArgumentValues().addIndexedArgumentValue(0, new TypedStringValue(String.valueOf(i % 5)));
+      for (String[] property : PROPERTIES) {
+        bd.getPropertyValues().add(property[0], new TypedStringValue(property[1]));
+      }
+      String beanName = "client" + i;
+      beanFactory.registerBeanDefinition(beanName, bd);
+      this.beanNames.add(beanName);
+    }
+    return beanFactory;
+  }
+
+  private long getAll(SimpleBeanFactory beanFactory) {
+    long sink = 0;
+    for (String beanName : this.beanNames) {
+      sink += ((ClientSettings) beanFactory.getBean(beanName)).getMaxBytes();
+    }
+    return sink;
+  }
+
+  private String measure(boolean cacheConversions) {
+    SimpleBeanFactory beanFactory = createFactory(cacheConversions);
+    // 预热（第一轮填充缓存）
+    getAll(beanFactory);
+    getAll(beanFactory);
+    double millis = averageMillis(3, () -> getAll(beanFactory));
+    int[] cursor = new int[1];
+    double bytes = new AllocationMeter(20_000, 20_000).bytesPerOperation(() ->
+        ((ClientSettings) beanFactory.getBean(this.beanNames.get(cursor[0]++ % this.beans))).getMaxBytes());
+
+    ClientSettings first = (ClientSettings) beanFactory.getBean(this.beanNames.get(0));
+    ClientSettings second = (ClientSettings) beanFactory.getBean(this.beanNames.get(0));
+    ConversionCache cache = beanFactory.getConversionCache();
+    return "{\"cacheConversions\":" + cacheConversions + ",\"millis\":" + millis + ",\"bytesPerBean\":" + bytes +
+        ",\"hits\":" + cache.getHitCount() + ",\"misses\":" + cache.getMissCount() +
+        ",\"uncacheable\":" + cache.getUncacheableCount() + ",\"hitRatio\":" +
+        Math.round(cache.getHitRatio() * 10000) / 10000.0 + ",\"cachedBeans\":" + cache.getCachedBeanCount() +
+        ",\"sharedConfig\":" + (first.getConfig() == second.getConfig()) +
+        ",\"sharedHosts\":" + (first.getHosts() == second.getHosts()) + "}";
+  }
+
+  public String run() {
+    // 预热后各测量一次
+    measure(false);
+    measure(true);
+    return "{\"benchmark\":\"conversionCache\",\"prototypeBeans\":" + this.beans + ",\"runs\":[" +
+        measure(false) + "," + measure(true) + "]}";
+  }
+
+  private static double averageMillis(int rounds, LongSupplier operation) {
+    double total = 0;
+    for (int i = 0; i < rounds; i++) {
+      long start = System.nanoTime();
+      long sink = operation.getAsLong();
+      total += (System.nanoTime() - start) / 1_000_000.0;
+      if (sink == 42) {
+        System.err.print("");
+      }
+    }
+    return Math.round(total * 1000 / rounds) / 1000.0;
+  }
+
+
+  public static void main(String[] args) {
+    int beans = (args.length > 0 ? Integer.parseInt(args[0]) : 5000);
+    System.out.println(new ConversionCacheBenchmark(beans).run());
+  }
+
+}
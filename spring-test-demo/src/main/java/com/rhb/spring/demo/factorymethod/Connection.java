@@ -0,0 +1,40 @@
+package com.rhb.spring.demo.factorymethod;
+
+/**
+ * 工厂方法基准中工厂方法的产物
+ *
+ * @author renhuibo
+ * @date 2026/10/20 18:00
+ */
+public class Connection {
+
+  private final String url;
+
+  private final long timeoutMillis;
+
+  private final String createdBy;
+
+
+  Connection(String url, long timeoutMillis, String createdBy) {
+    this.url = url;
+    this.timeoutMillis = timeoutMillis;
+    this.createdBy = createdBy;
+  }
+
+
+  public String getUrl() {
+    return this.url;
+  }
+
+  public long getTimeoutMillis() {
+    return this.timeoutMillis;
+  }
+
+  /**
+   * 创建它的工厂方法签名，用于核对缓存与不缓存时选中的重载相同
+   */
+  public String getCreatedBy() {
+    return this.createdBy;
+  }
+
+}
@@ -0,0 +1,71 @@
+package com.rhb.spring.demo.factorymethod;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同时提供重载的静态工厂方法（create）和实例工厂方法（open）
+ *
+ * @author renhuibo
+ * @date 2026/10/20 18:00
+ */
+public class ConnectionFactory {
+
+  private long defaultTimeoutMillis = 1000;
+
+
+  public void setDefaultTimeoutMillis(long defaultTimeoutMillis) {
+    this.defaultTimeoutMillis = defaultTimeoutMillis;
+  }
+
+  public long getDefaultTimeoutMillis() {
+    return this.defaultTimeoutMillis;
+  }
+
+
+  public static Connection create(String url) {
+    return new Connection(url, 1000, "create(String)");
+  }
+
+  public static Connection create(URI uri) {
+    return new Connection(uri.toString(), 1000, "create(URI)");
+  }
+
+  public static Connection create(String url, int timeoutMillis) {
+    return new Connection(url, timeoutMillis, "create(String,int)");
+  }
+
+  public static Connection create(String url, TimeUnit unit) {
+    return new Connection(url, unit.toMillis(1), "create(String,TimeUnit)");
+  }
+
+  public static Connection create(String url, long timeout, TimeUnit unit) {
+    return new Connection(url, unit.toMillis(timeout), "create(String,long,TimeUnit)");
+  }
+
+  static Connection create(String url, String description) {
+    return new Connection(url, 1000, "create(String,String)");
+  }
+
+
+  public Connection open(String url) {
+    return new Connection(url, this.defaultTimeoutMillis, "open(String)");
+  }
+
+  public Connection open(String url, long timeoutMillis) {
+    return new Connection(url, timeoutMillis, "open(String,long)");
+  }
+
+  public Connection open(URI uri, long timeoutMillis) {
+    return new Connection(uri.toString(), timeoutMillis, "open(URI,long)");
+  }
+
+  public Connection open(String url, long timeout, TimeUnit unit) {
+    return new Connection(url, unit.toMillis(timeout), "open(String,long,TimeUnit)");
+  }
+
+  private Connection open(String url, String description) {
+    return new Connection(url, this.defaultTimeoutMillis, "open(String,String)");
+  }
+
+}
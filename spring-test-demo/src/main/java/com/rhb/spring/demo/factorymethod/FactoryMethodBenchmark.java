@@ -0,0 +1,156 @@
+package com.rhb.spring.demo.factorymethod;
+
+import com.rhb.spring.demo.allocation.AllocationMeter;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.FactoryMethodCache;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.config.TypedStringValue;
+
+/**
+ * 工厂方法解析缓存开启 vs 关闭
+ *
+ * 注册beans个（默认5000）prototype定义，轮流使用7种参数形状调用重载的静态工厂方法ConnectionFactory.create
+ * 和实例工厂方法connectionFactory.open（其中一种关闭lenientConstructorResolution），
+ * 输出获取全部prototype的耗时、每个bean的分配字节数、缓存的解析结果个数和命中次数（JSON），
+ * 并核对两种方式选中的重载相同
+ *
+ * @author renhuibo
+ * @date 2026/10/20 18:10
+ */
+public class FactoryMethodBenchmark {
+
+  private static final int SHAPES = 7;
+
+  private final int beans;
+
+  private final List<String> beanNames = new ArrayList<>();
+
+
+  public FactoryMethodBenchmark(int beans) {
+    this.beans = beans;
+  }
+
+
+  private SimpleBeanFactory createFactory(boolean cacheFactoryMethods) {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setCacheFactoryMethods(cacheFactoryMethods);
+    GenericBeanDefinition factory = new GenericBeanDefinition();
+    factory.setBeanClass(ConnectionFactory.class);
+    factory.getPropertyValues().add("defaultTimeoutMillis", 500L);
+    beanFactory.registerBeanDefinition("connectionFactory", factory);
+
+    this.beanNames.clear();
+    for (int i = 0; i < this.beans; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+      String url = "jdbc:h2:mem:db" + (i % 16);
+      int shape = i % SHAPES;
+      if (shape < 4) {
+        bd.setBeanClass(ConnectionFactory.class);
+        bd.setFactoryMethodName("create");
+      }
+      else {
+        bd.setFactoryBeanName("connectionFactory");
+        bd.setFactoryMethodName("open");
+      }
+      switch (shape) {
+        case 0:
+          addArguments(bd, url);
+          break;
+        case 1:
+          addArguments(bd, url, 30);
+          break;
+        case 2:
+          addArguments(bd, new TypedStringValue(url), new TypedStringValue("SECONDS"));
+          break;
+        case 3:
+          addArguments(bd, url, 5L, TimeUnit.SECONDS);
+          break;
+        case 4:
+          addArguments(bd, url);
+          break;
+        case 5:
+          addArguments(bd, new TypedStringValue(url), new TypedStringValue("250"));
+          break;
+        default:
+          bd.setLenientConstructorResolution(false);
+          addArguments(bd, URI.create(url), 100L);
+      }
+      String beanName = "connection" + i;
+      beanFactory.registerBeanDefinition(beanName, bd);
+      this.beanNames.add(beanName);
+    }
+    return beanFactory;
+  }
+
+  private static void addArguments(GenericBeanDefinition bd, Object... args) {
+    for (int i = 0; i < args.length; i++) {
+      bd.getConstructorArgumentValues().addIndexedArgumentValue(i, args[i]);
+    }
+  }
+
+  private long getAll(SimpleBeanFactory beanFactory) {
+    long sink = 0;
+    for (String beanName : this.beanNames) {
+      sink += ((Connection) beanFactory.getBean(beanName)).getTimeoutMillis();
+    }
+    return sink;
+  }
+
+  private String createdBy(SimpleBeanFactory beanFactory) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < SHAPES; i++) {
+      sb.append(i > 0 ? "," : "").append('"')
+          .append(((Connection) beanFactory.getBean(this.beanNames.get(i))).getCreatedBy()).append('"');
+    }
+    return sb.toString();
+  }
+
+  private String measure(boolean cacheFactoryMethods) {
+    SimpleBeanFactory beanFactory = createFactory(cacheFactoryMethods);
+    getAll(beanFactory);
+    getAll(beanFactory);
+    double millis = averageMillis(3, () -> getAll(beanFactory));
+    int[] cursor = new int[1];
+    double bytes = new AllocationMeter(20_000, 20_000).bytesPerOperation(() ->
+        ((Connection) beanFactory.getBean(this.beanNames.get(cursor[0]++ % this.beans))).getTimeoutMillis());
+    FactoryMethodCache cache = beanFactory.getFactoryMethodCache();
+    return "{\"cacheFactoryMethods\":" + cacheFactoryMethods + ",\"millis\":" + millis + ",\"bytesPerBean\":" + bytes +
+        ",\"resolutions\":" + cache.size() + ",\"hits\":" + cache.getHitCount() + ",\"misses\":" +
+        cache.getMissCount() + ",\"createdBy\":[" + createdBy(beanFactory) + "]}";
+  }
+
+  public String run() {
+    // 预热后各测量一次
+    measure(false);
+    measure(true);
+    return "{\"benchmark\":\"factoryMethodCache\",\"prototypeBeans\":" + this.beans + ",\"runs\":[" +
+        measure(false) + "," + measure(true) + "]}";
+  }
+
+  private static double averageMillis(int rounds, LongSupplier operation) {
+    double total = 0;
+    for (int i = 0; i < rounds; i++) {
+      long start = System.nanoTime();
+      long sink = operation.getAsLong();
+      total += (System.nanoTime() - start) / 1_000_000.0;
+      if (sink == 42) {
+        System.err.print("");
+      }
+    }
+    return Math.round(total * 1000 / rounds) / 1000.0;
+  }
+
+
+  public static void main(String[] args) {
+    int beans = (args.length > 0 ? Integer.parseInt(args[0]) : 5000);
+    System.out.println(new FactoryMethodBenchmark(beans).run());
+  }
+
+}
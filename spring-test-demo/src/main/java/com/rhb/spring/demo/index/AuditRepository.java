@@ -0,0 +1,16 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.index.Role;
+
+/**
+ * 自定义组件注解、自定义qualifier和基础设施角色
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@DataAccess("auditStore")
+@Region(value = "eu", zone = Region.Zone.BACKUP, shards = {1, 3})
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class AuditRepository {
+}
@@ -0,0 +1,144 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.index.ComponentIndex;
+import com.rhb.spring.parsing.beans.index.ComponentIndexLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+
+/**
+ * 组件索引生成的定义 vs 类路径扫描+反射得到的定义
+ *
+ * 先读取编译时生成的组件索引、为本包生成定义（此时检查所有定义都还没有加载类），再用{@link ReflectiveComponentScanner}
+ * 扫描同一个包，逐个比较beanName、类名、作用域、延迟初始化、primary、角色和qualifier（含属性），
+ * 最后把索引中的定义注册到SimpleBeanFactory并实例化全部组件。输出两种方式的耗时、差异列表（JSON），
+ * 有差异时以退出码1结束
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+public class ComponentIndexComparison {
+
+  private static final String BASE_PACKAGE = ComponentIndexComparison.class.getPackage().getName();
+
+  private final ClassLoader classLoader;
+
+  private final List<String> differences = new ArrayList<>();
+
+
+  public ComponentIndexComparison(ClassLoader classLoader) {
+    this.classLoader = classLoader;
+  }
+
+
+  public String run() throws Exception {
+    long start = System.nanoTime();
+    ComponentIndex index = ComponentIndexLoader.loadIndex(this.classLoader);
+    if (index == null) {
+      throw new IllegalStateException("No component index found - was component-index-processor on the " +
+          "compiler class path?");
+    }
+    Map<String, AbstractBeanDefinition> indexed = index.createBeanDefinitions(BASE_PACKAGE);
+    long indexMicros = (System.nanoTime() - start) / 1_000;
+    int classesResolved = 0;
+    for (AbstractBeanDefinition bd : indexed.values()) {
+      if (bd.hasBeanClass()) {
+        classesResolved++;
+      }
+    }
+
+    start = System.nanoTime();
+    ReflectiveComponentScanner scanner = new ReflectiveComponentScanner(this.classLoader);
+    Map<String, AbstractBeanDefinition> scanned = scanner.scan(BASE_PACKAGE);
+    long scanMicros = (System.nanoTime() - start) / 1_000;
+
+    compare(new TreeMap<>(indexed), new TreeMap<>(scanned));
+
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    index.registerBeanDefinitions(beanFactory, BASE_PACKAGE);
+    int instantiated = 0;
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      if (beanFactory.getBean(beanName) != null) {
+        instantiated++;
+      }
+    }
+
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"benchmark\":\"componentIndex\",\"indexedComponents\":").append(indexed.size())
+        .append(",\"scannedComponents\":").append(scanned.size())
+        .append(",\"indexMicros\":").append(indexMicros)
+        .append(",\"scanMicros\":").append(scanMicros)
+        .append(",\"classesLoadedByScan\":").append(scanner.getClassesLoaded())
+        .append(",\"classesResolvedByIndex\":").append(classesResolved)
+        .append(",\"instantiated\":").append(instantiated)
+        .append(",\"beanNames\":[");
+    int i = 0;
+    for (String beanName : new TreeMap<>(indexed).keySet()) {
+      sb.append(i++ > 0 ? "," : "").append('"').append(beanName).append('"');
+    }
+    sb.append("],\"differences\":[");
+    for (i = 0; i < this.differences.size(); i++) {
+      sb.append(i > 0 ? "," : "").append('"').append(this.differences.get(i).replace("\"", "'")).append('"');
+    }
+    return sb.append("]}").toString();
+  }
+
+  public boolean hasDifferences() {
+    return !this.differences.isEmpty();
+  }
+
+  private void compare(Map<String, AbstractBeanDefinition> indexed, Map<String, AbstractBeanDefinition> scanned) {
+    if (!indexed.keySet().equals(scanned.keySet())) {
+      this.differences.add("bean names: indexed " + indexed.keySet() + " vs scanned " + scanned.keySet());
+    }
+    for (Map.Entry<String, AbstractBeanDefinition> entry : indexed.entrySet()) {
+      AbstractBeanDefinition other = scanned.get(entry.getKey());
+      if (other != null) {
+        compare(entry.getKey(), entry.getValue(), other);
+      }
+    }
+  }
+
+  private void compare(String beanName, AbstractBeanDefinition indexed, AbstractBeanDefinition scanned) {
+    check(beanName, "class", indexed.getBeanClassName(), scanned.getBeanClassName());
+    check(beanName, "scope", indexed.getScope(), scanned.getScope());
+    check(beanName, "lazyInit", indexed.isLazyInit(), scanned.isLazyInit());
+    check(beanName, "primary", indexed.isPrimary(), scanned.isPrimary());
+    check(beanName, "role", indexed.getRole(), scanned.getRole());
+    check(beanName, "qualifiers", describe(indexed), describe(scanned));
+  }
+
+  private void check(String beanName, String property, Object indexed, Object scanned) {
+    if (!Objects.equals(indexed, scanned)) {
+      this.differences.add(beanName + "." + property + ": indexed " + indexed + " vs scanned " + scanned);
+    }
+  }
+
+  private static Map<String, Map<String, Object>> describe(AbstractBeanDefinition bd) {
+    Map<String, Map<String, Object>> qualifiers = new TreeMap<>();
+    for (AutowireCandidateQualifier qualifier : bd.getQualifiers()) {
+      Map<String, Object> attributes = new TreeMap<>();
+      for (String name : qualifier.attributeNames()) {
+        attributes.put(name, qualifier.getAttribute(name));
+      }
+      qualifiers.put(qualifier.getTypeName(), attributes);
+    }
+    return qualifiers;
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    ComponentIndexComparison comparison =
+        new ComponentIndexComparison(ComponentIndexComparison.class.getClassLoader());
+    System.out.println(comparison.run());
+    if (comparison.hasDifferences()) {
+      System.exit(1);
+    }
+  }
+
+}
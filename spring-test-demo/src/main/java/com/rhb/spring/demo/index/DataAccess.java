@@ -0,0 +1,21 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.index.Component;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 以@Component为元注解的组件注解，value作为beanName
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Component
+public @interface DataAccess {
+
+  String value() default "";
+}
@@ -0,0 +1,17 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.index.Component;
+import com.rhb.spring.parsing.beans.index.Primary;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+/**
+ * 指定名称、primary、带@Qualifier的组件
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Component("clock")
+@Primary
+@Qualifier("fast")
+public class FastClock {
+}
@@ -0,0 +1,24 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.index.Component;
+
+/**
+ * 嵌套类：只有静态嵌套类会成为组件（默认名称为handlers.Default），非静态内部类和抽象类不会
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+public class Handlers {
+
+  @Component
+  public static class Default {
+  }
+
+  @Component
+  public class NotACandidate {
+  }
+
+  @Component
+  public abstract static class AbstractHandler {
+  }
+}
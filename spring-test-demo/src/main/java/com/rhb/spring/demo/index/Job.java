@@ -0,0 +1,23 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.index.Component;
+import com.rhb.spring.parsing.beans.index.Lazy;
+import com.rhb.spring.parsing.beans.index.Scope;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 组合注解：prototype、延迟初始化的组件
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Component
+@Scope("prototype")
+@Lazy
+public @interface Job {
+}
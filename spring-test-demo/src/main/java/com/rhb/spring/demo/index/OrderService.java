@@ -0,0 +1,13 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.index.Component;
+
+/**
+ * 默认名称的组件
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Component
+public class OrderService {
+}
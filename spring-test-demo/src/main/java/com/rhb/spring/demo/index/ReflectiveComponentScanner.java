@@ -0,0 +1,177 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.index.Component;
+import com.rhb.spring.parsing.beans.index.Lazy;
+import com.rhb.spring.parsing.beans.index.Primary;
+import com.rhb.spring.parsing.beans.index.Role;
+import com.rhb.spring.parsing.beans.index.Scope;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 类路径扫描 + 反射得到组件定义，规则与ComponentIndexProcessor相同，作为组件索引的对照
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+public class ReflectiveComponentScanner {
+
+  private final ClassLoader classLoader;
+
+  private final PathMatchingResourcePatternResolver resolver;
+
+  private int classesLoaded;
+
+
+  public ReflectiveComponentScanner(ClassLoader classLoader) {
+    this.classLoader = classLoader;
+    this.resolver = new PathMatchingResourcePatternResolver(classLoader);
+  }
+
+
+  /**
+   * 扫描basePackage（含子包）下的类，加载后按注解生成定义
+   */
+  public Map<String, AbstractBeanDefinition> scan(String basePackage) throws IOException, ClassNotFoundException {
+    String packagePath = basePackage.replace('.', '/');
+    Map<String, AbstractBeanDefinition> definitions = new LinkedHashMap<>();
+    for (Resource resource : this.resolver.getResources("classpath*:" + packagePath + "/**/*.class")) {
+      String url = resource.getURL().toString();
+      int start = url.lastIndexOf(packagePath + "/");
+      String className = url.substring(start, url.length() - ".class".length()).replace('/', '.');
+      Class<?> clazz = ClassUtils.forName(className, this.classLoader);
+      this.classesLoaded++;
+      if (isCandidate(clazz)) {
+        definitions.put(beanName(clazz), toBeanDefinition(clazz));
+      }
+    }
+    return definitions;
+  }
+
+  public int getClassesLoaded() {
+    return this.classesLoaded;
+  }
+
+  private static boolean isCandidate(Class<?> clazz) {
+    if (clazz.isInterface() || clazz.isAnnotation() || clazz.isEnum() || clazz.isLocalClass() ||
+        clazz.isAnonymousClass() || Modifier.isAbstract(clazz.getModifiers())) {
+      return false;
+    }
+    if (clazz.isMemberClass() && !Modifier.isStatic(clazz.getModifiers())) {
+      return false;
+    }
+    return findAnnotation(clazz, Component.class, new HashSet<>()) != null;
+  }
+
+  private static String beanName(Class<?> clazz) {
+    for (Annotation annotation : clazz.getAnnotations()) {
+      boolean stereotype = (annotation instanceof Component ||
+          findAnnotation(annotation.annotationType(), Component.class, new HashSet<>()) != null);
+      if (stereotype) {
+        Object value = attribute(annotation, "value");
+        if (value instanceof String && !((String) value).isEmpty()) {
+          return (String) value;
+        }
+      }
+    }
+    return Introspector.decapitalize(ClassUtils.getShortName(clazz));
+  }
+
+  private static GenericBeanDefinition toBeanDefinition(Class<?> clazz) {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName(clazz.getName());
+    Scope scope = findAnnotation(clazz, Scope.class, new HashSet<>());
+    if (scope != null && !scope.value().isEmpty()) {
+      bd.setScope(scope.value());
+    }
+    Lazy lazy = findAnnotation(clazz, Lazy.class, new HashSet<>());
+    if (lazy != null) {
+      bd.setLazyInit(lazy.value());
+    }
+    bd.setPrimary(findAnnotation(clazz, Primary.class, new HashSet<>()) != null);
+    Role role = findAnnotation(clazz, Role.class, new HashSet<>());
+    if (role != null) {
+      bd.setRole(role.value());
+    }
+    for (Annotation annotation : clazz.getAnnotations()) {
+      if (annotation instanceof Qualifier || annotation.annotationType().isAnnotationPresent(Qualifier.class)) {
+        AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(annotation.annotationType());
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+          qualifier.setAttribute(method.getName(), stringValue(attribute(annotation, method.getName())));
+        }
+        bd.addQualifier(qualifier);
+      }
+    }
+    return bd;
+  }
+
+  private static <A extends Annotation> A findAnnotation(Class<?> clazz, Class<A> annotationType,
+      Set<Class<?>> visited) {
+
+    A annotation = clazz.getAnnotation(annotationType);
+    if (annotation != null) {
+      return annotation;
+    }
+    for (Annotation candidate : clazz.getAnnotations()) {
+      Class<? extends Annotation> type = candidate.annotationType();
+      if (type.getName().startsWith("java.lang.annotation.") || !visited.add(type)) {
+        continue;
+      }
+      A meta = findAnnotation(type, annotationType, visited);
+      if (meta != null) {
+        return meta;
+      }
+    }
+    return null;
+  }
+
+  private static Object attribute(Annotation annotation, String name) {
+    try {
+      Method method = annotation.annotationType().getDeclaredMethod(name);
+      method.setAccessible(true);
+      return method.invoke(annotation);
+    }
+    catch (NoSuchMethodException ex) {
+      return null;
+    }
+    catch (IllegalAccessException | InvocationTargetException ex) {
+      throw new IllegalStateException("Cannot read attribute '" + name + "' of " + annotation, ex);
+    }
+  }
+
+  private static String stringValue(Object value) {
+    if (value instanceof Class) {
+      return ((Class<?>) value).getName();
+    }
+    if (value instanceof Enum) {
+      return ((Enum<?>) value).name();
+    }
+    if (value != null && value.getClass().isArray()) {
+      List<String> elements = new ArrayList<>();
+      for (int i = 0; i < Array.getLength(value); i++) {
+        elements.add(stringValue(Array.get(value, i)));
+      }
+      return String.join(",", elements);
+    }
+    return String.valueOf(value);
+  }
+
+}
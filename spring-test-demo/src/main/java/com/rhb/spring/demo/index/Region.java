@@ -0,0 +1,29 @@
+package com.rhb.spring.demo.index;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+/**
+ * 自定义qualifier，带有枚举和数组属性
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Qualifier
+public @interface Region {
+
+  String value();
+
+  Zone zone() default Zone.PRIMARY;
+
+  int[] shards() default {0};
+
+  enum Zone {
+    PRIMARY, BACKUP
+  }
+}
@@ -0,0 +1,11 @@
+package com.rhb.spring.demo.index;
+
+/**
+ * 通过组合注解声明的prototype组件
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Job
+public class ReportJob {
+}
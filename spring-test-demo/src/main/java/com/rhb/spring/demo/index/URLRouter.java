@@ -0,0 +1,15 @@
+package com.rhb.spring.demo.index;
+
+import com.rhb.spring.parsing.beans.index.Component;
+import com.rhb.spring.parsing.beans.index.Lazy;
+
+/**
+ * 前两个字母大写，默认名称保持不变（URLRouter）；显式关闭延迟初始化
+ *
+ * @author renhuibo
+ * @date 2026/10/20 19:30
+ */
+@Component
+@Lazy(false)
+public class URLRouter {
+}
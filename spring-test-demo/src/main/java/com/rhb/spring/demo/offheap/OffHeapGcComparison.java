@@ -0,0 +1,244 @@
+package com.rhb.spring.demo.offheap;
+
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.offheap.OffHeapBeanDefinition;
+import com.rhb.spring.parsing.beans.offheap.OffHeapDefinitionStore;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.core.io.DescriptiveResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * 同样数量的定义分别保存在堆上（GenericBeanDefinition）和{@link OffHeapDefinitionStore}中，
+ * 比较常驻堆大小、Full GC停顿和分配压力下的GC耗时，结果输出为JSON
+ *
+ * 定义只包含元数据（类名、scope、lazy、初始化/销毁方法、dependsOn、role、资源），
+ * 相当于组件扫描得到的定义；两种模式互相影响堆的状态，对比时应分别在独立的JVM中运行：
+ * <pre>
+ * java -Xmx2g ... OffHeapGcComparison --mode=heap
+ * java -Xmx2g ... OffHeapGcComparison --mode=offheap
+ * </pre>
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --count=500000      定义数量
+ * --mode=heap         heap、offheap或both（同一JVM中依次运行）
+ * --fullGcs=5         测量的System.gc()次数
+ * --churnMb=4096      分配压力阶段分配的垃圾总量（MB）
+ * --seed=42           随机种子
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/20 11:20
+ */
+public class OffHeapGcComparison {
+
+  private static final int CLASS_COUNT = 2000;
+
+  private static final int RESOURCE_COUNT = 500;
+
+  private final int count;
+
+  private final long seed;
+
+  private final int fullGcs;
+
+  private final long churnMb;
+
+  /** 保持定义存活 */
+  private Object retained;
+
+
+  public OffHeapGcComparison(int count, long seed, int fullGcs, long churnMb) {
+    this.count = count;
+    this.seed = seed;
+    this.fullGcs = fullGcs;
+    this.churnMb = churnMb;
+  }
+
+
+  GenericBeanDefinition definition(int i, Random random, Resource[] resources) {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName("com.example.generated.Component" + random.nextInt(CLASS_COUNT));
+    bd.setScope(random.nextInt(10) == 0 ? BeanDefinition.SCOPE_PROTOTYPE : BeanDefinition.SCOPE_SINGLETON);
+    bd.setLazyInit(random.nextInt(4) == 0);
+    bd.setPrimary(random.nextInt(50) == 0);
+    if (random.nextInt(5) == 0) {
+      bd.setInitMethodName("init");
+    }
+    if (random.nextInt(10) == 0) {
+      bd.setDestroyMethodName("close");
+    }
+    if (i > 0 && random.nextInt(5) == 0) {
+      bd.setDependsOn("bean" + random.nextInt(i));
+    }
+    bd.setRole(random.nextInt(20) == 0 ? BeanDefinition.ROLE_INFRASTRUCTURE : BeanDefinition.ROLE_APPLICATION);
+    bd.setResource(resources[random.nextInt(resources.length)]);
+    return bd;
+  }
+
+  private Resource[] resources() {
+    Resource[] resources = new Resource[RESOURCE_COUNT];
+    for (int i = 0; i < resources.length; i++) {
+      resources[i] = new DescriptiveResource("class path resource [com/example/generated/Config" + i + ".class]");
+    }
+    return resources;
+  }
+
+  public String run(String mode) {
+    Random random = new Random(this.seed);
+    Resource[] resources = resources();
+    long start = System.nanoTime();
+    long offHeapBytes = 0;
+    int residuals = 0;
+    if ("heap".equals(mode)) {
+      List<GenericBeanDefinition> definitions = new ArrayList<>(this.count);
+      for (int i = 0; i < this.count; i++) {
+        definitions.add(definition(i, random, resources));
+      }
+      this.retained = definitions;
+    }
+    else if ("offheap".equals(mode)) {
+      OffHeapDefinitionStore store = new OffHeapDefinitionStore(this.count);
+      for (int i = 0; i < this.count; i++) {
+        store.add("bean" + i, definition(i, random, resources));
+      }
+      offHeapBytes = store.getOffHeapBytes();
+      residuals = store.getResidualCount();
+      this.retained = store;
+    }
+    else {
+      throw new IllegalArgumentException("Unknown mode '" + mode + "', expected 'heap' or 'offheap'");
+    }
+    long loadNanos = System.nanoTime() - start;
+
+    System.gc();
+    System.gc();
+    Runtime runtime = Runtime.getRuntime();
+    long liveHeap = runtime.totalMemory() - runtime.freeMemory();
+
+    long[] fullGcNanos = new long[this.fullGcs];
+    for (int i = 0; i < this.fullGcs; i++) {
+      long gcStart = System.nanoTime();
+      System.gc();
+      fullGcNanos[i] = System.nanoTime() - gcStart;
+    }
+
+    long[] before = gcTotals();
+    long churnNanos = churn();
+    long[] after = gcTotals();
+
+    String sample = sample(mode);
+    StringBuilder sb = new StringBuilder(512);
+    sb.append("{\"mode\":\"").append(mode).append('"');
+    sb.append(",\"definitions\":").append(this.count);
+    sb.append(",\"loadMillis\":").append(millis(loadNanos));
+    sb.append(",\"liveHeapBytes\":").append(liveHeap);
+    sb.append(",\"offHeapBytes\":").append(offHeapBytes);
+    sb.append(",\"residualDefinitions\":").append(residuals);
+    sb.append(",\"fullGcMillis\":[");
+    for (int i = 0; i < fullGcNanos.length; i++) {
+      sb.append(i > 0 ? "," : "").append(millis(fullGcNanos[i]));
+    }
+    sb.append("],\"churn\":{\"allocatedMb\":").append(this.churnMb);
+    sb.append(",\"millis\":").append(millis(churnNanos));
+    sb.append(",\"gcCount\":").append(after[0] - before[0]);
+    sb.append(",\"gcMillis\":").append(after[1] - before[1]).append('}');
+    sb.append(",\"sample\":\"").append(sample).append("\"}");
+    this.retained = null;
+    return sb.toString();
+  }
+
+  /**
+   * 分配短命对象，同时保留一个小的滑动窗口，让年轻代GC需要复制部分存活对象
+   */
+  private long churn() {
+    byte[][] window = new byte[1024][];
+    long chunks = this.churnMb * 1024;
+    long start = System.nanoTime();
+    for (long i = 0; i < chunks; i++) {
+      window[(int) (i & 1023)] = new byte[1024];
+    }
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * 读取一个定义，确保存活的数据确实可用
+   */
+  private String sample(String mode) {
+    int index = this.count / 2;
+    if ("heap".equals(mode)) {
+      @SuppressWarnings("unchecked")
+      BeanDefinition bd = ((List<GenericBeanDefinition>) this.retained).get(index);
+      return bd.getBeanClassName();
+    }
+    OffHeapBeanDefinition view = ((OffHeapDefinitionStore) this.retained).get(index);
+    return view.getBeanClassName();
+  }
+
+  private static long[] gcTotals() {
+    long count = 0;
+    long millis = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(gc.getCollectionCount(), 0);
+      millis += Math.max(gc.getCollectionTime(), 0);
+    }
+    return new long[] {count, millis};
+  }
+
+  private static String millis(long nanos) {
+    return String.valueOf(Math.round(nanos / 1000.0) / 1000.0);
+  }
+
+
+  public static void main(String[] args) {
+    int count = 500_000;
+    String mode = "both";
+    int fullGcs = 5;
+    long churnMb = 4096;
+    long seed = 42L;
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+      }
+      String value = arg.substring(separator + 1);
+      switch (arg.substring(2, separator)) {
+        case "count":
+          count = Integer.parseInt(value);
+          break;
+        case "mode":
+          mode = value;
+          break;
+        case "fullGcs":
+          fullGcs = Integer.parseInt(value);
+          break;
+        case "churnMb":
+          churnMb = Long.parseLong(value);
+          break;
+        case "seed":
+          seed = Long.parseLong(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option '" + arg + "'");
+      }
+    }
+
+    OffHeapGcComparison comparison = new OffHeapGcComparison(count, seed, fullGcs, churnMb);
+    StringBuilder sb = new StringBuilder("{\"benchmark\":\"offHeapGc\"");
+    sb.append(",\"javaVersion\":\"").append(System.getProperty("java.version")).append('"');
+    sb.append(",\"maxHeapBytes\":").append(Runtime.getRuntime().maxMemory());
+    sb.append(",\"runs\":[");
+    String[] modes = ("both".equals(mode) ? new String[] {"heap", "offheap"} : new String[] {mode});
+    for (int i = 0; i < modes.length; i++) {
+      sb.append(i > 0 ? "," : "").append(comparison.run(modes[i]));
+    }
+    sb.append("]}");
+    System.out.println(sb);
+  }
+
+}
@@ -0,0 +1,80 @@
+package com.rhb.spring.demo.placeholder;
+
+/**
+ * 占位符基准中的prototype bean：全部属性都来自带占位符的字符串
+ *
+ * @author renhuibo
+ * @date 2026/10/20 13:40
+ */
+public class ConnectionSettings {
+
+  private String url;
+
+  private String username;
+
+  private String pool;
+
+  private String timeout;
+
+  private String region;
+
+  private String label;
+
+
+  public ConnectionSettings() {
+  }
+
+  public ConnectionSettings(String url) {
+    this.url = url;
+  }
+
+
+  public void setUrl(String url) {
+    this.url = url;
+  }
+
+  public String getUrl() {
+    return this.url;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getUsername() {
+    return this.username;
+  }
+
+  public void setPool(String pool) {
+    this.pool = pool;
+  }
+
+  public String getPool() {
+    return this.pool;
+  }
+
+  public void setTimeout(String timeout) {
+    this.timeout = timeout;
+  }
+
+  public String getTimeout() {
+    return this.timeout;
+  }
+
+  public void setRegion(String region) {
+    this.region = region;
+  }
+
+  public String getRegion() {
+    return this.region;
+  }
+
+  public void setLabel(String label) {
+    this.label = label;
+  }
+
+  public String getLabel() {
+    return this.label;
+  }
+
+}
@@ -0,0 +1,211 @@
+package com.rhb.spring.demo.placeholder;
+
+import com.rhb.spring.demo.allocation.AllocationMeter;
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.placeholder.PlaceholderTemplateCache;
+import com.rhb.spring.parsing.beans.placeholder.SimpleVersionedPropertySource;
+import com.rhb.spring.parsing.beans.placeholder.VersionedPropertySource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.PropertyPlaceholderHelper;
+
+/**
+ * 编译后的占位符模板 vs 每次用PropertyPlaceholderHelper重新扫描解析
+ *
+ * 注册beans个（默认5000）prototype定义，每个有1个构造参数和5个属性，全部带占位符；
+ * 分别测量：只解析字符串、获取全部prototype bean、来源变化后的第一轮获取，输出耗时和分配字节数（JSON）
+ *
+ * @author renhuibo
+ * @date 2026/10/20 13:45
+ */
+public class PlaceholderBenchmark {
+
+  private static final String[][] PROPERTIES = {
+      {"username", "${db.user:sa}"},
+      {"pool", "${pool.prefix}-${tenant.${region}}-${pool.size:16}"},
+      {"timeout", "${timeout.connect}ms/${timeout.read}ms"},
+      {"region", "${region}"},
+      {"label", "bean-%d@${region}"},
+  };
+
+  private static final String URL = "jdbc:mysql://${db.host}:${db.port}/${db.name}?useSSL=${db.ssl:false}";
+
+  private final int beans;
+
+  private final SimpleVersionedPropertySource source = new SimpleVersionedPropertySource();
+
+  private final List<String> texts = new ArrayList<>();
+
+  private final List<String> beanNames = new ArrayList<>();
+
+
+  public PlaceholderBenchmark(int beans) {
+    this.beans = beans;
+    this.source.setProperty("db.host", "db.internal.example.com");
+    this.source.setProperty("db.port", "3306");
+    this.source.setProperty("db.name", "orders");
+    this.source.setProperty("pool.prefix", "hikari");
+    this.source.setProperty("region", "eu");
+    this.source.setProperty("tenant.eu", "acme-eu");
+    this.source.setProperty("tenant.us", "acme-us");
+    this.source.setProperty("timeout.connect", "250");
+    this.source.setProperty("timeout.read", "${timeout.connect}0");
+  }
+
+
+  private void registerDefinitions(SimpleBeanFactory beanFactory) {
+    this.texts.clear();
+    this.beanNames.clear();
+    for (int i = 0; i < this.beans; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(ConnectionSettings.class);
+      bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+      bd.getConstructorArgumentValues().addIndexedArgumentValue(0, new TypedStringValue(URL));
+      this.texts.add(URL);
+      for (String[] property : PROPERTIES) {
+        String text = String.format(property[1], i);
+        bd.getPropertyValues().add(property[0], new TypedStringValue(text));
+        this.texts.add(text);
+      }
+      String beanName = "connection" + i;
+      beanFactory.registerBeanDefinition(beanName, bd);
+      this.beanNames.add(beanName);
+    }
+  }
+
+  private SimpleBeanFactory compiledFactory() {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setPlaceholderSource(this.source);
+    registerDefinitions(beanFactory);
+    return beanFactory;
+  }
+
+  private SimpleBeanFactory rescanningFactory() {
+    SimpleBeanFactory beanFactory = new RescanningBeanFactory(this.source);
+    registerDefinitions(beanFactory);
+    return beanFactory;
+  }
+
+  private long getAll(SimpleBeanFactory beanFactory) {
+    long sink = 0;
+    for (String beanName : this.beanNames) {
+      sink += ((ConnectionSettings) beanFactory.getBean(beanName)).getPool().length();
+    }
+    return sink;
+  }
+
+  private static double millis(LongSupplier operation) {
+    long start = System.nanoTime();
+    long sink = operation.getAsLong();
+    double millis = Math.round((System.nanoTime() - start) / 1000.0) / 1000.0;
+    if (sink == 42) {
+      System.err.print("");
+    }
+    return millis;
+  }
+
+  public String run() {
+    SimpleBeanFactory compiled = compiledFactory();
+    SimpleBeanFactory rescanning = rescanningFactory();
+    // 合并全部定义（编译模板）
+    for (String beanName : this.beanNames) {
+      compiled.getMergedBeanDefinition(beanName);
+      rescanning.getMergedBeanDefinition(beanName);
+    }
+
+    PlaceholderTemplateCache templates = compiled.getPlaceholderTemplates();
+    PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper("${", "}", ":", false);
+    String[] texts = this.texts.toArray(new String[0]);
+    int[] cursor = new int[1];
+    LongSupplier compiledResolve = () -> templates.resolve(texts[cursor[0]++ % texts.length], this.source).length();
+    LongSupplier rescanResolve = () ->
+        helper.replacePlaceholders(texts[cursor[0]++ % texts.length], this.source::getProperty).length();
+
+    AllocationMeter meter = new AllocationMeter(200_000, 200_000);
+    double compiledResolveBytes = meter.bytesPerOperation(compiledResolve);
+    double rescanResolveBytes = meter.bytesPerOperation(rescanResolve);
+    double compiledResolveMillis = millis(() -> loop(compiledResolve, 1_000_000));
+    double rescanResolveMillis = millis(() -> loop(rescanResolve, 1_000_000));
+
+    // 预热后各获取3轮全部prototype
+    getAll(compiled);
+    getAll(rescanning);
+    double compiledGetMillis = averageMillis(3, () -> getAll(compiled));
+    double rescanGetMillis = averageMillis(3, () -> getAll(rescanning));
+    AllocationMeter beanMeter = new AllocationMeter(20_000, 20_000);
+    double compiledGetBytes = beanMeter.bytesPerOperation(
+        () -> ((ConnectionSettings) compiled.getBean(this.beanNames.get(cursor[0]++ % this.beans))).getPool().length());
+    double rescanGetBytes = beanMeter.bytesPerOperation(
+        () -> ((ConnectionSettings) rescanning.getBean(this.beanNames.get(cursor[0]++ % this.beans))).getPool().length());
+
+    // 来源变化：第一轮重新求值，之后回到缓存
+    this.source.setProperty("region", "us");
+    double changedFirstMillis = millis(() -> getAll(compiled));
+    double changedSteadyMillis = millis(() -> getAll(compiled));
+    String sample = ((ConnectionSettings) compiled.getBean(this.beanNames.get(0))).getPool();
+
+    return "{\"benchmark\":\"placeholderTemplates\",\"prototypeBeans\":" + this.beans +
+        ",\"placeholderValues\":" + texts.length + ",\"templates\":" + templates.size() +
+        ",\"resolve\":{\"compiled\":{\"nsPerValue\":" + compiledResolveMillis + ",\"bytesPerValue\":" +
+        compiledResolveBytes + "},\"rescan\":{\"nsPerValue\":" + rescanResolveMillis + ",\"bytesPerValue\":" +
+        rescanResolveBytes + "}}" +
+        ",\"getAllPrototypes\":{\"compiled\":{\"millis\":" + compiledGetMillis + ",\"bytesPerBean\":" +
+        compiledGetBytes + "},\"rescan\":{\"millis\":" + rescanGetMillis + ",\"bytesPerBean\":" + rescanGetBytes +
+        "}}" +
+        ",\"afterChange\":{\"firstPassMillis\":" + changedFirstMillis + ",\"steadyMillis\":" + changedSteadyMillis +
+        ",\"sample\":\"" + sample + "\"}}";
+  }
+
+  private static double averageMillis(int rounds, LongSupplier operation) {
+    double total = 0;
+    for (int i = 0; i < rounds; i++) {
+      total += millis(operation);
+    }
+    return Math.round(total * 1000 / rounds) / 1000.0;
+  }
+
+  private static long loop(LongSupplier operation, int count) {
+    long sink = 0;
+    for (int i = 0; i < count; i++) {
+      sink += operation.getAsLong();
+    }
+    return sink;
+  }
+
+
+  /**
+   * 对照组：每次创建bean都用PropertyPlaceholderHelper重新扫描、解析字符串
+   */
+  static class RescanningBeanFactory extends SimpleBeanFactory {
+
+    private final PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper("${", "}", ":", false);
+
+    private final VersionedPropertySource source;
+
+    RescanningBeanFactory(VersionedPropertySource source) {
+      this.source = source;
+    }
+
+    @Override
+    @Nullable
+    protected Object resolveValue(String beanName, AbstractBeanDefinition mbd, @Nullable Object value) {
+      if (value instanceof TypedStringValue) {
+        return this.helper.replacePlaceholders(((TypedStringValue) value).getValue(), this.source::getProperty);
+      }
+      return super.resolveValue(beanName, mbd, value);
+    }
+  }
+
+
+  public static void main(String[] args) {
+    int beans = (args.length > 0 ? Integer.parseInt(args[0]) : 5000);
+    System.out.println(new PlaceholderBenchmark(beans).run());
+  }
+
+}
@@ -0,0 +1,71 @@
+package com.rhb.spring.demo.scale;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 与具体BeanFactory无关的bean定义描述，同一组描述可以分别转换成两种BeanDefinition
+ *
+ * @author renhuibo
+ * @date 2026/10/19 22:05
+ */
+public class BeanSpec {
+
+  final String name;
+
+  String className;
+
+  String parentName;
+
+  boolean abstractFlag;
+
+  boolean lazyInit;
+
+  String[] dependsOn;
+
+  String initMethodName;
+
+  /** typeName -> value（value可以为null） */
+  final Map<String, String> qualifiers = new LinkedHashMap<>();
+
+  /** lookup-method：方法名和返回的beanName */
+  String lookupMethodName;
+
+  String lookupBeanName;
+
+  /** 属性名 -> 字符串值或BeanRef */
+  final Map<String, Object> properties = new LinkedHashMap<>();
+
+
+  BeanSpec(String name) {
+    this.name = name;
+  }
+
+
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * 指向其他bean的属性值
+   */
+  static final class BeanRef {
+
+    final String beanName;
+
+    BeanRef(String beanName) {
+      this.beanName = beanName;
+    }
+  }
+
+  static List<String> names(List<BeanSpec> specs) {
+    List<String> names = new ArrayList<>(specs.size());
+    for (BeanSpec spec : specs) {
+      names.add(spec.name);
+    }
+    return names;
+  }
+
+}
@@ -0,0 +1,79 @@
+package com.rhb.spring.demo.scale;
+
+import java.util.Map;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.LookupOverride;
+import org.springframework.util.ClassUtils;
+
+/**
+ * spring-beans 5.1自带的DefaultListableBeanFactory，作为对照
+ *
+ * @author renhuibo
+ * @date 2026/10/19 22:30
+ */
+public class DefaultListableFactoryUnderTest implements FactoryUnderTest {
+
+  private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+  @Override
+  public String getName() {
+    return "DefaultListableBeanFactory";
+  }
+
+  @Override
+  public void register(BeanSpec spec) {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName(spec.className);
+    bd.setParentName(spec.parentName);
+    bd.setAbstract(spec.abstractFlag);
+    bd.setLazyInit(spec.lazyInit);
+    bd.setDependsOn(spec.dependsOn);
+    bd.setInitMethodName(spec.initMethodName);
+    for (Map.Entry<String, String> qualifier : spec.qualifiers.entrySet()) {
+      bd.addQualifier(new AutowireCandidateQualifier(qualifier.getKey(), qualifier.getValue()));
+    }
+    if (spec.lookupMethodName != null) {
+      bd.getMethodOverrides().addOverride(new LookupOverride(spec.lookupMethodName, spec.lookupBeanName));
+    }
+    for (Map.Entry<String, Object> property : spec.properties.entrySet()) {
+      Object value = property.getValue();
+      if (value instanceof BeanSpec.BeanRef) {
+        value = new RuntimeBeanReference(((BeanSpec.BeanRef) value).beanName);
+      }
+      bd.getPropertyValues().add(property.getKey(), value);
+    }
+    this.beanFactory.registerBeanDefinition(spec.name, bd);
+  }
+
+  @Override
+  public void merge(String beanName) {
+    this.beanFactory.getMergedBeanDefinition(beanName);
+  }
+
+  @Override
+  public void resolveBeanClass(String beanName) throws ClassNotFoundException {
+    ((AbstractBeanDefinition) this.beanFactory.getMergedBeanDefinition(beanName))
+        .resolveBeanClass(ClassUtils.getDefaultClassLoader());
+  }
+
+  @Override
+  public void validate(String beanName) {
+    ((AbstractBeanDefinition) this.beanFactory.getMergedBeanDefinition(beanName)).validate();
+  }
+
+  @Override
+  public void preInstantiateSingletons() {
+    this.beanFactory.preInstantiateSingletons();
+  }
+
+  @Override
+  public int getSingletonCount() {
+    return this.beanFactory.getSingletonCount();
+  }
+
+}
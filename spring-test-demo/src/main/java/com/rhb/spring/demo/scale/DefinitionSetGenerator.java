@@ -0,0 +1,146 @@
+package com.rhb.spring.demo.scale;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 按固定随机种子生成规模测试用的定义集合（相同参数生成完全相同的集合）
+ *
+ * 包含：抽象模板及其parent链、继承模板的子定义、dependsOn（只指向之前的bean，不会成环）、
+ * qualifier、lookup-method覆盖（这类bean为lazy-init，只参与注册、合并和校验）、属性值和bean引用
+ *
+ * @author renhuibo
+ * @date 2026/10/19 22:10
+ */
+public class DefinitionSetGenerator {
+
+  private long seed = 42L;
+
+  private double templateRatio = 0.05;
+
+  private int maxChainDepth = 4;
+
+  private double childRatio = 0.4;
+
+  private double dependsOnRatio = 0.2;
+
+  private int maxDependsOn = 3;
+
+  private double refRatio = 0.3;
+
+  private double qualifierRatio = 0.1;
+
+  private double lookupMethodRatio = 0.05;
+
+  private double initMethodRatio = 0.2;
+
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  public void setTemplateRatio(double templateRatio) {
+    this.templateRatio = templateRatio;
+  }
+
+  public void setMaxChainDepth(int maxChainDepth) {
+    this.maxChainDepth = maxChainDepth;
+  }
+
+  public void setChildRatio(double childRatio) {
+    this.childRatio = childRatio;
+  }
+
+  public void setDependsOnRatio(double dependsOnRatio) {
+    this.dependsOnRatio = dependsOnRatio;
+  }
+
+  public void setRefRatio(double refRatio) {
+    this.refRatio = refRatio;
+  }
+
+  public void setQualifierRatio(double qualifierRatio) {
+    this.qualifierRatio = qualifierRatio;
+  }
+
+  public void setLookupMethodRatio(double lookupMethodRatio) {
+    this.lookupMethodRatio = lookupMethodRatio;
+  }
+
+  public void setInitMethodRatio(double initMethodRatio) {
+    this.initMethodRatio = initMethodRatio;
+  }
+
+
+  public List<BeanSpec> generate(int count) {
+    Random random = new Random(this.seed ^ count);
+    List<BeanSpec> specs = new ArrayList<>(count);
+
+    int templateCount = Math.max(1, (int) (count * this.templateRatio));
+    List<BeanSpec> templates = new ArrayList<>(templateCount);
+    int depth = 0;
+    for (int i = 0; i < templateCount; i++) {
+      BeanSpec template = new BeanSpec("template" + i);
+      template.abstractFlag = true;
+      if (i > 0 && depth < this.maxChainDepth - 1 && random.nextBoolean()) {
+        template.parentName = templates.get(i - 1).name;
+        depth++;
+      }
+      else {
+        template.className = SampleBean.class.getName();
+        depth = 0;
+      }
+      template.properties.put("capacity", String.valueOf(random.nextInt(1024)));
+      templates.add(template);
+      specs.add(template);
+    }
+
+    // 可以被引用、被依赖的bean（排除lookup-method bean）
+    List<String> instantiable = new ArrayList<>(count);
+    for (int i = templateCount; i < count; i++) {
+      BeanSpec spec = new BeanSpec("bean" + i);
+      if (random.nextDouble() < this.childRatio) {
+        spec.parentName = templates.get(random.nextInt(templates.size())).name;
+      }
+      else {
+        spec.className = SampleBean.class.getName();
+      }
+      spec.properties.put("name", spec.name);
+      if (!instantiable.isEmpty() && random.nextDouble() < this.refRatio) {
+        spec.properties.put("ref", new BeanSpec.BeanRef(instantiable.get(random.nextInt(instantiable.size()))));
+      }
+      if (!instantiable.isEmpty() && random.nextDouble() < this.dependsOnRatio) {
+        Set<String> dependsOn = new LinkedHashSet<>();
+        int fanOut = 1 + random.nextInt(this.maxDependsOn);
+        for (int j = 0; j < fanOut; j++) {
+          dependsOn.add(instantiable.get(random.nextInt(instantiable.size())));
+        }
+        spec.dependsOn = dependsOn.toArray(new String[0]);
+      }
+      if (random.nextDouble() < this.qualifierRatio) {
+        spec.qualifiers.put("com.rhb.spring.demo.Region", "region" + random.nextInt(8));
+      }
+      if (random.nextDouble() < this.initMethodRatio) {
+        spec.initMethodName = "init";
+      }
+      if (!instantiable.isEmpty() && random.nextDouble() < this.lookupMethodRatio) {
+        spec.lookupMethodName = "lookupHelper";
+        spec.lookupBeanName = instantiable.get(random.nextInt(instantiable.size()));
+        spec.lazyInit = true;
+      }
+      else {
+        instantiable.add(spec.name);
+      }
+      specs.add(spec);
+    }
+    return specs;
+  }
+
+}
@@ -0,0 +1,24 @@
+package com.rhb.spring.demo.scale;
+
+/**
+ * 被测BeanFactory的统一入口，每个阶段单独计时
+ *
+ * @author renhuibo
+ * @date 2026/10/19 22:20
+ */
+public interface FactoryUnderTest {
+
+  String getName();
+
+  void register(BeanSpec spec);
+
+  void merge(String beanName);
+
+  void resolveBeanClass(String beanName) throws ClassNotFoundException;
+
+  void validate(String beanName);
+
+  void preInstantiateSingletons();
+
+  int getSingletonCount();
+}
@@ -0,0 +1,146 @@
+package com.rhb.spring.demo.scale;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.support.BeanDefinitionCompactor;
+import com.rhb.spring.parsing.beans.support.BeanDefinitionCompactor.CompactionReport;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.PropertyValue;
+
+/**
+ * 启动后元数据压缩释放的堆大小
+ *
+ * 模拟XML解析后的定义：每个定义带有解析时的元素信息（source）、文件描述（每个定义各自的DescriptiveResource）
+ * 和description，其中一部分由其他定义派生（BeanDefinitionResource）；合并全部定义后逐个容器压缩，
+ * 输出每个容器释放的堆大小（JSON）
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --definitions=8000   每个容器的定义数量
+ * --contexts=4         容器数量（共用一个压缩器）
+ * --files=50           定义分布在多少个配置文件中
+ * --seed=42            随机种子
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/20 15:50
+ */
+public class MetadataCompactionBenchmark {
+
+  private final List<BeanSpec> specs;
+
+  private final int files;
+
+
+  public MetadataCompactionBenchmark(List<BeanSpec> specs, int files) {
+    this.specs = specs;
+    this.files = files;
+  }
+
+
+  private SimpleBeanFactory createContext(BeanDefinitionCompactor compactor) {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setValidateOnRegistration(false);
+    beanFactory.setMetadataCompactor(compactor);
+    int line = 1;
+    for (int i = 0; i < this.specs.size(); i++) {
+      BeanSpec spec = this.specs.get(i);
+      GenericBeanDefinition bd = SimpleFactoryUnderTest.toBeanDefinition(spec);
+      String file = "file [/opt/app/config/beans-" + (i % this.files) + ".xml]";
+      bd.setSource(new ElementSource(spec, file, line));
+      for (PropertyValue pv : bd.getPropertyValues().getPropertyValueList()) {
+        pv.setSource(new ElementSource(pv.getName(), line++));
+      }
+      bd.setDescription("Definition of " + spec.name + " generated for the compaction benchmark");
+      if (i % 10 == 9) {
+        GenericBeanDefinition originating = SimpleFactoryUnderTest.toBeanDefinition(spec);
+        originating.setResourceDescription(file);
+        bd.setOriginatingBeanDefinition(originating);
+      }
+      else {
+        bd.setResourceDescription(file);
+      }
+      line += 4;
+      beanFactory.registerBeanDefinition(spec.name, bd);
+    }
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      beanFactory.getMergedBeanDefinition(beanName);
+    }
+    return beanFactory;
+  }
+
+  public String run(int contexts) {
+    BeanDefinitionCompactor compactor = new BeanDefinitionCompactor();
+    compactor.setMeasureHeap(true);
+    List<SimpleBeanFactory> factories = new ArrayList<>(contexts);
+    for (int i = 0; i < contexts; i++) {
+      factories.add(createContext(compactor));
+    }
+    StringBuilder json = new StringBuilder("{\"benchmark\":\"metadataCompaction\",\"definitions\":")
+        .append(this.specs.size()).append(",\"files\":").append(this.files).append(",\"contexts\":[");
+    for (int i = 0; i < contexts; i++) {
+      SimpleBeanFactory beanFactory = factories.get(i);
+      CompactionReport report = beanFactory.compactMetadata();
+      String beanName = this.specs.get(this.specs.size() - 1).name;
+      AbstractBeanDefinition bd = (AbstractBeanDefinition) beanFactory.getBeanDefinition(beanName);
+      json.append(i > 0 ? "," : "").append("{\"definitionsCompacted\":").append(report.getDefinitions())
+          .append(",\"sourcesDropped\":").append(report.getSourcesDropped())
+          .append(",\"resourcesReplaced\":").append(report.getResourcesReplaced())
+          .append(",\"distinctResources\":").append(report.getDistinctResources())
+          .append(",\"descriptionsDropped\":").append(report.getDescriptionsDropped())
+          .append(",\"millis\":").append(Math.round(report.getNanos() / 1000.0) / 1000.0)
+          .append(",\"heapBytesReclaimed\":").append(report.getHeapBytesReclaimed())
+          .append(",\"sample\":\"").append(beanName).append(" -> ").append(bd.getResourceDescription())
+          .append("\"}");
+    }
+    return json.append("]}").toString();
+  }
+
+
+  /**
+   * 模拟解析时保留的元素信息
+   */
+  static final class ElementSource {
+
+    final String location;
+
+    final int line;
+
+    final Map<String, String> attributes = new LinkedHashMap<>();
+
+    ElementSource(BeanSpec spec, String file, int line) {
+      this.location = file + " line " + line;
+      this.line = line;
+      this.attributes.put("id", spec.name);
+      if (spec.className != null) {
+        this.attributes.put("class", spec.className);
+      }
+      if (spec.parentName != null) {
+        this.attributes.put("parent", spec.parentName);
+      }
+      this.attributes.put("lazy-init", String.valueOf(spec.lazyInit));
+      this.attributes.put("abstract", String.valueOf(spec.abstractFlag));
+    }
+
+    ElementSource(String propertyName, int line) {
+      this.location = "<property name=\"" + propertyName + "\"> line " + line;
+      this.line = line;
+    }
+  }
+
+
+  public static void main(String[] args) {
+    Map<String, String> options = StartupBenchmark.parseArguments(args);
+    DefinitionSetGenerator generator = new DefinitionSetGenerator();
+    generator.setSeed(Long.parseLong(options.getOrDefault("seed", "42")));
+    List<BeanSpec> specs = generator.generate(Integer.parseInt(options.getOrDefault("definitions", "8000")));
+    MetadataCompactionBenchmark benchmark = new MetadataCompactionBenchmark(specs,
+        Integer.parseInt(options.getOrDefault("files", "50")));
+    System.out.println(benchmark.run(Integer.parseInt(options.getOrDefault("contexts", "4"))));
+  }
+
+}
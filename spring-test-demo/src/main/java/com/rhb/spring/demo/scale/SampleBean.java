@@ -0,0 +1,59 @@
+package com.rhb.spring.demo.scale;
+
+/**
+ * 规模测试中实例化的bean
+ *
+ * @author renhuibo
+ * @date 2026/10/19 22:00
+ */
+public class SampleBean {
+
+  private String name;
+
+  private int capacity;
+
+  private Object ref;
+
+  private boolean initialized;
+
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public void setCapacity(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  public void setRef(Object ref) {
+    this.ref = ref;
+  }
+
+  public Object getRef() {
+    return this.ref;
+  }
+
+  public void init() {
+    this.initialized = true;
+  }
+
+  public boolean isInitialized() {
+    return this.initialized;
+  }
+
+  /**
+   * lookup-method的目标方法
+   */
+  public Object lookupHelper() {
+    return null;
+  }
+
+}
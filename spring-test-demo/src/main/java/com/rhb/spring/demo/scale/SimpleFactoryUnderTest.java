@@ -0,0 +1,118 @@
+package com.rhb.spring.demo.scale;
+
+import com.rhb.spring.parsing.beans.base.MethodOverride;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import java.lang.reflect.Method;
+import java.util.Map;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.util.ClassUtils;
+
+/**
+ * source-code-parsing中的SimpleBeanFactory
+ *
+ * @author renhuibo
+ * @date 2026/10/19 22:25
+ */
+public class SimpleFactoryUnderTest implements FactoryUnderTest {
+
+  private final SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+
+
+  @Override
+  public String getName() {
+    return "SimpleBeanFactory";
+  }
+
+  @Override
+  public void register(BeanSpec spec) {
+    this.beanFactory.registerBeanDefinition(spec.name, toBeanDefinition(spec));
+  }
+
+  public static GenericBeanDefinition toBeanDefinition(BeanSpec spec) {
+    GenericBeanDefinition bd = new GenericBeanDefinition();
+    bd.setBeanClassName(spec.className);
+    bd.setParentName(spec.parentName);
+    bd.setAbstract(spec.abstractFlag);
+    bd.setLazyInit(spec.lazyInit);
+    bd.setDependsOn(spec.dependsOn);
+    bd.setInitMethodName(spec.initMethodName);
+    for (Map.Entry<String, String> qualifier : spec.qualifiers.entrySet()) {
+      bd.addQualifier(new AutowireCandidateQualifier(qualifier.getKey(), qualifier.getValue()));
+    }
+    if (spec.lookupMethodName != null) {
+      bd.getMethodOverrides().addOverride(new LookupMethodOverride(spec.lookupMethodName, spec.lookupBeanName));
+    }
+    for (Map.Entry<String, Object> property : spec.properties.entrySet()) {
+      Object value = property.getValue();
+      if (value instanceof BeanSpec.BeanRef) {
+        value = new RuntimeBeanReference(((BeanSpec.BeanRef) value).beanName);
+      }
+      bd.getPropertyValues().add(property.getKey(), value);
+    }
+    return bd;
+  }
+
+  @Override
+  public void merge(String beanName) {
+    this.beanFactory.getMergedBeanDefinition(beanName);
+  }
+
+  @Override
+  public void resolveBeanClass(String beanName) throws ClassNotFoundException {
+    this.beanFactory.getMergedBeanDefinition(beanName).resolveBeanClass(ClassUtils.getDefaultClassLoader());
+  }
+
+  @Override
+  public void validate(String beanName) {
+    this.beanFactory.getMergedBeanDefinition(beanName).validate();
+  }
+
+  @Override
+  public void preInstantiateSingletons() {
+    this.beanFactory.preInstantiateSingletons();
+  }
+
+  @Override
+  public int getSingletonCount() {
+    int count = 0;
+    for (String beanName : this.beanFactory.getBeanDefinitionNames()) {
+      if (this.beanFactory.containsSingleton(beanName)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+
+  /**
+   * 本模块没有LookupOverride，按方法名匹配的最小实现
+   */
+  private static class LookupMethodOverride extends MethodOverride {
+
+    private final String beanName;
+
+    LookupMethodOverride(String methodName, String beanName) {
+      super(methodName);
+      this.beanName = beanName;
+    }
+
+    @Override
+    public boolean matches(Method method) {
+      return (method.getName().equals(getMethodName()) && method.getParameterCount() == 0);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return (other instanceof LookupMethodOverride && super.equals(other) &&
+          this.beanName.equals(((LookupMethodOverride) other).beanName));
+    }
+
+    @Override
+    public int hashCode() {
+      return 29 * super.hashCode() + this.beanName.hashCode();
+    }
+  }
+
+}
@@ -0,0 +1,233 @@
+package com.rhb.spring.demo.scale;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 端到端启动基准：同一组定义分别交给SimpleBeanFactory和DefaultListableBeanFactory，
+ * 依次计时 注册 -> 合并 -> 解析beanClass -> 校验 -> 实例化单例，结果输出为JSON
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --sizes=10000,100000,500000   定义数量
+ * --seed=42                     随机种子
+ * --factories=simple,spring     被测工厂
+ * --warmup=5000                 预热规模（0表示不预热）
+ * --out=startup.json            输出文件，默认标准输出
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/19 22:40
+ */
+public class StartupBenchmark {
+
+  private static final String[] PHASES = {"registration", "merge", "classResolution", "validation", "instantiation"};
+
+  private final DefinitionSetGenerator generator;
+
+  private final Map<String, Supplier<FactoryUnderTest>> factories;
+
+
+  public StartupBenchmark(DefinitionSetGenerator generator, Map<String, Supplier<FactoryUnderTest>> factories) {
+    this.generator = generator;
+    this.factories = factories;
+  }
+
+
+  public List<RunResult> run(int[] sizes) throws Exception {
+    List<RunResult> results = new ArrayList<>();
+    for (int size : sizes) {
+      List<BeanSpec> specs = this.generator.generate(size);
+      for (Supplier<FactoryUnderTest> factory : this.factories.values()) {
+        results.add(runOnce(factory.get(), specs));
+      }
+    }
+    return results;
+  }
+
+  private RunResult runOnce(FactoryUnderTest factory, List<BeanSpec> specs) throws Exception {
+    System.gc();
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    long heapBefore = memory.getHeapMemoryUsage().getUsed();
+    List<String> beanNames = BeanSpec.names(specs);
+    long[] nanos = new long[PHASES.length];
+
+    long start = System.nanoTime();
+    for (BeanSpec spec : specs) {
+      factory.register(spec);
+    }
+    nanos[0] = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (String beanName : beanNames) {
+      factory.merge(beanName);
+    }
+    nanos[1] = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (String beanName : beanNames) {
+      factory.resolveBeanClass(beanName);
+    }
+    nanos[2] = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (String beanName : beanNames) {
+      factory.validate(beanName);
+    }
+    nanos[3] = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    factory.preInstantiateSingletons();
+    nanos[4] = System.nanoTime() - start;
+
+    long heapAfter = memory.getHeapMemoryUsage().getUsed();
+    return new RunResult(factory.getName(), specs.size(), nanos, factory.getSingletonCount(), heapAfter - heapBefore);
+  }
+
+
+  /**
+   * 单次运行的结果
+   */
+  public static class RunResult {
+
+    final String factory;
+
+    final int definitions;
+
+    final long[] phaseNanos;
+
+    final int singletons;
+
+    final long heapGrowthBytes;
+
+    RunResult(String factory, int definitions, long[] phaseNanos, int singletons, long heapGrowthBytes) {
+      this.factory = factory;
+      this.definitions = definitions;
+      this.phaseNanos = phaseNanos;
+      this.singletons = singletons;
+      this.heapGrowthBytes = heapGrowthBytes;
+    }
+
+    void writeJson(StringBuilder sb) {
+      sb.append("{\"factory\":\"").append(this.factory).append('"');
+      sb.append(",\"definitions\":").append(this.definitions);
+      sb.append(",\"singletons\":").append(this.singletons);
+      sb.append(",\"heapGrowthBytes\":").append(this.heapGrowthBytes);
+      sb.append(",\"phasesMillis\":{");
+      long total = 0;
+      for (int i = 0; i < PHASES.length; i++) {
+        if (i > 0) {
+          sb.append(',');
+        }
+        sb.append('"').append(PHASES[i]).append("\":").append(millis(this.phaseNanos[i]));
+        total += this.phaseNanos[i];
+      }
+      sb.append("},\"totalMillis\":").append(millis(total)).append('}');
+    }
+
+    private static String millis(long nanos) {
+      return String.valueOf(Math.round(nanos / 1000.0) / 1000.0);
+    }
+  }
+
+
+  static String toJson(long seed, List<RunResult> results) {
+    StringBuilder sb = new StringBuilder(256 + results.size() * 256);
+    sb.append("{\"benchmark\":\"startup\"");
+    sb.append(",\"timestamp\":").append(System.currentTimeMillis());
+    sb.append(",\"javaVersion\":\"").append(System.getProperty("java.version")).append('"');
+    sb.append(",\"availableProcessors\":").append(Runtime.getRuntime().availableProcessors());
+    sb.append(",\"maxHeapBytes\":").append(Runtime.getRuntime().maxMemory());
+    sb.append(",\"seed\":").append(seed);
+    sb.append(",\"runs\":[");
+    for (int i = 0; i < results.size(); i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      results.get(i).writeJson(sb);
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+
+  static Map<String, Supplier<FactoryUnderTest>> factories(String names) {
+    Map<String, Supplier<FactoryUnderTest>> factories = new LinkedHashMap<>();
+    for (String name : names.split(",")) {
+      switch (name.trim()) {
+        case "simple":
+          factories.put("simple", SimpleFactoryUnderTest::new);
+          break;
+        case "spring":
+          factories.put("spring", DefaultListableFactoryUnderTest::new);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown factory '" + name + "', expected 'simple' or 'spring'");
+      }
+    }
+    return factories;
+  }
+
+  static Map<String, String> parseArguments(String[] args) {
+    Map<String, String> options = new LinkedHashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+      }
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    return options;
+  }
+
+  static int[] parseSizes(String sizes) {
+    String[] parts = sizes.split(",");
+    int[] result = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      result[i] = Integer.parseInt(parts[i].trim());
+    }
+    return result;
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parseArguments(args);
+    DefinitionSetGenerator generator = new DefinitionSetGenerator();
+    generator.setSeed(Long.parseLong(options.getOrDefault("seed", "42")));
+    StartupBenchmark benchmark = new StartupBenchmark(generator,
+        factories(options.getOrDefault("factories", "simple,spring")));
+
+    int warmup = Integer.parseInt(options.getOrDefault("warmup", "5000"));
+    if (warmup > 0) {
+      benchmark.run(new int[] {warmup, warmup});
+    }
+    List<RunResult> results = benchmark.run(parseSizes(options.getOrDefault("sizes", "10000,50000")));
+    String json = toJson(generator.getSeed(), results);
+
+    String out = options.get("out");
+    if (out != null) {
+      Files.write(Paths.get(out), json.getBytes(StandardCharsets.UTF_8));
+    }
+    else {
+      try (Writer writer = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+        writer.write(json);
+        writer.write(System.lineSeparator());
+      }
+      catch (IOException ex) {
+        throw new IllegalStateException("Could not write results", ex);
+      }
+    }
+  }
+
+}
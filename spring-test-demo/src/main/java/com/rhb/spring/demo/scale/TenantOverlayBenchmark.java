@@ -0,0 +1,151 @@
+package com.rhb.spring.demo.scale;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.support.LayeredBeanDefinitionRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 多租户的两种做法对比：每个租户复制全部公共定义再覆盖 vs 租户层共享公共定义、只复制覆盖的定义
+ *
+ * 两种做法得到的租户容器对覆盖的定义合并结果相同；输出创建全部租户的耗时和租户常驻的堆大小（JSON）
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --definitions=8000   公共定义数量
+ * --tenants=100        租户数量
+ * --overrides=20       每个租户覆盖的定义数量
+ * --seed=42            随机种子
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/20 12:20
+ */
+public class TenantOverlayBenchmark {
+
+  private final List<BeanSpec> specs;
+
+  private final int tenants;
+
+  private final int overrides;
+
+  private final long seed;
+
+  /** 保持租户存活 */
+  private List<SimpleBeanFactory> retained;
+
+
+  public TenantOverlayBenchmark(List<BeanSpec> specs, int tenants, int overrides, long seed) {
+    this.specs = specs;
+    this.tenants = tenants;
+    this.overrides = overrides;
+    this.seed = seed;
+  }
+
+
+  /**
+   * 每个租户覆盖的beanName -> 覆盖内容（只选择非模板、有类名的定义）
+   */
+  private Map<String, GenericBeanDefinition> tenantOverrides(int tenant) {
+    Random random = new Random(this.seed * 31 + tenant);
+    Map<String, GenericBeanDefinition> result = new LinkedHashMap<>();
+    while (result.size() < this.overrides) {
+      BeanSpec spec = this.specs.get(random.nextInt(this.specs.size()));
+      if (spec.abstractFlag || spec.className == null) {
+        continue;
+      }
+      GenericBeanDefinition override = new GenericBeanDefinition();
+      override.getPropertyValues().add("name", "tenant" + tenant + "-" + spec.name);
+      override.setLazyInit(spec.lazyInit);
+      result.put(spec.name, override);
+    }
+    return result;
+  }
+
+  private List<SimpleBeanFactory> copyPerTenant(Map<String, GenericBeanDefinition> base) {
+    List<SimpleBeanFactory> factories = new ArrayList<>(this.tenants);
+    for (int tenant = 0; tenant < this.tenants; tenant++) {
+      SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+      beanFactory.setValidateOnRegistration(false);
+      for (Map.Entry<String, GenericBeanDefinition> entry : base.entrySet()) {
+        beanFactory.registerBeanDefinition(entry.getKey(), entry.getValue().cloneBeanDefinition());
+      }
+      for (Map.Entry<String, GenericBeanDefinition> entry : tenantOverrides(tenant).entrySet()) {
+        ((AbstractBeanDefinition) beanFactory.getBeanDefinition(entry.getKey())).overrideFrom(entry.getValue());
+      }
+      factories.add(beanFactory);
+    }
+    return factories;
+  }
+
+  private List<SimpleBeanFactory> layered(Map<String, GenericBeanDefinition> base) {
+    LayeredBeanDefinitionRegistry baseLayer = new LayeredBeanDefinitionRegistry();
+    for (Map.Entry<String, GenericBeanDefinition> entry : base.entrySet()) {
+      baseLayer.registerBeanDefinition(entry.getKey(), entry.getValue());
+    }
+    List<SimpleBeanFactory> factories = new ArrayList<>(this.tenants);
+    for (int tenant = 0; tenant < this.tenants; tenant++) {
+      LayeredBeanDefinitionRegistry tenantLayer = baseLayer.createLayer();
+      for (Map.Entry<String, GenericBeanDefinition> entry : tenantOverrides(tenant).entrySet()) {
+        tenantLayer.overrideBeanDefinition(entry.getKey(), entry.getValue());
+      }
+      SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+      beanFactory.setParentBeanDefinitionRegistry(tenantLayer);
+      factories.add(beanFactory);
+    }
+    return factories;
+  }
+
+  public String run(String mode) {
+    Map<String, GenericBeanDefinition> base = new LinkedHashMap<>(this.specs.size() * 2);
+    for (BeanSpec spec : this.specs) {
+      base.put(spec.name, SimpleFactoryUnderTest.toBeanDefinition(spec));
+    }
+    long heapBefore = usedHeapAfterGc();
+    long start = System.nanoTime();
+    this.retained = ("copy".equals(mode) ? copyPerTenant(base) : layered(base));
+    long nanos = System.nanoTime() - start;
+    long heapAfter = usedHeapAfterGc();
+
+    // 两种做法的合并结果应当一致：取最后一个租户的第一个覆盖
+    String beanName = tenantOverrides(this.tenants - 1).keySet().iterator().next();
+    Object name = this.retained.get(this.tenants - 1).getMergedBeanDefinition(beanName)
+        .getPropertyValues().get("name");
+    String json = "{\"mode\":\"" + mode + "\",\"tenants\":" + this.tenants + ",\"definitions\":" + this.specs.size() +
+        ",\"overridesPerTenant\":" + this.overrides + ",\"millis\":" + Math.round(nanos / 1000.0) / 1000.0 +
+        ",\"tenantHeapBytes\":" + (heapAfter - heapBefore) + ",\"sample\":\"" + beanName + "=" + name + "\"}";
+    this.retained = null;
+    return json;
+  }
+
+  private static long usedHeapAfterGc() {
+    System.gc();
+    System.gc();
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+
+  public static void main(String[] args) {
+    Map<String, String> options = StartupBenchmark.parseArguments(args);
+    DefinitionSetGenerator generator = new DefinitionSetGenerator();
+    long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+    generator.setSeed(seed);
+    List<BeanSpec> specs = generator.generate(Integer.parseInt(options.getOrDefault("definitions", "8000")));
+    TenantOverlayBenchmark benchmark = new TenantOverlayBenchmark(specs,
+        Integer.parseInt(options.getOrDefault("tenants", "100")),
+        Integer.parseInt(options.getOrDefault("overrides", "20")), seed);
+
+    // 预热后两种做法各运行一次
+    benchmark.run("copy");
+    benchmark.run("layered");
+    System.out.println("{\"benchmark\":\"tenantOverlay\",\"runs\":[" + benchmark.run("copy") + "," +
+        benchmark.run("layered") + "]}");
+  }
+
+}
@@ -0,0 +1,257 @@
+package com.rhb.spring.demo.startup;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.startup.ChromeTraceExporter;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.BeanNode;
+import com.rhb.spring.parsing.beans.startup.StartupAnalysis.Suggestion;
+import com.rhb.spring.parsing.beans.startup.StartupCriticalPathAnalyzer;
+import com.rhb.spring.parsing.beans.startup.StartupRecorder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.ManagedList;
+
+/**
+ * 启动关键路径分析：按建议修改前后的实际启动耗时
+ *
+ * 随机生成beans个单例（初始化方法忙等20~200微秒，heavyRatio比例的单例再等待2~12毫秒模拟IO；
+ * 每个单例引用0~3个前面的单例，10%的单例dependsOn一个前面的单例），记录启动过程并分析，
+ * trace写到--trace指定的文件（Perfetto/chrome://tracing打开）。然后分别应用异步初始化建议
+ * （引用依赖它的单例同时把它加到dependsOn中）和懒加载建议重新启动，输出实际启动耗时与分析的预测（JSON）
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --beans=300                     单例数量
+ * --heavyRatio=0.05               等待IO的单例比例
+ * --suggestions=10                每类建议的个数
+ * --seed=42                       随机种子
+ * --trace=startup-trace.json      trace输出文件
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:40
+ */
+public class StartupCriticalPathComparison {
+
+  private final int beans;
+
+  private final double heavyRatio;
+
+  private final int suggestions;
+
+  private final long seed;
+
+  private final Path trace;
+
+
+  public StartupCriticalPathComparison(int beans, double heavyRatio, int suggestions, long seed, Path trace) {
+    this.beans = beans;
+    this.heavyRatio = heavyRatio;
+    this.suggestions = suggestions;
+    this.seed = seed;
+    this.trace = trace;
+  }
+
+
+  /**
+   * 同一个种子生成同样的依赖图；asyncBeans改为异步初始化，extraDependsOn追加到dependsOn，lazyBeans改为懒加载
+   */
+  private SimpleBeanFactory createFactory(Set<String> asyncBeans, Map<String, List<String>> extraDependsOn,
+      Set<String> lazyBeans) {
+
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    Random random = new Random(this.seed);
+    for (int i = 0; i < this.beans; i++) {
+      String beanName = "service" + i;
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(TimedService.class);
+      bd.setInitMethodName("init");
+      bd.getPropertyValues().add("cpuMicros", 20 + random.nextInt(181));
+      if (random.nextDouble() < this.heavyRatio) {
+        bd.getPropertyValues().add("waitMicros", 2_000 + random.nextInt(10_001));
+      }
+      int window = Math.min(i, 20);
+      Set<String> refs = new LinkedHashSet<>();
+      for (int k = (i > 0 ? random.nextInt(Math.min(i, 3) + 1) : 0); k > 0; k--) {
+        refs.add("service" + (i - 1 - random.nextInt(window)));
+      }
+      ManagedList<RuntimeBeanReference> dependencies = new ManagedList<>(refs.size());
+      for (String ref : refs) {
+        dependencies.add(new RuntimeBeanReference(ref));
+      }
+      bd.getPropertyValues().add("dependencies", dependencies);
+      List<String> dependsOn = new ArrayList<>(extraDependsOn.getOrDefault(beanName, Collections.emptyList()));
+      if (i > 0 && random.nextDouble() < 0.1) {
+        dependsOn.add("service" + (i - 1 - random.nextInt(window)));
+      }
+      if (!dependsOn.isEmpty()) {
+        bd.setDependsOn(dependsOn.toArray(new String[0]));
+      }
+      if (asyncBeans.contains(beanName)) {
+        bd.setBooleanAttribute(SimpleBeanFactory.ASYNC_INIT_ATTRIBUTE, true);
+      }
+      bd.setLazyInit(lazyBeans.contains(beanName));
+      beanFactory.registerBeanDefinition(beanName, bd);
+    }
+    return beanFactory;
+  }
+
+  private Run start(Set<String> asyncBeans, Map<String, List<String>> extraDependsOn, Set<String> lazyBeans) {
+    SimpleBeanFactory beanFactory = createFactory(asyncBeans, extraDependsOn, lazyBeans);
+    StartupRecorder recorder = new StartupRecorder();
+    beanFactory.setStartupRecorder(recorder);
+    long start = System.nanoTime();
+    beanFactory.preInstantiateSingletons();
+    long startupNanos = System.nanoTime() - start;
+    beanFactory.setStartupRecorder(null);
+    for (int i = 0; i < this.beans; i++) {
+      String beanName = "service" + i;
+      if (beanFactory.containsSingleton(beanName) &&
+          !beanFactory.getBean(beanName, TimedService.class).isInitialized()) {
+        throw new IllegalStateException("Service '" + beanName + "' not initialized after startup");
+      }
+    }
+    StartupCriticalPathAnalyzer analyzer = new StartupCriticalPathAnalyzer();
+    analyzer.setSuggestionLimit(this.suggestions);
+    StartupAnalysis analysis = analyzer.analyze(recorder, beanFactory);
+    beanFactory.destroySingletons();
+    return new Run(recorder, analysis, startupNanos);
+  }
+
+  public String run() throws Exception {
+    Set<String> none = Collections.emptySet();
+    Map<String, List<String>> noDependsOn = Collections.emptyMap();
+    // 预热JIT
+    start(none, noDependsOn, none);
+    Run baseline = start(none, noDependsOn, none);
+    new ChromeTraceExporter().export(baseline.recorder, baseline.analysis, this.trace);
+
+    Set<String> asyncBeans = new LinkedHashSet<>();
+    Map<String, List<String>> extraDependsOn = new HashMap<>();
+    long asyncPredicted = 0;
+    for (Suggestion suggestion : baseline.analysis.getAsyncInitCandidates()) {
+      asyncBeans.add(suggestion.getBeanName());
+      asyncPredicted = Math.max(asyncPredicted, suggestion.getCriticalPathSavingNanos());
+      for (String dependent : suggestion.getReferencingDependents()) {
+        extraDependsOn.computeIfAbsent(dependent, k -> new ArrayList<>()).add(suggestion.getBeanName());
+      }
+    }
+    Run async = start(asyncBeans, extraDependsOn, none);
+
+    Set<String> lazyBeans = new LinkedHashSet<>();
+    long lazyPredicted = 0;
+    for (Suggestion suggestion : baseline.analysis.getLazyInitCandidates()) {
+      lazyBeans.add(suggestion.getBeanName());
+      lazyPredicted += suggestion.getStartupThreadSavingNanos();
+    }
+    Run lazy = start(none, noDependsOn, lazyBeans);
+
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"benchmark\":\"startupCriticalPath\",\"beans\":").append(this.beans)
+        .append(",\"trace\":\"").append(this.trace.toString().replace("\\", "/")).append('"')
+        .append(",\"runs\":[");
+    appendRun(sb, "baseline", baseline, null, 0);
+    sb.append(',');
+    appendRun(sb, "asyncInitSuggestions", async, asyncBeans, asyncPredicted);
+    sb.append(',');
+    appendRun(sb, "lazyInitSuggestions", lazy, lazyBeans, lazyPredicted);
+    sb.append("],\"criticalPath\":[");
+    List<String> criticalPath = baseline.analysis.getCriticalPath();
+    for (int i = 0; i < criticalPath.size(); i++) {
+      BeanNode node = baseline.analysis.getNode(criticalPath.get(i));
+      sb.append(i > 0 ? "," : "").append("{\"bean\":\"").append(node.getBeanName())
+          .append("\",\"creationMicros\":").append(node.getCreationNanos() / 1_000).append('}');
+    }
+    sb.append("],\"suggestions\":[");
+    List<Suggestion> all = new ArrayList<>(baseline.analysis.getAsyncInitCandidates());
+    all.addAll(baseline.analysis.getLazyInitCandidates());
+    for (int i = 0; i < all.size(); i++) {
+      Suggestion suggestion = all.get(i);
+      sb.append(i > 0 ? "," : "").append("{\"bean\":\"").append(suggestion.getBeanName())
+          .append("\",\"kind\":\"").append(suggestion.getKind())
+          .append("\",\"startupThreadSavingMicros\":").append(suggestion.getStartupThreadSavingNanos() / 1_000)
+          .append(",\"criticalPathSavingMicros\":").append(suggestion.getCriticalPathSavingNanos() / 1_000)
+          .append(",\"referencingDependents\":").append(suggestion.getReferencingDependents().size()).append('}');
+    }
+    return sb.append("]}").toString();
+  }
+
+  /**
+   * predictedSavingNanos：异步初始化为单个建议预测的关键路径缩短的最大值，懒加载为创建线程上省下的时间之和
+   */
+  private static void appendRun(StringBuilder sb, String name, Run run, Set<String> applied,
+      long predictedSavingNanos) {
+
+    int critical = 0;
+    for (BeanNode node : run.analysis.getNodes()) {
+      if (node.isCritical()) {
+        critical++;
+      }
+    }
+    sb.append("{\"name\":\"").append(name).append("\",\"applied\":").append(applied != null ? applied.size() : 0)
+        .append(",\"created\":").append(run.analysis.getNodes().size())
+        .append(",\"startupMicros\":").append(run.startupNanos / 1_000)
+        .append(",\"serialMicros\":").append(run.analysis.getSerialNanos() / 1_000)
+        .append(",\"criticalPathMicros\":").append(run.analysis.getCriticalPathNanos() / 1_000)
+        .append(",\"criticalPathLength\":").append(run.analysis.getCriticalPath().size())
+        .append(",\"zeroSlackBeans\":").append(critical)
+        .append(",\"predictedSavingMicros\":").append(predictedSavingNanos / 1_000).append('}');
+  }
+
+
+  private static final class Run {
+
+    final StartupRecorder recorder;
+
+    final StartupAnalysis analysis;
+
+    final long startupNanos;
+
+    Run(StartupRecorder recorder, StartupAnalysis analysis, long startupNanos) {
+      this.recorder = recorder;
+      this.analysis = analysis;
+      this.startupNanos = startupNanos;
+    }
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    int beans = 300;
+    double heavyRatio = 0.05;
+    int suggestions = 10;
+    long seed = 42;
+    Path trace = Paths.get("startup-trace.json");
+    for (String arg : args) {
+      if (arg.startsWith("--beans=")) {
+        beans = Integer.parseInt(arg.substring("--beans=".length()));
+      }
+      else if (arg.startsWith("--heavyRatio=")) {
+        heavyRatio = Double.parseDouble(arg.substring("--heavyRatio=".length()));
+      }
+      else if (arg.startsWith("--suggestions=")) {
+        suggestions = Integer.parseInt(arg.substring("--suggestions=".length()));
+      }
+      else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring("--seed=".length()));
+      }
+      else if (arg.startsWith("--trace=")) {
+        trace = Paths.get(arg.substring("--trace=".length()));
+      }
+      else {
+        throw new IllegalArgumentException("Unknown argument '" + arg + "'");
+      }
+    }
+    System.out.println(new StartupCriticalPathComparison(beans, heavyRatio, suggestions, seed, trace).run());
+  }
+
+}
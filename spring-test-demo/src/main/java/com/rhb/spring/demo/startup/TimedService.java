@@ -0,0 +1,56 @@
+package com.rhb.spring.demo.startup;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 关键路径分析中的单例：初始化方法先忙等cpuMicros微秒（计算），再等待waitMicros微秒（模拟建立连接等IO）
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:40
+ */
+public class TimedService {
+
+  private long cpuMicros;
+
+  private long waitMicros;
+
+  private List<Object> dependencies;
+
+  private volatile boolean initialized;
+
+
+  public void setCpuMicros(long cpuMicros) {
+    this.cpuMicros = cpuMicros;
+  }
+
+  public void setWaitMicros(long waitMicros) {
+    this.waitMicros = waitMicros;
+  }
+
+  public void setDependencies(List<Object> dependencies) {
+    this.dependencies = dependencies;
+  }
+
+  public List<Object> getDependencies() {
+    return this.dependencies;
+  }
+
+  public void init() {
+    long deadline = System.nanoTime() + this.cpuMicros * 1_000;
+    long spins = 0;
+    while (System.nanoTime() < deadline) {
+      spins++;
+    }
+    deadline = System.nanoTime() + this.waitMicros * 1_000;
+    for (long remaining = this.waitMicros * 1_000; remaining > 0; remaining = deadline - System.nanoTime()) {
+      LockSupport.parkNanos(remaining);
+    }
+    this.initialized = (spins >= 0);
+  }
+
+  public boolean isInitialized() {
+    return this.initialized;
+  }
+
+}
@@ -0,0 +1,162 @@
+package com.rhb.spring.demo.warmup;
+
+import com.rhb.spring.parsing.beans.definition.GenericBeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.factory.SingletonWarmUp;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * 懒加载单例后台预热 开启 vs 关闭
+ *
+ * 注册beans个懒加载单例（初始化忙等costMicros微秒，每5个有一个dependsOn前一个，每7个有一个引用前面的单例），
+ * 启动后立即按固定间隔发出requests个“请求”，每个请求随机获取一个单例，记录获取耗时；
+ * 输出两种方式下请求耗时的p50/p99/最大值、碰到未创建单例的请求数，以及预热的进度和达到完全预热的时间（JSON）
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --beans=400            懒加载单例数量
+ * --costMicros=2000      每个单例的创建开销
+ * --requests=400         请求数量
+ * --intervalMicros=2500  请求间隔
+ * --seed=42              随机种子
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:10
+ */
+public class LazyWarmUpBenchmark {
+
+  private final int beans;
+
+  private final long costMicros;
+
+  private final int requests;
+
+  private final long intervalMicros;
+
+  private final long seed;
+
+
+  public LazyWarmUpBenchmark(int beans, long costMicros, int requests, long intervalMicros, long seed) {
+    this.beans = beans;
+    this.costMicros = costMicros;
+    this.requests = requests;
+    this.intervalMicros = intervalMicros;
+    this.seed = seed;
+  }
+
+
+  private SimpleBeanFactory createFactory(boolean warmUp) {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    beanFactory.setWarmUpLazySingletons(warmUp);
+    GenericBeanDefinition eager = new GenericBeanDefinition();
+    eager.setBeanClass(WarmableService.class);
+    beanFactory.registerBeanDefinition("eagerService", eager);
+    for (int i = 0; i < this.beans; i++) {
+      GenericBeanDefinition bd = new GenericBeanDefinition();
+      bd.setBeanClass(WarmableService.class);
+      bd.setLazyInit(true);
+      bd.setInitMethodName("init");
+      bd.getPropertyValues().add("costMicros", this.costMicros);
+      if (i % 5 == 4) {
+        bd.setDependsOn("service" + (i - 1));
+      }
+      if (i % 7 == 6) {
+        bd.getPropertyValues().add("dependency", new RuntimeBeanReference("service" + (i - 3)));
+      }
+      beanFactory.registerBeanDefinition("service" + i, bd);
+    }
+    return beanFactory;
+  }
+
+  private String measure(boolean warmUp) throws Exception {
+    SimpleBeanFactory beanFactory = createFactory(warmUp);
+    long startupStart = System.nanoTime();
+    beanFactory.preInstantiateSingletons();
+    long startupMillis = (System.nanoTime() - startupStart) / 1_000_000;
+
+    Random random = new Random(this.seed);
+    long[] latencies = new long[this.requests];
+    int coldHits = 0;
+    long next = System.nanoTime();
+    for (int i = 0; i < this.requests; i++) {
+      next += this.intervalMicros * 1_000;
+      LockSupport.parkNanos(next - System.nanoTime());
+      String beanName = "service" + random.nextInt(this.beans);
+      if (!beanFactory.containsSingleton(beanName)) {
+        coldHits++;
+      }
+      long start = System.nanoTime();
+      WarmableService service = beanFactory.getBean(beanName, WarmableService.class);
+      latencies[i] = System.nanoTime() - start;
+      if (!service.isInitialized()) {
+        throw new IllegalStateException("Service '" + beanName + "' not initialized");
+      }
+    }
+
+    String warmUpJson = "null";
+    SingletonWarmUp singletonWarmUp = beanFactory.getSingletonWarmUp();
+    if (singletonWarmUp != null) {
+      SingletonWarmUp.Progress progress = singletonWarmUp.getCompletion().get(60, TimeUnit.SECONDS);
+      warmUpJson = "{\"total\":" + progress.getTotal() + ",\"warmed\":" + progress.getWarmed() +
+          ",\"createdOnDemand\":" + progress.getCreatedOnDemand() + ",\"failed\":" + progress.getFailures().size() +
+          ",\"yields\":" + progress.getYields() + ",\"pauses\":" + progress.getPauses() +
+          ",\"timeToFullyWarmMillis\":" + progress.getElapsedMillis() + ",\"fullyWarm\":" + progress.isFullyWarm() +
+          "}";
+    }
+    beanFactory.destroySingletons();
+
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    return "{\"warmUp\":" + warmUp + ",\"startupMillis\":" + startupMillis + ",\"coldHits\":" + coldHits +
+        ",\"p50Micros\":" + percentile(sorted, 0.50) / 1_000 + ",\"p99Micros\":" + percentile(sorted, 0.99) / 1_000 +
+        ",\"maxMicros\":" + sorted[sorted.length - 1] / 1_000 + ",\"warmUpProgress\":" + warmUpJson + "}";
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  public String run() throws Exception {
+    // 预热JIT
+    measure(false);
+    return "{\"benchmark\":\"lazySingletonWarmUp\",\"beans\":" + this.beans + ",\"costMicros\":" + this.costMicros +
+        ",\"requests\":" + this.requests + ",\"runs\":[" + measure(false) + "," + measure(true) + "]}";
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    int beans = 400;
+    long costMicros = 2000;
+    int requests = 400;
+    long intervalMicros = 2500;
+    long seed = 42;
+    for (String arg : args) {
+      if (arg.startsWith("--beans=")) {
+        beans = Integer.parseInt(arg.substring("--beans=".length()));
+      }
+      else if (arg.startsWith("--costMicros=")) {
+        costMicros = Long.parseLong(arg.substring("--costMicros=".length()));
+      }
+      else if (arg.startsWith("--requests=")) {
+        requests = Integer.parseInt(arg.substring("--requests=".length()));
+      }
+      else if (arg.startsWith("--intervalMicros=")) {
+        intervalMicros = Long.parseLong(arg.substring("--intervalMicros=".length()));
+      }
+      else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring("--seed=".length()));
+      }
+      else {
+        throw new IllegalArgumentException("Unknown argument '" + arg + "'");
+      }
+    }
+    System.out.println(new LazyWarmUpBenchmark(beans, costMicros, requests, intervalMicros, seed).run());
+  }
+
+}
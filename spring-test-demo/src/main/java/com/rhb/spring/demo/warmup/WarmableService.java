@@ -0,0 +1,43 @@
+package com.rhb.spring.demo.warmup;
+
+/**
+ * 预热测试中的懒加载单例：初始化方法忙等costMicros微秒，模拟建立连接、加载缓存等创建开销
+ *
+ * @author renhuibo
+ * @date 2026/10/20 20:10
+ */
+public class WarmableService {
+
+  private long costMicros;
+
+  private Object dependency;
+
+  private volatile boolean initialized;
+
+
+  public void setCostMicros(long costMicros) {
+    this.costMicros = costMicros;
+  }
+
+  public void setDependency(Object dependency) {
+    this.dependency = dependency;
+  }
+
+  public Object getDependency() {
+    return this.dependency;
+  }
+
+  public void init() {
+    long deadline = System.nanoTime() + this.costMicros * 1_000;
+    long spins = 0;
+    while (System.nanoTime() < deadline) {
+      spins++;
+    }
+    this.initialized = (spins >= 0);
+  }
+
+  public boolean isInitialized() {
+    return this.initialized;
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.rhb.spring.demo.xml;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 流式读取测试中使用集合属性的bean
+ *
+ * @author renhuibo
+ * @date 2026/10/20 18:40
+ */
+public class RoutingTable {
+
+  private List<String> routes;
+
+  private Set<String> regions;
+
+  private Map<String, Integer> weights;
+
+  private Properties options;
+
+  private int[] ports;
+
+  private String fallbackBeanName;
+
+  private Object target;
+
+
+  public void setRoutes(List<String> routes) {
+    this.routes = routes;
+  }
+
+  public List<String> getRoutes() {
+    return this.routes;
+  }
+
+  public void setRegions(Set<String> regions) {
+    this.regions = regions;
+  }
+
+  public Set<String> getRegions() {
+    return this.regions;
+  }
+
+  public void setWeights(Map<String, Integer> weights) {
+    this.weights = weights;
+  }
+
+  public Map<String, Integer> getWeights() {
+    return this.weights;
+  }
+
+  public void setOptions(Properties options) {
+    this.options = options;
+  }
+
+  public Properties getOptions() {
+    return this.options;
+  }
+
+  public void setPorts(int[] ports) {
+    this.ports = ports;
+  }
+
+  public int[] getPorts() {
+    return this.ports;
+  }
+
+  public void setFallbackBeanName(String fallbackBeanName) {
+    this.fallbackBeanName = fallbackBeanName;
+  }
+
+  public String getFallbackBeanName() {
+    return this.fallbackBeanName;
+  }
+
+  public void setTarget(Object target) {
+    this.target = target;
+  }
+
+  public Object getTarget() {
+    return this.target;
+  }
+
+}
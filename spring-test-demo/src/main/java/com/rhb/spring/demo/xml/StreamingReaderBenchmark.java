@@ -0,0 +1,263 @@
+package com.rhb.spring.demo.xml;
+
+import com.rhb.spring.demo.scale.SampleBean;
+import com.rhb.spring.parsing.beans.definition.BeanDefinition;
+import com.rhb.spring.parsing.beans.factory.SimpleBeanFactory;
+import com.rhb.spring.parsing.beans.support.StreamingBeanDefinitionReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * 流式读取器顺序解析 vs 并行解析
+ *
+ * 生成files个XML配置文件（每个beansPerFile个bean，包含有id/无名称/子定义/集合属性/引用等几种形式），
+ * 分别用parallelism=1和指定并行度各读取rounds次，输出耗时中位数和读取期间采样到的堆使用峰值（JSON）；
+ * 并核对两种方式注册的beanName顺序、每个定义的来源资源完全相同，最后实例化几个带集合属性的bean检查取值
+ *
+ * 参数（均可省略）：
+ * <pre>
+ * --files=200           配置文件数量
+ * --beans=500           每个文件的bean数量
+ * --rounds=5            每种方式的读取次数
+ * --parallelism=N       并行读取的线程数，默认CPU核数（至少2）
+ * --work=target/xml     生成的配置文件目录
+ * --seed=42             随机种子
+ * </pre>
+ *
+ * @author renhuibo
+ * @date 2026/10/20 18:40
+ */
+public class StreamingReaderBenchmark {
+
+  private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+      "<beans xmlns=\"http://www.springframework.org/schema/beans\"\n" +
+      "       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
+      "       xsi:schemaLocation=\"http://www.springframework.org/schema/beans " +
+      "http://www.springframework.org/schema/beans/spring-beans.xsd\">\n";
+
+  private final Resource[] resources;
+
+  private final int rounds;
+
+  private final int parallelism;
+
+  private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+
+  public StreamingReaderBenchmark(Resource[] resources, int rounds, int parallelism) {
+    this.resources = resources;
+    this.rounds = rounds;
+    this.parallelism = parallelism;
+  }
+
+
+  /**
+   * 生成配置文件
+   */
+  public static Resource[] generate(Path directory, int files, int beansPerFile, long seed) throws IOException {
+    Files.createDirectories(directory);
+    Random random = new Random(seed);
+    Resource[] resources = new Resource[files];
+    for (int i = 0; i < files; i++) {
+      Path file = directory.resolve("beans-" + i + ".xml");
+      try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        writer.write(HEADER);
+        for (int j = 0; j < beansPerFile; j++) {
+          writer.write(beanElement(i, j, random));
+        }
+        writer.write("</beans>\n");
+      }
+      resources[i] = new FileSystemResource(file.toFile());
+    }
+    return resources;
+  }
+
+  private static String beanElement(int file, int index, Random random) {
+    String id = "f" + file + "_b" + index;
+    String sample = SampleBean.class.getName();
+    String description = "  <description>Generated bean " + id + " " + padding(random) + "</description>\n";
+    switch (index % 5) {
+      case 0:
+        return "<bean id=\"" + id + "\" class=\"" + sample + "\" init-method=\"init\">\n" + description +
+            "  <property name=\"name\" value=\"" + id + "\"/>\n" +
+            "  <property name=\"capacity\" value=\"" + random.nextInt(1000) + "\"/>\n</bean>\n";
+      case 1:
+        return "<bean class=\"" + sample + "\">\n" + description +
+            "  <property name=\"name\"><value>anonymous-" + id + "</value></property>\n" +
+            "  <meta key=\"origin\" value=\"generated\"/>\n</bean>\n";
+      case 2:
+        return "<bean id=\"" + id + "\" parent=\"f" + file + "_b" + (index - 2) + "\" lazy-init=\"true\">\n" +
+            "  <property name=\"capacity\" value=\"" + random.nextInt(1000) + "\"/>\n</bean>\n";
+      case 3:
+        return "<bean id=\"" + id + "\" class=\"" + RoutingTable.class.getName() + "\">\n" + description +
+            "  <property name=\"routes\"><list><value>/a/" + index + "</value><value>/b/" + index + "</value>" +
+            "<value>/c/" + index + "</value></list></property>\n" +
+            "  <property name=\"regions\"><set><value>eu</value><value>us</value><value>eu</value></set></property>\n" +
+            "  <property name=\"weights\"><map><entry key=\"primary\" value=\"" + random.nextInt(100) + "\"/>" +
+            "<entry><key><value>secondary</value></key><value>" + random.nextInt(100) + "</value></entry>" +
+            "</map></property>\n" +
+            "  <property name=\"options\"><props><prop key=\"timeout\">" + random.nextInt(60) + "s</prop>" +
+            "<prop key=\"mode\">active</prop></props></property>\n" +
+            "  <property name=\"ports\"><array value-type=\"int\"><value>8080</value><value>" +
+            (9000 + index) + "</value></array></property>\n" +
+            "  <property name=\"fallbackBeanName\"><idref bean=\"f" + file + "_b" + (index - 3) + "\"/></property>\n" +
+            "  <property name=\"target\" ref=\"f" + file + "_b" + (index - 3) + "\"/>\n</bean>\n";
+      default:
+        return "<bean name=\"named" + file + "_" + index + ",alias" + index + "\" class=\"" + sample +
+            "\" scope=\"prototype\">\n" + description +
+            "  <property name=\"ref\"><ref bean=\"f" + file + "_b" + (index - 4) + "\"/></property>\n</bean>\n";
+    }
+  }
+
+  private static String padding(Random random) {
+    StringBuilder sb = new StringBuilder(240);
+    while (sb.length() < 200) {
+      sb.append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36)).append(' ');
+    }
+    return sb.toString();
+  }
+
+
+  private SimpleBeanFactory load(int parallelism) {
+    SimpleBeanFactory beanFactory = new SimpleBeanFactory();
+    StreamingBeanDefinitionReader reader = new StreamingBeanDefinitionReader(beanFactory);
+    reader.setParallelism(parallelism);
+    reader.registerBeanDefinitions(this.resources);
+    return beanFactory;
+  }
+
+  private String measure(int parallelism) throws InterruptedException {
+    load(parallelism);
+    long[] millis = new long[this.rounds];
+    long peakBytes = 0;
+    for (int i = 0; i < this.rounds; i++) {
+      System.gc();
+      long baseline = this.memoryMXBean.getHeapMemoryUsage().getUsed();
+      HeapSampler sampler = new HeapSampler(this.memoryMXBean);
+      sampler.start();
+      long start = System.nanoTime();
+      SimpleBeanFactory beanFactory = load(parallelism);
+      millis[i] = (System.nanoTime() - start) / 1_000_000;
+      sampler.finish();
+      peakBytes = Math.max(peakBytes, sampler.peak - baseline);
+      if (beanFactory.getBeanDefinitionCount() == 0) {
+        throw new IllegalStateException("No bean definitions registered");
+      }
+    }
+    Arrays.sort(millis);
+    return "{\"parallelism\":" + parallelism + ",\"medianMillis\":" + millis[millis.length / 2] +
+        ",\"sampledPeakHeapMB\":" + Math.round(peakBytes / 1024.0 / 102.4) / 10.0 + "}";
+  }
+
+  /**
+   * 核对顺序和并行注册结果一致，并实例化集合属性的bean
+   */
+  private String verify(int parallelism) {
+    SimpleBeanFactory sequential = load(1);
+    SimpleBeanFactory parallel = load(parallelism);
+    String[] names = sequential.getBeanDefinitionNames();
+    boolean sameOrder = Arrays.equals(names, parallel.getBeanDefinitionNames());
+    for (int i = 0; i < names.length && sameOrder; i++) {
+      BeanDefinition one = sequential.getBeanDefinition(names[i]);
+      BeanDefinition other = parallel.getBeanDefinition(names[i]);
+      sameOrder = one.getResourceDescription().equals(other.getResourceDescription()) &&
+          one.getPropertyValues().size() == other.getPropertyValues().size();
+    }
+    RoutingTable table = (RoutingTable) parallel.getBean("f0_b3");
+    return "{\"definitions\":" + names.length + ",\"sameRegistrationOrder\":" + sameOrder +
+        ",\"firstGeneratedName\":\"" + names[1] + "\",\"routingTable\":{\"routes\":" + table.getRoutes().size() +
+        ",\"regions\":" + table.getRegions().size() + ",\"weights\":\"" + table.getWeights() + "\",\"options\":" +
+        table.getOptions().size() + ",\"ports\":" + table.getPorts().length + ",\"fallbackBeanName\":\"" +
+        table.getFallbackBeanName() + "\",\"targetInitialized\":" + ((SampleBean) table.getTarget()).isInitialized() +
+        "}}";
+  }
+
+  public String run() throws InterruptedException {
+    String verification = verify(this.parallelism);
+    return "{\"benchmark\":\"streamingReader\",\"resources\":" + this.resources.length + ",\"verification\":" +
+        verification + ",\"runs\":[" + measure(1) + "," + measure(this.parallelism) + "]}";
+  }
+
+
+  /**
+   * 每毫秒采样一次堆使用量（包含未回收的垃圾）
+   */
+  private static final class HeapSampler extends Thread {
+
+    private final MemoryMXBean memoryMXBean;
+
+    private volatile boolean running = true;
+
+    private volatile long peak;
+
+    HeapSampler(MemoryMXBean memoryMXBean) {
+      super("HeapSampler");
+      setDaemon(true);
+      this.memoryMXBean = memoryMXBean;
+    }
+
+    @Override
+    public void run() {
+      while (this.running) {
+        this.peak = Math.max(this.peak, this.memoryMXBean.getHeapMemoryUsage().getUsed());
+        try {
+          Thread.sleep(1);
+        }
+        catch (InterruptedException ex) {
+          return;
+        }
+      }
+    }
+
+    void finish() throws InterruptedException {
+      this.running = false;
+      join();
+    }
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    int files = 200;
+    int beans = 500;
+    int rounds = 5;
+    Path work = Paths.get("target", "xml");
+    long seed = 42;
+    int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+    for (String arg : args) {
+      if (arg.startsWith("--files=")) {
+        files = Integer.parseInt(arg.substring("--files=".length()));
+      }
+      else if (arg.startsWith("--beans=")) {
+        beans = Integer.parseInt(arg.substring("--beans=".length()));
+      }
+      else if (arg.startsWith("--rounds=")) {
+        rounds = Integer.parseInt(arg.substring("--rounds=".length()));
+      }
+      else if (arg.startsWith("--work=")) {
+        work = Paths.get(arg.substring("--work=".length()));
+      }
+      else if (arg.startsWith("--parallelism=")) {
+        parallelism = Integer.parseInt(arg.substring("--parallelism=".length()));
+      }
+      else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring("--seed=".length()));
+      }
+      else {
+        throw new IllegalArgumentException("Unknown argument '" + arg + "'");
+      }
+    }
+    Resource[] resources = generate(work, files, beans, seed);
+    System.out.println(new StreamingReaderBenchmark(resources, rounds, parallelism).run());
+  }
+
+}
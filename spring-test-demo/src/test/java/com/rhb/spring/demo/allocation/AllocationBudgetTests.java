@@ -0,0 +1,24 @@
+package com.rhb.spring.demo.allocation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * BeanDefinition热点路径的分配不超出预算
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class AllocationBudgetTests {
+
+  @Test
+  public void definitionHotPathsStayWithinBudget() throws Exception {
+    assumeTrue("Thread allocation measurement not supported", AllocationMeter.isSupported());
+    AllocationBudgetCheck check = AllocationBudgetCheck.checkDefinitionHotPaths(new AllocationMeter(200_000, 100_000));
+    assertEquals(Collections.emptyList(), check.getFailures());
+  }
+
+}
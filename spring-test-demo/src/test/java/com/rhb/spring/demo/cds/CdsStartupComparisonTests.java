@@ -0,0 +1,79 @@
+package com.rhb.spring.demo.cds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.rhb.spring.demo.cds.CdsStartupComparison.ModeResult;
+import com.rhb.spring.parsing.beans.cds.CdsArchiveGenerator;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 训练启动生成CDS归档，对比不使用归档、只用JDK归档和使用应用归档的启动。
+ * 只检查类是否从归档加载，耗时写入target/cds-startup-comparison.json，不做断言
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class CdsStartupComparisonTests {
+
+  @Rule
+  public TemporaryFolder work = new TemporaryFolder();
+
+
+  /**
+   * 应用类的CDS归档需要JDK 10及以上，CdsArchiveGenerator要求JDK 11
+   */
+  private static int javaFeatureVersion() {
+    String version = System.getProperty("java.specification.version");
+    return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+  }
+
+
+  @Test
+  public void startupWithAndWithoutArchive() throws Exception {
+    assumeTrue("Application class data sharing needs JDK 11+", javaFeatureVersion() >= 11);
+    List<String> arguments = Collections.singletonList("200");
+    CdsArchiveGenerator generator = new CdsArchiveGenerator(this.work.getRoot().toPath(),
+        CdsTrainingStartup.class.getName());
+    // surefire的java.class.path只有booter jar，真实类路径在surefire.test.class.path中
+    String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+    generator.setClassPath(Arrays.asList(classPath.split(File.pathSeparator)));
+    generator.setArguments(arguments);
+
+    CdsStartupComparison comparison = new CdsStartupComparison(generator, arguments, 3);
+    List<ModeResult> results = comparison.compare();
+    Path archive = generator.getArchive();
+    assertTrue(Files.size(archive) > 0);
+    assertEquals(3, results.size());
+    ModeResult noSharing = results.get(0);
+    ModeResult jdkArchive = results.get(1);
+    ModeResult appArchive = results.get(2);
+    for (ModeResult result : results) {
+      assertTrue(result.getMode() + " did not report its startup time", result.getMainToReadyMillis() >= 0);
+      assertTrue(result.getMode() + " loaded no classes", result.getClassesLoaded() > 0);
+    }
+
+    assertEquals(0, noSharing.getClassesFromArchive());
+    assertTrue(jdkArchive.getClassesFromArchive() > 0);
+    assertEquals(0, jdkArchive.getAppClassesFromArchive());
+    assertTrue(appArchive.getAppClassesFromArchive() > 0);
+    assertTrue(appArchive.getClassesFromArchive() > jdkArchive.getClassesFromArchive());
+
+    // 耗时受机器负载影响，只写入报告
+    Path report = Paths.get(System.getProperty("basedir", "."), "target", "cds-startup-comparison.json");
+    Files.createDirectories(report.getParent());
+    Files.write(report, comparison.report(results).getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -0,0 +1,82 @@
+package com.rhb.spring.demo.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.rhb.spring.parsing.beans.definition.AbstractBeanDefinition;
+import com.rhb.spring.parsing.beans.index.ComponentIndex;
+import com.rhb.spring.parsing.beans.index.ComponentIndexLoader;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+
+/**
+ * 组件索引生成的定义与类路径扫描+反射得到的定义逐项一致
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class ComponentIndexComparisonTests {
+
+  private static final String BASE_PACKAGE = ComponentIndexComparison.class.getPackage().getName();
+
+  private final ClassLoader classLoader = getClass().getClassLoader();
+
+  private ComponentIndex index;
+
+
+  @Before
+  public void setUp() {
+    ComponentIndexLoader.clearCache();
+    this.index = ComponentIndexLoader.loadIndex(this.classLoader);
+    assertNotNull("No component index on the class path", this.index);
+  }
+
+  @Test
+  public void indexedDefinitionsMatchReflectiveScan() throws Exception {
+    Map<String, AbstractBeanDefinition> indexed = new TreeMap<>(this.index.createBeanDefinitions(BASE_PACKAGE));
+    Map<String, AbstractBeanDefinition> scanned =
+        new TreeMap<>(new ReflectiveComponentScanner(this.classLoader).scan(BASE_PACKAGE));
+
+    assertEquals(scanned.keySet(), indexed.keySet());
+    assertTrue(indexed.containsKey("clock"));
+    assertTrue(indexed.containsKey("handlers.Default"));
+    for (Map.Entry<String, AbstractBeanDefinition> entry : indexed.entrySet()) {
+      String beanName = entry.getKey();
+      AbstractBeanDefinition bd = entry.getValue();
+      AbstractBeanDefinition other = scanned.get(beanName);
+      // 索引生成定义时不加载类
+      assertFalse(beanName, bd.hasBeanClass());
+      assertEquals(beanName, other.getBeanClassName(), bd.getBeanClassName());
+      assertEquals(beanName, other.getScope(), bd.getScope());
+      assertEquals(beanName, other.isLazyInit(), bd.isLazyInit());
+      assertEquals(beanName, other.isPrimary(), bd.isPrimary());
+      assertEquals(beanName, other.getRole(), bd.getRole());
+      assertEquals(beanName, describe(other), describe(bd));
+    }
+  }
+
+  @Test
+  public void comparisonReportsNoDifferences() throws Exception {
+    ComponentIndexComparison comparison = new ComponentIndexComparison(this.classLoader);
+    String report = comparison.run();
+    assertFalse(report, comparison.hasDifferences());
+  }
+
+  private static Map<String, Map<String, Object>> describe(AbstractBeanDefinition bd) {
+    Map<String, Map<String, Object>> qualifiers = new TreeMap<>();
+    for (AutowireCandidateQualifier qualifier : bd.getQualifierView()) {
+      Map<String, Object> attributes = new TreeMap<>();
+      for (String name : qualifier.attributeNames()) {
+        attributes.put(name, qualifier.getAttribute(name));
+      }
+      qualifiers.put(qualifier.getTypeName(), attributes);
+    }
+    return qualifiers;
+  }
+
+}
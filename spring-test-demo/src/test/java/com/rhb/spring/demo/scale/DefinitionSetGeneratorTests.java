@@ -0,0 +1,124 @@
+package com.rhb.spring.demo.scale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 生成的定义集合可重现、引用关系合法（parent、dependsOn和bean引用都指向之前可实例化的bean），
+ * 两种BeanFactory创建出相同数量的单例
+ *
+ * @author renhuibo
+ * @date 2026/10/21 09:30
+ */
+public class DefinitionSetGeneratorTests {
+
+  private DefinitionSetGenerator generator;
+
+
+  @Before
+  public void setUp() {
+    this.generator = new DefinitionSetGenerator();
+  }
+
+
+  @Test
+  public void sameSeedGeneratesSameSet() {
+    assertEquals(describe(this.generator.generate(500)), describe(this.generator.generate(500)));
+    DefinitionSetGenerator other = new DefinitionSetGenerator();
+    other.setSeed(7L);
+    assertNotEquals(describe(this.generator.generate(500)), describe(other.generate(500)));
+  }
+
+  @Test
+  public void referencesPointToEarlierInstantiableBeans() {
+    List<BeanSpec> specs = this.generator.generate(2000);
+    assertEquals(2000, specs.size());
+    Map<String, BeanSpec> seen = new HashMap<>();
+    Set<String> instantiable = new HashSet<>();
+    for (BeanSpec spec : specs) {
+      if (spec.parentName != null) {
+        BeanSpec parent = seen.get(spec.parentName);
+        assertNotNull(spec.name + " has unknown parent " + spec.parentName, parent);
+        assertTrue(parent.abstractFlag);
+      }
+      else {
+        assertNotNull(spec.name + " has neither class nor parent", spec.className);
+      }
+      if (spec.dependsOn != null) {
+        for (String dependsOn : spec.dependsOn) {
+          assertTrue(spec.name + " depends on " + dependsOn, instantiable.contains(dependsOn));
+        }
+      }
+      Object ref = spec.properties.get("ref");
+      if (ref != null) {
+        assertTrue(instantiable.contains(((BeanSpec.BeanRef) ref).beanName));
+      }
+      if (spec.lookupMethodName != null) {
+        assertTrue(spec.lazyInit);
+        assertTrue(instantiable.contains(spec.lookupBeanName));
+      }
+      else if (!spec.abstractFlag) {
+        instantiable.add(spec.name);
+      }
+      seen.put(spec.name, spec);
+    }
+  }
+
+  @Test
+  public void templateChainsRespectMaxDepth() {
+    this.generator.setMaxChainDepth(2);
+    this.generator.setTemplateRatio(0.5);
+    Map<String, BeanSpec> byName = new HashMap<>();
+    for (BeanSpec spec : this.generator.generate(400)) {
+      byName.put(spec.name, spec);
+    }
+    for (BeanSpec spec : byName.values()) {
+      if (!spec.abstractFlag) {
+        continue;
+      }
+      int depth = 1;
+      for (BeanSpec current = spec; current.parentName != null; current = byName.get(current.parentName)) {
+        depth++;
+      }
+      assertTrue(spec.name + " chain depth " + depth, depth <= 2);
+    }
+  }
+
+  @Test
+  public void bothFactoriesCreateTheSameSingletons() throws Exception {
+    StartupBenchmark benchmark = new StartupBenchmark(this.generator, StartupBenchmark.factories("simple,spring"));
+    List<StartupBenchmark.RunResult> results = benchmark.run(new int[] {300});
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).singletons > 0);
+    assertEquals(results.get(0).singletons, results.get(1).singletons);
+  }
+
+
+  /**
+   * 生成结果的文本描述，用于比较两次生成是否相同
+   */
+  private static String describe(List<BeanSpec> specs) {
+    StringBuilder sb = new StringBuilder();
+    for (BeanSpec spec : specs) {
+      sb.append(spec.name).append(',').append(spec.className).append(',').append(spec.parentName).append(',')
+          .append(spec.lazyInit).append(',').append(String.join("|", spec.dependsOn != null ? spec.dependsOn :
+              new String[0])).append(',').append(spec.initMethodName).append(',').append(spec.qualifiers)
+          .append(',').append(spec.lookupBeanName).append(',');
+      spec.properties.forEach((name, value) -> sb.append(name).append('=')
+          .append(value instanceof BeanSpec.BeanRef ? "ref:" + ((BeanSpec.BeanRef) value).beanName : value).append(';'));
+      sb.append('\n');
+    }
+    return sb.toString();
+  }
+
+}